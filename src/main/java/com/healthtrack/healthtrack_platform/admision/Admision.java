@@ -0,0 +1,70 @@
+package com.healthtrack.healthtrack_platform.admision;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Resultado del control de admisión
+ * Si fue admitida ocupa un lugar del límite de concurrencia hasta close(), que además
+ * informa la latencia de la operación al límite adaptativo; si fue rechazada indica el
+ * motivo y cuándo conviene reintentar (cabecera Retry-After)
+ */
+public final class Admision implements AutoCloseable {
+
+    private final LimiteAdaptativo limite;
+    private final LongSupplier reloj;
+    private final long inicio;
+    private final MotivoRechazo motivo;
+    private final long reintentarEnNanos;
+    private boolean cerrada;
+
+    private Admision(LimiteAdaptativo limite, LongSupplier reloj, long inicio,
+                     MotivoRechazo motivo, long reintentarEnNanos) {
+        this.limite = limite;
+        this.reloj = reloj;
+        this.inicio = inicio;
+        this.motivo = motivo;
+        this.reintentarEnNanos = reintentarEnNanos;
+    }
+
+    static Admision admitida(LimiteAdaptativo limite, LongSupplier reloj) {
+        return new Admision(limite, reloj, reloj.getAsLong(), null, 0);
+    }
+
+    static Admision rechazada(MotivoRechazo motivo, long reintentarEnNanos) {
+        return new Admision(null, null, 0, motivo, reintentarEnNanos);
+    }
+
+    public boolean admitida() {
+        return motivo == null;
+    }
+
+    /**
+     * @return null si fue admitida
+     */
+    public MotivoRechazo motivo() {
+        return motivo;
+    }
+
+    public long reintentarEnNanos() {
+        return reintentarEnNanos;
+    }
+
+    /**
+     * Segundos enteros para la cabecera Retry-After, redondeados hacia arriba y al menos 1
+     */
+    public long reintentarEnSegundos() {
+        return Math.max(1, (reintentarEnNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Libera el lugar de concurrencia; sin efecto si fue rechazada o ya se cerró
+     */
+    @Override
+    public void close() {
+        if (limite != null && !cerrada) {
+            cerrada = true;
+            limite.liberar(reloj.getAsLong() - inicio);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.healthtrack.healthtrack_platform.admision;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Límites del control de admisión de escrituras
+ *
+ * @param operacionesPorSegundoCliente Tasa sostenida de cada cliente (dispositivo, aplicación)
+ * @param rafagaCliente Escrituras que un cliente puede acumular por encima de su tasa
+ * @param operacionesPorSegundoClinica Tasa sostenida de cada clínica, sumando a todos sus clientes
+ * @param rafagaClinica Escrituras que una clínica puede acumular por encima de su tasa
+ * @param maximoClientes Clientes con cubo propio en memoria; los menos activos se descartan
+ * @param maximoEnCola Peticiones que esperan un hilo antes de rechazar sin procesarlas
+ * @param limiteInicial Escrituras simultáneas al arrancar, antes de medir latencias
+ * @param limiteMinimo Mínimo de escrituras simultáneas que el límite adaptativo siempre permite
+ * @param limiteMaximo Máximo de escrituras simultáneas aunque la latencia no aumente
+ * @param clinicas Clínicas con cuota propia; cualquier otra comparte la de
+ *                 {@link ControlAdmision#CLINICA_POR_DEFECTO}
+ */
+public record ConfiguracionAdmision(double operacionesPorSegundoCliente, int rafagaCliente,
+                                    double operacionesPorSegundoClinica, int rafagaClinica,
+                                    int maximoClientes, int maximoEnCola,
+                                    int limiteInicial, int limiteMinimo, int limiteMaximo,
+                                    Set<String> clinicas) {
+
+    public ConfiguracionAdmision {
+        if (!(operacionesPorSegundoCliente > 0) || rafagaCliente <= 0
+                || !(operacionesPorSegundoClinica > 0) || rafagaClinica <= 0
+                || maximoClientes <= 0 || maximoEnCola <= 0) {
+            throw new IllegalArgumentException("Las tasas, ráfagas y capacidades deben ser mayores a 0");
+        }
+        if (limiteMinimo <= 0 || limiteInicial < limiteMinimo || limiteMaximo < limiteInicial) {
+            throw new IllegalArgumentException("Los límites de concurrencia deben cumplir 0 < mínimo <= inicial <= máximo");
+        }
+        clinicas = clinicas == null ? Set.of() : Set.copyOf(clinicas);
+    }
+
+    /**
+     * Configuración sin clínicas con cuota propia: todas comparten la cuota por defecto
+     */
+    public ConfiguracionAdmision(double operacionesPorSegundoCliente, int rafagaCliente,
+                                 double operacionesPorSegundoClinica, int rafagaClinica,
+                                 int maximoClientes, int maximoEnCola,
+                                 int limiteInicial, int limiteMinimo, int limiteMaximo) {
+        this(operacionesPorSegundoCliente, rafagaCliente, operacionesPorSegundoClinica, rafagaClinica,
+                maximoClientes, maximoEnCola, limiteInicial, limiteMinimo, limiteMaximo, Set.of());
+    }
+
+    /**
+     * Un dispositivo sincroniza unas pocas lecturas por segundo; una clínica suma cientos
+     */
+    public static ConfiguracionAdmision porDefecto() {
+        return new ConfiguracionAdmision(5, 20, 500, 1_000, 100_000, 256, 20, 4, 200);
+    }
+
+    /**
+     * Valores por defecto reemplazados por las propiedades del sistema presentes
+     * (prefijo + cliente.tasa, cliente.rafaga, clinica.tasa, clinica.rafaga, cola, y clinicas
+     * con los identificadores separados por comas)
+     */
+    public static ConfiguracionAdmision desdePropiedades(String prefijo) {
+        ConfiguracionAdmision base = porDefecto();
+        return new ConfiguracionAdmision(
+                Double.parseDouble(System.getProperty(prefijo + "cliente.tasa",
+                        Double.toString(base.operacionesPorSegundoCliente()))),
+                Integer.getInteger(prefijo + "cliente.rafaga", base.rafagaCliente()),
+                Double.parseDouble(System.getProperty(prefijo + "clinica.tasa",
+                        Double.toString(base.operacionesPorSegundoClinica()))),
+                Integer.getInteger(prefijo + "clinica.rafaga", base.rafagaClinica()),
+                base.maximoClientes(),
+                Integer.getInteger(prefijo + "cola", base.maximoEnCola()),
+                base.limiteInicial(), base.limiteMinimo(), base.limiteMaximo(),
+                Arrays.stream(System.getProperty(prefijo + "clinicas", "").split(","))
+                        .map(String::trim)
+                        .filter(clinica -> !clinica.isEmpty())
+                        .collect(Collectors.toSet()));
+    }
+}
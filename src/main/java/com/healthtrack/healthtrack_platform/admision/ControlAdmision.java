@@ -0,0 +1,116 @@
+package com.healthtrack.healthtrack_platform.admision;
+
+import com.healthtrack.healthtrack_platform.cache.CacheWTinyLfu;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Control de admisión para las escrituras durante tormentas de sincronización
+ *
+ * Cada petición pasa por tres filtros, todos sin candados, y se rechaza en el primero que
+ * no supera: el cubo de tokens del cliente (un dispositivo que reintenta en bucle no agota la
+ * cuota de su clínica), el de la clínica y el límite adaptativo de escrituras simultáneas.
+ * Rechazar cuesta unas pocas operaciones atómicas, así que bajo sobrecarga las peticiones
+ * admitidas conservan su latencia y el resto recibe un 429 inmediato en lugar de hacer cola.
+ *
+ * Los cubos de los clientes viven en una caché acotada; un cliente que vuelve después de
+ * ser descartado empieza con el cubo lleno. Los de las clínicas se crean al construir el
+ * control, uno por clínica configurada: el identificador llega en una cabecera que el cliente
+ * elige, así que uno desconocido usa la cuota de CLINICA_POR_DEFECTO en lugar de crear un cubo
+ * nuevo (y lleno) por cada valor inventado.
+ */
+public class ControlAdmision {
+
+    /** Clínica de las peticiones sin clínica o con una que no está configurada */
+    public static final String CLINICA_POR_DEFECTO = "general";
+
+    private final ConfiguracionAdmision configuracion;
+    private final LongSupplier reloj;
+    private final CacheWTinyLfu<String, CuboTokens> cubosClientes;
+    private final Map<String, CuboTokens> cubosClinicas;
+    private final CuboTokens cuboClinicaPorDefecto;
+    private final LimiteAdaptativo limite;
+    private final Map<MotivoRechazo, LongAdder> rechazos = new EnumMap<>(MotivoRechazo.class);
+    private final LongAdder admitidas = new LongAdder();
+
+    public ControlAdmision(ConfiguracionAdmision configuracion) {
+        this(configuracion, System::nanoTime);
+    }
+
+    ControlAdmision(ConfiguracionAdmision configuracion, LongSupplier reloj) {
+        this.configuracion = configuracion;
+        this.reloj = reloj;
+        this.cubosClientes = new CacheWTinyLfu<>(configuracion.maximoClientes());
+        Map<String, CuboTokens> cubos = new HashMap<>();
+        for (String clinica : configuracion.clinicas()) {
+            cubos.put(clinica, nuevoCuboClinica());
+        }
+        this.cubosClinicas = Map.copyOf(cubos);
+        this.cuboClinicaPorDefecto = cubosClinicas.containsKey(CLINICA_POR_DEFECTO)
+                ? cubosClinicas.get(CLINICA_POR_DEFECTO) : nuevoCuboClinica();
+        this.limite = new LimiteAdaptativo(configuracion.limiteInicial(), configuracion.limiteMinimo(),
+                configuracion.limiteMaximo());
+        for (MotivoRechazo motivo : MotivoRechazo.values()) {
+            rechazos.put(motivo, new LongAdder());
+        }
+    }
+
+    /**
+     * Decide si una escritura se procesa; la Admision admitida debe cerrarse al terminar
+     * @param cliente Identificador del cliente (dispositivo, aplicación o dirección)
+     * @param clinica Clínica a la que pertenece; null o una no configurada usan CLINICA_POR_DEFECTO
+     */
+    public Admision admitir(String cliente, String clinica) {
+        CuboTokens cuboCliente = cubosClientes.obtener(cliente, clave -> new CuboTokens(
+                configuracion.operacionesPorSegundoCliente(), configuracion.rafagaCliente(), reloj));
+        if (!cuboCliente.intentarConsumir(1)) {
+            return rechazar(MotivoRechazo.CLIENTE, cuboCliente.nanosHastaDisponible(1));
+        }
+        CuboTokens cuboClinica = clinica == null
+                ? cuboClinicaPorDefecto : cubosClinicas.getOrDefault(clinica, cuboClinicaPorDefecto);
+        if (!cuboClinica.intentarConsumir(1)) {
+            return rechazar(MotivoRechazo.CLINICA, cuboClinica.nanosHastaDisponible(1));
+        }
+        if (!limite.intentarAdquirir()) {
+            return rechazar(MotivoRechazo.CONCURRENCIA, limite.reintentarEnNanos());
+        }
+        admitidas.increment();
+        return Admision.admitida(limite, reloj);
+    }
+
+    /**
+     * Rechazo de una petición que no llegó a un hilo porque la cola estaba llena
+     * (ver {@link EjecutorAcotado#enDesborde()})
+     */
+    public Admision rechazarPorCola() {
+        return rechazar(MotivoRechazo.COLA_LLENA, limite.reintentarEnNanos());
+    }
+
+    /**
+     * Escrituras simultáneas que permite ahora el límite adaptativo
+     */
+    public int limiteConcurrencia() {
+        return limite.limite();
+    }
+
+    public long admitidas() {
+        return admitidas.sum();
+    }
+
+    public long rechazos(MotivoRechazo motivo) {
+        return rechazos.get(motivo).sum();
+    }
+
+    private CuboTokens nuevoCuboClinica() {
+        return new CuboTokens(configuracion.operacionesPorSegundoClinica(), configuracion.rafagaClinica(), reloj);
+    }
+
+    private Admision rechazar(MotivoRechazo motivo, long reintentarEnNanos) {
+        rechazos.get(motivo).increment();
+        return Admision.rechazada(motivo, reintentarEnNanos);
+    }
+}
@@ -0,0 +1,75 @@
+package com.healthtrack.healthtrack_platform.admision;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de tasa por cubo de tokens
+ * El cubo se rellena de forma continua a la tasa configurada hasta la ráfaga máxima; cada
+ * operación consume tokens y se rechaza (o espera) si no alcanzan. El relleno se calcula
+ * al consumir, así que no hay hilos ni temporizadores.
+ *
+ * Sin candados: el estado es un único long, el instante en que el cubo volvería a estar
+ * lleno (algoritmo GCRA). Consumir n tokens lo adelanta n intervalos y se rechaza si quedaría
+ * más de una ráfaga por delante del reloj; el cambio se publica con compare-and-set, así que
+ * muchos hilos pueden consumir del mismo cubo sin serializarse.
+ */
+public class CuboTokens {
+
+    private final double nanosPorToken;
+    private final long toleranciaNanos;
+    private final int rafaga;
+    private final LongSupplier reloj;
+    private final AtomicLong llenoEn;
+
+    /**
+     * @param operacionesPorSegundo Tasa sostenida
+     * @param rafaga Tokens acumulables; el cubo empieza lleno
+     */
+    public CuboTokens(double operacionesPorSegundo, int rafaga) {
+        this(operacionesPorSegundo, rafaga, System::nanoTime);
+    }
+
+    CuboTokens(double operacionesPorSegundo, int rafaga, LongSupplier reloj) {
+        if (!(operacionesPorSegundo > 0) || rafaga <= 0) {
+            throw new IllegalArgumentException("La tasa y la ráfaga deben ser mayores a 0");
+        }
+        this.nanosPorToken = 1e9 / operacionesPorSegundo;
+        this.toleranciaNanos = costo(rafaga);
+        this.rafaga = rafaga;
+        this.reloj = reloj;
+        this.llenoEn = new AtomicLong(reloj.getAsLong());
+    }
+
+    /**
+     * Consume los tokens si hay suficientes
+     * @return false si la operación excede la tasa; en ese caso no se consume nada
+     */
+    public boolean intentarConsumir(int cantidad) {
+        long costo = costo(cantidad);
+        while (true) {
+            long ahora = reloj.getAsLong();
+            long actual = llenoEn.get();
+            long nuevo = Math.max(actual, ahora) + costo;
+            if (nuevo - ahora > toleranciaNanos) {
+                return false;
+            }
+            if (llenoEn.compareAndSet(actual, nuevo)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Tiempo estimado hasta que haya la cantidad de tokens pedida
+     */
+    public long nanosHastaDisponible(int cantidad) {
+        long ahora = reloj.getAsLong();
+        long espera = Math.max(llenoEn.get(), ahora) + costo(Math.min(cantidad, rafaga)) - ahora - toleranciaNanos;
+        return Math.max(0, espera);
+    }
+
+    private long costo(int cantidad) {
+        return (long) Math.ceil(cantidad * nanosPorToken);
+    }
+}
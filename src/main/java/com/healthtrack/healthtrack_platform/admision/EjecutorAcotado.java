@@ -0,0 +1,71 @@
+package com.healthtrack.healthtrack_platform.admision;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecutor con hilos fijos y cola acotada para el servidor HTTP
+ *
+ * Con la cola llena la tarea no se descarta en silencio ni espera: corre de inmediato en el
+ * hilo que la envió con enDesborde() en true, y el manejador responde un rechazo sin hacer el
+ * trabajo. Así el servidor siempre contesta y el tiempo en cola queda acotado por el tamaño
+ * de la cola en lugar de crecer con la sobrecarga.
+ */
+public class EjecutorAcotado implements Executor, AutoCloseable {
+
+    private static final ThreadLocal<Boolean> DESBORDE = new ThreadLocal<>();
+
+    private final ThreadPoolExecutor pool;
+
+    /**
+     * @param prefijo Prefijo del nombre de los hilos
+     * @param hilos Hilos del pool; se crean con las primeras tareas
+     * @param maximoEnCola Tareas que pueden esperar un hilo
+     */
+    public EjecutorAcotado(String prefijo, int hilos, int maximoEnCola) {
+        AtomicInteger contador = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maximoEnCola), tarea -> {
+                    Thread hilo = new Thread(tarea, prefijo + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+    }
+
+    /**
+     * Indica si la tarea actual corre por desborde de la cola y debe rechazarse sin procesar
+     */
+    public static boolean enDesborde() {
+        return DESBORDE.get() != null;
+    }
+
+    @Override
+    public void execute(Runnable tarea) {
+        try {
+            pool.execute(tarea);
+        } catch (RejectedExecutionException e) {
+            if (pool.isShutdown()) {
+                throw e;
+            }
+            DESBORDE.set(Boolean.TRUE);
+            try {
+                tarea.run();
+            } finally {
+                DESBORDE.remove();
+            }
+        }
+    }
+
+    public int enCola() {
+        return pool.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,88 @@
+package com.healthtrack.healthtrack_platform.admision;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Límite de operaciones simultáneas que se ajusta con la latencia, al estilo de TCP Vegas
+ *
+ * Por la ley de Little, con el servicio sin cola las operaciones en curso tardan la latencia
+ * mínima observada; si tardan más, la diferencia es tiempo en cola. Con el límite L y la
+ * latencia medida rtt, la cola estimada es L * (1 - rttMinimo / rtt): si es menor que ALFA el
+ * límite sube, si es mayor que BETA baja. Así el servicio trabaja cerca de su capacidad y el
+ * exceso se rechaza en lugar de esperar. Cada tantas muestras la latencia mínima se vuelve a
+ * medir para seguir cambios en el servicio.
+ *
+ * Sin candados: contador atómico de operaciones en curso y compare-and-set del límite; si dos
+ * hilos ajustan a la vez uno de los ajustes se pierde, lo que no cambia la tendencia.
+ */
+final class LimiteAdaptativo {
+
+    private static final int ALFA = 3;
+    private static final int BETA = 6;
+    private static final int MUESTRAS_POR_SONDEO = 1_000;
+    private static final long REINTENTO_MINIMO_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int minimo;
+    private final int maximo;
+    private final AtomicInteger limite;
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicLong rttMinimo = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong muestras = new AtomicLong();
+
+    LimiteAdaptativo(int inicial, int minimo, int maximo) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.limite = new AtomicInteger(inicial);
+    }
+
+    boolean intentarAdquirir() {
+        if (enCurso.incrementAndGet() > limite.get()) {
+            enCurso.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void liberar(long rttNanos) {
+        int enCursoAlTerminar = enCurso.getAndDecrement();
+        long rtt = Math.max(1, rttNanos);
+        long minimoRtt = muestras.incrementAndGet() % MUESTRAS_POR_SONDEO == 0
+                ? sondear(rtt)
+                : rttMinimo.accumulateAndGet(rtt, Math::min);
+        int actual = limite.get();
+        double cola = actual * (1 - (double) minimoRtt / rtt);
+        int nuevo = actual;
+        if (cola > BETA) {
+            nuevo = Math.max(minimo, actual - 1);
+        } else if (cola < ALFA && enCursoAlTerminar * 2 >= actual) {
+            // Solo sube si el límite se está usando: con poca carga la latencia baja no prueba nada
+            nuevo = Math.min(maximo, actual + 1);
+        }
+        if (nuevo != actual) {
+            limite.compareAndSet(actual, nuevo);
+        }
+    }
+
+    /**
+     * Tiempo sugerido para reintentar tras un rechazo: lo que tarda en liberarse un lugar sin cola
+     */
+    long reintentarEnNanos() {
+        long minimoRtt = rttMinimo.get();
+        return minimoRtt == Long.MAX_VALUE ? REINTENTO_MINIMO_NANOS : Math.max(REINTENTO_MINIMO_NANOS, minimoRtt);
+    }
+
+    int limite() {
+        return limite.get();
+    }
+
+    int enCurso() {
+        return enCurso.get();
+    }
+
+    private long sondear(long rtt) {
+        rttMinimo.set(rtt);
+        return rtt;
+    }
+}
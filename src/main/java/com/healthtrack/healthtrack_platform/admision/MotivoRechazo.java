@@ -0,0 +1,15 @@
+package com.healthtrack.healthtrack_platform.admision;
+
+/**
+ * Causa por la que el control de admisión rechazó una petición
+ */
+public enum MotivoRechazo {
+    /** El cliente superó su tasa */
+    CLIENTE,
+    /** La clínica, sumando a todos sus clientes, superó su tasa */
+    CLINICA,
+    /** Hay tantas escrituras en curso como permite el límite adaptativo */
+    CONCURRENCIA,
+    /** La cola de peticiones a la espera de un hilo está llena */
+    COLA_LLENA
+}
@@ -0,0 +1,111 @@
+package com.healthtrack.healthtrack_platform.analitica;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Agregaciones por cohorte sobre una PoblacionUsuarios con el framework fork/join
+ *
+ * El rango de posiciones se divide en mitades hasta un tamaño de hoja; cada hoja recorre sus
+ * columnas y suma en arreglos long propios indexados por grupo (sin boxing, mapas ni
+ * sincronización), y los resultados se combinan sumando arreglos al volver de join. Como las
+ * hojas no comparten nada, el tiempo escala con los núcleos hasta que lo limita el ancho de
+ * banda de memoria.
+ */
+public class AnaliticaCohortes {
+
+    private static final int HOJA_MINIMA = 16_384;
+    // Varias hojas por hilo para que el work-stealing compense hilos más lentos
+    private static final int HOJAS_POR_HILO = 8;
+
+    private final ForkJoinPool pool;
+
+    public AnaliticaCohortes() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public AnaliticaCohortes(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Cambio de peso (actual menos inicial) promedio por cohorte y mes de la última actualización
+     * Los usuarios que nunca actualizaron no cuentan
+     */
+    public ResultadoCohortes cambioPorCohorteYMes(PoblacionUsuarios poblacion) {
+        int tamano = poblacion.tamano();
+        int cohortes = poblacion.maximaCohorte() + 1;
+        int primerMes = poblacion.primerMes();
+        int meses = cohortes == 0 || poblacion.ultimoMes() < primerMes ? 0 : poblacion.ultimoMes() - primerMes + 1;
+        if (meses == 0) {
+            return new ResultadoCohortes(new long[0], new long[0], 0, 0);
+        }
+        int hoja = Math.max(HOJA_MINIMA, tamano / (pool.getParallelism() * HOJAS_POR_HILO));
+        Acumulador total = pool.invoke(new TareaCambio(poblacion, 0, tamano, hoja, cohortes, primerMes, meses));
+        return new ResultadoCohortes(total.sumas, total.conteos, primerMes, meses);
+    }
+
+    private record Acumulador(long[] sumas, long[] conteos) {
+
+        Acumulador combinar(Acumulador otro) {
+            for (int i = 0; i < sumas.length; i++) {
+                sumas[i] += otro.sumas[i];
+                conteos[i] += otro.conteos[i];
+            }
+            return this;
+        }
+    }
+
+    private static final class TareaCambio extends RecursiveTask<Acumulador> {
+        private final PoblacionUsuarios poblacion;
+        private final int desde;
+        private final int hasta;
+        private final int hoja;
+        private final int cohortes;
+        private final int primerMes;
+        private final int meses;
+
+        TareaCambio(PoblacionUsuarios poblacion, int desde, int hasta, int hoja,
+                    int cohortes, int primerMes, int meses) {
+            this.poblacion = poblacion;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.hoja = hoja;
+            this.cohortes = cohortes;
+            this.primerMes = primerMes;
+            this.meses = meses;
+        }
+
+        @Override
+        protected Acumulador compute() {
+            if (hasta - desde <= hoja) {
+                return recorrer();
+            }
+            int mitad = (desde + hasta) >>> 1;
+            TareaCambio izquierda = new TareaCambio(poblacion, desde, mitad, hoja, cohortes, primerMes, meses);
+            TareaCambio derecha = new TareaCambio(poblacion, mitad, hasta, hoja, cohortes, primerMes, meses);
+            izquierda.fork();
+            Acumulador resultadoDerecha = derecha.compute();
+            return izquierda.join().combinar(resultadoDerecha);
+        }
+
+        private Acumulador recorrer() {
+            long[] sumas = new long[cohortes * meses];
+            long[] conteos = new long[cohortes * meses];
+            // Una sola lectura de las columnas por hoja, no una lectura volatile por fila
+            int[] mesesActualizacion = poblacion.columnaMesesActualizacion();
+            int[] cohortesPorFila = poblacion.columnaCohortes();
+            int[] pesosActuales = poblacion.columnaPesosActuales();
+            int[] pesosIniciales = poblacion.columnaPesosIniciales();
+            for (int i = desde; i < hasta; i++) {
+                int mes = mesesActualizacion[i];
+                if (mes != PoblacionUsuarios.SIN_ACTUALIZACION) {
+                    int grupo = cohortesPorFila[i] * meses + (mes - primerMes);
+                    sumas[grupo] += pesosActuales[i] - pesosIniciales[i];
+                    conteos[grupo]++;
+                }
+            }
+            return new Acumulador(sumas, conteos);
+        }
+    }
+}
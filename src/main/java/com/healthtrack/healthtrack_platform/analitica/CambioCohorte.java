@@ -0,0 +1,14 @@
+package com.healthtrack.healthtrack_platform.analitica;
+
+import java.time.YearMonth;
+
+/**
+ * Cambio de peso promedio de una cohorte entre los usuarios que actualizaron en un mes
+ *
+ * @param cohorte Cohorte de los usuarios
+ * @param mes Mes de la última actualización
+ * @param usuarios Usuarios del grupo
+ * @param cambioPromedioKg Peso actual menos peso inicial, promediado; negativo si bajaron
+ */
+public record CambioCohorte(int cohorte, YearMonth mes, long usuarios, double cambioPromedioKg) {
+}
@@ -0,0 +1,50 @@
+package com.healthtrack.healthtrack_platform.analitica;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros sobre columnas completas de una PoblacionUsuarios que producen un MapaBits
+ * Hay una implementación escalar y otra con la Vector API (módulo jdk.incubator.vector),
+ * que se usa solo si se activa con -Dhealthtrack.escaneo.vectorial=true y el módulo está
+ * cargado (--add-modules jdk.incubator.vector); ambas dan exactamente el mismo resultado.
+ */
+public interface EscaneoColumnas {
+
+    String PROPIEDAD_VECTORIAL = "healthtrack.escaneo.vectorial";
+    String MODULO_VECTORIAL = "jdk.incubator.vector";
+
+    /**
+     * Usuarios con peso actual entre los límites, ambos inclusive
+     */
+    MapaBits pesoEntre(PoblacionUsuarios poblacion, int minimoDecagramos, int maximoDecagramos);
+
+    /**
+     * Usuarios cuya última actualización es anterior al momento; los que nunca actualizaron no cuentan
+     */
+    MapaBits actualizadosAntesDe(PoblacionUsuarios poblacion, LocalDateTime momento);
+
+    /**
+     * Implementación vectorial si está activada y disponible; escalar en otro caso
+     */
+    static EscaneoColumnas porDefecto() {
+        return Boolean.getBoolean(PROPIEDAD_VECTORIAL) && vectorialDisponible() ? vectorial() : escalar();
+    }
+
+    static EscaneoColumnas escalar() {
+        return new EscaneoEscalar();
+    }
+
+    /**
+     * @throws UnsupportedOperationException si el módulo de la Vector API no está cargado
+     */
+    static EscaneoColumnas vectorial() {
+        if (!vectorialDisponible()) {
+            throw new UnsupportedOperationException("La Vector API requiere --add-modules " + MODULO_VECTORIAL);
+        }
+        return new EscaneoVectorial();
+    }
+
+    static boolean vectorialDisponible() {
+        return ModuleLayer.boot().findModule(MODULO_VECTORIAL).isPresent();
+    }
+}
@@ -0,0 +1,47 @@
+package com.healthtrack.healthtrack_platform.analitica;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Escaneo de columnas elemento a elemento; arma cada palabra del mapa sin saltos
+ * condicionales para no depender de la predicción de saltos con datos al azar
+ */
+final class EscaneoEscalar implements EscaneoColumnas {
+
+    @Override
+    public MapaBits pesoEntre(PoblacionUsuarios poblacion, int minimoDecagramos, int maximoDecagramos) {
+        int tamano = poblacion.tamano();
+        int[] pesos = poblacion.columnaPesosActuales();
+        MapaBits mapa = new MapaBits(tamano);
+        long[] palabras = mapa.palabras();
+        for (int base = 0; base < tamano; base += 64) {
+            int fin = Math.min(base + 64, tamano);
+            long palabra = 0;
+            for (int i = base; i < fin; i++) {
+                int peso = pesos[i];
+                palabra |= (peso >= minimoDecagramos & peso <= maximoDecagramos ? 1L : 0L) << i;
+            }
+            palabras[base >>> 6] = palabra;
+        }
+        return mapa;
+    }
+
+    @Override
+    public MapaBits actualizadosAntesDe(PoblacionUsuarios poblacion, LocalDateTime momento) {
+        int tamano = poblacion.tamano();
+        long[] momentos = poblacion.columnaMomentosActualizacion();
+        long limite = momento.toEpochSecond(ZoneOffset.UTC);
+        MapaBits mapa = new MapaBits(tamano);
+        long[] palabras = mapa.palabras();
+        for (int base = 0; base < tamano; base += 64) {
+            int fin = Math.min(base + 64, tamano);
+            long palabra = 0;
+            for (int i = base; i < fin; i++) {
+                palabra |= (momentos[i] < limite ? 1L : 0L) << i;
+            }
+            palabras[base >>> 6] = palabra;
+        }
+        return mapa;
+    }
+}
@@ -0,0 +1,67 @@
+package com.healthtrack.healthtrack_platform.analitica;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Escaneo de columnas con la Vector API: compara tantos usuarios por instrucción como
+ * carriles tenga el ancho SIMD preferido de la CPU (16 pesos con AVX-512) y vuelca la
+ * máscara de la comparación directamente en la palabra del mapa. La cantidad de carriles
+ * divide a 64, así que la máscara de cada vector cae entera dentro de una palabra.
+ * El resto que no completa un vector se resuelve en escalar.
+ *
+ * Solo se carga desde EscaneoColumnas.vectorial(), después de comprobar que el módulo
+ * de la incubadora está presente.
+ */
+final class EscaneoVectorial implements EscaneoColumnas {
+
+    private static final VectorSpecies<Integer> ENTEROS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LARGOS = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public MapaBits pesoEntre(PoblacionUsuarios poblacion, int minimoDecagramos, int maximoDecagramos) {
+        int tamano = poblacion.tamano();
+        int[] pesos = poblacion.columnaPesosActuales();
+        MapaBits mapa = new MapaBits(tamano);
+        long[] palabras = mapa.palabras();
+        int limite = ENTEROS.loopBound(tamano);
+        int i = 0;
+        for (; i < limite; i += ENTEROS.length()) {
+            IntVector vector = IntVector.fromArray(ENTEROS, pesos, i);
+            VectorMask<Integer> seleccion = vector.compare(VectorOperators.GE, minimoDecagramos)
+                    .and(vector.compare(VectorOperators.LE, maximoDecagramos));
+            palabras[i >>> 6] |= seleccion.toLong() << i;
+        }
+        for (; i < tamano; i++) {
+            int peso = pesos[i];
+            palabras[i >>> 6] |= (peso >= minimoDecagramos & peso <= maximoDecagramos ? 1L : 0L) << i;
+        }
+        return mapa;
+    }
+
+    @Override
+    public MapaBits actualizadosAntesDe(PoblacionUsuarios poblacion, LocalDateTime momento) {
+        int tamano = poblacion.tamano();
+        long[] momentos = poblacion.columnaMomentosActualizacion();
+        long limiteMomento = momento.toEpochSecond(ZoneOffset.UTC);
+        MapaBits mapa = new MapaBits(tamano);
+        long[] palabras = mapa.palabras();
+        int limite = LARGOS.loopBound(tamano);
+        int i = 0;
+        for (; i < limite; i += LARGOS.length()) {
+            VectorMask<Long> seleccion = LongVector.fromArray(LARGOS, momentos, i)
+                    .compare(VectorOperators.LT, limiteMomento);
+            palabras[i >>> 6] |= seleccion.toLong() << i;
+        }
+        for (; i < tamano; i++) {
+            palabras[i >>> 6] |= (momentos[i] < limiteMomento ? 1L : 0L) << i;
+        }
+        return mapa;
+    }
+}
@@ -0,0 +1,105 @@
+package com.healthtrack.healthtrack_platform.analitica;
+
+import java.util.stream.IntStream;
+
+/**
+ * Selección de posiciones de una población, un bit por usuario en palabras de 64 bits
+ * Los filtros producen un mapa por condición y las etapas siguientes los combinan en
+ * sitio (intersectar, unir, restar) a 64 usuarios por operación
+ */
+public final class MapaBits {
+
+    private final long[] palabras;
+    private final int tamano;
+
+    /**
+     * Mapa vacío para una población del tamaño indicado
+     */
+    public MapaBits(int tamano) {
+        if (tamano < 0) {
+            throw new IllegalArgumentException("El tamaño del mapa no puede ser negativo");
+        }
+        this.tamano = tamano;
+        this.palabras = new long[(tamano + 63) >>> 6];
+    }
+
+    public int tamano() {
+        return tamano;
+    }
+
+    public boolean contiene(int posicion) {
+        return (palabras[posicion >>> 6] & (1L << posicion)) != 0;
+    }
+
+    public void marcar(int posicion) {
+        palabras[posicion >>> 6] |= 1L << posicion;
+    }
+
+    /**
+     * Posiciones seleccionadas
+     */
+    public int cardinalidad() {
+        int total = 0;
+        for (long palabra : palabras) {
+            total += Long.bitCount(palabra);
+        }
+        return total;
+    }
+
+    /**
+     * Deja seleccionadas solo las posiciones que también están en el otro mapa
+     */
+    public MapaBits intersectar(MapaBits otro) {
+        verificarTamano(otro);
+        for (int i = 0; i < palabras.length; i++) {
+            palabras[i] &= otro.palabras[i];
+        }
+        return this;
+    }
+
+    /**
+     * Agrega las posiciones del otro mapa
+     */
+    public MapaBits unir(MapaBits otro) {
+        verificarTamano(otro);
+        for (int i = 0; i < palabras.length; i++) {
+            palabras[i] |= otro.palabras[i];
+        }
+        return this;
+    }
+
+    /**
+     * Quita las posiciones del otro mapa
+     */
+    public MapaBits restar(MapaBits otro) {
+        verificarTamano(otro);
+        for (int i = 0; i < palabras.length; i++) {
+            palabras[i] &= ~otro.palabras[i];
+        }
+        return this;
+    }
+
+    /**
+     * Posiciones seleccionadas en orden creciente
+     */
+    public IntStream posiciones() {
+        return IntStream.range(0, palabras.length).flatMap(indice -> {
+            long palabra = palabras[indice];
+            int[] bits = new int[Long.bitCount(palabra)];
+            for (int i = 0; palabra != 0; i++, palabra &= palabra - 1) {
+                bits[i] = (indice << 6) + Long.numberOfTrailingZeros(palabra);
+            }
+            return IntStream.of(bits);
+        });
+    }
+
+    long[] palabras() {
+        return palabras;
+    }
+
+    private void verificarTamano(MapaBits otro) {
+        if (otro.tamano != tamano) {
+            throw new IllegalArgumentException("Los mapas son de poblaciones de distinto tamaño");
+        }
+    }
+}
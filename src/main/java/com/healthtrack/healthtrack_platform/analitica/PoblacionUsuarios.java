@@ -0,0 +1,283 @@
+package com.healthtrack.healthtrack_platform.analitica;
+
+import com.healthtrack.healthtrack_platform.model.CategoriaPeso;
+import com.healthtrack.healthtrack_platform.model.InstantaneaUsuario;
+import com.healthtrack.healthtrack_platform.model.MetricasCorporales;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+
+/**
+ * Población de usuarios guardada por columnas para análisis masivos
+ *
+ * Cada usuario ocupa una posición en cinco arreglos de int (cohorte, peso inicial y actual
+ * en decagramos, altura en cm y mes de la última actualización) y uno de long (momento de la
+ * última actualización): 28 bytes por usuario frente a los cientos que ocupan un Usuario con sus
+ * fechas y su nombre, y un recorrido secuencial sin seguir punteros. Los análisis dividen
+ * las posiciones en rangos independientes y los filtros recorren columnas completas
+ * (ver {@link EscaneoColumnas}).
+ *
+ * Se escribe desde un solo hilo y se puede analizar mientras tanto desde otros. Las columnas
+ * se publican juntas en un objeto inmutable referido por un campo volatile, que se reemplaza al
+ * crecer, y el tamaño volatile se escribe después de cada fila: quien lee tamano() y después las
+ * columnas ve todas esas filas completas, aunque entre medio se hayan copiado a arreglos más
+ * grandes. Un análisis ve los usuarios agregados antes de empezar.
+ */
+public class PoblacionUsuarios {
+
+    /** Mes de los usuarios que nunca actualizaron su peso */
+    public static final int SIN_ACTUALIZACION = -1;
+    /** Momento de los usuarios que nunca actualizaron: queda después de cualquier fecha */
+    public static final long NUNCA_ACTUALIZADO = Long.MAX_VALUE;
+
+    private static final int CAPACIDAD_INICIAL = 1_024;
+
+    private volatile Columnas columnas;
+    private volatile int tamano;
+    private int maximaCohorte = -1;
+    private int primerMes = Integer.MAX_VALUE;
+    private int ultimoMes = Integer.MIN_VALUE;
+
+    public PoblacionUsuarios() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * @param capacidad Usuarios esperados; evita copiar las columnas al crecer
+     */
+    public PoblacionUsuarios(int capacidad) {
+        columnas = new Columnas(Math.max(1, capacidad));
+    }
+
+    /**
+     * Agrega un usuario con el peso registrado al inicio del seguimiento
+     * @param cohorte Grupo del usuario (programa, clínica, mes de alta...), entre 0 y unos pocos miles
+     */
+    public void agregar(int cohorte, int pesoInicialDecagramos, Usuario usuario) {
+        InstantaneaUsuario instantanea = usuario.getInstantanea();
+        agregar(cohorte, pesoInicialDecagramos, instantanea.pesoDecagramos(), instantanea.alturaCm(),
+                instantanea.ultimaActualizacion());
+    }
+
+    /**
+     * Agrega un usuario sin altura registrada
+     * @param ultimaActualizacion Fecha de la última actualización, o null si nunca actualizó
+     */
+    public void agregar(int cohorte, int pesoInicialDecagramos, int pesoActualDecagramos,
+                        LocalDateTime ultimaActualizacion) {
+        agregar(cohorte, pesoInicialDecagramos, pesoActualDecagramos, InstantaneaUsuario.SIN_ALTURA,
+                ultimaActualizacion);
+    }
+
+    /**
+     * @param alturaCm Altura en cm, o InstantaneaUsuario.SIN_ALTURA
+     * @param ultimaActualizacion Fecha de la última actualización, o null si nunca actualizó
+     */
+    public void agregar(int cohorte, int pesoInicialDecagramos, int pesoActualDecagramos, int alturaCm,
+                        LocalDateTime ultimaActualizacion) {
+        if (cohorte < 0) {
+            throw new IllegalArgumentException("La cohorte no puede ser negativa");
+        }
+        int posicion = tamano;
+        Columnas c = columnas;
+        if (posicion == c.cohortes.length) {
+            // Se publica antes que la fila nueva: un lector que ya vio el tamaño anterior
+            // encuentra en la copia todas las filas que le corresponden
+            c = new Columnas(c, c.cohortes.length * 2);
+            columnas = c;
+        }
+        int mes = ultimaActualizacion == null ? SIN_ACTUALIZACION : indiceMes(YearMonth.from(ultimaActualizacion));
+        c.cohortes[posicion] = cohorte;
+        c.pesosIniciales[posicion] = pesoInicialDecagramos;
+        c.pesosActuales[posicion] = pesoActualDecagramos;
+        c.alturasCm[posicion] = alturaCm;
+        c.mesesActualizacion[posicion] = mes;
+        c.momentosActualizacion[posicion] = ultimaActualizacion == null
+                ? NUNCA_ACTUALIZADO
+                : ultimaActualizacion.toEpochSecond(ZoneOffset.UTC);
+        maximaCohorte = Math.max(maximaCohorte, cohorte);
+        if (mes != SIN_ACTUALIZACION) {
+            primerMes = Math.min(primerMes, mes);
+            ultimoMes = Math.max(ultimoMes, mes);
+        }
+        // La escritura volatile publica la fila completa a los hilos del análisis
+        tamano = posicion + 1;
+    }
+
+    public int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Posiciones de los usuarios; el Spliterator se divide en mitades exactas, así que sirve
+     * tanto para streams paralelos como para repartir a mano entre tareas
+     */
+    public Spliterator.OfInt posiciones() {
+        return IntStream.range(0, tamano).spliterator();
+    }
+
+    public int cohorte(int posicion) {
+        return columnas.cohortes[posicion];
+    }
+
+    public int pesoInicial(int posicion) {
+        return columnas.pesosIniciales[posicion];
+    }
+
+    public int pesoActual(int posicion) {
+        return columnas.pesosActuales[posicion];
+    }
+
+    /**
+     * @return Mes como índice (año * 12 + mes - 1), o SIN_ACTUALIZACION
+     */
+    public int mesActualizacion(int posicion) {
+        return columnas.mesesActualizacion[posicion];
+    }
+
+    public int alturaCm(int posicion) {
+        return columnas.alturasCm[posicion];
+    }
+
+    /**
+     * IMC de cada usuario en orden de posición, en una sola pasada por las columnas de peso y altura
+     * @return NaN para los usuarios sin altura
+     */
+    public double[] imc() {
+        return imc(new double[tamano]);
+    }
+
+    /**
+     * Variante de imc() que escribe en un arreglo reutilizable, para recalcular un listado
+     * grande sin asignar uno nuevo cada vez
+     * @param destino Arreglo con al menos tamano() posiciones
+     * @return El mismo destino
+     */
+    public double[] imc(double[] destino) {
+        int cantidad = tamano;
+        if (destino.length < cantidad) {
+            throw new IllegalArgumentException("El destino tiene menos posiciones que usuarios la población");
+        }
+        Columnas c = columnas;
+        MetricasCorporales.imc(c.pesosActuales, c.alturasCm, destino, cantidad);
+        return destino;
+    }
+
+    /**
+     * Usuarios de cada categoría de peso, calculados desde las columnas sin crear objetos por fila
+     */
+    public Map<CategoriaPeso, Integer> usuariosPorCategoria() {
+        int cantidad = tamano;
+        Columnas c = columnas;
+        int[] conteos = new int[CategoriaPeso.values().length];
+        for (int i = 0; i < cantidad; i++) {
+            conteos[CategoriaPeso.deImc(MetricasCorporales.imc(c.pesosActuales[i], c.alturasCm[i])).ordinal()]++;
+        }
+        Map<CategoriaPeso, Integer> resultado = new EnumMap<>(CategoriaPeso.class);
+        for (CategoriaPeso categoria : CategoriaPeso.values()) {
+            resultado.put(categoria, conteos[categoria.ordinal()]);
+        }
+        return resultado;
+    }
+
+    /**
+     * @return Segundos UTC de la fecha local de la última actualización, o NUNCA_ACTUALIZADO
+     */
+    public long momentoActualizacion(int posicion) {
+        return columnas.momentosActualizacion[posicion];
+    }
+
+    /**
+     * Columna de cohortes; solo para lectura y válida hasta el tamano() leído antes de pedirla
+     */
+    int[] columnaCohortes() {
+        return columnas.cohortes;
+    }
+
+    /**
+     * Columna de pesos iniciales; solo para lectura y válida hasta el tamano() leído antes de pedirla
+     */
+    int[] columnaPesosIniciales() {
+        return columnas.pesosIniciales;
+    }
+
+    /**
+     * Columna de meses de actualización; solo para lectura y válida hasta el tamano() leído antes
+     * de pedirla
+     */
+    int[] columnaMesesActualizacion() {
+        return columnas.mesesActualizacion;
+    }
+
+    /**
+     * Columna de pesos actuales; solo para lectura y válida hasta el tamano() leído antes de pedirla
+     */
+    int[] columnaPesosActuales() {
+        return columnas.pesosActuales;
+    }
+
+    /**
+     * Columna de momentos de actualización; solo para lectura y válida hasta el tamano() leído
+     * antes de pedirla
+     */
+    long[] columnaMomentosActualizacion() {
+        return columnas.momentosActualizacion;
+    }
+
+    int maximaCohorte() {
+        return maximaCohorte;
+    }
+
+    int primerMes() {
+        return primerMes;
+    }
+
+    int ultimoMes() {
+        return ultimoMes;
+    }
+
+    static int indiceMes(YearMonth mes) {
+        return mes.getYear() * 12 + mes.getMonthValue() - 1;
+    }
+
+    static YearMonth mesDeIndice(int indice) {
+        return YearMonth.of(Math.floorDiv(indice, 12), Math.floorMod(indice, 12) + 1);
+    }
+
+    /**
+     * Arreglos de las columnas; solo cambian las posiciones a partir del tamaño publicado
+     */
+    private static final class Columnas {
+        private final int[] cohortes;
+        private final int[] pesosIniciales;
+        private final int[] pesosActuales;
+        private final int[] alturasCm;
+        private final int[] mesesActualizacion;
+        private final long[] momentosActualizacion;
+
+        Columnas(int capacidad) {
+            cohortes = new int[capacidad];
+            pesosIniciales = new int[capacidad];
+            pesosActuales = new int[capacidad];
+            alturasCm = new int[capacidad];
+            mesesActualizacion = new int[capacidad];
+            momentosActualizacion = new long[capacidad];
+        }
+
+        Columnas(Columnas anteriores, int capacidad) {
+            cohortes = Arrays.copyOf(anteriores.cohortes, capacidad);
+            pesosIniciales = Arrays.copyOf(anteriores.pesosIniciales, capacidad);
+            pesosActuales = Arrays.copyOf(anteriores.pesosActuales, capacidad);
+            alturasCm = Arrays.copyOf(anteriores.alturasCm, capacidad);
+            mesesActualizacion = Arrays.copyOf(anteriores.mesesActualizacion, capacidad);
+            momentosActualizacion = Arrays.copyOf(anteriores.momentosActualizacion, capacidad);
+        }
+    }
+}
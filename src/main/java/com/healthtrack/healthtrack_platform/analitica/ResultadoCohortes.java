@@ -0,0 +1,67 @@
+package com.healthtrack.healthtrack_platform.analitica;
+
+import com.healthtrack.healthtrack_platform.model.PesoFijo;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sumas y conteos por cohorte y mes de un análisis, en arreglos densos indexados por
+ * cohorte * meses + (mes - primer mes)
+ */
+public class ResultadoCohortes {
+
+    private final long[] sumas;
+    private final long[] conteos;
+    private final int primerMes;
+    private final int meses;
+
+    ResultadoCohortes(long[] sumas, long[] conteos, int primerMes, int meses) {
+        this.sumas = sumas;
+        this.conteos = conteos;
+        this.primerMes = primerMes;
+        this.meses = meses;
+    }
+
+    public long usuarios(int cohorte, YearMonth mes) {
+        int indice = indice(cohorte, mes);
+        return indice < 0 ? 0 : conteos[indice];
+    }
+
+    /**
+     * @return Cambio promedio en kg, o NaN si ningún usuario de la cohorte actualizó ese mes
+     */
+    public double cambioPromedioKg(int cohorte, YearMonth mes) {
+        int indice = indice(cohorte, mes);
+        return indice < 0 || conteos[indice] == 0 ? Double.NaN : promedioKg(indice);
+    }
+
+    /**
+     * Grupos con al menos un usuario, ordenados por cohorte y mes
+     */
+    public List<CambioCohorte> filas() {
+        List<CambioCohorte> filas = new ArrayList<>();
+        for (int indice = 0; indice < conteos.length; indice++) {
+            if (conteos[indice] > 0) {
+                filas.add(new CambioCohorte(indice / meses,
+                        PoblacionUsuarios.mesDeIndice(primerMes + indice % meses),
+                        conteos[indice], promedioKg(indice)));
+            }
+        }
+        return filas;
+    }
+
+    private double promedioKg(int indice) {
+        return sumas[indice] / (double) conteos[indice] / PesoFijo.DECAGRAMOS_POR_KG;
+    }
+
+    private int indice(int cohorte, YearMonth mes) {
+        int desplazamiento = PoblacionUsuarios.indiceMes(mes) - primerMes;
+        if (meses == 0 || cohorte < 0 || cohorte >= conteos.length / meses
+                || desplazamiento < 0 || desplazamiento >= meses) {
+            return -1;
+        }
+        return cohorte * meses + desplazamiento;
+    }
+}
@@ -0,0 +1,314 @@
+package com.healthtrack.healthtrack_platform.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Caché acotada y concurrente con política de admisión W-TinyLFU
+ * (Einziger, Friedman y Manes, "TinyLFU: A Highly Efficient Cache Admission Policy")
+ *
+ * Las entradas nuevas pasan primero por una ventana LRU pequeña (1% de la capacidad).
+ * Al salir de ella compiten con la víctima de la región principal (SLRU con segmentos de
+ * prueba y protegido): solo entran si su frecuencia estimada es mayor. Así un recorrido
+ * puntual por muchos usuarios no desplaza a los pocos usuarios que concentran el tráfico.
+ *
+ * Las lecturas que aciertan no bloquean: buscan en un ConcurrentHashMap y registran el
+ * acceso en la política solo si el candado está libre (se pierde algún acceso bajo
+ * contención, lo que no afecta la calidad de la política). Las inserciones se serializan.
+ */
+public class CacheWTinyLfu<K, V> {
+
+    private static final double FRACCION_VENTANA = 0.01;
+    private static final double FRACCION_PROTEGIDA = 0.80;
+
+    private final Map<K, Nodo<K, V>> datos = new ConcurrentHashMap<>();
+    private final ReentrantLock candado = new ReentrantLock();
+    private final SketchFrecuencia sketch;
+    private final ListaNodos<K, V> ventana = new ListaNodos<>();
+    private final ListaNodos<K, V> prueba = new ListaNodos<>();
+    private final ListaNodos<K, V> protegida = new ListaNodos<>();
+    private final int capacidad;
+    private final int maximoVentana;
+    private final int maximoPrincipal;
+    private final int maximoProtegida;
+    // Cuenta las escrituras e invalidaciones; solo cambia con el candado tomado
+    private volatile long generacion;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+
+    /**
+     * @param capacidad Número máximo de entradas
+     */
+    public CacheWTinyLfu(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser mayor a 0");
+        }
+        this.capacidad = capacidad;
+        this.maximoVentana = Math.max(1, (int) (capacidad * FRACCION_VENTANA));
+        this.maximoPrincipal = capacidad - maximoVentana;
+        this.maximoProtegida = (int) (maximoPrincipal * FRACCION_PROTEGIDA);
+        this.sketch = new SketchFrecuencia(capacidad);
+    }
+
+    /**
+     * Devuelve el valor en caché o null si no está
+     */
+    public V obtener(K clave) {
+        Nodo<K, V> nodo = datos.get(clave);
+        if (nodo == null) {
+            fallos.increment();
+            candado.lock();
+            try {
+                sketch.incrementar(clave.hashCode());
+            } finally {
+                candado.unlock();
+            }
+            return null;
+        }
+        aciertos.increment();
+        registrarAcceso(nodo);
+        return nodo.valor;
+    }
+
+    /**
+     * Devuelve el valor en caché o lo carga y lo inserta si no está
+     * Si dos hilos cargan la misma clave a la vez, ambos reciben la instancia que quedó en caché
+     * Si mientras se cargaba hubo una escritura o invalidación, el valor cargado puede ser
+     * anterior a ella: se devuelve sin insertarlo, para no revivir un usuario eliminado
+     * @param cargador Carga el valor desde el almacenamiento; puede devolver null si no existe
+     */
+    public V obtener(K clave, Function<? super K, ? extends V> cargador) {
+        Nodo<K, V> nodo = datos.get(clave);
+        if (nodo != null) {
+            aciertos.increment();
+            registrarAcceso(nodo);
+            return nodo.valor;
+        }
+        fallos.increment();
+        long generacionCarga = generacion;
+        V cargado = cargador.apply(clave);
+        candado.lock();
+        try {
+            sketch.incrementar(clave.hashCode());
+            if (cargado == null) {
+                return null;
+            }
+            Nodo<K, V> existente = datos.get(clave);
+            if (existente != null) {
+                return existente.valor;
+            }
+            if (generacion == generacionCarga) {
+                insertar(clave, cargado);
+            }
+            return cargado;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Inserta o reemplaza un valor
+     */
+    public void poner(K clave, V valor) {
+        candado.lock();
+        try {
+            generacion++;
+            sketch.incrementar(clave.hashCode());
+            Nodo<K, V> existente = datos.get(clave);
+            if (existente != null) {
+                existente.valor = valor;
+                alAcceder(existente);
+            } else {
+                insertar(clave, valor);
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Elimina una entrada de la caché
+     */
+    public void invalidar(K clave) {
+        candado.lock();
+        try {
+            generacion++;
+            Nodo<K, V> nodo = datos.remove(clave);
+            if (nodo != null) {
+                lista(nodo.region).quitar(nodo);
+                nodo.region = Region.ELIMINADO;
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    public int tamano() {
+        return datos.size();
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public EstadisticasCache estadisticas() {
+        return new EstadisticasCache(aciertos.sum(), fallos.sum(), desalojos.sum(), datos.size());
+    }
+
+    private void registrarAcceso(Nodo<K, V> nodo) {
+        if (candado.tryLock()) {
+            try {
+                sketch.incrementar(nodo.clave.hashCode());
+                alAcceder(nodo);
+            } finally {
+                candado.unlock();
+            }
+        }
+    }
+
+    private void insertar(K clave, V valor) {
+        Nodo<K, V> nodo = new Nodo<>(clave, valor);
+        datos.put(clave, nodo);
+        nodo.region = Region.VENTANA;
+        ventana.agregarAlFinal(nodo);
+        if (ventana.tamano > maximoVentana) {
+            admitir(ventana.primero);
+        }
+    }
+
+    /**
+     * Mueve el candidato que sale de la ventana a la región principal, desalojando a quien
+     * tenga menor frecuencia estimada si no hay espacio
+     */
+    private void admitir(Nodo<K, V> candidato) {
+        ventana.quitar(candidato);
+        if (prueba.tamano + protegida.tamano < maximoPrincipal) {
+            candidato.region = Region.PRUEBA;
+            prueba.agregarAlFinal(candidato);
+            return;
+        }
+        Nodo<K, V> victima = prueba.primero != null ? prueba.primero : protegida.primero;
+        if (victima != null
+                && sketch.frecuencia(candidato.clave.hashCode()) > sketch.frecuencia(victima.clave.hashCode())) {
+            desalojar(victima);
+            candidato.region = Region.PRUEBA;
+            prueba.agregarAlFinal(candidato);
+        } else {
+            datos.remove(candidato.clave, candidato);
+            candidato.region = Region.ELIMINADO;
+            desalojos.increment();
+        }
+    }
+
+    private void desalojar(Nodo<K, V> victima) {
+        lista(victima.region).quitar(victima);
+        datos.remove(victima.clave, victima);
+        victima.region = Region.ELIMINADO;
+        desalojos.increment();
+    }
+
+    private void alAcceder(Nodo<K, V> nodo) {
+        switch (nodo.region) {
+            case VENTANA:
+                ventana.moverAlFinal(nodo);
+                break;
+            case PRUEBA:
+                // Un segundo acceso en la región principal lo promueve al segmento protegido
+                prueba.quitar(nodo);
+                nodo.region = Region.PROTEGIDA;
+                protegida.agregarAlFinal(nodo);
+                if (protegida.tamano > maximoProtegida) {
+                    Nodo<K, V> degradado = protegida.primero;
+                    protegida.quitar(degradado);
+                    degradado.region = Region.PRUEBA;
+                    prueba.agregarAlFinal(degradado);
+                }
+                break;
+            case PROTEGIDA:
+                protegida.moverAlFinal(nodo);
+                break;
+            default:
+                // Desalojado mientras se leía: no hay nada que actualizar
+                break;
+        }
+    }
+
+    private ListaNodos<K, V> lista(Region region) {
+        switch (region) {
+            case VENTANA:
+                return ventana;
+            case PRUEBA:
+                return prueba;
+            case PROTEGIDA:
+                return protegida;
+            default:
+                throw new IllegalStateException("El nodo no pertenece a ninguna región");
+        }
+    }
+
+    private enum Region {
+        VENTANA, PRUEBA, PROTEGIDA, ELIMINADO
+    }
+
+    private static final class Nodo<K, V> {
+        private final K clave;
+        private volatile V valor;
+        private Region region;
+        private Nodo<K, V> anterior;
+        private Nodo<K, V> siguiente;
+
+        Nodo(K clave, V valor) {
+            this.clave = clave;
+            this.valor = valor;
+        }
+    }
+
+    /**
+     * Lista doblemente enlazada en orden de uso: el primero es el menos reciente
+     */
+    private static final class ListaNodos<K, V> {
+        private Nodo<K, V> primero;
+        private Nodo<K, V> ultimo;
+        private int tamano;
+
+        void agregarAlFinal(Nodo<K, V> nodo) {
+            nodo.anterior = ultimo;
+            nodo.siguiente = null;
+            if (ultimo == null) {
+                primero = nodo;
+            } else {
+                ultimo.siguiente = nodo;
+            }
+            ultimo = nodo;
+            tamano++;
+        }
+
+        void quitar(Nodo<K, V> nodo) {
+            if (nodo.anterior == null) {
+                primero = nodo.siguiente;
+            } else {
+                nodo.anterior.siguiente = nodo.siguiente;
+            }
+            if (nodo.siguiente == null) {
+                ultimo = nodo.anterior;
+            } else {
+                nodo.siguiente.anterior = nodo.anterior;
+            }
+            nodo.anterior = null;
+            nodo.siguiente = null;
+            tamano--;
+        }
+
+        void moverAlFinal(Nodo<K, V> nodo) {
+            if (nodo != ultimo) {
+                quitar(nodo);
+                agregarAlFinal(nodo);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.healthtrack.healthtrack_platform.cache;
+
+/**
+ * Contadores de una caché
+ *
+ * @param aciertos Lecturas servidas desde la caché
+ * @param fallos Lecturas que no encontraron la entrada
+ * @param desalojos Entradas descartadas por falta de espacio (incluye candidatos no admitidos)
+ * @param tamano Entradas actualmente en caché
+ */
+public record EstadisticasCache(long aciertos, long fallos, long desalojos, int tamano) {
+
+    /**
+     * Fracción de lecturas servidas desde la caché, entre 0 y 1
+     */
+    public double tasaAciertos() {
+        long total = aciertos + fallos;
+        return total == 0 ? 0 : aciertos / (double) total;
+    }
+}
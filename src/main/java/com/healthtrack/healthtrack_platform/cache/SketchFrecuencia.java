@@ -0,0 +1,75 @@
+package com.healthtrack.healthtrack_platform.cache;
+
+/**
+ * Estimador aproximado de frecuencias de acceso (count-min sketch de 4 filas)
+ * Cada contador usa 4 bits y se satura en 15. Tras un número de incrementos
+ * proporcional a la capacidad se dividen todos a la mitad, para que la frecuencia
+ * refleje la popularidad reciente y no la histórica. No es thread-safe.
+ */
+final class SketchFrecuencia {
+
+    private static final int FILAS = 4;
+    private static final int MAXIMO = 15;
+    private static final long[] SEMILLAS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+    private static final long MASCARA_MITAD = 0x7777_7777_7777_7777L;
+
+    private final long[] tabla;
+    private final int mascaraIndice;
+    private final int tamanoMuestra;
+    private int incrementos;
+
+    /**
+     * @param capacidad Capacidad de la caché a la que sirve el sketch
+     */
+    SketchFrecuencia(int capacidad) {
+        int contadores = Integer.highestOneBit(Math.max(64, capacidad * 4 - 1) << 1);
+        this.tabla = new long[contadores / 16];
+        this.mascaraIndice = contadores - 1;
+        this.tamanoMuestra = Math.max(10 * capacidad, 64);
+    }
+
+    /**
+     * Frecuencia estimada: el mínimo de los contadores del elemento
+     */
+    int frecuencia(int hash) {
+        int minimo = MAXIMO;
+        for (int fila = 0; fila < FILAS; fila++) {
+            minimo = Math.min(minimo, leer(indice(hash, fila)));
+        }
+        return minimo;
+    }
+
+    /**
+     * Registra un acceso incrementando los contadores del elemento que aún no están saturados
+     */
+    void incrementar(int hash) {
+        boolean incrementado = false;
+        for (int fila = 0; fila < FILAS; fila++) {
+            int indice = indice(hash, fila);
+            if (leer(indice) < MAXIMO) {
+                tabla[indice >>> 4] += 1L << ((indice & 15) << 2);
+                incrementado = true;
+            }
+        }
+        if (incrementado && ++incrementos >= tamanoMuestra) {
+            envejecer();
+        }
+    }
+
+    private void envejecer() {
+        for (int i = 0; i < tabla.length; i++) {
+            tabla[i] = (tabla[i] >>> 1) & MASCARA_MITAD;
+        }
+        incrementos /= 2;
+    }
+
+    private int leer(int indice) {
+        return (int) (tabla[indice >>> 4] >>> ((indice & 15) << 2)) & MAXIMO;
+    }
+
+    private int indice(int hash, int fila) {
+        long mezcla = (hash + SEMILLAS[fila]) * SEMILLAS[fila];
+        return (int) (mezcla ^ (mezcla >>> 32)) & mascaraIndice;
+    }
+}
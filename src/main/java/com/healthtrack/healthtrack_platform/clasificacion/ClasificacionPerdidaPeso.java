@@ -0,0 +1,246 @@
+package com.healthtrack.healthtrack_platform.clasificacion;
+
+import com.healthtrack.healthtrack_platform.evento.EventoUsuario;
+import com.healthtrack.healthtrack_platform.evento.PesoActualizado;
+import com.healthtrack.healthtrack_platform.evento.UsuarioRegistrado;
+import com.healthtrack.healthtrack_platform.model.PesoFijo;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Clasificación de los usuarios que más peso perdieron en una ventana de tiempo (por ejemplo,
+ * los últimos 30 días), mantenida de forma incremental desde el flujo de eventos
+ *
+ * La pérdida de un usuario es el peso que tenía al inicio de la ventana (su última lectura
+ * anterior, o la primera dentro de ella) menos su peso actual. Los usuarios con pérdida positiva
+ * viven en un árbol ordenado por pérdida: cada lectura lo reubica en O(log n) y el top k se
+ * recorre en O(k). Un montículo con el próximo vencimiento de cada usuario descarta las lecturas
+ * que salen de la ventana aunque el usuario no vuelva a pesarse; cada lectura vence una sola
+ * vez, así que el costo amortizado por lectura sigue siendo O(log n).
+ *
+ * Cuando todas las lecturas de un usuario salen de la ventana se lo olvida: su próxima lectura
+ * empieza de cero, como la de un usuario nuevo. Así la memoria depende de los usuarios que se
+ * pesaron en la ventana y no de todos los que alguna vez participaron, y una lectura de hace
+ * meses no cuenta como pérdida del desafío actual.
+ *
+ * Los momentos se comparan como segundos UTC de la fecha local, igual que en el historial.
+ * Las lecturas de un usuario anteriores a su última lectura se ignoran. Es thread-safe.
+ */
+public class ClasificacionPerdidaPeso implements Consumer<EventoUsuario> {
+
+    private static final Comparator<Participante> POR_PERDIDA = (a, b) -> {
+        int porPerdida = Integer.compare(b.perdida, a.perdida);
+        return porPerdida != 0 ? porPerdida : a.nombre.compareTo(b.nombre);
+    };
+
+    private final long ventanaSegundos;
+    private final Predicate<String> participa;
+    private final Map<String, Participante> participantes = new HashMap<>();
+    private final TreeSet<Participante> ranking = new TreeSet<>(POR_PERDIDA);
+    private final PriorityQueue<Vencimiento> vencimientos = new PriorityQueue<>(
+            Comparator.comparingLong(Vencimiento::momento));
+
+    /**
+     * Clasificación de todos los usuarios
+     * @param ventana Período sobre el que se mide la pérdida
+     */
+    public ClasificacionPerdidaPeso(Duration ventana) {
+        this(ventana, nombre -> true);
+    }
+
+    /**
+     * Clasificación de un desafío con participantes seleccionados
+     * @param participa Indica si un usuario participa; se evalúa en cada lectura
+     */
+    public ClasificacionPerdidaPeso(Duration ventana, Predicate<String> participa) {
+        if (ventana.isNegative() || ventana.isZero()) {
+            throw new IllegalArgumentException("La ventana de la clasificación debe ser positiva");
+        }
+        this.ventanaSegundos = ventana.getSeconds();
+        this.participa = participa;
+    }
+
+    /**
+     * Aplica los eventos de registro y de actualización de peso; pensado para
+     * {@code AlmacenEventos.suscribir}
+     */
+    @Override
+    public void accept(EventoUsuario evento) {
+        if (evento instanceof UsuarioRegistrado registro) {
+            registrar(registro.nombre(), registro.momento(), PesoFijo.desdeKg(registro.pesoInicial()));
+        } else if (evento instanceof PesoActualizado actualizacion) {
+            registrar(actualizacion.nombre(), actualizacion.momento(), PesoFijo.desdeKg(actualizacion.nuevoPeso()));
+        }
+    }
+
+    /**
+     * Registra una lectura de peso de un usuario
+     */
+    public synchronized void registrar(String nombre, LocalDateTime momento, int pesoDecagramos) {
+        if (!participa.test(nombre)) {
+            return;
+        }
+        long segundos = segundos(momento);
+        expirar(segundos);
+        Participante participante = participantes.computeIfAbsent(nombre, Participante::new);
+        if (!participante.agregar(segundos, pesoDecagramos)) {
+            return;
+        }
+        reubicar(participante, segundos - ventanaSegundos);
+    }
+
+    /**
+     * Los k usuarios con mayor pérdida en la ventana que termina ahora
+     */
+    public List<EntradaClasificacion> top(int k) {
+        return top(k, LocalDateTime.now());
+    }
+
+    /**
+     * Los k usuarios con mayor pérdida en la ventana que termina en el momento indicado
+     * Solo aparecen usuarios con pérdida positiva; los empates se ordenan por nombre
+     */
+    public synchronized List<EntradaClasificacion> top(int k, LocalDateTime ahora) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("La cantidad de posiciones debe ser mayor a 0");
+        }
+        expirar(segundos(ahora));
+        List<EntradaClasificacion> resultado = new ArrayList<>(Math.min(k, ranking.size()));
+        Iterator<Participante> iterador = ranking.iterator();
+        while (resultado.size() < k && iterador.hasNext()) {
+            Participante participante = iterador.next();
+            resultado.add(new EntradaClasificacion(resultado.size() + 1, participante.nombre, participante.perdida));
+        }
+        return resultado;
+    }
+
+    /**
+     * Usuarios con pérdida positiva en la ventana
+     */
+    public synchronized int tamano() {
+        return ranking.size();
+    }
+
+    /**
+     * Usuarios de los que se guardan lecturas, incluidos los que aún no tienen pérdida
+     */
+    synchronized int participantes() {
+        return participantes.size();
+    }
+
+    private void expirar(long ahora) {
+        Vencimiento siguiente;
+        while ((siguiente = vencimientos.peek()) != null && siguiente.momento() <= ahora) {
+            vencimientos.poll();
+            Participante participante = siguiente.participante();
+            // Solo cuenta el vencimiento vigente; los anteriores quedaron obsoletos
+            if (participante.vencimiento == siguiente.momento()) {
+                participante.vencimiento = Long.MIN_VALUE;
+                reubicar(participante, ahora - ventanaSegundos);
+            }
+        }
+    }
+
+    private void reubicar(Participante participante, long inicioVentana) {
+        participante.descartarAnteriores(inicioVentana);
+        int perdida = participante.primerPeso() - participante.ultimoPeso();
+        if (perdida != participante.perdida) {
+            // El árbol se ordena por la pérdida, así que se saca antes de cambiarla
+            if (participante.perdida > 0) {
+                ranking.remove(participante);
+            }
+            participante.perdida = perdida;
+            if (perdida > 0) {
+                ranking.add(participante);
+            }
+        }
+        if (participante.lecturas == 1 && participante.momentos[0] <= inicioVentana) {
+            // Su única lectura ya salió de la ventana: no tiene pérdida ni vencimientos pendientes
+            participantes.remove(participante.nombre);
+            return;
+        }
+        // La lectura más antigua deja de ser la base cuando la segunda queda fuera de la ventana;
+        // si es la única, al salir de la ventana se olvida al usuario
+        long vencimiento = participante.momentos[participante.lecturas >= 2 ? 1 : 0] + ventanaSegundos;
+        if (vencimiento != participante.vencimiento) {
+            participante.vencimiento = vencimiento;
+            vencimientos.add(new Vencimiento(vencimiento, participante));
+        }
+    }
+
+    private static long segundos(LocalDateTime momento) {
+        return momento.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private record Vencimiento(long momento, Participante participante) {
+    }
+
+    /**
+     * Lecturas de un usuario dentro de la ventana más la última anterior a ella, en orden
+     */
+    private static final class Participante {
+        private final String nombre;
+        private long[] momentos = new long[4];
+        private int[] pesos = new int[4];
+        private int lecturas;
+        private int perdida;
+        private long vencimiento = Long.MIN_VALUE;
+
+        Participante(String nombre) {
+            this.nombre = nombre;
+        }
+
+        /**
+         * @return false si la lectura es anterior a la última y se ignora
+         */
+        boolean agregar(long momento, int peso) {
+            if (lecturas > 0 && momento < momentos[lecturas - 1]) {
+                return false;
+            }
+            if (lecturas == momentos.length) {
+                momentos = Arrays.copyOf(momentos, lecturas * 2);
+                pesos = Arrays.copyOf(pesos, lecturas * 2);
+            }
+            momentos[lecturas] = momento;
+            pesos[lecturas] = peso;
+            lecturas++;
+            return true;
+        }
+
+        /**
+         * Conserva como base solo la última lectura anterior al inicio de la ventana
+         */
+        void descartarAnteriores(long inicioVentana) {
+            int descartar = 0;
+            while (descartar + 1 < lecturas && momentos[descartar + 1] <= inicioVentana) {
+                descartar++;
+            }
+            if (descartar > 0) {
+                lecturas -= descartar;
+                System.arraycopy(momentos, descartar, momentos, 0, lecturas);
+                System.arraycopy(pesos, descartar, pesos, 0, lecturas);
+            }
+        }
+
+        int primerPeso() {
+            return pesos[0];
+        }
+
+        int ultimoPeso() {
+            return pesos[lecturas - 1];
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.healthtrack.healthtrack_platform.clasificacion;
+
+import com.healthtrack.healthtrack_platform.model.PesoFijo;
+
+/**
+ * Posición de un usuario en una clasificación
+ *
+ * @param posicion Posición empezando en 1
+ * @param nombre Nombre del usuario
+ * @param perdidaDecagramos Peso perdido en la ventana, en punto fijo (ver {@link PesoFijo})
+ */
+public record EntradaClasificacion(int posicion, String nombre, int perdidaDecagramos) {
+
+    /**
+     * Peso perdido en kg
+     */
+    public double perdidaKg() {
+        return PesoFijo.aKg(perdidaDecagramos);
+    }
+}
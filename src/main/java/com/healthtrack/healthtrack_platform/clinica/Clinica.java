@@ -0,0 +1,154 @@
+package com.healthtrack.healthtrack_platform.clinica;
+
+import com.healthtrack.healthtrack_platform.admision.CuboTokens;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuarios;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Recursos aislados de una clínica: almacenamiento, ejecutor con cola acotada, cubo de
+ * tokens y contador de usuarios para la cuota de memoria
+ */
+final class Clinica {
+
+    private static final int TAMANO_LOTE_IMPORTACION = 500;
+
+    private final ConfiguracionClinica configuracion;
+    private final RepositorioUsuarios repositorio;
+    private final ThreadPoolExecutor ejecutor;
+    private final CuboTokens cubo;
+    private final int tamanoLote;
+    private long usuarios;
+
+    Clinica(ConfiguracionClinica configuracion, RepositorioUsuarios repositorio) {
+        this.configuracion = configuracion;
+        this.repositorio = repositorio;
+        this.cubo = new CuboTokens(configuracion.operacionesPorSegundo(), configuracion.rafaga());
+        this.tamanoLote = Math.min(TAMANO_LOTE_IMPORTACION, configuracion.rafaga());
+        this.usuarios = repositorio.contar();
+        AtomicInteger hilosCreados = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(configuracion.hilos(), configuracion.hilos(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(configuracion.maximoEnCola()), tarea -> {
+                    Thread hilo = new Thread(tarea, "clinica-" + configuracion.id() + "-" + hilosCreados.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+    }
+
+    RepositorioUsuarios repositorio() {
+        return repositorio;
+    }
+
+    /**
+     * Ejecuta una escritura en el ejecutor de la clínica si hay tokens y lugar en la cola
+     * El rechazo se informa en el futuro, sin bloquear al llamador
+     */
+    <T> CompletableFuture<T> escribir(Supplier<T> operacion) {
+        if (!cubo.intentarConsumir(1)) {
+            return CompletableFuture.failedFuture(
+                    new ExcepcionCuotaExcedida("La clínica " + configuracion.id() + " superó su tasa de escrituras"));
+        }
+        return enviar(operacion);
+    }
+
+    /**
+     * Importa en lotes dentro de una sola tarea: la importación ocupa un hilo de la clínica y
+     * espera los tokens de cada lote, así que avanza a la tasa contratada sin saturar la cola
+     * Es el camino explícito de reemplazo: un paciente que ya existe se sobrescribe
+     */
+    CompletableFuture<Integer> importar(Collection<Usuario> lote) {
+        List<Usuario> pendientes = new ArrayList<>(lote);
+        return enviar(() -> {
+            for (int desde = 0; desde < pendientes.size(); desde += tamanoLote) {
+                List<Usuario> parte = pendientes.subList(desde, Math.min(desde + tamanoLote, pendientes.size()));
+                esperarTokens(parte.size());
+                guardarConCuota(parte);
+            }
+            return pendientes.size();
+        });
+    }
+
+    /**
+     * Registra un usuario nuevo si cabe en la cuota de la clínica; a diferencia de la
+     * importación, nunca reemplaza a un paciente existente
+     * @throws IllegalArgumentException si ya hay un usuario con ese nombre
+     * @throws ExcepcionCuotaExcedida si la clínica alcanzó su máximo de usuarios
+     */
+    synchronized void registrarNuevo(Usuario usuario) {
+        verificarCuota(1);
+        // Inserción atómica: el repositorio puede estar compartido con otros puntos de registro
+        if (!repositorio.guardarSiNoExiste(usuario)) {
+            throw new IllegalArgumentException("El usuario ya está registrado: " + usuario.getNombre());
+        }
+        usuarios++;
+    }
+
+    /**
+     * Guarda los usuarios, reemplazando a los existentes, si los nuevos caben en la cuota de
+     * la clínica
+     * @throws ExcepcionCuotaExcedida si se supera la cuota; en ese caso no se guarda ninguno
+     */
+    synchronized void guardarConCuota(List<Usuario> lote) {
+        Set<String> nuevos = new HashSet<>();
+        for (Usuario usuario : lote) {
+            if (repositorio.buscar(usuario.getNombre()).isEmpty()) {
+                nuevos.add(usuario.getNombre());
+            }
+        }
+        verificarCuota(nuevos.size());
+        repositorio.guardarTodos(lote);
+        usuarios += nuevos.size();
+    }
+
+    private void verificarCuota(int nuevos) {
+        if (usuarios + nuevos > configuracion.maximoUsuarios()) {
+            throw new ExcepcionCuotaExcedida("La clínica " + configuracion.id() + " alcanzó su máximo de "
+                    + configuracion.maximoUsuarios() + " usuarios");
+        }
+    }
+
+    synchronized boolean eliminar(String nombre) {
+        boolean eliminado = repositorio.eliminar(nombre);
+        if (eliminado) {
+            usuarios--;
+        }
+        return eliminado;
+    }
+
+    synchronized long contarUsuarios() {
+        return usuarios;
+    }
+
+    void cerrar() {
+        ejecutor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> enviar(Supplier<T> operacion) {
+        try {
+            return CompletableFuture.supplyAsync(operacion, ejecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(ejecutor.isShutdown()
+                    ? e
+                    : new ExcepcionCuotaExcedida("La clínica " + configuracion.id() + " tiene la cola llena"));
+        }
+    }
+
+    private void esperarTokens(int cantidad) {
+        while (!cubo.intentarConsumir(cantidad)) {
+            LockSupport.parkNanos(cubo.nanosHastaDisponible(cantidad));
+        }
+    }
+}
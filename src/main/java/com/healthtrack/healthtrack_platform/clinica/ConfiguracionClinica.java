@@ -0,0 +1,39 @@
+package com.healthtrack.healthtrack_platform.clinica;
+
+/**
+ * Recursos y cuotas de una clínica
+ *
+ * @param id Identificador único de la clínica
+ * @param hilos Hilos de su ejecutor propio
+ * @param maximoEnCola Operaciones pendientes antes de rechazar
+ * @param operacionesPorSegundo Tasa sostenida de escrituras (registros, actualizaciones e importaciones)
+ * @param rafaga Escrituras que pueden acumularse por encima de la tasa
+ * @param maximoUsuarios Cuota de memoria: usuarios que puede guardar
+ */
+public record ConfiguracionClinica(String id, int hilos, int maximoEnCola, double operacionesPorSegundo,
+                                   int rafaga, int maximoUsuarios) {
+
+    private static final int HILOS_POR_DEFECTO = 2;
+    private static final int MAXIMO_EN_COLA_POR_DEFECTO = 10_000;
+    private static final double OPERACIONES_POR_SEGUNDO_POR_DEFECTO = 1_000;
+    private static final int RAFAGA_POR_DEFECTO = 2_000;
+    private static final int MAXIMO_USUARIOS_POR_DEFECTO = 100_000;
+
+    public ConfiguracionClinica {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("La clínica debe tener un identificador");
+        }
+        if (hilos <= 0 || maximoEnCola <= 0 || !(operacionesPorSegundo > 0) || rafaga <= 0 || maximoUsuarios <= 0) {
+            throw new IllegalArgumentException("Los recursos y cuotas de la clínica deben ser mayores a 0");
+        }
+        id = id.trim();
+    }
+
+    /**
+     * Configuración con los valores por defecto para una clínica mediana
+     */
+    public static ConfiguracionClinica porDefecto(String id) {
+        return new ConfiguracionClinica(id, HILOS_POR_DEFECTO, MAXIMO_EN_COLA_POR_DEFECTO,
+                OPERACIONES_POR_SEGUNDO_POR_DEFECTO, RAFAGA_POR_DEFECTO, MAXIMO_USUARIOS_POR_DEFECTO);
+    }
+}
@@ -0,0 +1,13 @@
+package com.healthtrack.healthtrack_platform.clinica;
+
+/**
+ * Operación rechazada porque la clínica superó su cuota de tasa, de cola o de usuarios
+ * No guarda la traza: se lanza en ráfagas justamente cuando el sistema está cargado, y
+ * recorrer la pila en cada rechazo costaría más que la operación rechazada
+ */
+public class ExcepcionCuotaExcedida extends RuntimeException {
+
+    public ExcepcionCuotaExcedida(String mensaje) {
+        super(mensaje, null, false, false);
+    }
+}
@@ -0,0 +1,110 @@
+package com.healthtrack.healthtrack_platform.clinica;
+
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuarios;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuariosEnMemoria;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Punto de entrada de un despliegue compartido por varias clínicas
+ *
+ * Cada clínica tiene su propio almacenamiento, así que el mismo nombre de usuario en dos
+ * clínicas identifica a dos pacientes distintos. Las escrituras corren en el ejecutor de la
+ * clínica y consumen de su cubo de tokens, y los usuarios guardados cuentan contra su cuota:
+ * una importación masiva en una clínica no hace esperar a las actualizaciones de las demás.
+ * Las lecturas van directo al almacenamiento de la clínica, sin pasar por el ejecutor.
+ */
+public class PlataformaClinicas implements AutoCloseable {
+
+    private final ConcurrentHashMap<String, Clinica> clinicas = new ConcurrentHashMap<>();
+
+    /**
+     * Registra una clínica con almacenamiento en memoria
+     */
+    public void registrarClinica(ConfiguracionClinica configuracion) {
+        registrarClinica(configuracion, new RepositorioUsuariosEnMemoria());
+    }
+
+    /**
+     * Registra una clínica con su propio almacenamiento
+     * @throws IllegalArgumentException si ya hay una clínica con el mismo identificador
+     */
+    public void registrarClinica(ConfiguracionClinica configuracion, RepositorioUsuarios repositorio) {
+        Clinica nueva = new Clinica(configuracion, repositorio);
+        if (clinicas.putIfAbsent(configuracion.id(), nueva) != null) {
+            nueva.cerrar();
+            throw new IllegalArgumentException("Clínica ya registrada: " + configuracion.id());
+        }
+    }
+
+    /**
+     * Registra un paciente nuevo en la clínica; para reemplazar pacientes existentes se usa importar
+     * @return Futuro con el usuario, o fallido con ExcepcionCuotaExcedida si la clínica superó
+     *         su tasa, su cola o su máximo de usuarios, o con IllegalArgumentException si el
+     *         nombre ya está registrado
+     */
+    public CompletableFuture<Usuario> registrarUsuario(String clinica, String nombre, double peso) {
+        Usuario usuario = new Usuario(nombre, peso);
+        Clinica destino = clinica(clinica);
+        return destino.escribir(() -> {
+            destino.registrarNuevo(usuario);
+            return usuario;
+        });
+    }
+
+    /**
+     * Actualiza el peso de un paciente de la clínica
+     * @return Futuro con el resultado, o fallido con ExcepcionCuotaExcedida si la clínica superó
+     *         su tasa o su cola, o con IllegalArgumentException si el paciente no existe
+     */
+    public CompletableFuture<ResultadoActualizacion> actualizarPeso(String clinica, String nombre, double nuevoPeso) {
+        Clinica destino = clinica(clinica);
+        return destino.escribir(() -> destino.repositorio().tryActualizarPeso(nombre, nuevoPeso));
+    }
+
+    /**
+     * Importa pacientes en lotes a la tasa de la clínica, reemplazando a los que ya existen
+     * Si un lote supera la cuota de usuarios la importación se detiene y los lotes anteriores
+     * quedan guardados
+     * @return Futuro con la cantidad de usuarios importados
+     */
+    public CompletableFuture<Integer> importar(String clinica, Collection<Usuario> usuarios) {
+        return clinica(clinica).importar(usuarios);
+    }
+
+    public Optional<Usuario> buscar(String clinica, String nombre) {
+        return clinica(clinica).repositorio().buscar(nombre);
+    }
+
+    public boolean eliminar(String clinica, String nombre) {
+        return clinica(clinica).eliminar(nombre);
+    }
+
+    /**
+     * Usuarios guardados por la clínica, que cuentan contra su cuota
+     */
+    public long contarUsuarios(String clinica) {
+        return clinica(clinica).contarUsuarios();
+    }
+
+    /**
+     * Deja de aceptar operaciones; las ya encoladas terminan de ejecutarse
+     */
+    @Override
+    public void close() {
+        clinicas.values().forEach(Clinica::cerrar);
+    }
+
+    private Clinica clinica(String id) {
+        Clinica clinica = id == null ? null : clinicas.get(id.trim());
+        if (clinica == null) {
+            throw new IllegalArgumentException("Clínica no registrada: " + id);
+        }
+        return clinica;
+    }
+}
@@ -0,0 +1,222 @@
+package com.healthtrack.healthtrack_platform.codec;
+
+import com.healthtrack.healthtrack_platform.evento.EventoUsuario;
+import com.healthtrack.healthtrack_platform.evento.PesoActualizado;
+import com.healthtrack.healthtrack_platform.evento.UsuarioRegistrado;
+import com.healthtrack.healthtrack_platform.model.InstantaneaUsuario;
+import com.healthtrack.healthtrack_platform.model.PesoFijo;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Codec binario compacto para Usuario y sus eventos de actualización
+ *
+ * Formato de cada registro:
+ * - Tipo: 1 byte
+ * - Secuencia (solo eventos): delta respecto al registro anterior, varint zigzag
+ * - Nombre: longitud en bytes (varint) seguida del texto en UTF-8
+ * - Peso: punto fijo en decagramos (0,01 kg, ver PesoFijo), varint
+ * - Momento: delta en microsegundos respecto al registro anterior, varint zigzag
+ * - Altura y peso objetivo (solo usuarios con medidas): cm y decagramos, varint; 0 si falta uno
+ *
+ * Un usuario sin altura ni peso objetivo se escribe con los tipos sin medidas, así que ocupa
+ * lo mismo que antes de que existieran y los flujos anteriores se siguen leyendo.
+ *
+ * El momento se trunca a microsegundos (LocalDateTime.now() no da más precisión en Linux),
+ * así que un momento con nanosegundos no vuelve igual. Un surrogate sin pareja en el nombre
+ * se escribe como '?', igual que String.getBytes, y todo nombre se lee con el decodificador
+ * UTF-8 del JDK, sea el buffer directo o no.
+ *
+ * El codec guarda el último momento y la última secuencia escritos o leídos, por lo
+ * que un flujo debe decodificarse con una instancia que recorra los registros en el
+ * mismo orden en que se codificaron. Las instancias no son thread-safe.
+ */
+public class CodecUsuario {
+
+    static final byte TIPO_USUARIO = 1;
+    static final byte TIPO_USUARIO_ACTUALIZADO = 2;
+    static final byte TIPO_REGISTRO = 3;
+    static final byte TIPO_ACTUALIZACION = 4;
+    static final byte TIPO_USUARIO_CON_MEDIDAS = 5;
+    static final byte TIPO_USUARIO_ACTUALIZADO_CON_MEDIDAS = 6;
+
+    /** Momento base del flujo: 2020-01-01T00:00 UTC en microsegundos */
+    static final long MOMENTO_BASE_MICROS = 1_577_836_800_000_000L;
+
+    private long ultimoMomento = MOMENTO_BASE_MICROS;
+    private long ultimaSecuencia;
+    private byte[] bytesTexto = new byte[64];
+
+    /**
+     * Reinicia el estado delta para comenzar un flujo nuevo
+     */
+    public void reiniciar() {
+        ultimoMomento = MOMENTO_BASE_MICROS;
+        ultimaSecuencia = 0;
+    }
+
+    // ===== USUARIO =====
+
+    /**
+     * Codifica un usuario en la posición actual del buffer
+     */
+    public void codificar(Usuario usuario, ByteBuffer destino) {
+        InstantaneaUsuario estado = usuario.getInstantanea();
+        LocalDateTime ultimaActualizacion = estado.ultimaActualizacion();
+        boolean conMedidas = tieneMedidas(estado);
+        if (conMedidas) {
+            destino.put(ultimaActualizacion == null ? TIPO_USUARIO_CON_MEDIDAS : TIPO_USUARIO_ACTUALIZADO_CON_MEDIDAS);
+        } else {
+            destino.put(ultimaActualizacion == null ? TIPO_USUARIO : TIPO_USUARIO_ACTUALIZADO);
+        }
+        FormatoBinario.escribirTexto(destino, estado.nombre());
+        FormatoBinario.escribirVarLong(destino, estado.pesoDecagramos());
+        if (ultimaActualizacion != null) {
+            escribirMomento(destino, ultimaActualizacion);
+        }
+        if (conMedidas) {
+            FormatoBinario.escribirVarLong(destino, estado.alturaCm());
+            FormatoBinario.escribirVarLong(destino, estado.pesoObjetivoDecagramos());
+        }
+    }
+
+    /**
+     * Decodifica un usuario desde la posición actual del buffer
+     */
+    public Usuario decodificarUsuario(ByteBuffer origen) {
+        byte tipo = origen.get();
+        boolean conMedidas = tipo == TIPO_USUARIO_CON_MEDIDAS || tipo == TIPO_USUARIO_ACTUALIZADO_CON_MEDIDAS;
+        if (tipo != TIPO_USUARIO && tipo != TIPO_USUARIO_ACTUALIZADO && !conMedidas) {
+            throw new IllegalArgumentException("Tipo de registro inesperado para Usuario: " + tipo);
+        }
+        String nombre = leerTexto(origen);
+        int peso = leerPeso(origen);
+        boolean actualizado = tipo == TIPO_USUARIO_ACTUALIZADO || tipo == TIPO_USUARIO_ACTUALIZADO_CON_MEDIDAS;
+        LocalDateTime ultimaActualizacion = actualizado ? leerMomento(origen) : null;
+        if (!conMedidas) {
+            return Usuario.desdeDecagramos(nombre, peso, ultimaActualizacion);
+        }
+        long alturaCm = FormatoBinario.leerVarLong(origen);
+        if (alturaCm < 0 || alturaCm > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Altura fuera de rango: " + alturaCm);
+        }
+        int pesoObjetivo = leerPeso(origen);
+        return Usuario.desdeDecagramos(nombre, peso, ultimaActualizacion, (int) alturaCm, pesoObjetivo);
+    }
+
+    /**
+     * Número de bytes que ocupará el usuario codificado con el estado actual del codec
+     */
+    public int tamanoCodificado(Usuario usuario) {
+        InstantaneaUsuario estado = usuario.getInstantanea();
+        int longitudNombre = FormatoBinario.longitudUtf8(estado.nombre());
+        int tamano = 1 + FormatoBinario.tamanoVarLong(longitudNombre) + longitudNombre
+                + FormatoBinario.tamanoVarLong(estado.pesoDecagramos());
+        if (estado.ultimaActualizacion() != null) {
+            tamano += FormatoBinario.tamanoVarLong(
+                    FormatoBinario.zigzag(aMicros(estado.ultimaActualizacion()) - ultimoMomento));
+        }
+        if (tieneMedidas(estado)) {
+            tamano += FormatoBinario.tamanoVarLong(estado.alturaCm())
+                    + FormatoBinario.tamanoVarLong(estado.pesoObjetivoDecagramos());
+        }
+        return tamano;
+    }
+
+    // ===== EVENTOS =====
+
+    /**
+     * Codifica un evento en la posición actual del buffer
+     */
+    public void codificar(EventoUsuario evento, ByteBuffer destino) {
+        if (evento instanceof UsuarioRegistrado registrado) {
+            destino.put(TIPO_REGISTRO);
+            escribirCabecera(destino, evento);
+            FormatoBinario.escribirVarLong(destino, PesoFijo.desdeKg(registrado.pesoInicial()));
+        } else {
+            destino.put(TIPO_ACTUALIZACION);
+            escribirCabecera(destino, evento);
+            FormatoBinario.escribirVarLong(destino, PesoFijo.desdeKg(((PesoActualizado) evento).nuevoPeso()));
+        }
+        escribirMomento(destino, evento.momento());
+    }
+
+    /**
+     * Decodifica un evento desde la posición actual del buffer
+     */
+    public EventoUsuario decodificarEvento(ByteBuffer origen) {
+        byte tipo = origen.get();
+        if (tipo != TIPO_REGISTRO && tipo != TIPO_ACTUALIZACION) {
+            throw new IllegalArgumentException("Tipo de registro inesperado para evento: " + tipo);
+        }
+        ultimaSecuencia += FormatoBinario.deszigzag(FormatoBinario.leerVarLong(origen));
+        String nombre = leerTexto(origen);
+        double peso = PesoFijo.aKg(leerPeso(origen));
+        LocalDateTime momento = leerMomento(origen);
+        return tipo == TIPO_REGISTRO
+                ? new UsuarioRegistrado(ultimaSecuencia, nombre, peso, momento)
+                : new PesoActualizado(ultimaSecuencia, nombre, peso, momento);
+    }
+
+    // ===== MÉTODOS AUXILIARES PRIVADOS =====
+
+    private static boolean tieneMedidas(InstantaneaUsuario estado) {
+        return estado.alturaCm() != InstantaneaUsuario.SIN_ALTURA
+                || estado.pesoObjetivoDecagramos() != InstantaneaUsuario.SIN_OBJETIVO;
+    }
+
+    private void escribirCabecera(ByteBuffer destino, EventoUsuario evento) {
+        FormatoBinario.escribirVarLong(destino, FormatoBinario.zigzag(evento.secuencia() - ultimaSecuencia));
+        ultimaSecuencia = evento.secuencia();
+        FormatoBinario.escribirTexto(destino, evento.nombre());
+    }
+
+    private void escribirMomento(ByteBuffer destino, LocalDateTime momento) {
+        long micros = aMicros(momento);
+        FormatoBinario.escribirVarLong(destino, FormatoBinario.zigzag(micros - ultimoMomento));
+        ultimoMomento = micros;
+    }
+
+    private LocalDateTime leerMomento(ByteBuffer origen) {
+        ultimoMomento += FormatoBinario.deszigzag(FormatoBinario.leerVarLong(origen));
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(ultimoMomento, 1_000_000L),
+                (int) Math.floorMod(ultimoMomento, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private String leerTexto(ByteBuffer origen) {
+        // Se valida como long: un varint corrupto puede ser negativo o no caber en un int
+        long leida = FormatoBinario.leerVarLong(origen);
+        if (leida < 0 || leida > origen.remaining()) {
+            throw new IllegalArgumentException("Longitud de texto inválida: " + leida);
+        }
+        int longitud = (int) leida;
+        if (origen.hasArray()) {
+            String texto = new String(origen.array(), origen.arrayOffset() + origen.position(), longitud,
+                    StandardCharsets.UTF_8);
+            origen.position(origen.position() + longitud);
+            return texto;
+        }
+        // Buffers directos: se copian a un arreglo de trabajo reutilizable y se decodifican igual
+        if (bytesTexto.length < longitud) {
+            bytesTexto = new byte[Math.max(longitud, bytesTexto.length * 2)];
+        }
+        origen.get(bytesTexto, 0, longitud);
+        return new String(bytesTexto, 0, longitud, StandardCharsets.UTF_8);
+    }
+
+    private static int leerPeso(ByteBuffer origen) {
+        long decagramos = FormatoBinario.leerVarLong(origen);
+        if (decagramos < 0 || decagramos > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Peso fuera de rango: " + decagramos);
+        }
+        return (int) decagramos;
+    }
+
+    private static long aMicros(LocalDateTime momento) {
+        return momento.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + momento.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,110 @@
+package com.healthtrack.healthtrack_platform.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Primitivas de bajo nivel del formato binario: varints, zigzag y UTF-8
+ * Todas trabajan directamente sobre el ByteBuffer sin crear objetos intermedios
+ */
+final class FormatoBinario {
+
+    private FormatoBinario() {
+    }
+
+    // ===== ZIGZAG =====
+
+    static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    static long deszigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    // ===== VARINTS =====
+
+    static void escribirVarLong(ByteBuffer destino, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    static long leerVarLong(ByteBuffer origen) {
+        long resultado = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            byte b = origen.get();
+            resultado |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return resultado;
+            }
+        }
+        throw new IllegalArgumentException("Varint mal formado: supera los 10 bytes");
+    }
+
+    static int tamanoVarLong(long valor) {
+        int bytes = 1;
+        while ((valor & ~0x7FL) != 0) {
+            valor >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    // ===== UTF-8 =====
+
+    /**
+     * Número de bytes que ocupa el texto codificado en UTF-8
+     */
+    static int longitudUtf8(CharSequence texto) {
+        int bytes = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                    && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes += 1;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Escribe el texto con su longitud en bytes como prefijo varint
+     */
+    static void escribirTexto(ByteBuffer destino, CharSequence texto) {
+        escribirVarLong(destino, longitudUtf8(texto));
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                destino.put((byte) c);
+            } else if (c < 0x800) {
+                destino.put((byte) (0xC0 | (c >> 6)));
+                destino.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                    && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                int codigo = Character.toCodePoint(c, texto.charAt(++i));
+                destino.put((byte) (0xF0 | (codigo >> 18)));
+                destino.put((byte) (0x80 | ((codigo >> 12) & 0x3F)));
+                destino.put((byte) (0x80 | ((codigo >> 6) & 0x3F)));
+                destino.put((byte) (0x80 | (codigo & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Sin pareja no es un carácter válido: se reemplaza como lo hace String.getBytes
+                destino.put((byte) '?');
+            } else {
+                destino.put((byte) (0xE0 | (c >> 12)));
+                destino.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                destino.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+}
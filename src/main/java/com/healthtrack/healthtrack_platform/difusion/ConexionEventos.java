@@ -0,0 +1,30 @@
+package com.healthtrack.healthtrack_platform.difusion;
+
+import java.io.IOException;
+
+/**
+ * Conexión abierta de un cliente que recibe eventos (por ejemplo un flujo SSE)
+ * El difusor nunca llama a enviar desde dos hilos a la vez para la misma conexión
+ */
+public interface ConexionEventos {
+
+    /**
+     * Escribe un evento ya codificado; puede bloquear mientras el cliente no lee
+     * @throws IOException si la conexión se cerró, lo que termina la suscripción
+     */
+    void enviar(byte[] evento) throws IOException;
+
+    /**
+     * Mensaje que el cliente ignora (un comentario SSE, por ejemplo) y que el difusor envía
+     * periódicamente a las conexiones sin eventos, para descubrir las que se cortaron sin cerrarse
+     * @return Los bytes del latido, o null si la conexión no los necesita
+     */
+    default byte[] latido() {
+        return null;
+    }
+
+    /**
+     * Cierra la conexión; puede llamarse desde otro hilo mientras enviar está bloqueado
+     */
+    void cerrar();
+}
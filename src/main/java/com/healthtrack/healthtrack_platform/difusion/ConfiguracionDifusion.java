@@ -0,0 +1,48 @@
+package com.healthtrack.healthtrack_platform.difusion;
+
+import java.time.Duration;
+
+/**
+ * Hilos y límites de tiempo del difusor de eventos
+ *
+ * @param hilosDespacho Hilos que escriben en las conexiones que leen al día
+ * @param hilosLentos Hilos para las conexiones que ya tardaron en aceptar un evento
+ * @param umbralLento Escritura a partir de la cual la conexión pasa a los hilos lentos
+ * @param maximoEscritura Escritura a partir de la cual la conexión se cierra
+ * @param latido Período del latido que se envía a las conexiones sin eventos pendientes
+ */
+public record ConfiguracionDifusion(int hilosDespacho, int hilosLentos, Duration umbralLento,
+                                    Duration maximoEscritura, Duration latido) {
+
+    /** Menos que el tiempo de inactividad habitual de proxies y balanceadores (30 a 60 s) */
+    private static final Duration LATIDO_POR_DEFECTO = Duration.ofSeconds(15);
+
+    public ConfiguracionDifusion {
+        if (hilosDespacho <= 0 || hilosLentos <= 0) {
+            throw new IllegalArgumentException("Los hilos de despacho deben ser mayores a 0");
+        }
+        if (umbralLento == null || maximoEscritura == null || umbralLento.isNegative()
+                || maximoEscritura.compareTo(umbralLento) <= 0) {
+            throw new IllegalArgumentException("El máximo de escritura debe ser mayor al umbral de conexión lenta");
+        }
+        if (latido == null || latido.isNegative() || latido.isZero()) {
+            throw new IllegalArgumentException("El período del latido debe ser mayor a 0");
+        }
+    }
+
+    /**
+     * Configuración con el latido por defecto
+     */
+    public ConfiguracionDifusion(int hilosDespacho, int hilosLentos, Duration umbralLento, Duration maximoEscritura) {
+        this(hilosDespacho, hilosLentos, umbralLento, maximoEscritura, LATIDO_POR_DEFECTO);
+    }
+
+    /**
+     * Un evento de peso ocupa unos 100 bytes y entra en el buffer del socket, así que una
+     * escritura de más de 10 ms indica un cliente que no lee
+     */
+    public static ConfiguracionDifusion porDefecto() {
+        return new ConfiguracionDifusion(Math.max(2, Runtime.getRuntime().availableProcessors()), 2,
+                Duration.ofMillis(10), Duration.ofSeconds(5));
+    }
+}
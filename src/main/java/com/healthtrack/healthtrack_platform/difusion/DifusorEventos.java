@@ -0,0 +1,257 @@
+package com.healthtrack.healthtrack_platform.difusion;
+
+import com.healthtrack.healthtrack_platform.difusion.Suscripcion.Evento;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Difusión de eventos a las conexiones abiertas de cada usuario (teléfono, tablet de la
+ * clínica, etc.), para que todos sus dispositivos vean un peso nuevo sin consultar
+ *
+ * Publicar no escribe en ninguna conexión ni bloquea: deja el evento pendiente en cada
+ * suscripción del usuario y programa las que estaban inactivas en un pool de despacho. Como
+ * cada suscripción guarda un solo evento pendiente, una ráfaga de actualizaciones se fusiona
+ * en la última, la cola del pool tiene como mucho una tarea por suscripción y la memoria por
+ * conexión no depende de lo lento que lea el cliente.
+ *
+ * Una conexión que tarda en aceptar un evento (buffer del socket lleno) pasa a un pool aparte
+ * con pocos hilos, y una que no termina una escritura dentro del máximo se desconecta. Mientras
+ * una escritura lenta sigue ocupando un hilo del pool principal, el pool suma un hilo para
+ * compensarla (como managedBlock en ForkJoinPool); así un cliente que no lee no demora la
+ * difusión a los demás.
+ *
+ * Un cliente que desaparece sin cerrar la conexión (teléfono sin red, proxy que la descarta)
+ * solo se descubre al escribirle. Por eso la vigilancia envía cada cierto período un latido a
+ * las suscripciones sin eventos pendientes, por el mismo camino que los eventos: la escritura
+ * falla o se traba y la suscripción se quita como cualquier otra.
+ */
+public class DifusorEventos implements AutoCloseable {
+
+    // Hilos extra como máximo para compensar escrituras bloqueadas en el pool principal
+    private static final int MAXIMO_COMPENSACION = 64;
+
+    private final Map<String, Set<Suscripcion>> suscripciones = new ConcurrentHashMap<>();
+    private final Set<Suscripcion> escribiendo = ConcurrentHashMap.newKeySet();
+    private final AtomicLong secuencia = new AtomicLong();
+    private final ThreadPoolExecutor despacho;
+    private final ThreadPoolExecutor despachoLento;
+    private final ExecutorService cierres;
+    private final ScheduledExecutorService vigilancia;
+    private final int hilosDespacho;
+    private final long umbralLentoNanos;
+    private final long maximoEscrituraNanos;
+
+    private final LongAdder publicados = new LongAdder();
+    private final LongAdder entregados = new LongAdder();
+    private final LongAdder fusionados = new LongAdder();
+    private final LongAdder desconectadasLentas = new LongAdder();
+
+    public DifusorEventos(ConfiguracionDifusion configuracion) {
+        this.hilosDespacho = configuracion.hilosDespacho();
+        this.umbralLentoNanos = configuracion.umbralLento().toNanos();
+        this.maximoEscrituraNanos = configuracion.maximoEscritura().toNanos();
+        this.despacho = pool(configuracion.hilosDespacho(), "difusion-");
+        this.despachoLento = pool(configuracion.hilosLentos(), "difusion-lenta-");
+        this.cierres = Executors.newCachedThreadPool(hilos("difusion-cierre-"));
+        this.vigilancia = Executors.newSingleThreadScheduledExecutor(hilos("difusion-vigilancia-"));
+        long periodo = Math.max(TimeUnit.MILLISECONDS.toNanos(1), umbralLentoNanos);
+        vigilancia.scheduleWithFixedDelay(this::vigilar, periodo, periodo, TimeUnit.NANOSECONDS);
+        long latido = configuracion.latido().toNanos();
+        vigilancia.scheduleWithFixedDelay(this::latir, latido, latido, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Suscribe una conexión a los eventos de una clave (el nombre del usuario)
+     * @param estadoInicial Evento con el estado actual, que se envía primero; se lee después de
+     *                      suscribir, así que ninguna publicación posterior a la lectura se pierde
+     *                      ni queda detrás de él. Puede devolver null para no enviar nada
+     */
+    public Suscripcion suscribir(String clave, ConexionEventos conexion, Supplier<byte[]> estadoInicial) {
+        Suscripcion suscripcion = new Suscripcion(this, clave, conexion);
+        // Dentro de compute, para no agregarla a un conjunto que quitar() acaba de descartar
+        suscripciones.compute(clave, (k, destinos) -> {
+            Set<Suscripcion> conjunto = destinos == null ? ConcurrentHashMap.newKeySet() : destinos;
+            conjunto.add(suscripcion);
+            return conjunto;
+        });
+        // La secuencia se reserva antes de leer el estado: una publicación que la supere es
+        // posterior a la lectura y reemplaza al estado inicial
+        long secuenciaInicial = secuencia.incrementAndGet();
+        byte[] inicial = estadoInicial.get();
+        if (inicial != null) {
+            suscripcion.ofrecer(new Evento(secuenciaInicial, inicial));
+        }
+        return suscripcion;
+    }
+
+    /**
+     * Entrega el evento a todas las conexiones suscritas a la clave sin esperar a ninguna
+     */
+    public void publicar(String clave, byte[] evento) {
+        Set<Suscripcion> destinos = suscripciones.get(clave);
+        if (destinos == null) {
+            return;
+        }
+        Evento publicado = new Evento(secuencia.incrementAndGet(), evento);
+        publicados.increment();
+        for (Suscripcion suscripcion : destinos) {
+            suscripcion.ofrecer(publicado);
+        }
+    }
+
+    /**
+     * Indica si alguna conexión escucha la clave, para no codificar eventos que nadie recibe
+     */
+    public boolean tieneSuscriptores(String clave) {
+        return suscripciones.containsKey(clave);
+    }
+
+    public int suscripciones() {
+        int total = 0;
+        for (Set<Suscripcion> destinos : suscripciones.values()) {
+            total += destinos.size();
+        }
+        return total;
+    }
+
+    public long publicados() {
+        return publicados.sum();
+    }
+
+    public long entregados() {
+        return entregados.sum();
+    }
+
+    /**
+     * Eventos reemplazados por uno más nuevo antes de escribirse
+     */
+    public long fusionados() {
+        return fusionados.sum();
+    }
+
+    public long desconectadasLentas() {
+        return desconectadasLentas.sum();
+    }
+
+    @Override
+    public void close() {
+        vigilancia.shutdownNow();
+        List<Suscripcion> abiertas = new ArrayList<>();
+        suscripciones.values().forEach(abiertas::addAll);
+        for (Suscripcion suscripcion : abiertas) {
+            suscripcion.desconectar(cierres);
+        }
+        despacho.shutdownNow();
+        despachoLento.shutdownNow();
+        cierres.shutdown();
+    }
+
+    void despachar(Suscripcion suscripcion, boolean rapido) {
+        (rapido ? despacho : despachoLento).execute(suscripcion::drenar);
+    }
+
+    void inicioEscritura(Suscripcion suscripcion) {
+        escribiendo.add(suscripcion);
+    }
+
+    void finEscritura(Suscripcion suscripcion) {
+        escribiendo.remove(suscripcion);
+    }
+
+    void quitar(Suscripcion suscripcion) {
+        suscripciones.computeIfPresent(suscripcion.getClave(), (clave, destinos) -> {
+            destinos.remove(suscripcion);
+            return destinos.isEmpty() ? null : destinos;
+        });
+    }
+
+    long umbralLentoNanos() {
+        return umbralLentoNanos;
+    }
+
+    void registrarEntrega() {
+        entregados.increment();
+    }
+
+    void registrarFusion() {
+        fusionados.increment();
+    }
+
+    /**
+     * Revisa las escrituras en curso: desconecta las trabadas, marca como lentas las que
+     * superan el umbral y ajusta el pool principal a los hilos que tiene bloqueados
+     */
+    private void vigilar() {
+        long ahora = System.nanoTime();
+        int bloqueados = 0;
+        for (Suscripcion suscripcion : escribiendo) {
+            if (suscripcion.escrituraExcedida(ahora, maximoEscrituraNanos) && suscripcion.desconectar(cierres)) {
+                desconectadasLentas.increment();
+            }
+            if (suscripcion.escrituraExcedida(ahora, umbralLentoNanos)) {
+                suscripcion.marcarLenta();
+                if (suscripcion.escribeEnCarrilRapido()) {
+                    bloqueados++;
+                }
+            }
+        }
+        int hilos = hilosDespacho + Math.min(bloqueados, MAXIMO_COMPENSACION);
+        if (hilos > despacho.getMaximumPoolSize()) {
+            despacho.setMaximumPoolSize(hilos);
+            despacho.setCorePoolSize(hilos);
+        } else if (hilos < despacho.getCorePoolSize()) {
+            despacho.setCorePoolSize(hilos);
+            despacho.setMaximumPoolSize(hilos);
+        }
+    }
+
+    /**
+     * Ofrece un latido a cada suscripción; las que tienen un evento pendiente ya van a escribir
+     */
+    private void latir() {
+        for (Set<Suscripcion> destinos : suscripciones.values()) {
+            for (Suscripcion suscripcion : destinos) {
+                suscripcion.latir();
+            }
+        }
+    }
+
+    /**
+     * Hilos actuales del pool principal, incluidos los que compensan escrituras bloqueadas
+     */
+    int hilosDespachoActuales() {
+        return despacho.getCorePoolSize();
+    }
+
+    /**
+     * La cola no necesita límite: cada suscripción está en ella a lo sumo una vez
+     */
+    private static ThreadPoolExecutor pool(int hilos, String prefijo) {
+        return new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                hilos(prefijo));
+    }
+
+    private static ThreadFactory hilos(String prefijo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarea -> {
+            Thread hilo = new Thread(tarea, prefijo + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+}
@@ -0,0 +1,173 @@
+package com.healthtrack.healthtrack_platform.difusion;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Suscripción de una conexión a los eventos de un usuario
+ *
+ * Guarda un único evento pendiente: uno nuevo reemplaza al que todavía no se escribió
+ * (gana el de secuencia más alta), así que un cliente lento recibe el último estado en lugar
+ * de todos los intermedios. A lo sumo un hilo la drena a la vez; la bandera programada evita
+ * encolarla dos veces. Un latido solo ocupa el lugar si no hay nada pendiente, y cualquier
+ * evento lo reemplaza.
+ */
+public final class Suscripcion implements AutoCloseable {
+
+    private static final long SIN_ESCRITURA = Long.MIN_VALUE;
+
+    private final DifusorEventos difusor;
+    private final String clave;
+    private final ConexionEventos conexion;
+    private final AtomicReference<Evento> pendiente = new AtomicReference<>();
+    private final AtomicBoolean programada = new AtomicBoolean();
+    private final AtomicBoolean cerrada = new AtomicBoolean();
+    private volatile long escribiendoDesde = SIN_ESCRITURA;
+    private volatile boolean lenta;
+    private volatile boolean enCarrilRapido;
+    // Solo lo usa el hilo que drena
+    private long ultimaSecuenciaEnviada = -1;
+
+    Suscripcion(DifusorEventos difusor, String clave, ConexionEventos conexion) {
+        this.difusor = difusor;
+        this.clave = clave;
+        this.conexion = conexion;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+
+    /**
+     * Indica si la conexión pasó a los hilos de conexiones lentas
+     */
+    public boolean esLenta() {
+        return lenta;
+    }
+
+    public boolean estaCerrada() {
+        return cerrada.get();
+    }
+
+    /**
+     * Termina la suscripción y cierra la conexión
+     */
+    @Override
+    public void close() {
+        if (cerrada.compareAndSet(false, true)) {
+            difusor.quitar(this);
+            conexion.cerrar();
+        }
+    }
+
+    void ofrecer(Evento evento) {
+        Evento anterior = pendiente.getAndAccumulate(evento,
+                (actual, nuevo) -> actual == null || nuevo.secuencia() > actual.secuencia() ? nuevo : actual);
+        if (anterior != null && !anterior.esLatido()) {
+            difusor.registrarFusion();
+        }
+        programar();
+    }
+
+    /**
+     * Deja el latido de la conexión como pendiente si no hay un evento esperando
+     */
+    void latir() {
+        byte[] latido = conexion.latido();
+        if (latido != null && pendiente.compareAndSet(null, new Evento(Evento.SECUENCIA_LATIDO, latido))) {
+            programar();
+        }
+    }
+
+    /**
+     * @return true si la escritura en curso empezó hace más de maximoNanos
+     */
+    boolean escrituraExcedida(long ahora, long maximoNanos) {
+        long desde = escribiendoDesde;
+        return desde != SIN_ESCRITURA && ahora - desde > maximoNanos;
+    }
+
+    /**
+     * Indica si la escritura en curso ocupa un hilo del pool de despacho principal
+     */
+    boolean escribeEnCarrilRapido() {
+        return enCarrilRapido;
+    }
+
+    /**
+     * Los próximos eventos se escriben desde los hilos de conexiones lentas
+     */
+    void marcarLenta() {
+        lenta = true;
+    }
+
+    /**
+     * Cierre por el difusor (conexión trabada o difusor cerrado); el cierre de la conexión,
+     * que puede bloquear, corre en el ejecutor indicado
+     */
+    boolean desconectar(Executor cierres) {
+        if (!cerrada.compareAndSet(false, true)) {
+            return false;
+        }
+        difusor.quitar(this);
+        cierres.execute(conexion::cerrar);
+        return true;
+    }
+
+    private void programar() {
+        if (!cerrada.get() && programada.compareAndSet(false, true)) {
+            boolean rapido = !lenta;
+            enCarrilRapido = rapido;
+            difusor.despachar(this, rapido);
+        }
+    }
+
+    void drenar() {
+        Evento evento;
+        while (!cerrada.get() && (evento = pendiente.getAndSet(null)) != null) {
+            if (!evento.esLatido() && evento.secuencia() <= ultimaSecuenciaEnviada) {
+                continue;
+            }
+            long inicio = System.nanoTime();
+            escribiendoDesde = inicio;
+            difusor.inicioEscritura(this);
+            try {
+                conexion.enviar(evento.datos());
+            } catch (IOException | RuntimeException e) {
+                close();
+                return;
+            } finally {
+                escribiendoDesde = SIN_ESCRITURA;
+                difusor.finEscritura(this);
+            }
+            if (!evento.esLatido()) {
+                ultimaSecuenciaEnviada = evento.secuencia();
+                difusor.registrarEntrega();
+            }
+            if (enCarrilRapido && (lenta || System.nanoTime() - inicio > difusor.umbralLentoNanos())) {
+                // El resto se escribe desde los hilos lentos para no demorar a las demás conexiones
+                lenta = true;
+                break;
+            }
+        }
+        programada.set(false);
+        if (pendiente.get() != null) {
+            programar();
+        }
+    }
+
+    /**
+     * Evento codificado con su número de secuencia global
+     */
+    record Evento(long secuencia, byte[] datos) {
+
+        /** Menor que cualquier secuencia: un evento real siempre reemplaza al latido pendiente */
+        static final long SECUENCIA_LATIDO = Long.MIN_VALUE;
+
+        boolean esLatido() {
+            return secuencia == SECUENCIA_LATIDO;
+        }
+    }
+}
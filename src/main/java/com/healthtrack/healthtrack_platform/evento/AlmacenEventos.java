@@ -0,0 +1,159 @@
+package com.healthtrack.healthtrack_platform.evento;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Almacén de eventos de solo anexado (append-only) particionado por usuario
+ * Todos los eventos de un mismo usuario caen en la misma partición, por lo que
+ * cada partición puede reproducirse de forma independiente
+ */
+public class AlmacenEventos {
+
+    private final Particion[] particiones;
+    private final AtomicLong secuencia = new AtomicLong();
+    private final List<Consumer<EventoUsuario>> suscriptores = new CopyOnWriteArrayList<>();
+
+    /**
+     * Crea un almacén con una partición por cada núcleo disponible
+     */
+    public AlmacenEventos() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Crea un almacén con el número de particiones indicado
+     * @param numeroParticiones Número de particiones (mayor a 0)
+     */
+    public AlmacenEventos(int numeroParticiones) {
+        if (numeroParticiones <= 0) {
+            throw new IllegalArgumentException("El número de particiones debe ser mayor a 0");
+        }
+        this.particiones = new Particion[numeroParticiones];
+        for (int i = 0; i < numeroParticiones; i++) {
+            particiones[i] = new Particion();
+        }
+    }
+
+    /**
+     * Registra el evento de alta de un usuario
+     */
+    public UsuarioRegistrado agregarRegistro(String nombre, double pesoInicial, LocalDateTime momento) {
+        Particion particion = particiones[indiceParticion(nombre)];
+        UsuarioRegistrado evento;
+        synchronized (particion) {
+            evento = new UsuarioRegistrado(secuencia.incrementAndGet(), nombre, pesoInicial, momento);
+            particion.eventos.add(evento);
+        }
+        publicar(evento);
+        return evento;
+    }
+
+    /**
+     * Registra el evento de actualización de peso de un usuario
+     */
+    public PesoActualizado agregarActualizacion(String nombre, double nuevoPeso, LocalDateTime momento) {
+        Particion particion = particiones[indiceParticion(nombre)];
+        PesoActualizado evento;
+        synchronized (particion) {
+            evento = new PesoActualizado(secuencia.incrementAndGet(), nombre, nuevoPeso, momento);
+            particion.eventos.add(evento);
+        }
+        publicar(evento);
+        return evento;
+    }
+
+    /**
+     * Suscribe un consumidor que recibirá cada evento tras ser almacenado
+     */
+    public void suscribir(Consumer<EventoUsuario> suscriptor) {
+        suscriptores.add(suscriptor);
+    }
+
+    /**
+     * Obtiene los eventos de una partición a partir de una posición
+     * @param particion Índice de la partición
+     * @param desde Posición del primer evento a devolver
+     * @return Copia de los eventos en orden de llegada
+     */
+    public List<EventoUsuario> eventos(int particion, int desde) {
+        Particion p = particiones[particion];
+        synchronized (p) {
+            return new ArrayList<>(p.eventos.subList(desde, p.eventos.size()));
+        }
+    }
+
+    /**
+     * Obtiene el historial completo de eventos de un usuario (para auditoría)
+     */
+    public List<EventoUsuario> eventosDe(String nombre) {
+        List<EventoUsuario> resultado = new ArrayList<>();
+        for (EventoUsuario evento : eventos(indiceParticion(nombre), 0)) {
+            if (evento.nombre().equals(nombre)) {
+                resultado.add(evento);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Número total de eventos almacenados
+     */
+    public long totalEventos() {
+        long total = 0;
+        for (Particion particion : particiones) {
+            synchronized (particion) {
+                total += particion.eventos.size();
+            }
+        }
+        return total;
+    }
+
+    public int numeroParticiones() {
+        return particiones.length;
+    }
+
+    /**
+     * Calcula la partición a la que pertenece un usuario
+     */
+    public int indiceParticion(String nombre) {
+        return Math.floorMod(nombre.hashCode(), particiones.length);
+    }
+
+    /**
+     * Guarda el snapshot más reciente de una partición
+     */
+    public void guardarSnapshot(SnapshotParticion snapshot) {
+        Particion particion = particiones[snapshot.particion()];
+        synchronized (particion) {
+            if (particion.snapshot == null || particion.snapshot.posicion() < snapshot.posicion()) {
+                particion.snapshot = snapshot;
+            }
+        }
+    }
+
+    /**
+     * Obtiene el snapshot más reciente de una partición, o null si no existe
+     */
+    public SnapshotParticion ultimoSnapshot(int particion) {
+        Particion p = particiones[particion];
+        synchronized (p) {
+            return p.snapshot;
+        }
+    }
+
+    private void publicar(EventoUsuario evento) {
+        for (Consumer<EventoUsuario> suscriptor : suscriptores) {
+            suscriptor.accept(evento);
+        }
+    }
+
+    private static final class Particion {
+        private final List<EventoUsuario> eventos = new ArrayList<>();
+        private SnapshotParticion snapshot;
+    }
+}
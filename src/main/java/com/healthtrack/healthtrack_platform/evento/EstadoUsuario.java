@@ -0,0 +1,36 @@
+package com.healthtrack.healthtrack_platform.evento;
+
+import com.healthtrack.healthtrack_platform.model.Usuario;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado inmutable de un usuario obtenido al proyectar sus eventos
+ * Al ser inmutable, los snapshots pueden compartir instancias sin copiarlas
+ */
+public record EstadoUsuario(String nombre, double peso, LocalDateTime ultimaActualizacion) {
+
+    /**
+     * Aplica un evento sobre el estado actual
+     * @param estado Estado previo, o null si el usuario aún no existe
+     * @param evento Evento a aplicar
+     * @return Nuevo estado del usuario
+     */
+    static EstadoUsuario aplicar(EstadoUsuario estado, EventoUsuario evento) {
+        if (evento instanceof UsuarioRegistrado registrado) {
+            return new EstadoUsuario(registrado.nombre(), registrado.pesoInicial(), null);
+        }
+        PesoActualizado actualizado = (PesoActualizado) evento;
+        if (estado == null) {
+            throw new IllegalStateException("Evento de actualización para un usuario no registrado: " + evento.nombre());
+        }
+        return new EstadoUsuario(estado.nombre(), actualizado.nuevoPeso(), actualizado.momento());
+    }
+
+    /**
+     * Construye la instancia de Usuario equivalente a este estado
+     */
+    public Usuario toUsuario() {
+        return new Usuario(nombre, peso, ultimaActualizacion);
+    }
+}
@@ -0,0 +1,25 @@
+package com.healthtrack.healthtrack_platform.evento;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento inmutable que registra un cambio en el estado de un usuario
+ * Los eventos son la fuente de verdad en el modo event-sourced
+ */
+public sealed interface EventoUsuario permits UsuarioRegistrado, PesoActualizado {
+
+    /**
+     * Número de secuencia global asignado por el almacén de eventos
+     */
+    long secuencia();
+
+    /**
+     * Nombre del usuario al que pertenece el evento
+     */
+    String nombre();
+
+    /**
+     * Momento en que ocurrió el evento
+     */
+    LocalDateTime momento();
+}
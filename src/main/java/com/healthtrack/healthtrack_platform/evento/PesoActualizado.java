@@ -0,0 +1,10 @@
+package com.healthtrack.healthtrack_platform.evento;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento emitido cuando un usuario actualiza su peso
+ */
+public record PesoActualizado(long secuencia, String nombre, double nuevoPeso, LocalDateTime momento)
+        implements EventoUsuario {
+}
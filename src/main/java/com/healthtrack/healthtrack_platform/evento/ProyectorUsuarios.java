@@ -0,0 +1,139 @@
+package com.healthtrack.healthtrack_platform.evento;
+
+import com.healthtrack.healthtrack_platform.model.Usuario;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Proyector que reconstruye el estado de los usuarios reproduciendo los eventos
+ * Cada partición se reproduce en paralelo dentro de un ForkJoinPool y parte del
+ * último snapshot disponible, de modo que el tiempo de reconstrucción depende de
+ * los eventos posteriores al snapshot y no del historial completo
+ */
+public class ProyectorUsuarios {
+
+    public static final int INTERVALO_SNAPSHOT_POR_DEFECTO = 10_000;
+
+    private final AlmacenEventos almacen;
+    private final ForkJoinPool pool;
+    private final int intervaloSnapshot;
+
+    /**
+     * Crea un proyector que usa el pool común y el intervalo de snapshot por defecto
+     */
+    public ProyectorUsuarios(AlmacenEventos almacen) {
+        this(almacen, ForkJoinPool.commonPool(), INTERVALO_SNAPSHOT_POR_DEFECTO);
+    }
+
+    /**
+     * @param almacen Almacén de eventos a proyectar
+     * @param pool Pool en el que se reproducen las particiones
+     * @param intervaloSnapshot Cada cuántos eventos de una partición se guarda un snapshot
+     */
+    public ProyectorUsuarios(AlmacenEventos almacen, ForkJoinPool pool, int intervaloSnapshot) {
+        if (intervaloSnapshot <= 0) {
+            throw new IllegalArgumentException("El intervalo de snapshot debe ser mayor a 0");
+        }
+        this.almacen = almacen;
+        this.pool = pool;
+        this.intervaloSnapshot = intervaloSnapshot;
+    }
+
+    /**
+     * Reconstruye el estado de todos los usuarios
+     * @return Estado de cada usuario indexado por nombre
+     */
+    public Map<String, EstadoUsuario> proyectar() {
+        return pool.invoke(new TareaReproduccion(0, almacen.numeroParticiones()));
+    }
+
+    /**
+     * Reconstruye todos los usuarios como instancias de Usuario
+     * @return Usuarios indexados por nombre
+     */
+    public Map<String, Usuario> reconstruir() {
+        Map<String, EstadoUsuario> estados = proyectar();
+        Map<String, Usuario> usuarios = new HashMap<>(estados.size() * 2);
+        estados.forEach((nombre, estado) -> usuarios.put(nombre, estado.toUsuario()));
+        return usuarios;
+    }
+
+    /**
+     * Reproduce una única partición desde su último snapshot
+     */
+    Map<String, EstadoUsuario> reproducirParticion(int particion) {
+        SnapshotParticion snapshot = almacen.ultimoSnapshot(particion);
+        Map<String, EstadoUsuario> estados = new HashMap<>();
+        int posicion = 0;
+        if (snapshot != null) {
+            estados.putAll(snapshot.estados());
+            posicion = snapshot.posicion();
+        }
+
+        List<EventoUsuario> eventos = almacen.eventos(particion, posicion);
+        Map<String, EstadoUsuario> cambios = new HashMap<>();
+        int desdeUltimoSnapshot = 0;
+        for (EventoUsuario evento : eventos) {
+            EstadoUsuario estado = EstadoUsuario.aplicar(estados.get(evento.nombre()), evento);
+            estados.put(evento.nombre(), estado);
+            cambios.put(evento.nombre(), estado);
+            posicion++;
+            if (++desdeUltimoSnapshot == intervaloSnapshot) {
+                snapshot = siguienteSnapshot(particion, posicion, snapshot, cambios, estados);
+                almacen.guardarSnapshot(snapshot);
+                cambios.clear();
+                desdeUltimoSnapshot = 0;
+            }
+        }
+        return estados;
+    }
+
+    /**
+     * Snapshot incremental con los cambios desde el anterior, o completo si los incrementales
+     * de la cadena ya suman más estados que la partición (la cadena queda en menos del doble)
+     */
+    private static SnapshotParticion siguienteSnapshot(int particion, int posicion, SnapshotParticion anterior,
+                                                       Map<String, EstadoUsuario> cambios,
+                                                       Map<String, EstadoUsuario> estados) {
+        if (anterior == null || anterior.estadosEnCadena() + cambios.size() > 2 * estados.size()) {
+            return new SnapshotParticion(particion, posicion, estados);
+        }
+        return new SnapshotParticion(particion, posicion, anterior, cambios);
+    }
+
+    /**
+     * Divide el rango de particiones hasta reproducir cada una en su propia tarea
+     */
+    private final class TareaReproduccion extends RecursiveTask<Map<String, EstadoUsuario>> {
+        private final int desde;
+        private final int hasta;
+
+        private TareaReproduccion(int desde, int hasta) {
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Map<String, EstadoUsuario> compute() {
+            if (hasta - desde <= 1) {
+                return desde < hasta ? reproducirParticion(desde) : new HashMap<>();
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaReproduccion izquierda = new TareaReproduccion(desde, medio);
+            izquierda.fork();
+            Map<String, EstadoUsuario> derecha = new TareaReproduccion(medio, hasta).compute();
+            Map<String, EstadoUsuario> resultado = izquierda.join();
+            // Las particiones son disjuntas por usuario, así que la unión no tiene conflictos
+            if (resultado.size() < derecha.size()) {
+                derecha.putAll(resultado);
+                return derecha;
+            }
+            resultado.putAll(derecha);
+            return resultado;
+        }
+    }
+}
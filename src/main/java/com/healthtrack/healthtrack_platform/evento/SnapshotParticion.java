@@ -0,0 +1,60 @@
+package com.healthtrack.healthtrack_platform.evento;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Snapshot del estado proyectado de una partición
+ *
+ * Un snapshot incremental guarda solo los estados que cambiaron desde el anterior y lo
+ * referencia; como los estados son inmutables, la cadena se comparte sin copiarla. El
+ * proyector guarda un snapshot completo cuando los incrementales ya suman más estados que la
+ * partición, así que cada estado se copia un número constante de veces en promedio.
+ *
+ * @param particion Índice de la partición
+ * @param posicion Cantidad de eventos de la partición ya incluidos en el snapshot
+ * @param anterior Snapshot sobre el que se aplican los cambios, o null si es completo
+ * @param cambios Estados que cambiaron desde el anterior (todos si es completo), indexados por nombre
+ */
+public record SnapshotParticion(int particion, int posicion, SnapshotParticion anterior,
+                                Map<String, EstadoUsuario> cambios) {
+
+    public SnapshotParticion {
+        cambios = Map.copyOf(cambios);
+    }
+
+    /**
+     * Snapshot completo con el estado de todos los usuarios de la partición
+     */
+    public SnapshotParticion(int particion, int posicion, Map<String, EstadoUsuario> estados) {
+        this(particion, posicion, null, estados);
+    }
+
+    /**
+     * Estado de cada usuario de la partición, aplicando la cadena desde el snapshot completo
+     */
+    public Map<String, EstadoUsuario> estados() {
+        Deque<SnapshotParticion> cadena = new ArrayDeque<>();
+        for (SnapshotParticion snapshot = this; snapshot != null; snapshot = snapshot.anterior) {
+            cadena.push(snapshot);
+        }
+        Map<String, EstadoUsuario> estados = new HashMap<>();
+        for (SnapshotParticion snapshot : cadena) {
+            estados.putAll(snapshot.cambios);
+        }
+        return estados;
+    }
+
+    /**
+     * Estados guardados en toda la cadena, incluido el snapshot completo
+     */
+    public int estadosEnCadena() {
+        int total = 0;
+        for (SnapshotParticion snapshot = this; snapshot != null; snapshot = snapshot.anterior) {
+            total += snapshot.cambios.size();
+        }
+        return total;
+    }
+}
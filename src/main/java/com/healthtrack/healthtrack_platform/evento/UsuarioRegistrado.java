@@ -0,0 +1,10 @@
+package com.healthtrack.healthtrack_platform.evento;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento emitido cuando se registra un nuevo usuario con su peso inicial
+ */
+public record UsuarioRegistrado(long secuencia, String nombre, double pesoInicial, LocalDateTime momento)
+        implements EventoUsuario {
+}
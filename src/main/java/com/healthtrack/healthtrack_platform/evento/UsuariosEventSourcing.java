@@ -0,0 +1,109 @@
+package com.healthtrack.healthtrack_platform.evento;
+
+import com.healthtrack.healthtrack_platform.model.Usuario;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Modo event-sourced para Usuario
+ * Cada registro y cada actualización de peso se valida con las reglas de Usuario
+ * y se guarda como evento inmutable; la vista en memoria se puede reconstruir en
+ * cualquier momento desde el almacén
+ *
+ * Las escrituras comparten el candado de lectura y la reconstrucción toma el de escritura
+ * mientras reproduce los eventos y publica la vista nueva. Así ninguna escritura cae en la
+ * vista que se va a descartar ni anexa eventos que la proyección no alcanzó a ver, y nadie
+ * conserva un Usuario de la vista anterior después del reemplazo. Las consultas no esperan.
+ */
+public class UsuariosEventSourcing {
+
+    private final AlmacenEventos almacen;
+    private final ProyectorUsuarios proyector;
+    // Se reemplaza entera al reconstruir, para que ningún lector vea una vista vacía o a medias
+    private volatile Map<String, Usuario> usuarios = new ConcurrentHashMap<>();
+    private final ReadWriteLock candado = new ReentrantReadWriteLock();
+
+    public UsuariosEventSourcing(AlmacenEventos almacen) {
+        this(almacen, new ProyectorUsuarios(almacen));
+    }
+
+    public UsuariosEventSourcing(AlmacenEventos almacen, ProyectorUsuarios proyector) {
+        this.almacen = almacen;
+        this.proyector = proyector;
+    }
+
+    /**
+     * Registra un nuevo usuario
+     * @throws IllegalArgumentException si los datos son inválidos o el usuario ya existe
+     */
+    public Usuario registrar(String nombre, double peso) {
+        Usuario nuevo = new Usuario(nombre, peso);
+        candado.readLock().lock();
+        try {
+            // El bloqueo se toma antes de publicar el usuario para que ninguna actualización
+            // concurrente pueda anexar su evento antes que el evento de registro
+            synchronized (nuevo) {
+                if (usuarios.putIfAbsent(nuevo.getNombre(), nuevo) != null) {
+                    throw new IllegalArgumentException("El usuario ya está registrado: " + nuevo.getNombre());
+                }
+                almacen.agregarRegistro(nuevo.getNombre(), nuevo.getPeso(), LocalDateTime.now());
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        return nuevo;
+    }
+
+    /**
+     * Actualiza el peso de un usuario registrado aplicando la restricción de 48 horas
+     * @throws IllegalArgumentException si el usuario no existe o el peso es inválido
+     * @throws IllegalStateException si no han pasado 48 horas desde la última actualización
+     */
+    public Usuario actualizarPeso(String nombre, double nuevoPeso) {
+        candado.readLock().lock();
+        try {
+            Usuario usuario = buscar(nombre)
+                    .orElseThrow(() -> new IllegalArgumentException("Usuario no registrado: " + nombre));
+            // Se serializan las actualizaciones por usuario para que el orden de los eventos
+            // coincida con el orden en que se aplicaron
+            synchronized (usuario) {
+                usuario.actualizarPeso(nuevoPeso);
+                almacen.agregarActualizacion(usuario.getNombre(), usuario.getPeso(), usuario.getUltimaActualizacion());
+            }
+            return usuario;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public Optional<Usuario> buscar(String nombre) {
+        return nombre == null ? Optional.empty() : Optional.ofNullable(usuarios.get(nombre.trim()));
+    }
+
+    /**
+     * Reconstruye la vista en memoria reproduciendo los eventos y la publica de una vez;
+     * hasta entonces las consultas siguen viendo la vista anterior completa y las escrituras
+     * esperan, para aplicarse sobre la vista nueva
+     */
+    public void reconstruir() {
+        candado.writeLock().lock();
+        try {
+            usuarios = new ConcurrentHashMap<>(proyector.reconstruir());
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    public int totalUsuarios() {
+        return usuarios.size();
+    }
+
+    public AlmacenEventos getAlmacen() {
+        return almacen;
+    }
+}
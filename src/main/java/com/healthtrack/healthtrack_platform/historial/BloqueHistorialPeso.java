@@ -0,0 +1,211 @@
+package com.healthtrack.healthtrack_platform.historial;
+
+import com.healthtrack.healthtrack_platform.model.PesoFijo;
+
+import java.util.Arrays;
+
+/**
+ * Bloque comprimido de lecturas de peso al estilo Gorilla (Facebook)
+ *
+ * Los momentos (segundos desde epoch) se guardan como delta-of-delta con prefijos
+ * de longitud variable y los pesos con codificación XOR respecto al valor anterior.
+ * Antes de aplicar XOR el peso se lleva a punto fijo (decagramos) y se guarda como
+ * double entero: así los bits significativos del XOR quedan concentrados en pocos
+ * bits altos de la mantisa y la compresión es mucho mayor que con kg decimales.
+ *
+ * Prefijos de delta-of-delta (adaptados a lecturas con variaciones de minutos u horas):
+ * - '0': delta igual al anterior
+ * - '10' + 7 bits, '110' + 12 bits, '1110' + 20 bits: delta-of-delta con signo
+ * - '1111' + 64 bits: cualquier otro valor
+ *
+ * Un bloque admite un único escritor; los lectores obtienen cursores que solo
+ * recorren los puntos escritos antes de su creación.
+ */
+public final class BloqueHistorialPeso {
+
+    public static final int CAPACIDAD_POR_DEFECTO = 1024;
+
+    private final int capacidad;
+    long[] palabras;
+    long bitsEscritos;
+    int puntos;
+
+    // Estado del codificador
+    private long ultimoMomento;
+    private long ultimoDelta;
+    private long ultimoValor;
+    private int cerosInicialesPrevios = -1;
+    private int cerosFinalesPrevios;
+
+    public BloqueHistorialPeso() {
+        this(CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * @param capacidad Número máximo de puntos del bloque
+     */
+    public BloqueHistorialPeso(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad del bloque debe ser mayor a 0");
+        }
+        this.capacidad = capacidad;
+        this.palabras = new long[Math.max(4, capacidad / 8)];
+    }
+
+    /**
+     * Agrega una lectura al final del bloque
+     * @param momento Segundos desde epoch; no puede ser anterior a la última lectura
+     * @param peso Peso en kg (se almacena con resolución de 0,01 kg)
+     * @return false si el bloque está lleno
+     */
+    public boolean agregar(long momento, double peso) {
+        return agregarDecagramos(momento, PesoFijo.desdeKg(peso));
+    }
+
+    /**
+     * Agrega una lectura con el peso ya en punto fijo
+     * @param momento Segundos desde epoch; no puede ser anterior a la última lectura
+     * @param decagramos Peso en decagramos
+     * @return false si el bloque está lleno
+     */
+    public boolean agregarDecagramos(long momento, int decagramos) {
+        if (puntos == capacidad) {
+            return false;
+        }
+        if (decagramos < 0) {
+            throw new IllegalArgumentException("El peso no puede ser negativo");
+        }
+        long valor = Double.doubleToRawLongBits(decagramos);
+
+        if (puntos == 0) {
+            escribir(momento, 64);
+            escribir(valor, 64);
+        } else {
+            if (momento < ultimoMomento) {
+                throw new IllegalArgumentException("Las lecturas deben agregarse en orden cronológico");
+            }
+            long delta = momento - ultimoMomento;
+            escribirDeltaDeDelta(delta - ultimoDelta);
+            ultimoDelta = delta;
+            escribirXor(valor ^ ultimoValor);
+        }
+        ultimoMomento = momento;
+        ultimoValor = valor;
+        puntos++;
+        return true;
+    }
+
+    public int getPuntos() {
+        return puntos;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public boolean estaLleno() {
+        return puntos == capacidad;
+    }
+
+    /**
+     * Último momento agregado, o Long.MIN_VALUE si el bloque está vacío
+     */
+    public long getUltimoMomento() {
+        return puntos == 0 ? Long.MIN_VALUE : ultimoMomento;
+    }
+
+    /**
+     * Bytes ocupados por los datos comprimidos
+     */
+    public long bytesComprimidos() {
+        return (bitsEscritos + 7) / 8;
+    }
+
+    /**
+     * Libera la capacidad sobrante una vez que el bloque no recibirá más puntos
+     */
+    void compactar() {
+        int necesarias = (int) ((bitsEscritos + 63) >>> 6);
+        if (necesarias < palabras.length) {
+            palabras = Arrays.copyOf(palabras, necesarias);
+        }
+    }
+
+    /**
+     * Crea un cursor sobre los puntos escritos hasta ahora
+     */
+    public CursorHistorial cursor() {
+        CursorHistorial cursor = new CursorHistorial();
+        cursor.reiniciar(this);
+        return cursor;
+    }
+
+    // ===== CODIFICACIÓN =====
+
+    private void escribirDeltaDeDelta(long dod) {
+        if (dod == 0) {
+            escribir(0b0, 1);
+        } else if (cabe(dod, 7)) {
+            escribir(0b10, 2);
+            escribir(dod, 7);
+        } else if (cabe(dod, 12)) {
+            escribir(0b110, 3);
+            escribir(dod, 12);
+        } else if (cabe(dod, 20)) {
+            escribir(0b1110, 4);
+            escribir(dod, 20);
+        } else {
+            escribir(0b1111, 4);
+            escribir(dod, 64);
+        }
+    }
+
+    private void escribirXor(long xor) {
+        if (xor == 0) {
+            escribir(0b0, 1);
+            return;
+        }
+        int cerosIniciales = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int cerosFinales = Long.numberOfTrailingZeros(xor);
+        if (cerosInicialesPrevios >= 0 && cerosIniciales >= cerosInicialesPrevios
+                && cerosFinales >= cerosFinalesPrevios) {
+            // Los bits significativos caben en la ventana anterior
+            escribir(0b10, 2);
+            escribir(xor >>> cerosFinalesPrevios, 64 - cerosInicialesPrevios - cerosFinalesPrevios);
+        } else {
+            int significativos = 64 - cerosIniciales - cerosFinales;
+            escribir(0b11, 2);
+            escribir(cerosIniciales, 5);
+            escribir(significativos - 1, 6);
+            escribir(xor >>> cerosFinales, significativos);
+            cerosInicialesPrevios = cerosIniciales;
+            cerosFinalesPrevios = cerosFinales;
+        }
+    }
+
+    private static boolean cabe(long valor, int bits) {
+        long limite = 1L << (bits - 1);
+        return valor >= -limite && valor < limite;
+    }
+
+    private void escribir(long valor, int n) {
+        int indice = (int) (bitsEscritos >>> 6);
+        if (indice + 1 >= palabras.length) {
+            palabras = Arrays.copyOf(palabras, palabras.length * 2);
+        }
+        int libres = 64 - (int) (bitsEscritos & 63);
+        valor &= mascara(n);
+        if (n <= libres) {
+            palabras[indice] |= valor << (libres - n);
+        } else {
+            int resto = n - libres;
+            palabras[indice] |= valor >>> resto;
+            palabras[indice + 1] |= valor << (64 - resto);
+        }
+        bitsEscritos += n;
+    }
+
+    static long mascara(int n) {
+        return n == 64 ? -1L : (1L << n) - 1;
+    }
+}
@@ -0,0 +1,170 @@
+package com.healthtrack.healthtrack_platform.historial;
+
+import com.healthtrack.healthtrack_platform.model.PesoFijo;
+
+/**
+ * Cursor que decodifica lecturas de peso comprimidas sin crear objetos por punto
+ *
+ * Uso típico:
+ * <pre>
+ * CursorHistorial cursor = historial.cursor();
+ * while (cursor.siguiente()) {
+ *     procesar(cursor.momento(), cursor.peso());
+ * }
+ * </pre>
+ * El cursor puede reutilizarse con {@link HistorialPeso#cursor(CursorHistorial)}.
+ */
+public final class CursorHistorial {
+
+    private BloqueHistorialPeso[] bloques = new BloqueHistorialPeso[0];
+    private int totalBloques;
+    private int indiceBloque;
+    private long[] palabrasUltimoBloque;
+    private int puntosUltimoBloque;
+
+    // Estado de decodificación del bloque actual
+    private long[] palabras;
+    private long posicion;
+    private int restantes;
+    private boolean primerPunto;
+    private long momento;
+    private long delta;
+    private long valor;
+    private int cerosIniciales;
+    private int cerosFinales;
+
+    /**
+     * Posiciona el cursor al inicio de un único bloque
+     */
+    void reiniciar(BloqueHistorialPeso bloque) {
+        if (bloques.length < 1) {
+            bloques = new BloqueHistorialPeso[1];
+        }
+        bloques[0] = bloque;
+        reiniciar(bloques, 1);
+    }
+
+    /**
+     * Posiciona el cursor al inicio de una secuencia de bloques
+     * Solo el último bloque puede seguir recibiendo puntos; se recorren los que tenía
+     * en el momento de esta llamada
+     */
+    void reiniciar(BloqueHistorialPeso[] secuencia, int cantidad) {
+        if (bloques != secuencia) {
+            if (bloques.length < cantidad) {
+                bloques = new BloqueHistorialPeso[cantidad];
+            }
+            System.arraycopy(secuencia, 0, bloques, 0, cantidad);
+        }
+        totalBloques = cantidad;
+        indiceBloque = -1;
+        restantes = 0;
+        if (cantidad > 0) {
+            palabrasUltimoBloque = bloques[cantidad - 1].palabras;
+            puntosUltimoBloque = bloques[cantidad - 1].puntos;
+        }
+    }
+
+    /**
+     * Avanza a la siguiente lectura
+     * @return false cuando no quedan lecturas
+     */
+    public boolean siguiente() {
+        while (restantes == 0) {
+            if (++indiceBloque >= totalBloques) {
+                return false;
+            }
+            BloqueHistorialPeso bloque = bloques[indiceBloque];
+            boolean ultimo = indiceBloque == totalBloques - 1;
+            palabras = ultimo ? palabrasUltimoBloque : bloque.palabras;
+            restantes = ultimo ? puntosUltimoBloque : bloque.puntos;
+            posicion = 0;
+            primerPunto = true;
+        }
+
+        if (primerPunto) {
+            momento = leer(64);
+            valor = leer(64);
+            delta = 0;
+            cerosIniciales = -1;
+            primerPunto = false;
+        } else {
+            delta += leerDeltaDeDelta();
+            momento += delta;
+            leerXor();
+        }
+        restantes--;
+        return true;
+    }
+
+    /**
+     * Momento de la lectura actual en segundos desde epoch
+     */
+    public long momento() {
+        return momento;
+    }
+
+    /**
+     * Peso de la lectura actual en kg
+     */
+    public double peso() {
+        return PesoFijo.aKg(pesoDecagramos());
+    }
+
+    /**
+     * Peso de la lectura actual en decagramos (punto fijo)
+     */
+    public int pesoDecagramos() {
+        return (int) Double.longBitsToDouble(valor);
+    }
+
+    // ===== DECODIFICACIÓN =====
+
+    private long leerDeltaDeDelta() {
+        if (leer(1) == 0) {
+            return 0;
+        }
+        if (leer(1) == 0) {
+            return extenderSigno(leer(7), 7);
+        }
+        if (leer(1) == 0) {
+            return extenderSigno(leer(12), 12);
+        }
+        if (leer(1) == 0) {
+            return extenderSigno(leer(20), 20);
+        }
+        return leer(64);
+    }
+
+    private void leerXor() {
+        if (leer(1) == 0) {
+            return;
+        }
+        if (leer(1) == 1) {
+            cerosIniciales = (int) leer(5);
+            int significativos = (int) leer(6) + 1;
+            cerosFinales = 64 - cerosIniciales - significativos;
+        }
+        int significativos = 64 - cerosIniciales - cerosFinales;
+        valor ^= leer(significativos) << cerosFinales;
+    }
+
+    private static long extenderSigno(long valor, int bits) {
+        int desplazamiento = 64 - bits;
+        return (valor << desplazamiento) >> desplazamiento;
+    }
+
+    private long leer(int n) {
+        int indice = (int) (posicion >>> 6);
+        int libres = 64 - (int) (posicion & 63);
+        long resultado;
+        if (n <= libres) {
+            resultado = palabras[indice] >>> (libres - n);
+        } else {
+            int resto = n - libres;
+            resultado = (palabras[indice] << resto) | (palabras[indice + 1] >>> (64 - resto));
+        }
+        posicion += n;
+        return resultado & BloqueHistorialPeso.mascara(n);
+    }
+}
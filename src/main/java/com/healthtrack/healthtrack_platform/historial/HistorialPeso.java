@@ -0,0 +1,118 @@
+package com.healthtrack.healthtrack_platform.historial;
+
+import com.healthtrack.healthtrack_platform.model.PesoFijo;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Historial de lecturas de peso de un usuario almacenado en bloques comprimidos
+ * Las lecturas se anexan al bloque abierto; cuando se llena se sella, se compacta
+ * y se abre uno nuevo. Los métodos son thread-safe: un escritor y varios lectores
+ * pueden usar el historial a la vez.
+ */
+public class HistorialPeso {
+
+    private final int capacidadBloque;
+    private BloqueHistorialPeso[] bloques = new BloqueHistorialPeso[4];
+    private int totalBloques;
+
+    public HistorialPeso() {
+        this(BloqueHistorialPeso.CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * @param capacidadBloque Número de lecturas por bloque
+     */
+    public HistorialPeso(int capacidadBloque) {
+        if (capacidadBloque <= 0) {
+            throw new IllegalArgumentException("La capacidad del bloque debe ser mayor a 0");
+        }
+        this.capacidadBloque = capacidadBloque;
+    }
+
+    /**
+     * Agrega una lectura al historial
+     * @param momento Segundos desde epoch (UTC); no puede ser anterior a la última lectura
+     * @param peso Peso en kg
+     */
+    public void agregar(long momento, double peso) {
+        agregarDecagramos(momento, PesoFijo.desdeKg(peso));
+    }
+
+    /**
+     * Agrega una lectura con el peso ya en punto fijo
+     * @param momento Segundos desde epoch (UTC); no puede ser anterior a la última lectura
+     * @param decagramos Peso en decagramos (ver {@link PesoFijo})
+     */
+    public synchronized void agregarDecagramos(long momento, int decagramos) {
+        BloqueHistorialPeso abierto = totalBloques == 0 ? null : bloques[totalBloques - 1];
+        if (abierto != null && momento < abierto.getUltimoMomento()) {
+            throw new IllegalArgumentException("Las lecturas deben agregarse en orden cronológico");
+        }
+        if (abierto == null || !abierto.agregarDecagramos(momento, decagramos)) {
+            if (abierto != null) {
+                abierto.compactar();
+            }
+            abierto = new BloqueHistorialPeso(capacidadBloque);
+            if (totalBloques == bloques.length) {
+                bloques = Arrays.copyOf(bloques, bloques.length * 2);
+            }
+            bloques[totalBloques++] = abierto;
+            abierto.agregarDecagramos(momento, decagramos);
+        }
+    }
+
+    /**
+     * Agrega una lectura usando una fecha interpretada en UTC
+     */
+    public void agregar(LocalDateTime momento, double peso) {
+        agregar(momento.toEpochSecond(ZoneOffset.UTC), peso);
+    }
+
+    /**
+     * Crea un cursor sobre las lecturas registradas hasta ahora
+     */
+    public CursorHistorial cursor() {
+        return cursor(new CursorHistorial());
+    }
+
+    /**
+     * Reutiliza un cursor existente para recorrer las lecturas registradas hasta ahora
+     */
+    public synchronized CursorHistorial cursor(CursorHistorial cursor) {
+        cursor.reiniciar(bloques, totalBloques);
+        return cursor;
+    }
+
+    public synchronized int totalLecturas() {
+        int total = 0;
+        for (int i = 0; i < totalBloques; i++) {
+            total += bloques[i].getPuntos();
+        }
+        return total;
+    }
+
+    public synchronized int totalBloques() {
+        return totalBloques;
+    }
+
+    /**
+     * Momento de la última lectura, o Long.MIN_VALUE si el historial está vacío
+     */
+    public synchronized long ultimoMomento() {
+        return totalBloques == 0 ? Long.MIN_VALUE : bloques[totalBloques - 1].getUltimoMomento();
+    }
+
+    /**
+     * Bytes ocupados por las lecturas comprimidas
+     */
+    public synchronized long bytesComprimidos() {
+        long total = 0;
+        for (int i = 0; i < totalBloques; i++) {
+            total += bloques[i].bytesComprimidos();
+        }
+        return total;
+    }
+}
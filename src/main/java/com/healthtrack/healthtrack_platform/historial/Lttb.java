@@ -0,0 +1,81 @@
+package com.healthtrack.healthtrack_platform.historial;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reducción de series temporales con Largest-Triangle-Three-Buckets (Steinarsson, 2013)
+ * Conserva el primer y el último punto y, de cada bucket intermedio, el punto que forma
+ * el triángulo de mayor área con el punto elegido antes y el promedio del bucket siguiente.
+ * Así se mantienen los picos y valles que una gráfica debe mostrar.
+ */
+public final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Reduce una serie ordenada por momento a lo sumo a la cantidad de puntos indicada
+     * @param momentos Momentos en segundos, en orden no decreciente
+     * @param pesos Pesos correspondientes
+     * @param total Cantidad de puntos válidos en los arreglos
+     * @param puntos Cantidad de puntos deseada
+     * @return La serie completa si ya tiene puntos suficientes, o la serie reducida
+     */
+    public static List<PuntoPeso> reducir(long[] momentos, double[] pesos, int total, int puntos) {
+        if (puntos <= 0) {
+            throw new IllegalArgumentException("La cantidad de puntos debe ser mayor a 0");
+        }
+        List<PuntoPeso> resultado = new ArrayList<>(Math.min(total, puntos));
+        if (total <= puntos) {
+            for (int i = 0; i < total; i++) {
+                resultado.add(new PuntoPeso(momentos[i], pesos[i]));
+            }
+            return resultado;
+        }
+        if (puntos <= 2) {
+            resultado.add(new PuntoPeso(momentos[0], pesos[0]));
+            if (puntos == 2) {
+                resultado.add(new PuntoPeso(momentos[total - 1], pesos[total - 1]));
+            }
+            return resultado;
+        }
+
+        // Los momentos se trasladan al primero para no perder precisión al pasarlos a double
+        long origen = momentos[0];
+        double tamanoBucket = (double) (total - 2) / (puntos - 2);
+        int elegido = 0;
+        resultado.add(new PuntoPeso(momentos[0], pesos[0]));
+        for (int bucket = 0; bucket < puntos - 2; bucket++) {
+            int inicioSiguiente = (int) ((bucket + 1) * tamanoBucket) + 1;
+            int finSiguiente = Math.min((int) ((bucket + 2) * tamanoBucket) + 1, total);
+            double promedioX = 0;
+            double promedioY = 0;
+            for (int i = inicioSiguiente; i < finSiguiente; i++) {
+                promedioX += momentos[i] - origen;
+                promedioY += pesos[i];
+            }
+            int cantidad = finSiguiente - inicioSiguiente;
+            promedioX /= cantidad;
+            promedioY /= cantidad;
+
+            double ax = momentos[elegido] - origen;
+            double ay = pesos[elegido];
+            int inicio = (int) (bucket * tamanoBucket) + 1;
+            int fin = (int) ((bucket + 1) * tamanoBucket) + 1;
+            double areaMaxima = -1;
+            int candidato = inicio;
+            for (int i = inicio; i < fin; i++) {
+                double area = Math.abs((ax - promedioX) * (pesos[i] - ay) - (ax - (momentos[i] - origen)) * (promedioY - ay));
+                if (area > areaMaxima) {
+                    areaMaxima = area;
+                    candidato = i;
+                }
+            }
+            resultado.add(new PuntoPeso(momentos[candidato], pesos[candidato]));
+            elegido = candidato;
+        }
+        resultado.add(new PuntoPeso(momentos[total - 1], pesos[total - 1]));
+        return resultado;
+    }
+}
@@ -0,0 +1,10 @@
+package com.healthtrack.healthtrack_platform.historial;
+
+/**
+ * Lectura de peso de un historial
+ *
+ * @param momento Segundos desde epoch (UTC)
+ * @param peso Peso en kg
+ */
+public record PuntoPeso(long momento, double peso) {
+}
@@ -0,0 +1,172 @@
+package com.healthtrack.healthtrack_platform.historial;
+
+import com.healthtrack.healthtrack_platform.evento.AlmacenEventos;
+import com.healthtrack.healthtrack_platform.evento.EventoUsuario;
+import com.healthtrack.healthtrack_platform.evento.PesoActualizado;
+import com.healthtrack.healthtrack_platform.evento.UsuarioRegistrado;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servicio de muestreo del historial de peso para gráficas
+ * Devuelve N puntos representativos (LTTB) de cualquier rango de tiempo de un usuario y
+ * guarda el resultado por (usuario, rango, resolución). Como las lecturas solo se anexan
+ * en orden cronológico, una nueva lectura solo invalida los rangos que la contienen; los
+ * rangos ya cerrados siguen sirviéndose desde la caché.
+ */
+public class ServicioMuestreoPeso {
+
+    public static final int RANGOS_POR_USUARIO_POR_DEFECTO = 32;
+
+    private final Map<String, Serie> series = new ConcurrentHashMap<>();
+    private final int rangosPorUsuario;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    public ServicioMuestreoPeso() {
+        this(RANGOS_POR_USUARIO_POR_DEFECTO);
+    }
+
+    /**
+     * @param rangosPorUsuario Máximo de resultados en caché por usuario (se descarta el menos usado)
+     */
+    public ServicioMuestreoPeso(int rangosPorUsuario) {
+        if (rangosPorUsuario <= 0) {
+            throw new IllegalArgumentException("La caché debe admitir al menos un rango por usuario");
+        }
+        this.rangosPorUsuario = rangosPorUsuario;
+    }
+
+    /**
+     * Alimenta el servicio con los registros y actualizaciones de peso del almacén de eventos
+     */
+    public void conectar(AlmacenEventos almacen) {
+        almacen.suscribir(this::aplicar);
+    }
+
+    void aplicar(EventoUsuario evento) {
+        if (evento instanceof UsuarioRegistrado registro) {
+            registrarLectura(registro.nombre(), registro.momento(), registro.pesoInicial());
+        } else if (evento instanceof PesoActualizado actualizacion) {
+            registrarLectura(actualizacion.nombre(), actualizacion.momento(), actualizacion.nuevoPeso());
+        }
+    }
+
+    /**
+     * Agrega una lectura usando una fecha interpretada en UTC
+     */
+    public void registrarLectura(String nombre, LocalDateTime momento, double peso) {
+        registrarLectura(nombre, momento.toEpochSecond(ZoneOffset.UTC), peso);
+    }
+
+    /**
+     * Agrega una lectura al historial del usuario e invalida los rangos en caché que la contienen
+     * @param momento Segundos desde epoch (UTC); no puede ser anterior a la última lectura
+     */
+    public void registrarLectura(String nombre, long momento, double peso) {
+        series.computeIfAbsent(nombre, n -> new Serie()).agregar(momento, peso);
+    }
+
+    /**
+     * Puntos representativos del historial de un usuario en un rango de tiempo
+     * @param desde Inicio del rango en segundos desde epoch (incluido)
+     * @param hasta Fin del rango en segundos desde epoch (incluido)
+     * @param puntos Cantidad máxima de puntos a devolver
+     * @return Lista inmutable; vacía si el usuario no tiene lecturas en el rango
+     */
+    public List<PuntoPeso> muestrear(String nombre, long desde, long hasta, int puntos) {
+        if (hasta < desde) {
+            throw new IllegalArgumentException("El rango de tiempo es inválido");
+        }
+        if (puntos <= 0) {
+            throw new IllegalArgumentException("La cantidad de puntos debe ser mayor a 0");
+        }
+        Serie serie = series.get(nombre);
+        if (serie == null) {
+            return List.of();
+        }
+        return serie.muestrear(new ClaveRango(desde, hasta, puntos));
+    }
+
+    public List<PuntoPeso> muestrear(String nombre, LocalDateTime desde, LocalDateTime hasta, int puntos) {
+        return muestrear(nombre, desde.toEpochSecond(ZoneOffset.UTC), hasta.toEpochSecond(ZoneOffset.UTC), puntos);
+    }
+
+    public long aciertosCache() {
+        return aciertos.sum();
+    }
+
+    public long fallosCache() {
+        return fallos.sum();
+    }
+
+    private record ClaveRango(long desde, long hasta, int puntos) {
+
+        boolean contiene(long momento) {
+            return momento >= desde && momento <= hasta;
+        }
+    }
+
+    /**
+     * Historial y caché de un usuario; ambos se protegen con el monitor de la serie
+     */
+    private final class Serie {
+
+        private final HistorialPeso historial = new HistorialPeso();
+        private final CursorHistorial cursor = new CursorHistorial();
+        private final Map<ClaveRango, List<PuntoPeso>> cache =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<ClaveRango, List<PuntoPeso>> mayor) {
+                        return size() > rangosPorUsuario;
+                    }
+                };
+
+        synchronized void agregar(long momento, double peso) {
+            historial.agregar(momento, peso);
+            cache.keySet().removeIf(clave -> clave.contiene(momento));
+        }
+
+        synchronized List<PuntoPeso> muestrear(ClaveRango clave) {
+            List<PuntoPeso> guardado = cache.get(clave);
+            if (guardado != null) {
+                aciertos.increment();
+                return guardado;
+            }
+            fallos.increment();
+            List<PuntoPeso> calculado = calcular(clave);
+            cache.put(clave, calculado);
+            return calculado;
+        }
+
+        private List<PuntoPeso> calcular(ClaveRango clave) {
+            long[] momentos = new long[64];
+            double[] pesos = new double[64];
+            int total = 0;
+            historial.cursor(cursor);
+            while (cursor.siguiente()) {
+                long momento = cursor.momento();
+                if (momento < clave.desde()) {
+                    continue;
+                }
+                if (momento > clave.hasta()) {
+                    break;
+                }
+                if (total == momentos.length) {
+                    momentos = Arrays.copyOf(momentos, total * 2);
+                    pesos = Arrays.copyOf(pesos, total * 2);
+                }
+                momentos[total] = momento;
+                pesos[total++] = cursor.peso();
+            }
+            return List.copyOf(Lttb.reducir(momentos, pesos, total, clave.puntos()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.healthtrack.healthtrack_platform.idempotencia;
+
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuarios;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Actualizaciones de peso con clave de idempotencia
+ * El cliente envía un identificador por petición y lo repite en cada reintento: el primer
+ * envío se aplica y los reenvíos dentro de la ventana reciben el mismo resultado sin volver
+ * a ejecutarse, en lugar de chocar con la restricción de 48 horas o aplicarse dos veces
+ */
+public class ActualizacionesIdempotentes {
+
+    private final RepositorioUsuarios repositorio;
+    private final RegistroIdempotencia registro;
+    private final LongAdder peticiones = new LongAdder();
+    private final LongAdder ejecutadas = new LongAdder();
+
+    /**
+     * @param capacidad Peticiones que se recuerdan por ventana
+     * @param ventana Tiempo mínimo durante el que se reconoce un reenvío
+     */
+    public ActualizacionesIdempotentes(RepositorioUsuarios repositorio, int capacidad, Duration ventana) {
+        this(repositorio, new RegistroIdempotencia(capacidad, ventana));
+    }
+
+    ActualizacionesIdempotentes(RepositorioUsuarios repositorio, RegistroIdempotencia registro) {
+        this.repositorio = repositorio;
+        this.registro = registro;
+    }
+
+    /**
+     * Actualiza el peso una sola vez por identificador de petición
+     * @param idPeticion Identificador generado por el cliente, igual en todos los reintentos
+     * @return El resultado del primer envío de la petición
+     * @throws IllegalArgumentException si falta el identificador o el usuario no existe
+     */
+    public ResultadoActualizacion actualizarPeso(String idPeticion, String nombre, double nuevoPeso) {
+        if (idPeticion == null || idPeticion.isBlank()) {
+            throw new IllegalArgumentException("La petición debe tener un identificador");
+        }
+        if (nombre == null) {
+            throw new IllegalArgumentException("Usuario no registrado: null");
+        }
+        peticiones.increment();
+        return registro.obtenerOEjecutar(RegistroIdempotencia.clave(nombre.trim(), idPeticion), () -> {
+            ejecutadas.increment();
+            return repositorio.tryActualizarPeso(nombre, nuevoPeso);
+        });
+    }
+
+    /**
+     * Peticiones respondidas desde el registro sin ejecutarse
+     */
+    public long getReenviosDeduplicados() {
+        return peticiones.sum() - ejecutadas.sum();
+    }
+}
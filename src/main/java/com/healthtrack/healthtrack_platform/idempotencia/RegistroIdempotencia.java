@@ -0,0 +1,257 @@
+package com.healthtrack.healthtrack_platform.idempotencia;
+
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Registro acotado de peticiones ya procesadas y su resultado, para responder los reenvíos
+ * sin volver a ejecutarlas
+ *
+ * Cada segmento guarda dos generaciones: tablas hash de direccionamiento abierto con claves
+ * long y el resultado en un byte. Las claves nuevas van a la generación actual y las búsquedas
+ * miran las dos. Cuando la actual cumple la ventana o se llena, la anterior se vacía y pasa a
+ * ser la actual, así que una petición se recuerda entre una y dos ventanas (menos si llegan
+ * más peticiones que la capacidad en una ventana) y la memoria es fija desde la creación:
+ * entre 36 y 72 bytes por petición de capacidad, según el redondeo a potencia de dos.
+ *
+ * Las claves son hashes de 64 bits: dos peticiones distintas solo se confunden con una
+ * probabilidad del orden de n²/2^65 para n peticiones recordadas.
+ *
+ * La operación no se ejecuta con el segmento bloqueado: mientras corre, la clave queda como
+ * pendiente en un mapa aparte del segmento (uno por petición en curso, fuera de la memoria
+ * fija) y los reenvíos esperan en esa entrada, así que una escritura lenta en el repositorio
+ * no detiene a las demás peticiones que caen en el mismo segmento.
+ */
+public class RegistroIdempotencia {
+
+    private static final int SEGMENTOS = 64;
+    private static final long VACIA = 0;
+    private static final long REEMPLAZO_VACIA = 1;
+    private static final ResultadoActualizacion[] RESULTADOS = ResultadoActualizacion.values();
+
+    private final Segmento[] segmentos = new Segmento[SEGMENTOS];
+    private final long ventanaNanos;
+    private final LongSupplier reloj;
+
+    /**
+     * @param capacidad Peticiones que se recuerdan por ventana
+     * @param ventana Tiempo mínimo durante el que se recuerda una petición
+     */
+    public RegistroIdempotencia(int capacidad, Duration ventana) {
+        this(capacidad, ventana, System::nanoTime);
+    }
+
+    RegistroIdempotencia(int capacidad, Duration ventana, LongSupplier reloj) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad del registro debe ser mayor a 0");
+        }
+        if (ventana.isNegative() || ventana.isZero()) {
+            throw new IllegalArgumentException("La ventana del registro debe ser positiva");
+        }
+        this.ventanaNanos = ventana.toNanos();
+        this.reloj = reloj;
+        int capacidadSegmento = (capacidad + SEGMENTOS - 1) / SEGMENTOS;
+        long ahora = reloj.getAsLong();
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento(capacidadSegmento, ahora);
+        }
+    }
+
+    /**
+     * Clave de una petición de un usuario; el mismo identificador de petición enviado por
+     * dos usuarios da claves distintas
+     */
+    public static long clave(String nombre, String idPeticion) {
+        long hash = 0xCBF29CE484222325L;
+        hash = mezclar(hash, nombre);
+        hash = (hash ^ 0xFFFF) * 0x100000001B3L;
+        hash = mezclar(hash, idPeticion);
+        // Finalizador de MurmurHash3: los bits bajos, que eligen segmento y posición, dependen de todos
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash == VACIA ? REEMPLAZO_VACIA : hash;
+    }
+
+    /**
+     * Devuelve el resultado registrado para la clave, o ejecuta la operación y registra el suyo
+     * Los reenvíos concurrentes de la misma petición esperan a la primera y reciben su resultado.
+     * Si la operación lanza una excepción no se registra nada y un reenvío la vuelve a intentar.
+     */
+    public ResultadoActualizacion obtenerOEjecutar(long clave, Supplier<ResultadoActualizacion> operacion) {
+        Segmento segmento = segmentos[(int) clave & (SEGMENTOS - 1)];
+        while (true) {
+            CompletableFuture<ResultadoActualizacion> pendiente;
+            CompletableFuture<ResultadoActualizacion> propia = null;
+            synchronized (segmento) {
+                segmento.rotarSiCorresponde(reloj.getAsLong(), ventanaNanos);
+                int registrado = segmento.buscar(clave);
+                if (registrado >= 0) {
+                    return RESULTADOS[registrado];
+                }
+                pendiente = segmento.pendientes.get(clave);
+                if (pendiente == null) {
+                    propia = new CompletableFuture<>();
+                    segmento.pendientes.put(clave, propia);
+                }
+            }
+            if (propia != null) {
+                return ejecutar(segmento, clave, operacion, propia);
+            }
+            try {
+                return pendiente.join();
+            } catch (CompletionException | CancellationException e) {
+                // La primera falló sin registrar nada: este reenvío vuelve a intentarlo
+            }
+        }
+    }
+
+    private ResultadoActualizacion ejecutar(Segmento segmento, long clave, Supplier<ResultadoActualizacion> operacion,
+                                            CompletableFuture<ResultadoActualizacion> propia) {
+        ResultadoActualizacion resultado;
+        try {
+            resultado = operacion.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (segmento) {
+                segmento.pendientes.remove(clave);
+            }
+            propia.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (segmento) {
+            // Se registra antes de quitar la pendiente: un reenvío siempre ve una de las dos
+            segmento.agregar(clave, resultado.ordinal(), reloj.getAsLong());
+            segmento.pendientes.remove(clave);
+        }
+        propia.complete(resultado);
+        return resultado;
+    }
+
+    /**
+     * @return El resultado registrado para la clave, o null si no se recuerda o todavía
+     *         se está ejecutando
+     */
+    public ResultadoActualizacion obtener(long clave) {
+        Segmento segmento = segmentos[(int) clave & (SEGMENTOS - 1)];
+        synchronized (segmento) {
+            segmento.rotarSiCorresponde(reloj.getAsLong(), ventanaNanos);
+            int registrado = segmento.buscar(clave);
+            return registrado >= 0 ? RESULTADOS[registrado] : null;
+        }
+    }
+
+    private static long mezclar(long hash, String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            hash = (hash ^ texto.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static final class Segmento {
+        private final int capacidad;
+        private final Map<Long, CompletableFuture<ResultadoActualizacion>> pendientes = new HashMap<>();
+        private Generacion actual;
+        private Generacion anterior;
+
+        Segmento(int capacidad, long ahora) {
+            this.capacidad = capacidad;
+            this.actual = new Generacion(capacidad, ahora);
+            this.anterior = new Generacion(capacidad, ahora);
+        }
+
+        void rotarSiCorresponde(long ahora, long ventanaNanos) {
+            long edad = ahora - actual.inicio;
+            if (edad >= 2 * ventanaNanos) {
+                // Ambas generaciones vencieron
+                actual.vaciar(ahora);
+                anterior.vaciar(ahora);
+            } else if (edad >= ventanaNanos) {
+                rotar(ahora);
+            }
+        }
+
+        int buscar(long clave) {
+            int resultado = actual.buscar(clave);
+            return resultado >= 0 ? resultado : anterior.buscar(clave);
+        }
+
+        void agregar(long clave, int resultado, long ahora) {
+            if (actual.tamano >= capacidad) {
+                rotar(ahora);
+            }
+            actual.agregar(clave, resultado);
+        }
+
+        private void rotar(long ahora) {
+            Generacion vencida = anterior;
+            vencida.vaciar(ahora);
+            anterior = actual;
+            actual = vencida;
+        }
+    }
+
+    /**
+     * Tabla de direccionamiento abierto con sondeo lineal y factor de carga máximo de 1/2
+     */
+    private static final class Generacion {
+        private final long[] claves;
+        private final byte[] resultados;
+        private final int mascara;
+        private int tamano;
+        private long inicio;
+
+        Generacion(int capacidad, long inicio) {
+            int longitud = Integer.highestOneBit(Math.max(2, capacidad) * 2 - 1) << 1;
+            this.claves = new long[longitud];
+            this.resultados = new byte[longitud];
+            this.mascara = longitud - 1;
+            this.inicio = inicio;
+        }
+
+        int buscar(long clave) {
+            for (int i = posicion(clave); ; i = (i + 1) & mascara) {
+                long guardada = claves[i];
+                if (guardada == clave) {
+                    return resultados[i];
+                }
+                if (guardada == VACIA) {
+                    return -1;
+                }
+            }
+        }
+
+        void agregar(long clave, int resultado) {
+            int i = posicion(clave);
+            while (claves[i] != VACIA) {
+                i = (i + 1) & mascara;
+            }
+            claves[i] = clave;
+            resultados[i] = (byte) resultado;
+            tamano++;
+        }
+
+        void vaciar(long ahora) {
+            if (tamano > 0) {
+                Arrays.fill(claves, VACIA);
+                tamano = 0;
+            }
+            inicio = ahora;
+        }
+
+        private int posicion(long clave) {
+            // Los 6 bits más bajos eligen el segmento, así que la posición usa los altos
+            return (int) (clave >>> 32) & mascara;
+        }
+    }
+}
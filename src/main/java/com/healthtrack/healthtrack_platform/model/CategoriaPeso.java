@@ -0,0 +1,33 @@
+package com.healthtrack.healthtrack_platform.model;
+
+/**
+ * Clasificación del peso según el IMC con los umbrales de la OMS para adultos
+ */
+public enum CategoriaPeso {
+    BAJO_PESO,
+    NORMAL,
+    SOBREPESO,
+    OBESIDAD,
+    /** Sin altura registrada no hay IMC */
+    SIN_DATOS;
+
+    private static final double LIMITE_BAJO_PESO = 18.5;
+    private static final double LIMITE_NORMAL = 25.0;
+    private static final double LIMITE_SOBREPESO = 30.0;
+
+    /**
+     * @param imc Índice de masa corporal, o NaN si no se conoce
+     */
+    public static CategoriaPeso deImc(double imc) {
+        if (Double.isNaN(imc)) {
+            return SIN_DATOS;
+        }
+        if (imc < LIMITE_BAJO_PESO) {
+            return BAJO_PESO;
+        }
+        if (imc < LIMITE_NORMAL) {
+            return NORMAL;
+        }
+        return imc < LIMITE_SOBREPESO ? SOBREPESO : OBESIDAD;
+    }
+}
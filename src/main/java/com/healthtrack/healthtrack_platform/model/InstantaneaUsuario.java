@@ -0,0 +1,59 @@
+package com.healthtrack.healthtrack_platform.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vista inmutable y consistente del estado de un Usuario
+ * Cada actualización publica una instantánea nueva, así que todos los campos
+ * siempre corresponden a la misma versión
+ *
+ * La versión empieza en 0 y sube en 1 con cada cambio; solo ordena los cambios de un mismo
+ * objeto Usuario (un usuario reconstruido desde el almacenamiento vuelve a empezar en 0)
+ *
+ * @param nombre Nombre del usuario
+ * @param pesoDecagramos Peso en punto fijo (ver {@link PesoFijo})
+ * @param ultimaActualizacion Fecha de la última actualización de peso, o null si nunca actualizó
+ * @param alturaCm Altura en cm, o SIN_ALTURA
+ * @param pesoObjetivoDecagramos Peso objetivo en punto fijo, o SIN_OBJETIVO
+ * @param version Número de cambios publicados desde que se creó el Usuario
+ */
+public record InstantaneaUsuario(String nombre, int pesoDecagramos, LocalDateTime ultimaActualizacion,
+                                 int alturaCm, int pesoObjetivoDecagramos, long version) {
+
+    public static final int SIN_ALTURA = 0;
+    public static final int SIN_OBJETIVO = 0;
+
+    /**
+     * Instantánea sin altura ni peso objetivo
+     */
+    public InstantaneaUsuario(String nombre, int pesoDecagramos, LocalDateTime ultimaActualizacion) {
+        this(nombre, pesoDecagramos, ultimaActualizacion, SIN_ALTURA, SIN_OBJETIVO);
+    }
+
+    /**
+     * Instantánea inicial (versión 0)
+     */
+    public InstantaneaUsuario(String nombre, int pesoDecagramos, LocalDateTime ultimaActualizacion,
+                              int alturaCm, int pesoObjetivoDecagramos) {
+        this(nombre, pesoDecagramos, ultimaActualizacion, alturaCm, pesoObjetivoDecagramos, 0);
+    }
+
+    /**
+     * Peso en kg
+     */
+    public double peso() {
+        return PesoFijo.aKg(pesoDecagramos);
+    }
+
+    InstantaneaUsuario conPeso(int decagramos, LocalDateTime actualizacion) {
+        return new InstantaneaUsuario(nombre, decagramos, actualizacion, alturaCm, pesoObjetivoDecagramos, version + 1);
+    }
+
+    InstantaneaUsuario conAltura(int cm) {
+        return new InstantaneaUsuario(nombre, pesoDecagramos, ultimaActualizacion, cm, pesoObjetivoDecagramos, version + 1);
+    }
+
+    InstantaneaUsuario conPesoObjetivo(int decagramos) {
+        return new InstantaneaUsuario(nombre, pesoDecagramos, ultimaActualizacion, alturaCm, decagramos, version + 1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.healthtrack.healthtrack_platform.model;
+
+/**
+ * Métricas derivadas de una InstantaneaUsuario: IMC, categoría y distancia al peso objetivo
+ * Es inmutable y recuerda de qué instantánea salió, así que Usuario la guarda y la reutiliza
+ * hasta que una actualización publica una instantánea nueva
+ */
+public final class MetricasCorporales {
+
+    private final InstantaneaUsuario origen;
+    private final double imc;
+    private final CategoriaPeso categoria;
+
+    private MetricasCorporales(InstantaneaUsuario origen) {
+        this.origen = origen;
+        this.imc = imc(origen.pesoDecagramos(), origen.alturaCm());
+        this.categoria = CategoriaPeso.deImc(imc);
+    }
+
+    static MetricasCorporales calcular(InstantaneaUsuario instantanea) {
+        return new MetricasCorporales(instantanea);
+    }
+
+    /**
+     * IMC en kg/m², o NaN si no hay altura registrada
+     */
+    public double imc() {
+        return imc;
+    }
+
+    public CategoriaPeso categoria() {
+        return categoria;
+    }
+
+    public boolean tieneObjetivo() {
+        return origen.pesoObjetivoDecagramos() != InstantaneaUsuario.SIN_OBJETIVO;
+    }
+
+    /**
+     * Kg que faltan para llegar al objetivo: positivo si hay que bajar, negativo si hay que subir
+     * @return NaN si no hay peso objetivo
+     */
+    public double distanciaObjetivoKg() {
+        if (!tieneObjetivo()) {
+            return Double.NaN;
+        }
+        return PesoFijo.aKg(origen.pesoDecagramos() - origen.pesoObjetivoDecagramos());
+    }
+
+    boolean calculadaDesde(InstantaneaUsuario instantanea) {
+        return origen == instantanea;
+    }
+
+    /**
+     * IMC a partir del peso en decagramos y la altura en cm: dag / 100 / (cm / 100)² = dag * 100 / cm²
+     * @return NaN si la altura es SIN_ALTURA
+     */
+    public static double imc(int pesoDecagramos, int alturaCm) {
+        if (alturaCm == InstantaneaUsuario.SIN_ALTURA) {
+            return Double.NaN;
+        }
+        return pesoDecagramos * 100.0 / ((double) alturaCm * alturaCm);
+    }
+
+    /**
+     * IMC de un lote de filas en columnas, en una sola pasada sin crear objetos
+     * @param cantidad Filas a calcular desde la posición 0
+     */
+    public static void imc(int[] pesosDecagramos, int[] alturasCm, double[] destino, int cantidad) {
+        // Sin condiciones dentro del bucle el JIT lo vectoriza; las filas sin altura (división
+        // por cero) se corrigen después en una pasada que casi nunca escribe
+        for (int i = 0; i < cantidad; i++) {
+            double altura = alturasCm[i];
+            destino[i] = pesosDecagramos[i] * 100.0 / (altura * altura);
+        }
+        for (int i = 0; i < cantidad; i++) {
+            if (alturasCm[i] == InstantaneaUsuario.SIN_ALTURA) {
+                destino[i] = Double.NaN;
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.healthtrack.healthtrack_platform.model;
+
+/**
+ * Operaciones sobre pesos en punto fijo: un int de decagramos (0,01 kg)
+ *
+ * Un int ocupa la mitad que un double, se compara de forma exacta con == y cubre hasta
+ * unos 21.474.836 kg. Es la misma resolución que ya usan el codec binario y el historial
+ * comprimido. Los métodos son estáticos y no crean objetos, así que los pesos pueden
+ * guardarse en campos y arreglos primitivos.
+ */
+public final class PesoFijo {
+
+    public static final int DECAGRAMOS_POR_KG = 100;
+    public static final double KG_POR_LIBRA = 0.45359237;
+
+    private PesoFijo() {
+    }
+
+    /**
+     * Convierte kg a decagramos redondeando al más cercano
+     * @throws IllegalArgumentException si el peso es negativo, NaN o no cabe en un int
+     */
+    public static int desdeKg(double kg) {
+        if (kg < 0) {
+            throw new IllegalArgumentException("El peso no puede ser negativo");
+        }
+        double decagramos = kg * DECAGRAMOS_POR_KG;
+        if (!(decagramos <= Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("El peso no es representable: " + kg);
+        }
+        // Con el valor ya validado como no negativo, sumar 0,5 y truncar redondea igual que
+        // Math.round pero en una sola conversión, que pesa en la creación de cada Usuario
+        return (int) (decagramos + 0.5);
+    }
+
+    /**
+     * Indica si {@link #desdeKg(double)} aceptaría el peso, sin lanzar excepciones
+     */
+    public static boolean esRepresentable(double kg) {
+        return kg >= 0 && kg * DECAGRAMOS_POR_KG <= Integer.MAX_VALUE;
+    }
+
+    public static double aKg(int decagramos) {
+        return decagramos / (double) DECAGRAMOS_POR_KG;
+    }
+
+    /**
+     * Convierte libras a decagramos redondeando al más cercano
+     */
+    public static int desdeLibras(double libras) {
+        return desdeKg(libras * KG_POR_LIBRA);
+    }
+
+    public static double aLibras(int decagramos) {
+        return aKg(decagramos) / KG_POR_LIBRA;
+    }
+
+    /**
+     * Diferencia exacta entre dos pesos; puede ser negativa
+     * @throws ArithmeticException si el resultado no cabe en un int
+     */
+    public static int diferencia(int actual, int anterior) {
+        return Math.subtractExact(actual, anterior);
+    }
+
+    /**
+     * Agrega el peso en kg con dos decimales y punto decimal, sin depender del locale
+     * (7550 se escribe "75.50"); acepta diferencias negativas
+     */
+    public static StringBuilder formatearKg(int decagramos, StringBuilder destino) {
+        return formatearCentesimas(decagramos, destino);
+    }
+
+    /**
+     * Agrega el peso en libras con dos decimales y punto decimal
+     */
+    public static StringBuilder formatearLibras(int decagramos, StringBuilder destino) {
+        return formatearCentesimas(Math.round(aLibras(decagramos) * 100), destino);
+    }
+
+    public static String aTextoKg(int decagramos) {
+        return formatearKg(decagramos, new StringBuilder(16)).toString();
+    }
+
+    private static StringBuilder formatearCentesimas(long centesimas, StringBuilder destino) {
+        if (centesimas < 0) {
+            destino.append('-');
+            centesimas = -centesimas;
+        }
+        long resto = centesimas % 100;
+        destino.append(centesimas / 100).append('.');
+        if (resto < 10) {
+            destino.append('0');
+        }
+        return destino.append(resto);
+    }
+}
@@ -0,0 +1,18 @@
+package com.healthtrack.healthtrack_platform.model;
+
+/**
+ * Resultado de {@link Usuario#tryActualizarPeso(double)}
+ * Las constantes son únicas, así que informar un rechazo no crea objetos ni recorre la pila
+ */
+public enum ResultadoActualizacion {
+    /** El peso se registró */
+    ACTUALIZADO,
+    /** El peso es negativo, NaN o no representable en punto fijo; el estado no cambió */
+    PESO_INVALIDO,
+    /** No han pasado 48 horas desde la última actualización; el estado no cambió */
+    BLOQUEADO;
+
+    public boolean esExitoso() {
+        return this == ACTUALIZADO;
+    }
+}
@@ -2,16 +2,41 @@ package com.healthtrack.healthtrack_platform.model;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.UnaryOperator;
 
 /**
  * Modelo de Usuario para la plataforma HealthTrack
  * Permite el monitoreo del peso con restricción de actualización cada 48 horas
+ *
+ * El estado vive en una InstantaneaUsuario inmutable publicada por una referencia volatile
+ * (copy-on-write): los lectores obtienen una vista consistente con una sola lectura y sin
+ * bloqueos, y cada actualización reemplaza la instantánea completa con compare-and-set
+ *
+ * El constructor solo guarda los datos iniciales en campos final; la primera instantánea se
+ * crea la primera vez que se lee o se cambia el estado. Así crear un usuario cuesta una sola
+ * asignación y ninguna escritura volatile, lo mismo que antes de las instantáneas
+ *
+ * El peso se guarda en punto fijo (decagramos, ver {@link PesoFijo}): los kg recibidos se
+ * redondean a 0,01 kg y dos pesos iguales se comparan de forma exacta
+ *
+ * Las métricas derivadas (IMC, categoría, distancia al objetivo) se calculan la primera vez
+ * que se piden y se reutilizan mientras no cambie la instantánea
  */
 public class Usuario {
-    private String nombre;
-    private double peso;
-    private LocalDateTime ultimaActualizacion;
     private static final int HORAS_MINIMAS_ACTUALIZACION = 48;
+    private static final int ALTURA_MAXIMA_CM = 300;
+    private static final AtomicReferenceFieldUpdater<Usuario, InstantaneaUsuario> ESTADO =
+            AtomicReferenceFieldUpdater.newUpdater(Usuario.class, InstantaneaUsuario.class, "estado");
+
+    private final String nombre;
+    private final int pesoInicialDecagramos;
+    private final LocalDateTime actualizacionInicial;
+    // null hasta la primera lectura o cambio; ver instantanea()
+    private volatile InstantaneaUsuario estado;
+    // Sin volatile: MetricasCorporales es inmutable con campos final, así que un hilo que la
+    // lee por carrera la ve completa; en el peor caso la recalcula
+    private MetricasCorporales metricas;
 
     /**
      * Constructor para crear un nuevo usuario
@@ -19,17 +44,75 @@ public class Usuario {
      * @param peso Peso inicial del usuario en kg
      */
     public Usuario(String nombre, double peso) {
+        this(nombre, peso, null);
+    }
+
+    /**
+     * Constructor para reconstruir un usuario a partir de datos ya registrados
+     * (eventos, almacenamiento persistente, etc.)
+     * @param nombre Nombre del usuario
+     * @param peso Peso actual del usuario en kg
+     * @param ultimaActualizacion Fecha de la última actualización de peso, o null si nunca actualizó
+     */
+    public Usuario(String nombre, double peso, LocalDateTime ultimaActualizacion) {
+        this(nombre, PesoFijo.desdeKg(peso), ultimaActualizacion);
+    }
+
+    private Usuario(String nombre, int pesoDecagramos, LocalDateTime ultimaActualizacion) {
         if (nombre == null || nombre.trim().isEmpty()) {
             throw new IllegalArgumentException("El nombre del usuario no puede ser nulo o vacío");
         }
-        if (peso < 0) {
+        if (pesoDecagramos < 0) {
             throw new IllegalArgumentException("El peso no puede ser negativo");
         }
-        
+
         this.nombre = nombre.trim();
-        this.peso = peso;
-        
-        this.ultimaActualizacion = null;
+        this.pesoInicialDecagramos = pesoDecagramos;
+        this.actualizacionInicial = ultimaActualizacion;
+    }
+
+    /**
+     * Instantánea actual; la primera vez la crea a partir de los datos iniciales. Si dos hilos
+     * la crean a la vez, el compare-and-set deja una sola y el otro usa la publicada
+     */
+    private InstantaneaUsuario instantanea() {
+        InstantaneaUsuario actual = estado;
+        if (actual == null) {
+            InstantaneaUsuario inicial = new InstantaneaUsuario(nombre, pesoInicialDecagramos, actualizacionInicial);
+            actual = ESTADO.compareAndSet(this, null, inicial) ? inicial : estado;
+        }
+        return actual;
+    }
+
+    /**
+     * Reconstruye un usuario con el peso ya en punto fijo, sin pasar por double
+     * (almacenamiento en columnas, codec binario, etc.)
+     * @param pesoDecagramos Peso en decagramos
+     */
+    public static Usuario desdeDecagramos(String nombre, int pesoDecagramos, LocalDateTime ultimaActualizacion) {
+        return new Usuario(nombre, pesoDecagramos, ultimaActualizacion);
+    }
+
+    /**
+     * Reconstruye un usuario con su altura y peso objetivo ya registrados; la instantánea
+     * inicial los incluye, así que la versión empieza en 0 igual que sin medidas
+     * @param alturaCm Altura en cm, o InstantaneaUsuario.SIN_ALTURA
+     * @param pesoObjetivoDecagramos Peso objetivo en decagramos, o InstantaneaUsuario.SIN_OBJETIVO
+     */
+    public static Usuario desdeDecagramos(String nombre, int pesoDecagramos, LocalDateTime ultimaActualizacion,
+                                          int alturaCm, int pesoObjetivoDecagramos) {
+        if (alturaCm < 0 || alturaCm > ALTURA_MAXIMA_CM) {
+            throw new IllegalArgumentException("La altura debe estar entre 1 y " + ALTURA_MAXIMA_CM + " cm");
+        }
+        if (pesoObjetivoDecagramos < 0) {
+            throw new IllegalArgumentException("El peso objetivo no puede ser negativo");
+        }
+        Usuario usuario = new Usuario(nombre, pesoDecagramos, ultimaActualizacion);
+        if (alturaCm != InstantaneaUsuario.SIN_ALTURA || pesoObjetivoDecagramos != InstantaneaUsuario.SIN_OBJETIVO) {
+            usuario.estado = new InstantaneaUsuario(usuario.nombre, pesoDecagramos, ultimaActualizacion,
+                    alturaCm, pesoObjetivoDecagramos);
+        }
+        return usuario;
     }
 
     // Getters
@@ -38,30 +121,144 @@ public class Usuario {
     }
 
     public double getPeso() {
-        return peso;
+        return instantanea().peso();
+    }
+
+    /**
+     * Peso en punto fijo (decagramos)
+     */
+    public int getPesoDecagramos() {
+        return instantanea().pesoDecagramos();
     }
 
     public LocalDateTime getUltimaActualizacion() {
-        return ultimaActualizacion;
+        return instantanea().ultimaActualizacion();
+    }
+
+    /**
+     * @return Altura en cm, o InstantaneaUsuario.SIN_ALTURA si no se registró
+     */
+    public int getAlturaCm() {
+        return instantanea().alturaCm();
+    }
+
+    /**
+     * @return Peso objetivo en kg, o NaN si no se definió
+     */
+    public double getPesoObjetivo() {
+        int objetivo = instantanea().pesoObjetivoDecagramos();
+        return objetivo == InstantaneaUsuario.SIN_OBJETIVO ? Double.NaN : PesoFijo.aKg(objetivo);
+    }
+
+    /**
+     * Versión del estado; sube con cada cambio (peso, altura o peso objetivo) y no cambia
+     * cuando una actualización se rechaza
+     */
+    public long getVersion() {
+        return instantanea().version();
+    }
+
+    /**
+     * Métricas del estado actual; se calculan una vez por instantánea
+     */
+    public MetricasCorporales getMetricas() {
+        InstantaneaUsuario actual = instantanea();
+        MetricasCorporales calculadas = metricas;
+        if (calculadas == null || !calculadas.calculadaDesde(actual)) {
+            calculadas = MetricasCorporales.calcular(actual);
+            metricas = calculadas;
+        }
+        return calculadas;
+    }
+
+    /**
+     * Registra la altura; no está sujeta a la restricción de 48 horas del peso
+     * @param alturaCm Altura en cm, entre 1 y 300
+     */
+    public void establecerAltura(int alturaCm) {
+        if (alturaCm <= 0 || alturaCm > ALTURA_MAXIMA_CM) {
+            throw new IllegalArgumentException("La altura debe estar entre 1 y " + ALTURA_MAXIMA_CM + " cm");
+        }
+        reemplazar(actual -> actual.conAltura(alturaCm));
+    }
+
+    /**
+     * Define el peso objetivo
+     * @param pesoObjetivo Peso objetivo en kg, mayor a 0
+     */
+    public void establecerPesoObjetivo(double pesoObjetivo) {
+        int decagramos = PesoFijo.desdeKg(pesoObjetivo);
+        if (decagramos == InstantaneaUsuario.SIN_OBJETIVO) {
+            throw new IllegalArgumentException("El peso objetivo debe ser mayor a 0");
+        }
+        reemplazar(actual -> actual.conPesoObjetivo(decagramos));
+    }
+
+    private void reemplazar(UnaryOperator<InstantaneaUsuario> cambio) {
+        InstantaneaUsuario actual;
+        do {
+            actual = instantanea();
+        } while (!ESTADO.compareAndSet(this, actual, cambio.apply(actual)));
+    }
+
+    /**
+     * Estado actual completo; peso y fecha de actualización siempre son de la misma versión,
+     * a diferencia de llamar a getPeso() y getUltimaActualizacion() por separado
+     */
+    public InstantaneaUsuario getInstantanea() {
+        return instantanea();
     }
 
     /**
      * Actualiza el peso del usuario
      * CORRECCIÓN: Ahora asigna correctamente el nuevo peso en lugar de restar 1kg
      * @param nuevoPeso Nuevo peso del usuario en kg
+     * @throws IllegalArgumentException si el peso es inválido
+     * @throws IllegalStateException si no han pasado 48 horas desde la última actualización
      */
     public void actualizarPeso(double nuevoPeso) {
-        if (nuevoPeso < 0) {
-            throw new IllegalArgumentException("El peso no puede ser negativo");
-        }
-        
-        if (!puedeActualizarPeso()) {
+        if (actualizarDecagramos(PesoFijo.desdeKg(nuevoPeso)) == ResultadoActualizacion.BLOQUEADO) {
             throw new IllegalStateException("No se puede actualizar el peso. Deben pasar al menos 48 horas desde la última actualización");
         }
-        
-        // CORRECCIÓN DEL BUG: Asignar el nuevo peso correctamente
-        this.peso = nuevoPeso;
-        this.ultimaActualizacion = LocalDateTime.now();
+    }
+
+    /**
+     * Variante de actualizarPeso que informa el rechazo con un código en lugar de una excepción,
+     * para los casos en que el rechazo es frecuente (reintentos dentro de las 48 horas) y
+     * construir la traza de la excepción domina el costo
+     * @param nuevoPeso Nuevo peso del usuario en kg
+     * @return ACTUALIZADO, PESO_INVALIDO o BLOQUEADO; tras BLOQUEADO,
+     *         {@link #getProximaActualizacionPermitida()} indica cuándo reintentar
+     */
+    public ResultadoActualizacion tryActualizarPeso(double nuevoPeso) {
+        if (!PesoFijo.esRepresentable(nuevoPeso)) {
+            return ResultadoActualizacion.PESO_INVALIDO;
+        }
+        return actualizarDecagramos(PesoFijo.desdeKg(nuevoPeso));
+    }
+
+    private ResultadoActualizacion actualizarDecagramos(int decagramos) {
+        InstantaneaUsuario actual;
+        InstantaneaUsuario nueva;
+        do {
+            // Si otro hilo publica antes, se vuelve a evaluar la restricción sobre su versión
+            actual = instantanea();
+            if (!puedeActualizarPeso(actual)) {
+                return ResultadoActualizacion.BLOQUEADO;
+            }
+            // CORRECCIÓN DEL BUG: Asignar el nuevo peso correctamente
+            nueva = actual.conPeso(decagramos, LocalDateTime.now());
+        } while (!ESTADO.compareAndSet(this, actual, nueva));
+        return ResultadoActualizacion.ACTUALIZADO;
+    }
+
+    /**
+     * Momento a partir del cual se acepta la próxima actualización de peso
+     * @return null si el usuario nunca actualizó y puede hacerlo ya
+     */
+    public LocalDateTime getProximaActualizacionPermitida() {
+        LocalDateTime ultimaActualizacion = instantanea().ultimaActualizacion();
+        return ultimaActualizacion == null ? null : ultimaActualizacion.plusHours(HORAS_MINIMAS_ACTUALIZACION);
     }
 
     /**
@@ -69,6 +266,11 @@ public class Usuario {
      * @return true si puede actualizar, false en caso contrario
      */
     public boolean puedeActualizarPeso() {
+        return puedeActualizarPeso(instantanea());
+    }
+
+    private static boolean puedeActualizarPeso(InstantaneaUsuario instantanea) {
+        LocalDateTime ultimaActualizacion = instantanea.ultimaActualizacion();
         // Si nunca ha actualizado el peso, puede hacerlo
         if (ultimaActualizacion == null) {
             return true;
@@ -82,14 +284,22 @@ public class Usuario {
      * Muestra la información del usuario
      */
     public void mostrarInformacion() {
-        System.out.printf("Usuario: %s, Peso Actual: %.2f kg, Última Actualización: %s%n", 
-                         nombre, peso, ultimaActualizacion);
+        InstantaneaUsuario actual = instantanea();
+        System.out.printf("Usuario: %s, Peso Actual: %s kg, Última Actualización: %s%n", 
+                         actual.nombre(), PesoFijo.aTextoKg(actual.pesoDecagramos()), actual.ultimaActualizacion());
     }
 
+    /**
+     * El peso se escribe siempre con punto decimal, sin depender del locale
+     */
     @Override
     public String toString() {
-        return String.format("Usuario{nombre='%s', peso=%.2f kg, ultimaActualizacion=%s}", 
-                           nombre, peso, ultimaActualizacion);
+        InstantaneaUsuario actual = instantanea();
+        StringBuilder texto = new StringBuilder(96)
+                .append("Usuario{nombre='").append(actual.nombre()).append("', peso=");
+        PesoFijo.formatearKg(actual.pesoDecagramos(), texto)
+                .append(" kg, ultimaActualizacion=").append(actual.ultimaActualizacion()).append('}');
+        return texto.toString();
     }
 
     @Override
@@ -97,11 +307,11 @@ public class Usuario {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         Usuario usuario = (Usuario) obj;
-        return Objects.equals(nombre, usuario.nombre);
+        return Objects.equals(getNombre(), usuario.getNombre());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(nombre);
+        return Objects.hash(getNombre());
     }
 }
\ No newline at end of file
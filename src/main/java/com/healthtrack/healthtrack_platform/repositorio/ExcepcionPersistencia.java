@@ -0,0 +1,11 @@
+package com.healthtrack.healthtrack_platform.repositorio;
+
+/**
+ * Error de acceso al almacenamiento persistente
+ */
+public class ExcepcionPersistencia extends RuntimeException {
+
+    public ExcepcionPersistencia(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
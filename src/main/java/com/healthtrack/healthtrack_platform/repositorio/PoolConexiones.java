@@ -0,0 +1,188 @@
+package com.healthtrack.healthtrack_platform.repositorio;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool pequeño de conexiones JDBC de tamaño fijo
+ * Las conexiones se abren bajo demanda hasta el máximo y cada una conserva sus sentencias
+ * preparadas, así que una consulta se prepara una sola vez por conexión
+ *
+ * Una conexión que estuvo libre más de medio segundo, o cuyo último uso terminó en
+ * SQLException, se valida con isValid antes de entregarla; si no responde se cierra y se
+ * abre otra en su lugar. Al cerrar el pool se cierran las conexiones libres, y las prestadas
+ * se cierran cuando se devuelven
+ */
+class PoolConexiones implements AutoCloseable {
+
+    private static final long ESPERA_MAXIMA_SEGUNDOS = 30;
+    private static final long INACTIVIDAD_SIN_VALIDAR_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int ESPERA_VALIDACION_SEGUNDOS = 2;
+
+    private final String url;
+    private final int tamano;
+    private final BlockingQueue<Conexion> disponibles;
+    private final List<Conexion> abiertas = new ArrayList<>();
+    private volatile boolean cerrado;
+
+    PoolConexiones(String url, int tamano) {
+        if (tamano <= 0) {
+            throw new IllegalArgumentException("El pool debe tener al menos una conexión");
+        }
+        this.url = url;
+        this.tamano = tamano;
+        this.disponibles = new ArrayBlockingQueue<>(tamano);
+    }
+
+    /**
+     * Toma una conexión válida del pool, abriendo una nueva si no se alcanzó el máximo
+     * Se devuelve al pool con close()
+     */
+    Conexion obtener() {
+        while (true) {
+            Conexion conexion = tomar();
+            if (conexion.validar()) {
+                return conexion;
+            }
+            conexion.descartar();
+        }
+    }
+
+    private Conexion tomar() {
+        Conexion conexion = disponibles.poll();
+        if (conexion != null) {
+            return conexion;
+        }
+        synchronized (this) {
+            if (cerrado) {
+                throw new IllegalStateException("El pool de conexiones está cerrado");
+            }
+            if (abiertas.size() < tamano) {
+                try {
+                    conexion = new Conexion(DriverManager.getConnection(url));
+                } catch (SQLException e) {
+                    throw new ExcepcionPersistencia("No se pudo abrir una conexión a " + url, e);
+                }
+                abiertas.add(conexion);
+                return conexion;
+            }
+        }
+        try {
+            conexion = disponibles.poll(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando una conexión", e);
+        }
+        if (conexion == null) {
+            throw new IllegalStateException("No hay conexiones disponibles tras " + ESPERA_MAXIMA_SEGUNDOS + " s");
+        }
+        return conexion;
+    }
+
+    /**
+     * Conexiones físicas abiertas, libres o prestadas
+     */
+    synchronized int abiertas() {
+        return abiertas.size();
+    }
+
+    /**
+     * Cierra las conexiones libres; las prestadas se cierran al devolverse
+     */
+    @Override
+    public synchronized void close() {
+        cerrado = true;
+        Conexion libre;
+        while ((libre = disponibles.poll()) != null) {
+            libre.descartar();
+        }
+    }
+
+    /**
+     * Conexión del pool con su caché de sentencias preparadas
+     * La usa un solo hilo a la vez; la cola del pool publica su estado al pasarla a otro
+     */
+    final class Conexion implements AutoCloseable {
+        private final Connection conexion;
+        private final Map<String, PreparedStatement> sentencias = new HashMap<>();
+        private long libreDesde = System.nanoTime();
+        private boolean sospechosa;
+
+        private Conexion(Connection conexion) {
+            this.conexion = conexion;
+        }
+
+        /**
+         * Devuelve la sentencia preparada para el SQL, preparándola la primera vez
+         */
+        PreparedStatement sentencia(String sql) throws SQLException {
+            PreparedStatement sentencia = sentencias.get(sql);
+            if (sentencia == null) {
+                sentencia = conexion.prepareStatement(sql);
+                sentencias.put(sql, sentencia);
+            }
+            return sentencia;
+        }
+
+        Connection jdbc() {
+            return conexion;
+        }
+
+        /**
+         * Marca la conexión para validarla antes del próximo uso, tras un error de JDBC
+         * que pudo dejarla inservible
+         */
+        void marcarSospechosa() {
+            sospechosa = true;
+        }
+
+        private boolean validar() {
+            if (!sospechosa && System.nanoTime() - libreDesde < INACTIVIDAD_SIN_VALIDAR_NANOS) {
+                return true;
+            }
+            try {
+                sospechosa = !conexion.isValid(ESPERA_VALIDACION_SEGUNDOS);
+            } catch (SQLException e) {
+                sospechosa = true;
+            }
+            return !sospechosa;
+        }
+
+        /**
+         * Cierra la conexión física (y sus sentencias) y libera su lugar en el pool
+         */
+        private void descartar() {
+            synchronized (PoolConexiones.this) {
+                abiertas.remove(this);
+            }
+            try {
+                conexion.close();
+            } catch (SQLException e) {
+                // La conexión ya no se usa; no hay nada más que liberar
+            }
+        }
+
+        /**
+         * Devuelve la conexión al pool, o la cierra si el pool ya se cerró
+         */
+        @Override
+        public void close() {
+            libreDesde = System.nanoTime();
+            disponibles.offer(this);
+            // Si close() del pool ya vació la cola, esta conexión quedó fuera: se cierra aquí.
+            // remove y el poll de close() son atómicos, así que solo uno de los dos la cierra
+            if (cerrado && disponibles.remove(this)) {
+                descartar();
+            }
+        }
+    }
+}
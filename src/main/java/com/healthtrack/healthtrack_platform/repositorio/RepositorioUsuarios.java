@@ -0,0 +1,91 @@
+package com.healthtrack.healthtrack_platform.repositorio;
+
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Almacenamiento de usuarios
+ * Las implementaciones deben ser thread-safe
+ */
+public interface RepositorioUsuarios {
+
+    /**
+     * Busca un usuario por nombre
+     */
+    Optional<Usuario> buscar(String nombre);
+
+    /**
+     * Inserta el usuario o reemplaza el registrado con el mismo nombre
+     */
+    void guardar(Usuario usuario);
+
+    /**
+     * Inserta el usuario solo si no hay otro con el mismo nombre, en una sola operación atómica
+     * Es la vía para registrar usuarios nuevos: buscar y después guardar deja que dos registros
+     * simultáneos del mismo nombre pasen la comprobación y el segundo reemplace al primero
+     * @return true si se insertó, false si el nombre ya estaba registrado
+     */
+    boolean guardarSiNoExiste(Usuario usuario);
+
+    /**
+     * Guarda varios usuarios; los repositorios persistentes lo hacen en lote
+     */
+    default void guardarTodos(Collection<Usuario> usuarios) {
+        for (Usuario usuario : usuarios) {
+            guardar(usuario);
+        }
+    }
+
+    /**
+     * Elimina un usuario
+     * @return true si el usuario existía
+     */
+    boolean eliminar(String nombre);
+
+    /**
+     * Número de usuarios almacenados
+     */
+    long contar();
+
+    /**
+     * Actualiza el peso de un usuario registrado aplicando la restricción de 48 horas
+     * y guarda el resultado
+     *
+     * La implementación por defecto serializa las actualizaciones bloqueando la instancia que
+     * devuelve buscar, así que solo es segura si buscar devuelve siempre la misma instancia por
+     * usuario (como RepositorioUsuariosEnMemoria). Un repositorio que devuelve copias debe
+     * sobrescribir este método y tryActualizarPeso (RepositorioUsuariosJdbc bloquea la fila)
+     * @throws IllegalArgumentException si el usuario no existe o el peso es inválido
+     * @throws IllegalStateException si no han pasado 48 horas desde la última actualización
+     */
+    default Usuario actualizarPeso(String nombre, double nuevoPeso) {
+        Usuario usuario = buscar(nombre)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no registrado: " + nombre));
+        synchronized (usuario) {
+            usuario.actualizarPeso(nuevoPeso);
+            guardar(usuario);
+        }
+        return usuario;
+    }
+
+    /**
+     * Variante de actualizarPeso que informa el rechazo con un código en lugar de una excepción
+     * Solo guarda el usuario si el resultado es ACTUALIZADO; por defecto tiene la misma
+     * condición que actualizarPeso sobre la identidad de las instancias
+     * @throws IllegalArgumentException si el usuario no existe
+     */
+    default ResultadoActualizacion tryActualizarPeso(String nombre, double nuevoPeso) {
+        Usuario usuario = buscar(nombre)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no registrado: " + nombre));
+        synchronized (usuario) {
+            ResultadoActualizacion resultado = usuario.tryActualizarPeso(nuevoPeso);
+            if (resultado.esExitoso()) {
+                guardar(usuario);
+            }
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.healthtrack.healthtrack_platform.repositorio;
+
+import com.healthtrack.healthtrack_platform.cache.CacheWTinyLfu;
+import com.healthtrack.healthtrack_platform.cache.EstadisticasCache;
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repositorio con caché de lectura y escritura directa (write-through) delante de otro repositorio
+ * Las lecturas se sirven desde una caché W-TinyLFU acotada y solo van al almacenamiento
+ * en un fallo; las escrituras van primero al almacenamiento y después a la caché, así que
+ * el almacenamiento siempre tiene la última versión
+ */
+public class RepositorioUsuariosCacheado implements RepositorioUsuarios {
+
+    private final RepositorioUsuarios almacenamiento;
+    private final CacheWTinyLfu<String, Usuario> cache;
+
+    /**
+     * @param almacenamiento Repositorio persistente al que se delegan los fallos y escrituras
+     * @param capacidad Máximo de usuarios en caché
+     */
+    public RepositorioUsuariosCacheado(RepositorioUsuarios almacenamiento, int capacidad) {
+        this.almacenamiento = almacenamiento;
+        this.cache = new CacheWTinyLfu<>(capacidad);
+    }
+
+    @Override
+    public Optional<Usuario> buscar(String nombre) {
+        if (nombre == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.obtener(nombre.trim(), n -> almacenamiento.buscar(n).orElse(null)));
+    }
+
+    @Override
+    public void guardar(Usuario usuario) {
+        almacenamiento.guardar(usuario);
+        cache.poner(usuario.getNombre(), usuario);
+    }
+
+    /**
+     * El almacenamiento decide si el nombre está libre; solo un usuario insertado entra en caché
+     */
+    @Override
+    public boolean guardarSiNoExiste(Usuario usuario) {
+        if (!almacenamiento.guardarSiNoExiste(usuario)) {
+            return false;
+        }
+        cache.poner(usuario.getNombre(), usuario);
+        return true;
+    }
+
+    @Override
+    public void guardarTodos(Collection<Usuario> usuarios) {
+        almacenamiento.guardarTodos(usuarios);
+        for (Usuario usuario : usuarios) {
+            cache.poner(usuario.getNombre(), usuario);
+        }
+    }
+
+    @Override
+    public boolean eliminar(String nombre) {
+        if (nombre == null) {
+            return false;
+        }
+        boolean eliminado = almacenamiento.eliminar(nombre.trim());
+        cache.invalidar(nombre.trim());
+        return eliminado;
+    }
+
+    @Override
+    public long contar() {
+        return almacenamiento.contar();
+    }
+
+    /**
+     * Delega la actualización al almacenamiento, que es quien serializa la restricción de
+     * 48 horas, y deja en caché el usuario que quedó guardado. Bloquear la instancia en caché
+     * no alcanza: tras un desalojo o dos fallos simultáneos puede haber otra instancia del
+     * mismo usuario, y ambas aceptarían la actualización
+     * Si la escritura falla se invalida la entrada, para que la próxima lectura vuelva
+     * a la versión almacenada
+     */
+    @Override
+    public Usuario actualizarPeso(String nombre, double nuevoPeso) {
+        Usuario actualizado;
+        try {
+            actualizado = almacenamiento.actualizarPeso(nombre, nuevoPeso);
+        } catch (RuntimeException e) {
+            invalidar(nombre);
+            throw e;
+        }
+        cache.poner(actualizado.getNombre(), actualizado);
+        return actualizado;
+    }
+
+    /**
+     * Igual que actualizarPeso; como el almacenamiento solo devuelve el código, tras una
+     * actualización se vuelve a leer el usuario guardado para reemplazar la entrada en caché
+     */
+    @Override
+    public ResultadoActualizacion tryActualizarPeso(String nombre, double nuevoPeso) {
+        ResultadoActualizacion resultado;
+        try {
+            resultado = almacenamiento.tryActualizarPeso(nombre, nuevoPeso);
+        } catch (RuntimeException e) {
+            invalidar(nombre);
+            throw e;
+        }
+        if (resultado.esExitoso()) {
+            Optional<Usuario> guardado = almacenamiento.buscar(nombre);
+            if (guardado.isPresent()) {
+                cache.poner(guardado.get().getNombre(), guardado.get());
+            } else {
+                invalidar(nombre);
+            }
+        }
+        return resultado;
+    }
+
+    public EstadisticasCache estadisticas() {
+        return cache.estadisticas();
+    }
+
+    private void invalidar(String nombre) {
+        if (nombre != null) {
+            cache.invalidar(nombre.trim());
+        }
+    }
+}
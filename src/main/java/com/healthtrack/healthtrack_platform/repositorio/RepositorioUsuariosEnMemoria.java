@@ -0,0 +1,40 @@
+package com.healthtrack.healthtrack_platform.repositorio;
+
+import com.healthtrack.healthtrack_platform.model.Usuario;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repositorio de usuarios en memoria
+ */
+public class RepositorioUsuariosEnMemoria implements RepositorioUsuarios {
+
+    private final Map<String, Usuario> usuarios = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Usuario> buscar(String nombre) {
+        return nombre == null ? Optional.empty() : Optional.ofNullable(usuarios.get(nombre.trim()));
+    }
+
+    @Override
+    public void guardar(Usuario usuario) {
+        usuarios.put(usuario.getNombre(), usuario);
+    }
+
+    @Override
+    public boolean guardarSiNoExiste(Usuario usuario) {
+        return usuarios.putIfAbsent(usuario.getNombre(), usuario) == null;
+    }
+
+    @Override
+    public boolean eliminar(String nombre) {
+        return nombre != null && usuarios.remove(nombre.trim()) != null;
+    }
+
+    @Override
+    public long contar() {
+        return usuarios.size();
+    }
+}
@@ -0,0 +1,408 @@
+package com.healthtrack.healthtrack_platform.repositorio;
+
+import com.healthtrack.healthtrack_platform.historial.PuntoPeso;
+import com.healthtrack.healthtrack_platform.model.InstantaneaUsuario;
+import com.healthtrack.healthtrack_platform.model.PesoFijo;
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio de usuarios sobre una base de datos embebida vía JDBC (H2 en archivo, sin servidor)
+ *
+ * El esquema separa el último peso del historial: la tabla usuarios tiene una fila por usuario
+ * con el peso vigente, así que buscar es una lectura por clave primaria, y historial_peso tiene
+ * clave (nombre, momento), así que un rango de un usuario es un recorrido contiguo del índice.
+ * La altura y el peso objetivo van en la fila del usuario y son NULL si no se registraron; las
+ * bases creadas antes de esas columnas las reciben al abrirse.
+ *
+ * Los pesos se guardan como INTEGER en decagramos, igual que en Usuario, así que leer y
+ * escribir no redondea. Las bases que aún tienen columnas DOUBLE PRECISION en kg se migran
+ * al abrirse: se copian a las columnas en decagramos y después se borran las antiguas, de
+ * modo que una migración interrumpida se repite entera en la próxima apertura.
+ *
+ * Las escrituras masivas usan lotes JDBC dentro de una transacción y todas las sentencias se
+ * preparan una sola vez por conexión del pool.
+ */
+public class RepositorioUsuariosJdbc implements RepositorioUsuarios, AutoCloseable {
+
+    public static final int TAMANO_POOL_POR_DEFECTO = 4;
+    static final int TAMANO_LOTE = 500;
+    /** SQLSTATE estándar de violación de clave única */
+    static final String ESTADO_CLAVE_DUPLICADA = "23505";
+
+    private static final String[] ESQUEMA = {
+            "CREATE TABLE IF NOT EXISTS usuarios ("
+                    + "nombre VARCHAR(255) PRIMARY KEY, "
+                    + "peso_decagramos INTEGER NOT NULL, "
+                    + "ultima_actualizacion TIMESTAMP, "
+                    + "altura_cm INTEGER, "
+                    + "peso_objetivo_decagramos INTEGER)",
+            "ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS altura_cm INTEGER",
+            "ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS peso_decagramos INTEGER",
+            "ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS peso_objetivo_decagramos INTEGER",
+            "CREATE TABLE IF NOT EXISTS historial_peso ("
+                    + "nombre VARCHAR(255) NOT NULL, "
+                    + "momento BIGINT NOT NULL, "
+                    + "peso_decagramos INTEGER NOT NULL, "
+                    + "PRIMARY KEY (nombre, momento))",
+            "ALTER TABLE historial_peso ADD COLUMN IF NOT EXISTS peso_decagramos INTEGER"
+    };
+
+    // Columnas en kg del esquema anterior; cada migración se ejecuta solo si su columna existe
+    private static final String[] MIGRAR_PESO_OBJETIVO = {
+            "UPDATE usuarios SET peso_objetivo_decagramos = ROUND(peso_objetivo * 100)",
+            "ALTER TABLE usuarios DROP COLUMN peso_objetivo"
+    };
+    private static final String[] MIGRAR_PESO = {
+            "UPDATE usuarios SET peso_decagramos = ROUND(peso * 100)",
+            "ALTER TABLE usuarios ALTER COLUMN peso_decagramos SET NOT NULL",
+            "ALTER TABLE usuarios DROP COLUMN peso"
+    };
+    private static final String[] MIGRAR_HISTORIAL = {
+            "UPDATE historial_peso SET peso_decagramos = ROUND(peso * 100)",
+            "ALTER TABLE historial_peso ALTER COLUMN peso_decagramos SET NOT NULL",
+            "ALTER TABLE historial_peso DROP COLUMN peso"
+    };
+
+    private static final String SQL_BUSCAR = "SELECT peso_decagramos, ultima_actualizacion, altura_cm, "
+            + "peso_objetivo_decagramos FROM usuarios WHERE nombre = ?";
+    private static final String SQL_BUSCAR_PARA_ACTUALIZAR = SQL_BUSCAR + " FOR UPDATE";
+    private static final String SQL_GUARDAR = "MERGE INTO usuarios (nombre, peso_decagramos, ultima_actualizacion, "
+            + "altura_cm, peso_objetivo_decagramos) KEY (nombre) VALUES (?, ?, ?, ?, ?)";
+    private static final String SQL_INSERTAR = "INSERT INTO usuarios (nombre, peso_decagramos, ultima_actualizacion, "
+            + "altura_cm, peso_objetivo_decagramos) VALUES (?, ?, ?, ?, ?)";
+    private static final String SQL_GUARDAR_HISTORIAL = "MERGE INTO historial_peso (nombre, momento, peso_decagramos) "
+            + "KEY (nombre, momento) VALUES (?, ?, ?)";
+    private static final String SQL_ELIMINAR = "DELETE FROM usuarios WHERE nombre = ?";
+    private static final String SQL_ELIMINAR_HISTORIAL = "DELETE FROM historial_peso WHERE nombre = ?";
+    private static final String SQL_CONTAR = "SELECT COUNT(*) FROM usuarios";
+    private static final String SQL_HISTORIAL = "SELECT momento, peso_decagramos FROM historial_peso "
+            + "WHERE nombre = ? AND momento BETWEEN ? AND ? ORDER BY momento";
+
+    private final PoolConexiones pool;
+
+    /**
+     * @param url URL JDBC, por ejemplo jdbc:h2:file:/var/lib/healthtrack/usuarios
+     */
+    public RepositorioUsuariosJdbc(String url) {
+        this(url, TAMANO_POOL_POR_DEFECTO);
+    }
+
+    /**
+     * @param url URL JDBC
+     * @param tamanoPool Máximo de conexiones abiertas a la vez
+     */
+    public RepositorioUsuariosJdbc(String url, int tamanoPool) {
+        this.pool = new PoolConexiones(url, tamanoPool);
+        crearEsquema();
+    }
+
+    @Override
+    public Optional<Usuario> buscar(String nombre) {
+        if (nombre == null) {
+            return Optional.empty();
+        }
+        return ejecutar(conexion -> leerUsuario(conexion.sentencia(SQL_BUSCAR), nombre.trim()));
+    }
+
+    /**
+     * Guarda el usuario y, si tiene fecha de actualización, la lectura correspondiente del historial
+     */
+    @Override
+    public void guardar(Usuario usuario) {
+        enTransaccion(conexion -> {
+            PreparedStatement usuarios = conexion.sentencia(SQL_GUARDAR);
+            PreparedStatement historial = conexion.sentencia(SQL_GUARDAR_HISTORIAL);
+            if (agregarParametros(usuario, usuarios, historial)) {
+                historial.executeUpdate();
+            }
+            usuarios.executeUpdate();
+            return null;
+        });
+    }
+
+    /**
+     * Inserta el usuario con un INSERT sin MERGE: la clave primaria hace que de dos registros
+     * simultáneos del mismo nombre solo uno tenga éxito
+     */
+    @Override
+    public boolean guardarSiNoExiste(Usuario usuario) {
+        return enTransaccion(conexion -> {
+            PreparedStatement usuarios = conexion.sentencia(SQL_INSERTAR);
+            PreparedStatement historial = conexion.sentencia(SQL_GUARDAR_HISTORIAL);
+            boolean conHistorial = agregarParametros(usuario, usuarios, historial);
+            try {
+                usuarios.executeUpdate();
+            } catch (SQLException e) {
+                if (ESTADO_CLAVE_DUPLICADA.equals(e.getSQLState())) {
+                    return false;
+                }
+                throw e;
+            }
+            if (conHistorial) {
+                historial.executeUpdate();
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Guarda los usuarios en lotes de {@value #TAMANO_LOTE} dentro de una sola transacción
+     * Es la vía para importaciones masivas y para volcar muchas actualizaciones de peso a la vez
+     */
+    @Override
+    public void guardarTodos(Collection<Usuario> usuarios) {
+        if (usuarios.isEmpty()) {
+            return;
+        }
+        enTransaccion(conexion -> {
+            PreparedStatement filas = conexion.sentencia(SQL_GUARDAR);
+            PreparedStatement historial = conexion.sentencia(SQL_GUARDAR_HISTORIAL);
+            int enLote = 0;
+            for (Usuario usuario : usuarios) {
+                if (agregarParametros(usuario, filas, historial)) {
+                    historial.addBatch();
+                }
+                filas.addBatch();
+                if (++enLote == TAMANO_LOTE) {
+                    filas.executeBatch();
+                    historial.executeBatch();
+                    enLote = 0;
+                }
+            }
+            if (enLote > 0) {
+                filas.executeBatch();
+                historial.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public boolean eliminar(String nombre) {
+        if (nombre == null) {
+            return false;
+        }
+        return enTransaccion(conexion -> {
+            PreparedStatement historial = conexion.sentencia(SQL_ELIMINAR_HISTORIAL);
+            historial.setString(1, nombre.trim());
+            historial.executeUpdate();
+            PreparedStatement usuarios = conexion.sentencia(SQL_ELIMINAR);
+            usuarios.setString(1, nombre.trim());
+            return usuarios.executeUpdate() > 0;
+        });
+    }
+
+    @Override
+    public long contar() {
+        return ejecutar(conexion -> {
+            try (ResultSet resultado = conexion.sentencia(SQL_CONTAR).executeQuery()) {
+                resultado.next();
+                return resultado.getLong(1);
+            }
+        });
+    }
+
+    /**
+     * Actualiza el peso bloqueando la fila del usuario durante la transacción
+     * Cada lectura devuelve una instancia nueva, así que la restricción de 48 horas
+     * se serializa en la base de datos y no sobre el objeto
+     */
+    @Override
+    public Usuario actualizarPeso(String nombre, double nuevoPeso) {
+        if (nombre == null) {
+            throw new IllegalArgumentException("Usuario no registrado: null");
+        }
+        return enTransaccion(conexion -> {
+            Usuario usuario = leerUsuario(conexion.sentencia(SQL_BUSCAR_PARA_ACTUALIZAR), nombre.trim())
+                    .orElseThrow(() -> new IllegalArgumentException("Usuario no registrado: " + nombre));
+            usuario.actualizarPeso(nuevoPeso);
+            escribirActualizacion(conexion, usuario);
+            return usuario;
+        });
+    }
+
+    /**
+     * Igual que actualizarPeso, con la fila bloqueada durante la transacción, pero el
+     * rechazo se informa con un código y no escribe nada
+     */
+    @Override
+    public ResultadoActualizacion tryActualizarPeso(String nombre, double nuevoPeso) {
+        if (nombre == null) {
+            throw new IllegalArgumentException("Usuario no registrado: null");
+        }
+        return enTransaccion(conexion -> {
+            Usuario usuario = leerUsuario(conexion.sentencia(SQL_BUSCAR_PARA_ACTUALIZAR), nombre.trim())
+                    .orElseThrow(() -> new IllegalArgumentException("Usuario no registrado: " + nombre));
+            ResultadoActualizacion resultado = usuario.tryActualizarPeso(nuevoPeso);
+            if (resultado.esExitoso()) {
+                escribirActualizacion(conexion, usuario);
+            }
+            return resultado;
+        });
+    }
+
+    /**
+     * Lecturas de peso de un usuario en un rango, en orden cronológico
+     * @param desde Segundos desde epoch (UTC), inclusivo
+     * @param hasta Segundos desde epoch (UTC), inclusivo
+     */
+    public List<PuntoPeso> historial(String nombre, long desde, long hasta) {
+        return ejecutar(conexion -> {
+            PreparedStatement sentencia = conexion.sentencia(SQL_HISTORIAL);
+            sentencia.setString(1, nombre.trim());
+            sentencia.setLong(2, desde);
+            sentencia.setLong(3, hasta);
+            List<PuntoPeso> puntos = new ArrayList<>();
+            try (ResultSet resultado = sentencia.executeQuery()) {
+                while (resultado.next()) {
+                    puntos.add(new PuntoPeso(resultado.getLong(1), PesoFijo.aKg(resultado.getInt(2))));
+                }
+            }
+            return puntos;
+        });
+    }
+
+    /**
+     * Cierra las conexiones libres del pool; las que estén en uso se cierran al terminar
+     * su operación
+     */
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private void crearEsquema() {
+        ejecutar(conexion -> {
+            try (Statement sentencia = conexion.jdbc().createStatement()) {
+                for (String ddl : ESQUEMA) {
+                    sentencia.execute(ddl);
+                }
+                DatabaseMetaData metadatos = conexion.jdbc().getMetaData();
+                migrarSiExiste(metadatos, sentencia, "USUARIOS", "PESO_OBJETIVO", MIGRAR_PESO_OBJETIVO);
+                migrarSiExiste(metadatos, sentencia, "USUARIOS", "PESO", MIGRAR_PESO);
+                migrarSiExiste(metadatos, sentencia, "HISTORIAL_PESO", "PESO", MIGRAR_HISTORIAL);
+            }
+            return null;
+        });
+    }
+
+    private static void migrarSiExiste(DatabaseMetaData metadatos, Statement sentencia, String tabla,
+                                       String columna, String[] migracion) throws SQLException {
+        boolean existe;
+        try (ResultSet columnas = metadatos.getColumns(null, sentencia.getConnection().getSchema(), tabla, columna)) {
+            existe = columnas.next();
+        }
+        if (existe) {
+            for (String ddl : migracion) {
+                sentencia.execute(ddl);
+            }
+        }
+    }
+
+    private static Optional<Usuario> leerUsuario(PreparedStatement sentencia, String nombre) throws SQLException {
+        sentencia.setString(1, nombre);
+        try (ResultSet resultado = sentencia.executeQuery()) {
+            if (!resultado.next()) {
+                return Optional.empty();
+            }
+            int pesoDecagramos = resultado.getInt(1);
+            LocalDateTime actualizacion = resultado.getObject(2, LocalDateTime.class);
+            // getInt devuelve 0 para NULL, que es SIN_ALTURA y SIN_OBJETIVO
+            int alturaCm = resultado.getInt(3);
+            int objetivoDecagramos = resultado.getInt(4);
+            return Optional.of(Usuario.desdeDecagramos(nombre, pesoDecagramos, actualizacion, alturaCm,
+                    objetivoDecagramos));
+        }
+    }
+
+    /**
+     * Escribe la fila del usuario y la lectura de historial de su última actualización
+     */
+    private static void escribirActualizacion(PoolConexiones.Conexion conexion, Usuario usuario) throws SQLException {
+        PreparedStatement usuarios = conexion.sentencia(SQL_GUARDAR);
+        PreparedStatement historial = conexion.sentencia(SQL_GUARDAR_HISTORIAL);
+        agregarParametros(usuario, usuarios, historial);
+        historial.executeUpdate();
+        usuarios.executeUpdate();
+    }
+
+    /**
+     * Asigna los parámetros de la fila del usuario y, si tiene fecha de actualización, los de su historial
+     * Todos salen de una misma instantánea, así que la fila nunca mezcla dos versiones del usuario
+     * @return true si hay una lectura de historial que guardar
+     */
+    private static boolean agregarParametros(Usuario usuario, PreparedStatement usuarios,
+                                             PreparedStatement historial) throws SQLException {
+        InstantaneaUsuario estado = usuario.getInstantanea();
+        LocalDateTime actualizacion = estado.ultimaActualizacion();
+        usuarios.setString(1, estado.nombre());
+        usuarios.setInt(2, estado.pesoDecagramos());
+        if (estado.alturaCm() == InstantaneaUsuario.SIN_ALTURA) {
+            usuarios.setNull(4, Types.INTEGER);
+        } else {
+            usuarios.setInt(4, estado.alturaCm());
+        }
+        if (estado.pesoObjetivoDecagramos() == InstantaneaUsuario.SIN_OBJETIVO) {
+            usuarios.setNull(5, Types.INTEGER);
+        } else {
+            usuarios.setInt(5, estado.pesoObjetivoDecagramos());
+        }
+        if (actualizacion == null) {
+            usuarios.setNull(3, Types.TIMESTAMP);
+            return false;
+        }
+        usuarios.setObject(3, actualizacion);
+        historial.setString(1, estado.nombre());
+        historial.setLong(2, actualizacion.toEpochSecond(ZoneOffset.UTC));
+        historial.setInt(3, estado.pesoDecagramos());
+        return true;
+    }
+
+    private <T> T ejecutar(OperacionJdbc<T> operacion) {
+        try (PoolConexiones.Conexion conexion = pool.obtener()) {
+            try {
+                return operacion.ejecutar(conexion);
+            } catch (SQLException e) {
+                conexion.marcarSospechosa();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new ExcepcionPersistencia("Error de acceso a la base de datos", e);
+        }
+    }
+
+    private <T> T enTransaccion(OperacionJdbc<T> operacion) {
+        return ejecutar(conexion -> {
+            conexion.jdbc().setAutoCommit(false);
+            try {
+                T resultado = operacion.ejecutar(conexion);
+                conexion.jdbc().commit();
+                return resultado;
+            } catch (SQLException | RuntimeException e) {
+                conexion.jdbc().rollback();
+                throw e;
+            } finally {
+                conexion.jdbc().setAutoCommit(true);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface OperacionJdbc<T> {
+        T ejecutar(PoolConexiones.Conexion conexion) throws SQLException;
+    }
+}
@@ -0,0 +1,71 @@
+package com.healthtrack.healthtrack_platform.servidor;
+
+import java.util.Locale;
+
+/**
+ * Lectura de las cabeceras de negociación y validación que usan las respuestas cacheables
+ */
+final class CabecerasHttp {
+
+    private CabecerasHttp() {
+    }
+
+    /**
+     * Evalúa una cabecera If-None-Match (RFC 9110): "*", o una lista de ETags separados por
+     * coma, comparados sin el prefijo W/ de los ETags débiles
+     * @return true si el cliente ya tiene la respuesta con ese ETag y corresponde un 304
+     */
+    static boolean coincideIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String etiqueta = candidato.trim();
+            if (etiqueta.startsWith("W/")) {
+                etiqueta = etiqueta.substring(2);
+            }
+            if (etiqueta.equals("*") || etiqueta.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Evalúa una cabecera Accept-Encoding (RFC 9110): gzip (o x-gzip) o "*" con q mayor a 0;
+     * una mención explícita de gzip tiene prioridad sobre "*"
+     * @return true si se puede responder con Content-Encoding: gzip
+     */
+    static boolean aceptaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double comodin = 0;
+        for (String elemento : acceptEncoding.split(",")) {
+            String[] partes = elemento.split(";");
+            String codificacion = partes[0].trim().toLowerCase(Locale.ROOT);
+            double calidad = calidad(partes);
+            if (codificacion.equals("gzip") || codificacion.equals("x-gzip")) {
+                return calidad > 0;
+            }
+            if (codificacion.equals("*")) {
+                comodin = calidad;
+            }
+        }
+        return comodin > 0;
+    }
+
+    private static double calidad(String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            String parametro = partes[i].trim();
+            if (parametro.startsWith("q=") || parametro.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parametro.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,31 @@
+package com.healthtrack.healthtrack_platform.servidor;
+
+import com.healthtrack.healthtrack_platform.cache.CacheWTinyLfu;
+import com.healthtrack.healthtrack_platform.model.InstantaneaUsuario;
+
+/**
+ * Respuestas de usuario ya serializadas, una por nombre
+ *
+ * Una entrada sirve mientras el usuario siga publicando la misma instantánea (se compara la
+ * referencia, así que ni siquiera hace falta mirar la versión): el panel que refresca el peso
+ * cada pocos segundos reutiliza los mismos bytes y el mismo ETag hasta la próxima
+ * actualización, que es como mucho una cada 48 horas.
+ */
+final class CacheRepresentaciones {
+
+    private final CacheWTinyLfu<String, RepresentacionUsuario> representaciones;
+
+    CacheRepresentaciones(int capacidad) {
+        this.representaciones = new CacheWTinyLfu<>(capacidad);
+    }
+
+    RepresentacionUsuario obtener(InstantaneaUsuario instantanea) {
+        RepresentacionUsuario cacheada = representaciones.obtener(instantanea.nombre());
+        if (cacheada != null && cacheada.origen() == instantanea) {
+            return cacheada;
+        }
+        RepresentacionUsuario nueva = RepresentacionUsuario.de(instantanea);
+        representaciones.poner(instantanea.nombre(), nueva);
+        return nueva;
+    }
+}
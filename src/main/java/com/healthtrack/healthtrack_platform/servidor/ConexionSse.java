@@ -0,0 +1,42 @@
+package com.healthtrack.healthtrack_platform.servidor;
+
+import com.healthtrack.healthtrack_platform.difusion.ConexionEventos;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Flujo text/event-stream abierto; cada evento se escribe como un fragmento de la respuesta
+ * chunked y se envía al momento
+ */
+final class ConexionSse implements ConexionEventos {
+
+    /** Comentario SSE: el navegador lo descarta sin disparar ningún evento */
+    private static final byte[] LATIDO = ": ping\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpExchange intercambio;
+    private final OutputStream salida;
+
+    ConexionSse(HttpExchange intercambio) {
+        this.intercambio = intercambio;
+        this.salida = intercambio.getResponseBody();
+    }
+
+    @Override
+    public void enviar(byte[] evento) throws IOException {
+        salida.write(evento);
+        salida.flush();
+    }
+
+    @Override
+    public byte[] latido() {
+        return LATIDO;
+    }
+
+    @Override
+    public void cerrar() {
+        intercambio.close();
+    }
+}
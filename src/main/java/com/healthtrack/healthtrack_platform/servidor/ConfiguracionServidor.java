@@ -0,0 +1,83 @@
+package com.healthtrack.healthtrack_platform.servidor;
+
+import com.healthtrack.healthtrack_platform.admision.ConfiguracionAdmision;
+
+import java.time.Duration;
+
+/**
+ * Parámetros del servidor HTTP; desdePropiedades() los toma de las propiedades del sistema
+ * (-Dhealthtrack.puerto=8080, etc.)
+ *
+ * @param puerto Puerto de escucha; 0 elige uno libre
+ * @param hilos Hilos que atienden peticiones
+ * @param urlJdbc URL de la base de datos, o null para guardar los usuarios en memoria
+ * @param capacidadCache Usuarios en la caché delante de la base de datos
+ * @param ventanaClasificacion Período de la clasificación de pérdida de peso
+ * @param admision Cuotas, límite de concurrencia y cola de las escrituras
+ */
+public record ConfiguracionServidor(int puerto, int hilos, String urlJdbc, int capacidadCache,
+                                    Duration ventanaClasificacion, ConfiguracionAdmision admision) {
+
+    public static final String PREFIJO = "healthtrack.";
+
+    private static final int PUERTO_POR_DEFECTO = 8080;
+    private static final int CAPACIDAD_CACHE_POR_DEFECTO = 10_000;
+    private static final int DIAS_CLASIFICACION_POR_DEFECTO = 30;
+    // Base en memoria que vive hasta que termina la JVM de entrenamiento
+    static final String URL_JDBC_ENTRENAMIENTO = "jdbc:h2:mem:entrenamiento;DB_CLOSE_DELAY=-1";
+
+    public ConfiguracionServidor {
+        if (puerto < 0 || puerto > 65_535) {
+            throw new IllegalArgumentException("Puerto inválido: " + puerto);
+        }
+        if (hilos <= 0 || capacidadCache <= 0) {
+            throw new IllegalArgumentException("Los hilos y la capacidad de la caché deben ser mayores a 0");
+        }
+        if (admision == null) {
+            throw new IllegalArgumentException("Falta la configuración de admisión");
+        }
+        if (urlJdbc != null && urlJdbc.isBlank()) {
+            urlJdbc = null;
+        }
+    }
+
+    /**
+     * Configuración con el control de admisión por defecto
+     */
+    public ConfiguracionServidor(int puerto, int hilos, String urlJdbc, int capacidadCache,
+                                 Duration ventanaClasificacion) {
+        this(puerto, hilos, urlJdbc, capacidadCache, ventanaClasificacion, ConfiguracionAdmision.porDefecto());
+    }
+
+    /**
+     * Configuración en memoria con valores por defecto
+     */
+    public static ConfiguracionServidor porDefecto(int puerto) {
+        return new ConfiguracionServidor(puerto, hilosPorDefecto(), null, CAPACIDAD_CACHE_POR_DEFECTO,
+                Duration.ofDays(DIAS_CLASIFICACION_POR_DEFECTO));
+    }
+
+    /**
+     * Configuración de la ejecución de entrenamiento del archivo AppCDS: puerto libre y una base
+     * H2 temporal, para que el archivo incluya las clases de JDBC, del pool y de la caché que
+     * carga una petición real y no solo las del repositorio en memoria
+     */
+    public static ConfiguracionServidor paraEntrenamiento() {
+        return new ConfiguracionServidor(0, hilosPorDefecto(), URL_JDBC_ENTRENAMIENTO, CAPACIDAD_CACHE_POR_DEFECTO,
+                Duration.ofDays(DIAS_CLASIFICACION_POR_DEFECTO));
+    }
+
+    public static ConfiguracionServidor desdePropiedades() {
+        return new ConfiguracionServidor(
+                Integer.getInteger(PREFIJO + "puerto", PUERTO_POR_DEFECTO),
+                Integer.getInteger(PREFIJO + "hilos", hilosPorDefecto()),
+                System.getProperty(PREFIJO + "jdbc.url"),
+                Integer.getInteger(PREFIJO + "cache.capacidad", CAPACIDAD_CACHE_POR_DEFECTO),
+                Duration.ofDays(Integer.getInteger(PREFIJO + "clasificacion.dias", DIAS_CLASIFICACION_POR_DEFECTO)),
+                ConfiguracionAdmision.desdePropiedades(PREFIJO + "admision."));
+    }
+
+    private static int hilosPorDefecto() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+    }
+}
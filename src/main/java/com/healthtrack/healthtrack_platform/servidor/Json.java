@@ -0,0 +1,45 @@
+package com.healthtrack.healthtrack_platform.servidor;
+
+/**
+ * Escritura mínima de JSON para las respuestas del servidor, sin dependencias
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Agrega el texto como cadena JSON, entre comillas y con los caracteres de control escapados
+     */
+    static StringBuilder texto(String valor, StringBuilder destino) {
+        destino.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char caracter = valor.charAt(i);
+            switch (caracter) {
+                case '"':
+                    destino.append("\\\"");
+                    break;
+                case '\\':
+                    destino.append("\\\\");
+                    break;
+                case '\n':
+                    destino.append("\\n");
+                    break;
+                case '\r':
+                    destino.append("\\r");
+                    break;
+                case '\t':
+                    destino.append("\\t");
+                    break;
+                default:
+                    if (caracter < 0x20) {
+                        destino.append(String.format("\\u%04x", (int) caracter));
+                    } else {
+                        destino.append(caracter);
+                    }
+                    break;
+            }
+        }
+        return destino.append('"');
+    }
+}
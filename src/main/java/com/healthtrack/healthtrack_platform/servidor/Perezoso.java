@@ -0,0 +1,63 @@
+package com.healthtrack.healthtrack_platform.servidor;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Subsistema que se crea la primera vez que se pide y no al arrancar
+ * Las lecturas posteriores a la creación son una lectura volatile, sin bloqueos; si dos
+ * hilos lo piden a la vez solo uno lo crea
+ */
+final class Perezoso<T> implements AutoCloseable {
+
+    private final String nombre;
+    private final Supplier<? extends T> fabrica;
+    private final Consumer<? super T> cierre;
+    private volatile T valor;
+    private boolean cerrado;
+
+    /**
+     * @param nombre Nombre del subsistema para los diagnósticos
+     * @param cierre Libera los recursos del valor si llegó a crearse
+     */
+    Perezoso(String nombre, Supplier<? extends T> fabrica, Consumer<? super T> cierre) {
+        this.nombre = nombre;
+        this.fabrica = fabrica;
+        this.cierre = cierre;
+    }
+
+    T obtener() {
+        T actual = valor;
+        if (actual != null) {
+            return actual;
+        }
+        synchronized (this) {
+            if (cerrado) {
+                throw new IllegalStateException("El subsistema " + nombre + " ya está cerrado");
+            }
+            if (valor == null) {
+                valor = fabrica.get();
+            }
+            return valor;
+        }
+    }
+
+    boolean inicializado() {
+        return valor != null;
+    }
+
+    String nombre() {
+        return nombre;
+    }
+
+    @Override
+    public synchronized void close() {
+        cerrado = true;
+        T actual = valor;
+        // Sin valor, obtener() toma el camino con candado y ve que está cerrado
+        valor = null;
+        if (actual != null) {
+            cierre.accept(actual);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.healthtrack.healthtrack_platform.servidor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archivo de la interfaz web ya codificado para responder sin trabajo por petición
+ *
+ * Se comprime una sola vez con el nivel máximo de gzip, un costo que en cada petición no se
+ * podría pagar. La huella es el SHA-256 del contenido original y forma parte del nombre
+ * versionado, así que esa URL cambia con el archivo y puede guardarse en caché sin revalidar.
+ *
+ * @param nombre Nombre del archivo, por ejemplo index.html
+ * @param tipo Content-Type
+ * @param huella Primeros 16 dígitos hexadecimales del SHA-256 del contenido original
+ * @param original Contenido sin comprimir; no se modifica
+ * @param gzip Contenido comprimido, o null si no ocupa menos que el original; no se modifica
+ */
+record RecursoEstatico(String nombre, String tipo, String huella, byte[] original, byte[] gzip) {
+
+    private static final int LARGO_HUELLA = 8;
+
+    static RecursoEstatico de(String nombre, byte[] original) {
+        byte[] comprimido = comprimir(original);
+        return new RecursoEstatico(nombre, tipo(nombre), huella(original), original,
+                comprimido.length < original.length ? comprimido : null);
+    }
+
+    /**
+     * Nombre con la huella antes de la extensión: index.html pasa a index.{huella}.html
+     */
+    String nombreVersionado() {
+        int punto = nombre.lastIndexOf('.');
+        return punto < 0
+                ? nombre + "." + huella
+                : nombre.substring(0, punto) + "." + huella + nombre.substring(punto);
+    }
+
+    /**
+     * ETag fuerte de una de las dos codificaciones; son bytes distintos, así que no comparten ETag
+     */
+    String etag(boolean comprimido) {
+        return comprimido ? "\"" + huella + "-gzip\"" : "\"" + huella + "\"";
+    }
+
+    byte[] cuerpo(boolean comprimido) {
+        return comprimido ? gzip : original;
+    }
+
+    boolean tieneGzip() {
+        return gzip != null;
+    }
+
+    private static byte[] comprimir(byte[] datos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(datos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+
+    private static String huella(byte[] datos) {
+        try {
+            byte[] resumen = MessageDigest.getInstance("SHA-256").digest(datos);
+            return HexFormat.of().formatHex(resumen, 0, LARGO_HUELLA);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("La JVM no incluye SHA-256", e);
+        }
+    }
+
+    private static String tipo(String nombre) {
+        String extension = nombre.substring(nombre.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        switch (extension) {
+            case "html":
+                return "text/html; charset=utf-8";
+            case "css":
+                return "text/css; charset=utf-8";
+            case "js":
+                return "text/javascript; charset=utf-8";
+            case "json":
+                return "application/json; charset=utf-8";
+            case "svg":
+                return "image/svg+xml";
+            case "png":
+                return "image/png";
+            case "ico":
+                return "image/x-icon";
+            default:
+                return "application/octet-stream";
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.healthtrack.healthtrack_platform.servidor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Archivos de la interfaz web, leídos del classpath y codificados una sola vez al crearse
+ *
+ * Cada archivo responde con dos nombres: el original, que el navegador revalida con el ETag
+ * en cada carga, y el versionado con la huella del contenido, que es inmutable. La respuesta
+ * del original anuncia el versionado en Content-Location.
+ */
+final class RecursosEstaticos {
+
+    /** Directorio del classpath con los archivos */
+    static final String DIRECTORIO = "estaticos";
+    static final List<String> NOMBRES = List.of("index.html");
+
+    private final Map<String, RecursoEstatico> porNombre = new HashMap<>();
+
+    private RecursosEstaticos(List<RecursoEstatico> recursos) {
+        for (RecursoEstatico recurso : recursos) {
+            porNombre.put(recurso.nombre(), recurso);
+            porNombre.put(recurso.nombreVersionado(), recurso);
+        }
+    }
+
+    /**
+     * Lee y comprime los archivos indicados del directorio del classpath
+     * @throws IllegalStateException si falta alguno
+     */
+    static RecursosEstaticos cargar(String directorio, List<String> nombres) {
+        ClassLoader cargador = RecursosEstaticos.class.getClassLoader();
+        List<RecursoEstatico> recursos = new ArrayList<>(nombres.size());
+        for (String nombre : nombres) {
+            try (InputStream entrada = cargador.getResourceAsStream(directorio + "/" + nombre)) {
+                if (entrada == null) {
+                    throw new IllegalStateException("No se encontró el recurso estático " + nombre);
+                }
+                recursos.add(RecursoEstatico.de(nombre, entrada.readAllBytes()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return new RecursosEstaticos(recursos);
+    }
+
+    /**
+     * @return El recurso con ese nombre original o versionado, o null si no existe
+     */
+    RecursoEstatico buscar(String nombre) {
+        return porNombre.get(nombre);
+    }
+
+    /**
+     * @return true si el nombre incluye la huella, y por lo tanto la respuesta nunca cambia
+     */
+    static boolean esVersionado(String nombre, RecursoEstatico recurso) {
+        return !nombre.equals(recurso.nombre());
+    }
+}
@@ -0,0 +1,54 @@
+package com.healthtrack.healthtrack_platform.servidor;
+
+import com.healthtrack.healthtrack_platform.model.InstantaneaUsuario;
+import com.healthtrack.healthtrack_platform.model.PesoFijo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta JSON de un usuario ya serializada, con su ETag fuerte
+ *
+ * El ETag une la versión de la instantánea con una huella de los bytes: la versión sola se
+ * repite cuando el usuario se vuelve a cargar desde la base de datos (empieza otra vez en 0),
+ * y con la huella dos respuestas con el mismo ETag tienen siempre los mismos bytes.
+ *
+ * @param origen Instantánea serializada; la respuesta sirve mientras el usuario siga en ella
+ * @param etag ETag entre comillas, listo para la cabecera
+ * @param cuerpo JSON en UTF-8; no se modifica
+ */
+record RepresentacionUsuario(InstantaneaUsuario origen, String etag, byte[] cuerpo) {
+
+    private static final long FNV_BASE = 0xcbf29ce484222325L;
+    private static final long FNV_PRIMO = 0x100000001b3L;
+
+    static RepresentacionUsuario de(InstantaneaUsuario instantanea) {
+        byte[] cuerpo = json(instantanea).getBytes(StandardCharsets.UTF_8);
+        long huella = FNV_BASE;
+        for (byte b : cuerpo) {
+            huella = (huella ^ (b & 0xff)) * FNV_PRIMO;
+        }
+        String etag = "\"" + instantanea.version() + "-" + Long.toHexString(huella) + "\"";
+        return new RepresentacionUsuario(instantanea, etag, cuerpo);
+    }
+
+    static String json(InstantaneaUsuario instantanea) {
+        StringBuilder texto = new StringBuilder(96).append("{\"nombre\":");
+        Json.texto(instantanea.nombre(), texto).append(",\"peso\":");
+        PesoFijo.formatearKg(instantanea.pesoDecagramos(), texto).append(",\"ultimaActualizacion\":");
+        LocalDateTime actualizacion = instantanea.ultimaActualizacion();
+        if (actualizacion == null) {
+            texto.append("null");
+        } else {
+            Json.texto(actualizacion.toString(), texto);
+        }
+        return texto.append('}').toString();
+    }
+
+    /**
+     * @return true si la cabecera If-None-Match indica que el cliente ya tiene esta respuesta
+     */
+    boolean coincideCon(String ifNoneMatch) {
+        return CabecerasHttp.coincideIfNoneMatch(ifNoneMatch, etag);
+    }
+}
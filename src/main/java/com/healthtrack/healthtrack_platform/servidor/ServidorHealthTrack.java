@@ -0,0 +1,535 @@
+package com.healthtrack.healthtrack_platform.servidor;
+
+import com.healthtrack.healthtrack_platform.admision.Admision;
+import com.healthtrack.healthtrack_platform.admision.ControlAdmision;
+import com.healthtrack.healthtrack_platform.admision.EjecutorAcotado;
+import com.healthtrack.healthtrack_platform.clasificacion.ClasificacionPerdidaPeso;
+import com.healthtrack.healthtrack_platform.clasificacion.EntradaClasificacion;
+import com.healthtrack.healthtrack_platform.difusion.ConfiguracionDifusion;
+import com.healthtrack.healthtrack_platform.difusion.DifusorEventos;
+import com.healthtrack.healthtrack_platform.model.InstantaneaUsuario;
+import com.healthtrack.healthtrack_platform.model.PesoFijo;
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuarios;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuariosCacheado;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuariosEnMemoria;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuariosJdbc;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Servidor HTTP de HealthTrack sobre el servidor incluido en el JDK (com.sun.net.httpserver)
+ *
+ * Pensado para contenedores que escalan a cero, donde el arranque de la JVM es latencia que ve
+ * el usuario: al iniciar solo se abre el socket. El almacenamiento (base de datos y caché) y la
+ * clasificación se crean con la primera petición que los necesita, y /salud responde sin crear
+ * ninguno. El modo de entrenamiento (--entrenamiento) recorre todas las rutas y termina, para
+ * generar el archivo AppCDS con las clases que carga una petición real (perfil inicio-rapido).
+ *
+ * Rutas:
+ * GET /salud, POST /usuarios (nombre, peso), GET /usuarios/{nombre},
+ * POST /usuarios/{nombre}/peso (peso), GET /clasificacion?k=10.
+ * Los formularios van como application/x-www-form-urlencoded y las respuestas son JSON.
+ *
+ * Las peticiones esperan un hilo en una cola acotada y las escrituras pasan por un
+ * ControlAdmision con cuotas por cliente (cabecera X-Cliente o dirección remota) y por clínica
+ * (cabecera X-Clinica; las clínicas no configuradas comparten una cuota). Lo que no se admite
+ * recibe un 429 inmediato con Retry-After.
+ *
+ * Las respuestas de usuario llevan un ETag fuerte y se guardan serializadas hasta que el
+ * usuario cambia; una consulta con If-None-Match que coincide recibe un 304 sin cuerpo.
+ *
+ * GET /eventos/{nombre} abre un flujo Server-Sent Events con el estado actual del usuario y
+ * cada peso nuevo (event: peso, id: versión), para los paneles abiertos en varios dispositivos.
+ *
+ * GET / sirve la interfaz web (index.html) y GET /estaticos/{nombre} cada archivo de la
+ * interfaz, comprimidos con gzip al crearse si el cliente lo acepta. El nombre original se
+ * revalida con su ETag y su respuesta indica en Content-Location el nombre con la huella del
+ * contenido (index.{huella}.html), que se guarda en caché un año.
+ */
+public class ServidorHealthTrack implements AutoCloseable {
+
+    /** Línea que se escribe en la salida estándar cuando el servidor ya acepta conexiones */
+    public static final String MENSAJE_INICIO = "HealthTrack escuchando en el puerto ";
+    public static final String ARGUMENTO_ENTRENAMIENTO = "--entrenamiento";
+
+    private static final String TIPO_JSON = "application/json; charset=utf-8";
+    private static final String RUTA_USUARIOS = "/usuarios";
+    private static final String SUFIJO_PESO = "/peso";
+    private static final String RUTA_EVENTOS = "/eventos";
+    private static final String TIPO_EVENTOS = "text/event-stream; charset=utf-8";
+    // Atributo con el que un manejador indica que la respuesta sigue abierta al terminar
+    private static final String FLUJO_ABIERTO = "healthtrack.flujoAbierto";
+    private static final String RUTA_ESTATICOS = "/estaticos";
+    private static final String PAGINA_INICIO = "index.html";
+    private static final String CACHE_INMUTABLE = "public, max-age=31536000, immutable";
+    private static final int TOP_POR_DEFECTO = 10;
+    private static final String CABECERA_CLIENTE = "X-Cliente";
+    private static final String CABECERA_CLINICA = "X-Clinica";
+
+    static {
+        // El servidor del JDK escribe cabeceras y cuerpo por separado; con Nagle el cuerpo espera
+        // el ACK retardado del cliente (~40 ms por respuesta con conexiones persistentes). Se lee
+        // una vez por JVM, antes de crear el primer HttpServer
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer http;
+    private final EjecutorAcotado ejecutor;
+    private final ControlAdmision admision;
+    private final Perezoso<RepositorioUsuariosJdbc> baseDatos;
+    private final Perezoso<RepositorioUsuarios> repositorio;
+    private final Perezoso<ClasificacionPerdidaPeso> clasificacion;
+    private final Perezoso<CacheRepresentaciones> respuestas;
+    private final Perezoso<DifusorEventos> difusion;
+    private final Perezoso<RecursosEstaticos> estaticos;
+
+    private ServidorHealthTrack(ConfiguracionServidor configuracion) throws IOException {
+        this.baseDatos = new Perezoso<>("base de datos",
+                () -> new RepositorioUsuariosJdbc(configuracion.urlJdbc()), RepositorioUsuariosJdbc::close);
+        this.repositorio = new Perezoso<>("repositorio",
+                () -> configuracion.urlJdbc() == null
+                        ? new RepositorioUsuariosEnMemoria()
+                        : new RepositorioUsuariosCacheado(baseDatos.obtener(), configuracion.capacidadCache()),
+                r -> { });
+        this.clasificacion = new Perezoso<>("clasificación",
+                () -> new ClasificacionPerdidaPeso(configuracion.ventanaClasificacion()), c -> { });
+        this.respuestas = new Perezoso<>("respuestas",
+                () -> new CacheRepresentaciones(configuracion.capacidadCache()), r -> { });
+        this.difusion = new Perezoso<>("difusión",
+                () -> new DifusorEventos(ConfiguracionDifusion.porDefecto()), DifusorEventos::close);
+        this.estaticos = new Perezoso<>("estáticos",
+                () -> RecursosEstaticos.cargar(RecursosEstaticos.DIRECTORIO, RecursosEstaticos.NOMBRES), r -> { });
+
+        // Los hilos del pool se crean con las primeras peticiones, no al arrancar
+        this.ejecutor = new EjecutorAcotado("http-", configuracion.hilos(), configuracion.admision().maximoEnCola());
+        this.admision = new ControlAdmision(configuracion.admision());
+        this.http = HttpServer.create(new InetSocketAddress(configuracion.puerto()), 0);
+        http.setExecutor(ejecutor);
+        http.createContext("/salud", protegido(this::salud));
+        http.createContext(RUTA_USUARIOS, protegido(this::usuarios));
+        http.createContext("/clasificacion", protegido(this::clasificacion));
+        http.createContext(RUTA_EVENTOS, protegido(this::eventos));
+        // La raíz recibe toda ruta que no tenga un contexto propio
+        http.createContext("/", protegido(this::estaticos));
+    }
+
+    /**
+     * Crea el servidor y empieza a aceptar conexiones
+     */
+    public static ServidorHealthTrack iniciar(ConfiguracionServidor configuracion) throws IOException {
+        ServidorHealthTrack servidor = new ServidorHealthTrack(configuracion);
+        servidor.http.start();
+        return servidor;
+    }
+
+    public int getPuerto() {
+        return http.getAddress().getPort();
+    }
+
+    public ControlAdmision getAdmision() {
+        return admision;
+    }
+
+    /**
+     * Nombres de los subsistemas que ya se crearon
+     */
+    public List<String> subsistemasInicializados() {
+        List<String> nombres = new ArrayList<>();
+        for (Perezoso<?> subsistema : List.of(baseDatos, repositorio, clasificacion, respuestas, difusion, estaticos)) {
+            if (subsistema.inicializado()) {
+                nombres.add(subsistema.nombre());
+            }
+        }
+        return nombres;
+    }
+
+    @Override
+    public void close() {
+        http.stop(0);
+        ejecutor.close();
+        estaticos.close();
+        difusion.close();
+        respuestas.close();
+        clasificacion.close();
+        repositorio.close();
+        baseDatos.close();
+    }
+
+    private void salud(HttpExchange intercambio) throws IOException {
+        responder(intercambio, 200, "{\"estado\":\"ok\"}");
+    }
+
+    private void usuarios(HttpExchange intercambio) throws IOException {
+        String ruta = intercambio.getRequestURI().getPath();
+        String metodo = intercambio.getRequestMethod();
+        if (ruta.equals(RUTA_USUARIOS) || ruta.equals(RUTA_USUARIOS + "/")) {
+            if (!metodo.equals("POST")) {
+                responderError(intercambio, 405, "Método no permitido");
+                return;
+            }
+            registrar(intercambio);
+            return;
+        }
+        String resto = ruta.substring(RUTA_USUARIOS.length() + 1);
+        if (resto.endsWith(SUFIJO_PESO) && metodo.equals("POST")) {
+            actualizarPeso(intercambio, resto.substring(0, resto.length() - SUFIJO_PESO.length()));
+        } else if (metodo.equals("GET") && resto.indexOf('/') < 0) {
+            consultar(intercambio, resto);
+        } else {
+            responderError(intercambio, 404, "Ruta no encontrada");
+        }
+    }
+
+    private void registrar(HttpExchange intercambio) throws IOException {
+        try (Admision admitida = admitir(intercambio)) {
+            if (admitida.admitida()) {
+                registrarAdmitido(intercambio);
+            } else {
+                rechazar(intercambio, admitida);
+            }
+        }
+    }
+
+    private void registrarAdmitido(HttpExchange intercambio) throws IOException {
+        Map<String, String> formulario = leerFormulario(intercambio);
+        Usuario usuario = new Usuario(formulario.get("nombre"), leerPeso(formulario));
+        if (!repositorio.obtener().guardarSiNoExiste(usuario)) {
+            responderError(intercambio, 409, "El usuario ya está registrado");
+            return;
+        }
+        InstantaneaUsuario instantanea = usuario.getInstantanea();
+        clasificacion.obtener().registrar(instantanea.nombre(), LocalDateTime.now(), instantanea.pesoDecagramos());
+        responder(intercambio, 201, respuestas.obtener().obtener(instantanea));
+    }
+
+    private void consultar(HttpExchange intercambio, String nombre) throws IOException {
+        Optional<Usuario> usuario = repositorio.obtener().buscar(nombre);
+        if (usuario.isEmpty()) {
+            responderError(intercambio, 404, "Usuario no registrado");
+            return;
+        }
+        RepresentacionUsuario representacion = respuestas.obtener().obtener(usuario.get().getInstantanea());
+        if (representacion.coincideCon(intercambio.getRequestHeaders().getFirst("If-None-Match"))) {
+            // El cliente ya tiene estos bytes: solo cabeceras, sin serializar ni enviar cuerpo
+            cabecerasValidacion(intercambio, representacion);
+            intercambio.sendResponseHeaders(304, -1);
+            return;
+        }
+        responder(intercambio, 200, representacion);
+    }
+
+    private void actualizarPeso(HttpExchange intercambio, String nombre) throws IOException {
+        try (Admision admitida = admitir(intercambio)) {
+            if (admitida.admitida()) {
+                actualizarPesoAdmitido(intercambio, nombre);
+            } else {
+                rechazar(intercambio, admitida);
+            }
+        }
+    }
+
+    private void actualizarPesoAdmitido(HttpExchange intercambio, String nombre) throws IOException {
+        double peso = leerPeso(leerFormulario(intercambio));
+        RepositorioUsuarios usuarios = repositorio.obtener();
+        if (usuarios.buscar(nombre).isEmpty()) {
+            responderError(intercambio, 404, "Usuario no registrado");
+            return;
+        }
+        ResultadoActualizacion resultado = usuarios.tryActualizarPeso(nombre, peso);
+        switch (resultado) {
+            case ACTUALIZADO:
+                InstantaneaUsuario instantanea = usuarios.buscar(nombre).orElseThrow().getInstantanea();
+                clasificacion.obtener().registrar(nombre, instantanea.ultimaActualizacion(), instantanea.pesoDecagramos());
+                RepresentacionUsuario representacion = respuestas.obtener().obtener(instantanea);
+                difundir(nombre, representacion);
+                responder(intercambio, 200, representacion);
+                break;
+            case BLOQUEADO:
+                responderError(intercambio, 409, "Deben pasar al menos 48 horas desde la última actualización");
+                break;
+            default:
+                responderError(intercambio, 400, "Peso inválido");
+                break;
+        }
+    }
+
+    private void clasificacion(HttpExchange intercambio) throws IOException {
+        String k = parametros(intercambio.getRequestURI().getRawQuery()).get("k");
+        List<EntradaClasificacion> top = clasificacion.obtener().top(k == null ? TOP_POR_DEFECTO : Integer.parseInt(k));
+        StringBuilder texto = new StringBuilder(32 + top.size() * 64).append('[');
+        for (EntradaClasificacion entrada : top) {
+            if (texto.length() > 1) {
+                texto.append(',');
+            }
+            texto.append("{\"posicion\":").append(entrada.posicion()).append(",\"nombre\":");
+            Json.texto(entrada.nombre(), texto).append(",\"perdidaKg\":");
+            PesoFijo.formatearKg(entrada.perdidaDecagramos(), texto).append('}');
+        }
+        responder(intercambio, 200, texto.append(']').toString());
+    }
+
+    /**
+     * Abre el flujo SSE y suscribe la conexión; el intercambio queda abierto hasta que el
+     * cliente se desconecta o el difusor la cierra
+     */
+    private void eventos(HttpExchange intercambio) throws IOException {
+        String ruta = intercambio.getRequestURI().getPath();
+        String nombre = ruta.length() > RUTA_EVENTOS.length() + 1 ? ruta.substring(RUTA_EVENTOS.length() + 1) : "";
+        if (!intercambio.getRequestMethod().equals("GET") || nombre.isEmpty() || nombre.indexOf('/') >= 0) {
+            responderError(intercambio, 404, "Ruta no encontrada");
+            return;
+        }
+        RepositorioUsuarios usuarios = repositorio.obtener();
+        if (usuarios.buscar(nombre).isEmpty()) {
+            responderError(intercambio, 404, "Usuario no registrado");
+            return;
+        }
+        intercambio.getResponseHeaders().set("Content-Type", TIPO_EVENTOS);
+        intercambio.getResponseHeaders().set("Cache-Control", "no-cache");
+        intercambio.sendResponseHeaders(200, 0);
+        difusion.obtener().suscribir(nombre, new ConexionSse(intercambio), () -> usuarios.buscar(nombre)
+                .map(usuario -> eventoPeso(respuestas.obtener().obtener(usuario.getInstantanea())))
+                .orElse(null));
+        intercambio.setAttribute(FLUJO_ABIERTO, Boolean.TRUE);
+    }
+
+    /**
+     * Responde un archivo de la interfaz con los bytes ya codificados: sin leer el archivo,
+     * sin pasar por String y sin comprimir en cada petición
+     */
+    private void estaticos(HttpExchange intercambio) throws IOException {
+        String ruta = intercambio.getRequestURI().getPath();
+        String nombre = ruta.equals("/") ? PAGINA_INICIO
+                : ruta.startsWith(RUTA_ESTATICOS + "/") ? ruta.substring(RUTA_ESTATICOS.length() + 1) : null;
+        RecursoEstatico recurso = nombre == null ? null : estaticos.obtener().buscar(nombre);
+        if (recurso == null || !intercambio.getRequestMethod().equals("GET")) {
+            responderError(intercambio, 404, "Ruta no encontrada");
+            return;
+        }
+        Headers peticion = intercambio.getRequestHeaders();
+        boolean comprimido = recurso.tieneGzip() && CabecerasHttp.aceptaGzip(peticion.getFirst("Accept-Encoding"));
+        String etag = recurso.etag(comprimido);
+        Headers cabeceras = intercambio.getResponseHeaders();
+        cabeceras.set("ETag", etag);
+        cabeceras.set("Vary", "Accept-Encoding");
+        if (RecursosEstaticos.esVersionado(nombre, recurso)) {
+            cabeceras.set("Cache-Control", CACHE_INMUTABLE);
+        } else {
+            cabeceras.set("Cache-Control", "no-cache");
+            // La URL con la huella de esta versión, que quien la enlace puede guardar sin revalidar
+            cabeceras.set("Content-Location", RUTA_ESTATICOS + "/" + recurso.nombreVersionado());
+        }
+        if (CabecerasHttp.coincideIfNoneMatch(peticion.getFirst("If-None-Match"), etag)) {
+            intercambio.sendResponseHeaders(304, -1);
+            return;
+        }
+        if (comprimido) {
+            cabeceras.set("Content-Encoding", "gzip");
+        }
+        responder(intercambio, 200, recurso.tipo(), recurso.cuerpo(comprimido));
+    }
+
+    /**
+     * Publica el peso nuevo a los dispositivos suscritos; sin suscriptores no codifica nada
+     */
+    private void difundir(String nombre, RepresentacionUsuario representacion) {
+        if (difusion.inicializado() && difusion.obtener().tieneSuscriptores(nombre)) {
+            difusion.obtener().publicar(nombre, eventoPeso(representacion));
+        }
+    }
+
+    private static byte[] eventoPeso(RepresentacionUsuario representacion) {
+        byte[] cabecera = ("id: " + representacion.origen().version() + "\nevent: peso\ndata: ")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] cuerpo = representacion.cuerpo();
+        byte[] evento = Arrays.copyOf(cabecera, cabecera.length + cuerpo.length + 2);
+        System.arraycopy(cuerpo, 0, evento, cabecera.length, cuerpo.length);
+        evento[evento.length - 2] = '\n';
+        evento[evento.length - 1] = '\n';
+        return evento;
+    }
+
+    private Admision admitir(HttpExchange intercambio) {
+        String cliente = intercambio.getRequestHeaders().getFirst(CABECERA_CLIENTE);
+        if (cliente == null) {
+            cliente = intercambio.getRemoteAddress().getAddress().getHostAddress();
+        }
+        return admision.admitir(cliente, intercambio.getRequestHeaders().getFirst(CABECERA_CLINICA));
+    }
+
+    private static void rechazar(HttpExchange intercambio, Admision rechazo) throws IOException {
+        intercambio.getResponseHeaders().set("Retry-After", Long.toString(rechazo.reintentarEnSegundos()));
+        StringBuilder texto = new StringBuilder(96).append("{\"error\":\"Demasiadas peticiones\",\"motivo\":\"")
+                .append(rechazo.motivo()).append("\",\"reintentarEnMs\":")
+                .append(Math.max(1, rechazo.reintentarEnNanos() / 1_000_000)).append('}');
+        responder(intercambio, 429, texto.toString());
+    }
+
+    private static double leerPeso(Map<String, String> formulario) {
+        String peso = formulario.get("peso");
+        if (peso == null) {
+            throw new IllegalArgumentException("Falta el peso");
+        }
+        return Double.parseDouble(peso);
+    }
+
+    private static Map<String, String> leerFormulario(HttpExchange intercambio) throws IOException {
+        try (InputStream cuerpo = intercambio.getRequestBody()) {
+            return parametros(new String(cuerpo.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Map<String, String> parametros(String codificados) {
+        Map<String, String> parametros = new HashMap<>();
+        if (codificados == null || codificados.isEmpty()) {
+            return parametros;
+        }
+        for (String par : codificados.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                parametros.put(URLDecoder.decode(par.substring(0, igual), StandardCharsets.UTF_8),
+                        URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parametros;
+    }
+
+    /**
+     * Rechaza sin procesar lo que llega con la cola llena, convierte los errores de validación
+     * en 400 y cualquier otro en 500, y cierra el intercambio salvo que el manejador haya
+     * dejado abierto un flujo de eventos
+     */
+    private HttpHandler protegido(HttpHandler manejador) {
+        return intercambio -> {
+            try {
+                if (EjecutorAcotado.enDesborde()) {
+                    rechazar(intercambio, admision.rechazarPorCola());
+                    return;
+                }
+                manejador.handle(intercambio);
+            } catch (IllegalArgumentException e) {
+                responderError(intercambio, 400, e.getMessage());
+            } catch (RuntimeException e) {
+                responderError(intercambio, 500, "Error interno");
+            } finally {
+                if (intercambio.getAttribute(FLUJO_ABIERTO) == null) {
+                    intercambio.close();
+                }
+            }
+        };
+    }
+
+    private static void responderError(HttpExchange intercambio, int estado, String mensaje) throws IOException {
+        StringBuilder texto = new StringBuilder(64).append("{\"error\":");
+        Json.texto(mensaje == null ? "" : mensaje, texto);
+        responder(intercambio, estado, texto.append('}').toString());
+    }
+
+    /**
+     * Respuesta de usuario: las cabeceras de validación permiten al cliente guardarla y
+     * revalidarla con If-None-Match en cada refresco
+     */
+    private static void responder(HttpExchange intercambio, int estado, RepresentacionUsuario representacion)
+            throws IOException {
+        cabecerasValidacion(intercambio, representacion);
+        responder(intercambio, estado, representacion.cuerpo());
+    }
+
+    private static void cabecerasValidacion(HttpExchange intercambio, RepresentacionUsuario representacion) {
+        intercambio.getResponseHeaders().set("ETag", representacion.etag());
+        intercambio.getResponseHeaders().set("Cache-Control", "no-cache");
+    }
+
+    private static void responder(HttpExchange intercambio, int estado, String cuerpo) throws IOException {
+        responder(intercambio, estado, cuerpo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void responder(HttpExchange intercambio, int estado, byte[] bytes) throws IOException {
+        responder(intercambio, estado, TIPO_JSON, bytes);
+    }
+
+    private static void responder(HttpExchange intercambio, int estado, String tipo, byte[] bytes) throws IOException {
+        intercambio.getResponseHeaders().set("Content-Type", tipo);
+        intercambio.sendResponseHeaders(estado, bytes.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+
+    /**
+     * Inicia el servidor con la configuración de las propiedades del sistema; con
+     * --entrenamiento recorre las rutas contra sí mismo y termina
+     */
+    public static void main(String[] args) throws IOException {
+        boolean entrenamiento = Arrays.asList(args).contains(ARGUMENTO_ENTRENAMIENTO);
+        ServidorHealthTrack servidor = iniciar(entrenamiento
+                ? ConfiguracionServidor.paraEntrenamiento()
+                : ConfiguracionServidor.desdePropiedades());
+        System.out.println(MENSAJE_INICIO + servidor.getPuerto());
+        if (entrenamiento) {
+            try {
+                entrenar(servidor.getPuerto());
+            } finally {
+                servidor.close();
+            }
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(servidor::close, "cierre-servidor"));
+    }
+
+    static void entrenar(int puerto) throws IOException {
+        String base = "http://127.0.0.1:" + puerto;
+        enviar(base + "/salud", "GET", null);
+        enviar(base + "/", "GET", null);
+        enviar(base + RUTA_USUARIOS, "POST", "nombre=Entrenamiento&peso=80.5");
+        enviar(base + RUTA_USUARIOS + "/Entrenamiento", "GET", null);
+        enviar(base + RUTA_USUARIOS + "/Entrenamiento" + SUFIJO_PESO, "POST", "peso=79.9");
+        enviar(base + RUTA_USUARIOS + "/Entrenamiento" + SUFIJO_PESO, "POST", "peso=79.0");
+        enviar(base + RUTA_USUARIOS + "/Inexistente", "GET", null);
+        enviar(base + "/clasificacion?k=5", "GET", null);
+    }
+
+    private static void enviar(String url, String metodo, String formulario) throws IOException {
+        HttpURLConnection conexion = (HttpURLConnection) URI.create(url).toURL().openConnection();
+        try {
+            conexion.setRequestMethod(metodo);
+            if (formulario != null) {
+                conexion.setDoOutput(true);
+                conexion.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+                try (OutputStream salida = conexion.getOutputStream()) {
+                    salida.write(formulario.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            InputStream respuesta = conexion.getResponseCode() < 400 ? conexion.getInputStream() : conexion.getErrorStream();
+            if (respuesta != null) {
+                try (respuesta) {
+                    respuesta.readAllBytes();
+                }
+            }
+        } finally {
+            conexion.disconnect();
+        }
+    }
+}
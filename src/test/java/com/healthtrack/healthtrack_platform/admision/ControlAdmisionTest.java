@@ -0,0 +1,208 @@
+package com.healthtrack.healthtrack_platform.admision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del control de admisión, el límite adaptativo y el ejecutor acotado
+ */
+@DisplayName("Control Admisión Tests")
+class ControlAdmisionTest {
+
+    private long ahora;
+
+    @Nested
+    @DisplayName("Cuotas")
+    class CuotasTests {
+
+        @Test
+        @DisplayName("Debería rechazar al cliente que supera su tasa sin afectar a otros")
+        void deberiaRechazarClienteQueSuperaSuTasa() {
+            // Given - 1 escritura por segundo con ráfaga de 2 por cliente
+            ControlAdmision control = new ControlAdmision(
+                    new ConfiguracionAdmision(1, 2, 1_000, 1_000, 10, 10, 10, 1, 10), () -> ahora);
+
+            // When
+            List<Admision> admisiones = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                admisiones.add(control.admitir("tablet-1", "norte"));
+            }
+            Admision otroCliente = control.admitir("tablet-2", "norte");
+
+            // Then
+            assertThat(admisiones).extracting(Admision::admitida).containsExactly(true, true, false);
+            Admision rechazo = admisiones.get(2);
+            assertThat(rechazo.motivo()).isEqualTo(MotivoRechazo.CLIENTE);
+            assertThat(rechazo.reintentarEnNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+            assertThat(rechazo.reintentarEnSegundos()).isEqualTo(1);
+            assertThat(otroCliente.admitida()).isTrue();
+            assertThat(control.rechazos(MotivoRechazo.CLIENTE)).isEqualTo(1);
+            assertThat(control.admitidas()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Debería rechazar a la clínica que supera su tasa sumando a todos sus clientes")
+        void deberiaRechazarClinicaQueSuperaSuTasa() {
+            // Given - Ráfaga de 3 escrituras por clínica
+            ControlAdmision control = new ControlAdmision(
+                    new ConfiguracionAdmision(100, 100, 1, 3, 10, 10, 10, 1, 10, Set.of("norte", "sur")), () -> ahora);
+
+            // When
+            for (int i = 0; i < 3; i++) {
+                control.admitir("cliente-" + i, "norte").close();
+            }
+            Admision rechazo = control.admitir("cliente-3", "norte");
+            Admision otraClinica = control.admitir("cliente-3", "sur");
+
+            // Then
+            assertThat(rechazo.admitida()).isFalse();
+            assertThat(rechazo.motivo()).isEqualTo(MotivoRechazo.CLINICA);
+            assertThat(otraClinica.admitida()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Una clínica no configurada debería compartir la cuota por defecto")
+        void clinicaDesconocidaDeberiaUsarCuotaPorDefecto() {
+            // Given - Ráfaga de 3 escrituras por clínica
+            ControlAdmision control = new ControlAdmision(
+                    new ConfiguracionAdmision(100, 100, 1, 3, 10, 10, 10, 1, 10, Set.of("norte")), () -> ahora);
+
+            // When - Cada petición inventa un identificador de clínica distinto
+            for (int i = 0; i < 3; i++) {
+                control.admitir("cliente-" + i, "inventada-" + i).close();
+            }
+            Admision otraInventada = control.admitir("cliente-3", "inventada-3");
+            Admision sinClinica = control.admitir("cliente-4", null);
+            Admision configurada = control.admitir("cliente-5", "norte");
+
+            // Then
+            assertThat(otraInventada.motivo()).isEqualTo(MotivoRechazo.CLINICA);
+            assertThat(sinClinica.motivo()).isEqualTo(MotivoRechazo.CLINICA);
+            assertThat(configurada.admitida()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Límite de concurrencia")
+    class LimiteTests {
+
+        @Test
+        @DisplayName("Debería rechazar cuando el límite de escrituras en curso está ocupado")
+        void deberiaRechazarConLimiteOcupado() {
+            // Given - Límite fijo de 2
+            ControlAdmision control = new ControlAdmision(
+                    new ConfiguracionAdmision(1_000, 1_000, 1_000, 1_000, 10, 10, 2, 2, 2), () -> ahora);
+            Admision primera = control.admitir("a", "norte");
+            Admision segunda = control.admitir("b", "norte");
+
+            // When
+            Admision tercera = control.admitir("c", "norte");
+            segunda.close();
+            segunda.close();
+            Admision cuarta = control.admitir("c", "norte");
+
+            // Then
+            assertThat(primera.admitida()).isTrue();
+            assertThat(tercera.motivo()).isEqualTo(MotivoRechazo.CONCURRENCIA);
+            assertThat(cuarta.admitida()).isTrue();
+            assertThat(control.admitir("d", "norte").admitida()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Debería subir el límite mientras la latencia no crece y bajarlo cuando aparece cola")
+        void limiteDeberiaSeguirLaLatencia() {
+            // Given
+            LimiteAdaptativo limite = new LimiteAdaptativo(10, 2, 20);
+
+            // When - Límite usado por completo con latencia estable de 1 ms
+            for (int i = 0; i < 20; i++) {
+                usarCompleto(limite, TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            int trasLatenciaEstable = limite.limite();
+            // La latencia se duplica: la mitad del límite es cola
+            for (int i = 0; i < 30; i++) {
+                usarCompleto(limite, TimeUnit.MILLISECONDS.toNanos(2));
+            }
+
+            // Then
+            assertThat(trasLatenciaEstable).isEqualTo(20);
+            assertThat(limite.limite()).isLessThanOrEqualTo(12).isGreaterThanOrEqualTo(2);
+            assertThat(limite.enCurso()).isZero();
+        }
+
+        @Test
+        @DisplayName("Con poca carga el límite no debería subir")
+        void limiteNoDeberiaSubirConPocaCarga() {
+            // Given
+            LimiteAdaptativo limite = new LimiteAdaptativo(10, 2, 20);
+
+            // When
+            for (int i = 0; i < 50; i++) {
+                assertThat(limite.intentarAdquirir()).isTrue();
+                limite.liberar(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+
+            // Then
+            assertThat(limite.limite()).isEqualTo(10);
+        }
+
+        private void usarCompleto(LimiteAdaptativo limite, long rtt) {
+            int ocupados = 0;
+            while (limite.intentarAdquirir()) {
+                ocupados++;
+            }
+            for (int i = 0; i < ocupados; i++) {
+                limite.liberar(rtt);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Ejecutor acotado")
+    class EjecutorTests {
+
+        @Test
+        @DisplayName("Con la cola llena debería correr la tarea en desborde en el hilo que la envía")
+        void deberiaMarcarDesbordeConColaLlena() throws InterruptedException {
+            // Given - Un hilo ocupado y una tarea en cola
+            CountDownLatch ocupado = new CountDownLatch(1);
+            CountDownLatch liberar = new CountDownLatch(1);
+            AtomicBoolean desbordeEnOtroHilo = new AtomicBoolean(true);
+            AtomicBoolean desbordeEnEsteHilo = new AtomicBoolean();
+            try (EjecutorAcotado ejecutor = new EjecutorAcotado("prueba-", 1, 1)) {
+                ejecutor.execute(() -> {
+                    desbordeEnOtroHilo.set(EjecutorAcotado.enDesborde());
+                    ocupado.countDown();
+                    try {
+                        liberar.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                ocupado.await();
+                ejecutor.execute(() -> { });
+
+                // When
+                Thread hiloActual = Thread.currentThread();
+                ejecutor.execute(() -> desbordeEnEsteHilo.set(
+                        EjecutorAcotado.enDesborde() && Thread.currentThread() == hiloActual));
+                liberar.countDown();
+            }
+
+            // Then
+            assertThat(desbordeEnEsteHilo).isTrue();
+            assertThat(desbordeEnOtroHilo).isFalse();
+            assertThat(EjecutorAcotado.enDesborde()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.healthtrack.healthtrack_platform.admision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del limitador por cubo de tokens
+ */
+@DisplayName("Cubo Tokens Tests")
+class CuboTokensTest {
+
+    private long ahora;
+
+    @Test
+    @DisplayName("Debería permitir la ráfaga y después rechazar hasta que se rellene")
+    void deberiaPermitirRafagaYRellenar() {
+        // Given - 10 operaciones por segundo con ráfaga de 5
+        CuboTokens cubo = new CuboTokens(10, 5, () -> ahora);
+
+        // When & Then
+        for (int i = 0; i < 5; i++) {
+            assertThat(cubo.intentarConsumir(1)).isTrue();
+        }
+        assertThat(cubo.intentarConsumir(1)).isFalse();
+        assertThat(cubo.nanosHastaDisponible(1)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        ahora += TimeUnit.MILLISECONDS.toNanos(100);
+        assertThat(cubo.intentarConsumir(1)).isTrue();
+        assertThat(cubo.intentarConsumir(1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("No debería acumular más tokens que la ráfaga")
+    void noDeberiaSuperarLaRafaga() {
+        // Given
+        CuboTokens cubo = new CuboTokens(10, 5, () -> ahora);
+
+        // When
+        ahora += TimeUnit.HOURS.toNanos(1);
+
+        // Then
+        assertThat(cubo.intentarConsumir(5)).isTrue();
+        assertThat(cubo.intentarConsumir(1)).isFalse();
+        assertThatThrownBy(() -> new CuboTokens(0, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Hilos concurrentes no deberían consumir más tokens que la ráfaga")
+    void hilosConcurrentesNoDeberianSuperarLaRafaga() throws InterruptedException {
+        // Given - Reloj detenido: solo está disponible la ráfaga inicial
+        CuboTokens cubo = new CuboTokens(10, 1_000, () -> ahora);
+        AtomicInteger consumidos = new AtomicInteger();
+        CountDownLatch inicio = new CountDownLatch(1);
+        Thread[] hilos = new Thread[8];
+        for (int i = 0; i < hilos.length; i++) {
+            hilos[i] = new Thread(() -> {
+                try {
+                    inicio.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int j = 0; j < 500; j++) {
+                    if (cubo.intentarConsumir(1)) {
+                        consumidos.incrementAndGet();
+                    }
+                }
+            });
+            hilos[i].start();
+        }
+
+        // When
+        inicio.countDown();
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        // Then
+        assertThat(consumidos).hasValue(1_000);
+        assertThat(cubo.nanosHastaDisponible(1)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+}
@@ -0,0 +1,169 @@
+package com.healthtrack.healthtrack_platform.analitica;
+
+import com.healthtrack.healthtrack_platform.model.CategoriaPeso;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de la población por columnas y de las agregaciones por cohorte
+ */
+@DisplayName("Analítica Cohortes Tests")
+class AnaliticaCohortesTest {
+
+    private static final LocalDateTime ENERO = LocalDateTime.of(2024, 1, 15, 8, 0);
+    private static final LocalDateTime MARZO = LocalDateTime.of(2024, 3, 2, 8, 0);
+
+    @Test
+    @DisplayName("Debería promediar el cambio de peso por cohorte y mes de actualización")
+    void deberiaPromediarPorCohorteYMes() {
+        // Given
+        PoblacionUsuarios poblacion = new PoblacionUsuarios(2);
+        poblacion.agregar(0, 8_000, 7_500, ENERO);
+        poblacion.agregar(0, 9_000, 8_700, ENERO);
+        poblacion.agregar(0, 7_000, 7_100, MARZO);
+        poblacion.agregar(2, 6_000, 5_000, MARZO);
+        poblacion.agregar(1, 6_000, 6_000, null);
+
+        // When
+        ResultadoCohortes resultado = new AnaliticaCohortes().cambioPorCohorteYMes(poblacion);
+
+        // Then
+        assertThat(poblacion.tamano()).isEqualTo(5);
+        assertThat(resultado.cambioPromedioKg(0, YearMonth.of(2024, 1))).isEqualTo(-4.0);
+        assertThat(resultado.usuarios(0, YearMonth.of(2024, 1))).isEqualTo(2);
+        assertThat(resultado.cambioPromedioKg(0, YearMonth.of(2024, 3))).isEqualTo(1.0);
+        assertThat(resultado.cambioPromedioKg(0, YearMonth.of(2024, 2))).isNaN();
+        assertThat(resultado.usuarios(1, YearMonth.of(2024, 1))).isZero();
+        assertThat(resultado.usuarios(7, YearMonth.of(2024, 1))).isZero();
+        assertThat(resultado.filas()).containsExactly(
+                new CambioCohorte(0, YearMonth.of(2024, 1), 2, -4.0),
+                new CambioCohorte(0, YearMonth.of(2024, 3), 1, 1.0),
+                new CambioCohorte(2, YearMonth.of(2024, 3), 1, -10.0));
+    }
+
+    @Test
+    @DisplayName("El resultado en paralelo debería coincidir con el de un solo hilo")
+    void paraleloDeberiaCoincidirConUnHilo() {
+        // Given - Suficientes usuarios para dividir en muchas hojas
+        PoblacionUsuarios poblacion = new PoblacionUsuarios();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 200_000; i++) {
+            LocalDateTime actualizacion = random.nextInt(10) == 0 ? null : ENERO.plusDays(random.nextInt(365));
+            poblacion.agregar(random.nextInt(20), 8_000, 8_000 + random.nextInt(-800, 400), actualizacion);
+        }
+        ForkJoinPool unHilo = new ForkJoinPool(1);
+        ForkJoinPool cuatroHilos = new ForkJoinPool(4);
+
+        // When
+        try {
+            ResultadoCohortes secuencial = new AnaliticaCohortes(unHilo).cambioPorCohorteYMes(poblacion);
+            ResultadoCohortes paralelo = new AnaliticaCohortes(cuatroHilos).cambioPorCohorteYMes(poblacion);
+
+            // Then
+            assertThat(paralelo.filas()).isEqualTo(secuencial.filas()).hasSize(20 * 13);
+            assertThat(paralelo.filas().stream().mapToLong(CambioCohorte::usuarios).sum())
+                    .isEqualTo(StreamSupport.intStream(poblacion.posiciones(), true)
+                            .filter(i -> poblacion.mesActualizacion(i) != PoblacionUsuarios.SIN_ACTUALIZACION)
+                            .count());
+        } finally {
+            unHilo.shutdown();
+            cuatroHilos.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería tomar peso y fecha de la instantánea del usuario")
+    void deberiaAgregarDesdeUsuario() {
+        // Given
+        PoblacionUsuarios poblacion = new PoblacionUsuarios();
+        Usuario usuario = new Usuario("Ana", 72.5, MARZO);
+
+        // When
+        poblacion.agregar(3, 7_500, usuario);
+
+        // Then
+        assertThat(poblacion.pesoActual(0)).isEqualTo(7_250);
+        assertThat(poblacion.mesActualizacion(0)).isEqualTo(2024 * 12 + 2);
+        assertThat(new AnaliticaCohortes().cambioPorCohorteYMes(poblacion).cambioPromedioKg(3, YearMonth.of(2024, 3)))
+                .isEqualTo(-2.5);
+        assertThatThrownBy(() -> poblacion.agregar(-1, 7_500, usuario))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Debería calcular el IMC y las categorías de toda la población desde las columnas")
+    void deberiaCalcularImcPorLotes() {
+        // Given
+        PoblacionUsuarios poblacion = new PoblacionUsuarios(2);
+        Usuario usuario = new Usuario("Ana", 90.0, MARZO);
+        usuario.establecerAltura(170);
+        poblacion.agregar(0, 9_000, usuario);
+        poblacion.agregar(0, 6_000, 5_000, 180, ENERO);
+        poblacion.agregar(0, 6_000, 6_000, null);
+
+        // When
+        double[] imc = poblacion.imc();
+        Map<CategoriaPeso, Integer> categorias = poblacion.usuariosPorCategoria();
+
+        // Then
+        assertThat(poblacion.alturaCm(0)).isEqualTo(170);
+        assertThat(imc[0]).isEqualTo(usuario.getMetricas().imc());
+        assertThat(imc[1]).isCloseTo(15.43, within(0.01));
+        assertThat(imc[2]).isNaN();
+        assertThat(categorias)
+                .containsEntry(CategoriaPeso.OBESIDAD, 1)
+                .containsEntry(CategoriaPeso.BAJO_PESO, 1)
+                .containsEntry(CategoriaPeso.SIN_DATOS, 1)
+                .containsEntry(CategoriaPeso.NORMAL, 0);
+    }
+
+    @Test
+    @DisplayName("Una población vacía o sin actualizaciones no debería tener grupos")
+    void poblacionSinActualizacionesNoDeberiaTenerGrupos() {
+        // Given
+        PoblacionUsuarios poblacion = new PoblacionUsuarios();
+        AnaliticaCohortes analitica = new AnaliticaCohortes();
+
+        // When & Then
+        assertThat(analitica.cambioPorCohorteYMes(poblacion).filas()).isEmpty();
+        poblacion.agregar(0, 7_000, 7_000, null);
+        assertThat(analitica.cambioPorCohorteYMes(poblacion).filas()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Un análisis concurrente con la carga debería ver filas completas aunque las columnas crezcan")
+    void analisisConcurrenteDeberiaVerFilasCompletas() throws Exception {
+        // Given - Capacidad 1: la carga reemplaza las columnas muchas veces
+        PoblacionUsuarios poblacion = new PoblacionUsuarios(1);
+        int usuarios = 100_000;
+        Thread carga = new Thread(() -> {
+            for (int i = 0; i < usuarios; i++) {
+                poblacion.agregar(i % 3, 8_000, 7_000, ENERO);
+            }
+        });
+        AnaliticaCohortes analitica = new AnaliticaCohortes();
+
+        // When
+        carga.start();
+        while (carga.isAlive()) {
+            ResultadoCohortes resultado = analitica.cambioPorCohorteYMes(poblacion);
+
+            // Then - Cada fila vista tiene su cambio de -10 kg, nunca los ceros de una copia a medias
+            for (CambioCohorte fila : resultado.filas()) {
+                assertThat(fila.cambioPromedioKg()).isEqualTo(-10.0);
+            }
+        }
+        carga.join();
+        assertThat(poblacion.tamano()).isEqualTo(usuarios);
+    }
+}
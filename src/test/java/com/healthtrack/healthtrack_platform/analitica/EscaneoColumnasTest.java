@@ -0,0 +1,141 @@
+package com.healthtrack.healthtrack_platform.analitica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Pruebas unitarias del mapa de bits y de los escaneos escalar y vectorial
+ */
+@DisplayName("Escaneo Columnas Tests")
+class EscaneoColumnasTest {
+
+    private static final LocalDateTime ENERO = LocalDateTime.of(2024, 1, 15, 8, 0);
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(EscaneoColumnas.PROPIEDAD_VECTORIAL);
+    }
+
+    @Nested
+    @DisplayName("Mapa de bits")
+    class MapaBitsTests {
+
+        @Test
+        @DisplayName("Debería combinar selecciones y recorrerlas en orden")
+        void deberiaCombinarSelecciones() {
+            // Given
+            MapaBits pares = new MapaBits(130);
+            MapaBits multiplosDeTres = new MapaBits(130);
+            for (int i = 0; i < 130; i++) {
+                if (i % 2 == 0) {
+                    pares.marcar(i);
+                }
+                if (i % 3 == 0) {
+                    multiplosDeTres.marcar(i);
+                }
+            }
+
+            // When
+            MapaBits multiplosDeSeis = new MapaBits(130).unir(pares).intersectar(multiplosDeTres);
+            MapaBits paresNoMultiplosDeTres = new MapaBits(130).unir(pares).restar(multiplosDeTres);
+
+            // Then
+            assertThat(multiplosDeSeis.cardinalidad()).isEqualTo(22);
+            assertThat(multiplosDeSeis.posiciones().limit(4)).containsExactly(0, 6, 12, 18);
+            assertThat(multiplosDeSeis.contiene(126)).isTrue();
+            assertThat(paresNoMultiplosDeTres.contiene(128)).isTrue();
+            assertThat(paresNoMultiplosDeTres.contiene(126)).isFalse();
+            assertThat(paresNoMultiplosDeTres.cardinalidad()).isEqualTo(65 - 22);
+        }
+
+        @Test
+        @DisplayName("No debería combinar mapas de poblaciones de distinto tamaño")
+        void noDeberiaCombinarTamanosDistintos() {
+            // When & Then
+            assertThatThrownBy(() -> new MapaBits(64).intersectar(new MapaBits(65)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Escaneo escalar")
+    class EscalarTests {
+
+        @Test
+        @DisplayName("Debería seleccionar por rango de peso inclusive y por fecha de actualización")
+        void deberiaSeleccionarPorPesoYFecha() {
+            // Given
+            PoblacionUsuarios poblacion = new PoblacionUsuarios();
+            poblacion.agregar(0, 8_000, 6_999, ENERO);
+            poblacion.agregar(0, 8_000, 7_000, ENERO.plusDays(10));
+            poblacion.agregar(0, 8_000, 8_000, null);
+            poblacion.agregar(0, 8_000, 8_001, ENERO.minusDays(1));
+            EscaneoColumnas escaneo = EscaneoColumnas.escalar();
+
+            // When
+            MapaBits enRango = escaneo.pesoEntre(poblacion, 7_000, 8_000);
+            MapaBits antiguos = escaneo.actualizadosAntesDe(poblacion, ENERO.plusDays(1));
+
+            // Then
+            assertThat(enRango.posiciones()).containsExactly(1, 2);
+            assertThat(antiguos.posiciones()).containsExactly(0, 3);
+            assertThat(enRango.intersectar(antiguos).cardinalidad()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Escaneo vectorial")
+    class VectorialTests {
+
+        @Test
+        @DisplayName("Debería dar el mismo resultado que el escalar, incluido el resto que no completa un vector")
+        void deberiaCoincidirConEscalar() {
+            // Given
+            assumeTrue(EscaneoColumnas.vectorialDisponible(), "El módulo de la Vector API no está cargado");
+            SplittableRandom random = new SplittableRandom(3);
+            PoblacionUsuarios poblacion = new PoblacionUsuarios();
+            for (int i = 0; i < 10_037; i++) {
+                LocalDateTime actualizacion = random.nextInt(10) == 0 ? null : ENERO.plusHours(random.nextInt(24 * 365));
+                poblacion.agregar(0, 8_000, random.nextInt(4_000, 15_000), actualizacion);
+            }
+            EscaneoColumnas escalar = EscaneoColumnas.escalar();
+            EscaneoColumnas vectorial = EscaneoColumnas.vectorial();
+
+            // When
+            MapaBits pesoEscalar = escalar.pesoEntre(poblacion, 6_000, 9_000);
+            MapaBits pesoVectorial = vectorial.pesoEntre(poblacion, 6_000, 9_000);
+            MapaBits fechaEscalar = escalar.actualizadosAntesDe(poblacion, ENERO.plusDays(100));
+            MapaBits fechaVectorial = vectorial.actualizadosAntesDe(poblacion, ENERO.plusDays(100));
+
+            // Then
+            assertThat(pesoVectorial.posiciones()).containsExactlyElementsOf(pesoEscalar.posiciones().boxed().toList());
+            assertThat(fechaVectorial.posiciones()).containsExactlyElementsOf(fechaEscalar.posiciones().boxed().toList());
+            assertThat(pesoVectorial.cardinalidad()).isBetween(2_000, 3_500);
+            assertThat(pesoVectorial.contiene(10_036)).isEqualTo(pesoEscalar.contiene(10_036));
+        }
+
+        @Test
+        @DisplayName("Debería usarse por defecto solo si se activa la propiedad")
+        void deberiaActivarseConPropiedad() {
+            // Given
+            assumeTrue(EscaneoColumnas.vectorialDisponible(), "El módulo de la Vector API no está cargado");
+
+            // When
+            EscaneoColumnas sinPropiedad = EscaneoColumnas.porDefecto();
+            System.setProperty(EscaneoColumnas.PROPIEDAD_VECTORIAL, "true");
+            EscaneoColumnas conPropiedad = EscaneoColumnas.porDefecto();
+
+            // Then
+            assertThat(sinPropiedad).isInstanceOf(EscaneoEscalar.class);
+            assertThat(conPropiedad).isInstanceOf(EscaneoVectorial.class);
+        }
+    }
+}
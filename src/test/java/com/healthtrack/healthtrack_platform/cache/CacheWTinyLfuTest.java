@@ -0,0 +1,186 @@
+package com.healthtrack.healthtrack_platform.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de la caché W-TinyLFU
+ */
+@DisplayName("Cache W-TinyLFU Tests")
+class CacheWTinyLfuTest {
+
+    @Test
+    @DisplayName("Debería devolver los valores insertados y contar aciertos y fallos")
+    void deberiaDevolverValoresYContarAciertos() {
+        // Given
+        CacheWTinyLfu<String, Integer> cache = new CacheWTinyLfu<>(10);
+        cache.poner("Ana", 1);
+
+        // When
+        Integer ana = cache.obtener("Ana");
+        Integer luis = cache.obtener("Luis");
+
+        // Then
+        assertThat(ana).isEqualTo(1);
+        assertThat(luis).isNull();
+        EstadisticasCache estadisticas = cache.estadisticas();
+        assertThat(estadisticas.aciertos()).isEqualTo(1);
+        assertThat(estadisticas.fallos()).isEqualTo(1);
+        assertThat(estadisticas.tasaAciertos()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Debería cargar una sola vez y servir las siguientes lecturas desde la caché")
+    void deberiaCargarUnaSolaVez() {
+        // Given
+        CacheWTinyLfu<String, String> cache = new CacheWTinyLfu<>(10);
+        AtomicInteger cargas = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            cache.obtener("Ana", clave -> {
+                cargas.incrementAndGet();
+                return clave.toUpperCase();
+            });
+        }
+
+        // Then
+        assertThat(cargas).hasValue(1);
+        assertThat(cache.obtener("Ana")).isEqualTo("ANA");
+        assertThat(cache.obtener("Nadie", clave -> null)).isNull();
+        assertThat(cache.tamano()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Nunca debería superar su capacidad")
+    void nuncaDeberiaSuperarCapacidad() {
+        // Given
+        CacheWTinyLfu<Integer, Integer> cache = new CacheWTinyLfu<>(100);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            cache.poner(i, i);
+        }
+
+        // Then
+        assertThat(cache.tamano()).isLessThanOrEqualTo(100);
+        assertThat(cache.estadisticas().desalojos()).isEqualTo(10_000 - cache.tamano());
+    }
+
+    @Test
+    @DisplayName("Un recorrido por usuarios únicos no debería desplazar a los usuarios frecuentes")
+    void recorridoNoDeberiaDesplazarUsuariosFrecuentes() {
+        // Given - 50 usuarios muy activos
+        CacheWTinyLfu<String, Integer> cache = new CacheWTinyLfu<>(100);
+        for (int ronda = 0; ronda < 10; ronda++) {
+            for (int i = 0; i < 50; i++) {
+                cache.obtener("activo-" + i, clave -> 1);
+            }
+        }
+
+        // When - Un reporte recorre 5000 usuarios una sola vez mientras los activos siguen usando la app
+        for (int i = 0; i < 5_000; i++) {
+            cache.obtener("inactivo-" + i, clave -> 0);
+            cache.obtener("activo-" + (i % 50), clave -> 1);
+        }
+
+        // Then
+        for (int i = 0; i < 50; i++) {
+            assertThat(cache.obtener("activo-" + i)).describedAs("activo-%d", i).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería invalidar entradas")
+    void deberiaInvalidarEntradas() {
+        // Given
+        CacheWTinyLfu<String, Integer> cache = new CacheWTinyLfu<>(10);
+        cache.poner("Ana", 1);
+
+        // When
+        cache.invalidar("Ana");
+        cache.invalidar("Nadie");
+
+        // Then
+        assertThat(cache.obtener("Ana")).isNull();
+        assertThat(cache.tamano()).isZero();
+    }
+
+    @Test
+    @DisplayName("Una carga que empezó antes de invalidar no debería volver a insertar la entrada")
+    void cargaDuranteInvalidacionNoDeberiaReinsertar() throws Exception {
+        // Given
+        CacheWTinyLfu<String, String> cache = new CacheWTinyLfu<>(10);
+        CountDownLatch cargando = new CountDownLatch(1);
+        CountDownLatch invalidado = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+        Future<String> lectura = ejecutor.submit(() -> cache.obtener("Ana", clave -> {
+            cargando.countDown();
+            try {
+                invalidado.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "eliminada";
+        }));
+
+        // When
+        assertThat(cargando.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.invalidar("Ana");
+        invalidado.countDown();
+        String leido = lectura.get(5, TimeUnit.SECONDS);
+        ejecutor.shutdown();
+
+        // Then
+        assertThat(leido).isEqualTo("eliminada");
+        assertThat(cache.obtener("Ana")).isNull();
+        assertThat(cache.tamano()).isZero();
+        assertThat(cache.obtener("Ana", clave -> "recargada")).isEqualTo("recargada");
+        assertThat(cache.obtener("Ana")).isEqualTo("recargada");
+    }
+
+    @Test
+    @DisplayName("Debería mantenerse consistente con lecturas y escrituras concurrentes")
+    void deberiaSerConsistenteConcurrentemente() throws InterruptedException {
+        // Given
+        CacheWTinyLfu<Integer, Integer> cache = new CacheWTinyLfu<>(500);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int hilo = 0; hilo < 8; hilo++) {
+            int semilla = hilo;
+            ejecutor.execute(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    int clave = (i * 31 + semilla) % 2_000;
+                    Integer valor = cache.obtener(clave, k -> k * 2);
+                    assertThat(valor).isEqualTo(clave * 2);
+                    if (i % 100 == 0) {
+                        cache.invalidar(clave);
+                    }
+                }
+            });
+        }
+        ejecutor.shutdown();
+
+        // Then
+        assertThat(ejecutor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(cache.tamano()).isLessThanOrEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar una capacidad no positiva")
+    void deberiaRechazarCapacidadInvalida() {
+        assertThatThrownBy(() -> new CacheWTinyLfu<String, String>(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("La capacidad de la caché debe ser mayor a 0");
+    }
+}
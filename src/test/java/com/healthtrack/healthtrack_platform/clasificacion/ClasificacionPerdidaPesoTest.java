@@ -0,0 +1,141 @@
+package com.healthtrack.healthtrack_platform.clasificacion;
+
+import com.healthtrack.healthtrack_platform.evento.AlmacenEventos;
+import com.healthtrack.healthtrack_platform.model.PesoFijo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de la clasificación incremental por pérdida de peso
+ */
+@DisplayName("Clasificación Pérdida Peso Tests")
+class ClasificacionPerdidaPesoTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 8, 0);
+    private static final Duration TREINTA_DIAS = Duration.ofDays(30);
+
+    private ClasificacionPerdidaPeso clasificacion;
+
+    @BeforeEach
+    void setUp() {
+        clasificacion = new ClasificacionPerdidaPeso(TREINTA_DIAS);
+    }
+
+    @Test
+    @DisplayName("Debería ordenar por pérdida y devolver solo los k primeros")
+    void deberiaOrdenarPorPerdida() {
+        // Given
+        registrar("Ana", INICIO, 80.0, 75.0);
+        registrar("Beto", INICIO, 90.0, 88.0);
+        registrar("Carla", INICIO, 70.0, 64.0);
+        registrar("Dani", INICIO, 60.0, 62.0);
+
+        // When
+        var top = clasificacion.top(2, INICIO.plusDays(3));
+
+        // Then
+        assertThat(top).containsExactly(
+                new EntradaClasificacion(1, "Carla", 600),
+                new EntradaClasificacion(2, "Ana", 500));
+        assertThat(top.get(0).perdidaKg()).isEqualTo(6.0);
+        assertThat(clasificacion.tamano()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Debería medir la pérdida desde el peso que el usuario tenía al inicio de la ventana")
+    void deberiaMedirDesdeElInicioDeLaVentana() {
+        // Given - 100 kg hace 40 días, 95 kg hace 20 días y 92 kg hoy
+        clasificacion.registrar("Ana", INICIO, 10_000);
+        clasificacion.registrar("Ana", INICIO.plusDays(20), 9_500);
+        clasificacion.registrar("Ana", INICIO.plusDays(40), 9_200);
+
+        // When & Then - Al inicio de la ventana pesaba 100 kg
+        assertThat(clasificacion.top(10, INICIO.plusDays(40)))
+                .extracting(EntradaClasificacion::perdidaDecagramos)
+                .containsExactly(800);
+
+        // Cuando la lectura de 95 kg queda antes de la ventana pasa a ser la base
+        assertThat(clasificacion.top(10, INICIO.plusDays(51)))
+                .extracting(EntradaClasificacion::perdidaDecagramos)
+                .containsExactly(300);
+
+        // Sin lecturas nuevas en 30 días la pérdida de la ventana es 0
+        assertThat(clasificacion.top(10, INICIO.plusDays(71))).isEmpty();
+        assertThat(clasificacion.tamano()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debería olvidar a los usuarios cuyas lecturas salieron todas de la ventana")
+    void deberiaOlvidarUsuariosSinLecturasEnLaVentana() {
+        // Given - Mil usuarios que se pesan una o dos veces y no vuelven
+        for (int i = 0; i < 1_000; i++) {
+            clasificacion.registrar("Paciente" + i, INICIO, 8_000);
+            if (i % 2 == 0) {
+                clasificacion.registrar("Paciente" + i, INICIO.plusDays(10), 7_900);
+            }
+        }
+        int alPrincipio = clasificacion.participantes();
+
+        // When
+        clasificacion.registrar("Ana", INICIO.plusDays(35), 9_000);
+        List<EntradaClasificacion> top = clasificacion.top(10, INICIO.plusDays(45));
+
+        // Then - Solo queda Ana, que se pesó dentro de la ventana
+        assertThat(alPrincipio).isEqualTo(1_000);
+        assertThat(top).isEmpty();
+        assertThat(clasificacion.participantes()).isEqualTo(1);
+
+        // Y la próxima lectura de un usuario olvidado empieza de cero
+        clasificacion.registrar("Paciente0", INICIO.plusDays(46), 7_500);
+        clasificacion.registrar("Paciente0", INICIO.plusDays(48), 7_400);
+        assertThat(clasificacion.top(10, INICIO.plusDays(48)))
+                .containsExactly(new EntradaClasificacion(1, "Paciente0", 100));
+    }
+
+    @Test
+    @DisplayName("Debería ignorar lecturas anteriores a la última y usuarios fuera del desafío")
+    void deberiaIgnorarLecturasFueraDeOrdenYNoParticipantes() {
+        // Given
+        ClasificacionPerdidaPeso desafio = new ClasificacionPerdidaPeso(TREINTA_DIAS, Set.of("Ana")::contains);
+        desafio.registrar("Ana", INICIO, 8_000);
+        desafio.registrar("Ana", INICIO.plusDays(3), 7_800);
+        desafio.registrar("Ana", INICIO.plusDays(1), 7_000);
+        desafio.registrar("Beto", INICIO, 9_000);
+        desafio.registrar("Beto", INICIO.plusDays(3), 8_000);
+
+        // When & Then
+        assertThat(desafio.top(10, INICIO.plusDays(3)))
+                .containsExactly(new EntradaClasificacion(1, "Ana", 200));
+        assertThatThrownBy(() -> desafio.top(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Debería mantenerse al día suscrita al almacén de eventos")
+    void deberiaConsumirEventos() {
+        // Given
+        AlmacenEventos almacen = new AlmacenEventos(2);
+        almacen.suscribir(clasificacion);
+
+        // When
+        almacen.agregarRegistro("Ana", 80.0, INICIO);
+        almacen.agregarActualizacion("Ana", 77.5, INICIO.plusDays(3));
+
+        // Then
+        assertThat(clasificacion.top(1, INICIO.plusDays(3)))
+                .containsExactly(new EntradaClasificacion(1, "Ana", 250));
+    }
+
+    private void registrar(String nombre, LocalDateTime momento, double pesoInicial, double pesoFinal) {
+        clasificacion.registrar(nombre, momento, PesoFijo.desdeKg(pesoInicial));
+        clasificacion.registrar(nombre, momento.plusDays(2), PesoFijo.desdeKg(pesoFinal));
+    }
+}
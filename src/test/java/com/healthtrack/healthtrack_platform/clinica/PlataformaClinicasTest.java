@@ -0,0 +1,126 @@
+package com.healthtrack.healthtrack_platform.clinica;
+
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de la plataforma compartida por varias clínicas
+ */
+@DisplayName("Plataforma Clínicas Tests")
+class PlataformaClinicasTest {
+
+    private PlataformaClinicas plataforma;
+
+    @BeforeEach
+    void setUp() {
+        plataforma = new PlataformaClinicas();
+        plataforma.registrarClinica(ConfiguracionClinica.porDefecto("norte"));
+        plataforma.registrarClinica(ConfiguracionClinica.porDefecto("sur"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        plataforma.close();
+    }
+
+    @Test
+    @DisplayName("El mismo nombre en dos clínicas debería identificar a pacientes distintos")
+    void mismoNombreDeberiaSerDistintoPorClinica() {
+        // Given
+        plataforma.registrarUsuario("norte", "Ana", 70.0).join();
+        plataforma.registrarUsuario("sur", "Ana", 80.0).join();
+
+        // When
+        ResultadoActualizacion resultado = plataforma.actualizarPeso("norte", "Ana", 68.5).join();
+
+        // Then
+        assertThat(resultado).isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+        assertThat(plataforma.buscar("norte", "Ana").get().getPeso()).isEqualTo(68.5);
+        assertThat(plataforma.buscar("sur", "Ana").get().getPeso()).isEqualTo(80.0);
+        assertThat(plataforma.buscar("sur", "Ana").get().puedeActualizarPeso()).isTrue();
+        assertThatThrownBy(() -> plataforma.buscar("oeste", "Ana"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Clínica no registrada: oeste");
+    }
+
+    @Test
+    @DisplayName("Debería rechazar escrituras por encima de la tasa de la clínica sin afectar a otra")
+    void deberiaRechazarEscriturasSobreLaTasa() {
+        // Given - Una escritura por minuto, sin ráfaga extra
+        plataforma.registrarClinica(new ConfiguracionClinica("lenta", 1, 10, 1.0 / 60, 1, 100));
+
+        // When
+        CompletableFuture<Usuario> primera = plataforma.registrarUsuario("lenta", "Ana", 70.0);
+        CompletableFuture<Usuario> segunda = plataforma.registrarUsuario("lenta", "Beto", 70.0);
+
+        // Then
+        assertThat(primera.join().getNombre()).isEqualTo("Ana");
+        assertThatThrownBy(segunda::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ExcepcionCuotaExcedida.class);
+        assertThat(plataforma.registrarUsuario("norte", "Beto", 70.0).join()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Debería aplicar la cuota de usuarios a registros e importaciones")
+    void deberiaAplicarCuotaDeUsuarios() {
+        // Given
+        plataforma.registrarClinica(new ConfiguracionClinica("pequena", 1, 10, 1_000, 1_000, 3));
+        plataforma.registrarUsuario("pequena", "Ana", 70.0).join();
+        List<Usuario> importacion = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            importacion.add(new Usuario("Paciente" + i, 70.0));
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> plataforma.importar("pequena", importacion).join())
+                .hasCauseInstanceOf(ExcepcionCuotaExcedida.class)
+                .hasMessageContaining("máximo de 3 usuarios");
+        assertThat(plataforma.contarUsuarios("pequena")).isEqualTo(1);
+
+        // Reemplazar a un paciente existente no consume cuota
+        assertThat(plataforma.importar("pequena", List.of(new Usuario("Ana", 71.0), new Usuario("Beto", 60.0))).join())
+                .isEqualTo(2);
+        assertThat(plataforma.contarUsuarios("pequena")).isEqualTo(2);
+        assertThat(plataforma.eliminar("pequena", "Beto")).isTrue();
+        assertThat(plataforma.contarUsuarios("pequena")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Registrar un paciente existente debería fallar sin sobrescribirlo")
+    void noDeberiaSobrescribirPacienteExistente() {
+        // Given
+        plataforma.registrarUsuario("norte", "Ana", 70.0).join();
+        plataforma.actualizarPeso("norte", "Ana", 68.0).join();
+
+        // When & Then
+        assertThatThrownBy(() -> plataforma.registrarUsuario("norte", "Ana", 90.0).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("El usuario ya está registrado: Ana");
+        Usuario ana = plataforma.buscar("norte", "Ana").orElseThrow();
+        assertThat(ana.getPeso()).isEqualTo(68.0);
+        assertThat(ana.getUltimaActualizacion()).isNotNull();
+        assertThat(plataforma.contarUsuarios("norte")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("No debería permitir registrar dos clínicas con el mismo identificador")
+    void noDeberiaDuplicarClinicas() {
+        // When & Then
+        assertThatThrownBy(() -> plataforma.registrarClinica(ConfiguracionClinica.porDefecto(" norte ")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Clínica ya registrada: norte");
+    }
+}
@@ -0,0 +1,263 @@
+package com.healthtrack.healthtrack_platform.codec;
+
+import com.healthtrack.healthtrack_platform.evento.EventoUsuario;
+import com.healthtrack.healthtrack_platform.evento.PesoActualizado;
+import com.healthtrack.healthtrack_platform.evento.UsuarioRegistrado;
+import com.healthtrack.healthtrack_platform.model.InstantaneaUsuario;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del codec binario de Usuario
+ */
+@DisplayName("Codec Binario Tests")
+class CodecUsuarioTest {
+
+    private static final LocalDateTime MOMENTO = LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123_456_000);
+
+    @Nested
+    @DisplayName("Usuario Tests")
+    class UsuarioTests {
+
+        @ParameterizedTest
+        @ValueSource(booleans = {false, true})
+        @DisplayName("Debería codificar y decodificar un usuario sin pérdida")
+        void deberiaCodificarYDecodificarUsuario(boolean bufferDirecto) {
+            // Given
+            Usuario original = new Usuario("María José Núñez", 65.75, MOMENTO);
+            ByteBuffer buffer = bufferDirecto ? ByteBuffer.allocateDirect(128) : ByteBuffer.allocate(128);
+
+            // When
+            new CodecUsuario().codificar(original, buffer);
+            buffer.flip();
+            Usuario decodificado = new CodecUsuario().decodificarUsuario(buffer);
+
+            // Then
+            assertThat(decodificado.getNombre()).isEqualTo(original.getNombre());
+            assertThat(decodificado.getPeso()).isEqualTo(65.75);
+            assertThat(decodificado.getUltimaActualizacion()).isEqualTo(MOMENTO);
+            assertThat(buffer.hasRemaining()).isFalse();
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"Ana", "Zoë Ñandú", "李小龙", "Usuario 🏥 Salud"})
+        @DisplayName("Debería preservar nombres con cualquier carácter Unicode")
+        void deberiaPreservarNombresUnicode(String nombre) {
+            // Given
+            ByteBuffer buffer = ByteBuffer.allocateDirect(128);
+            CodecUsuario codec = new CodecUsuario();
+
+            // When
+            codec.codificar(new Usuario(nombre, 70.0), buffer);
+            buffer.flip();
+
+            // Then
+            assertThat(new CodecUsuario().decodificarUsuario(buffer).getNombre()).isEqualTo(nombre);
+        }
+
+        @ParameterizedTest
+        @ValueSource(booleans = {false, true})
+        @DisplayName("Un surrogate sin pareja debería leerse igual que con String.getBytes en ambos buffers")
+        void surrogateSinParejaDeberiaReemplazarse(boolean bufferDirecto) {
+            // Given
+            String nombre = "Ana \uD83C Soto";
+            ByteBuffer buffer = bufferDirecto ? ByteBuffer.allocateDirect(128) : ByteBuffer.allocate(128);
+            CodecUsuario codec = new CodecUsuario();
+            Usuario usuario = new Usuario(nombre, 70.0);
+            int tamano = codec.tamanoCodificado(usuario);
+
+            // When
+            codec.codificar(usuario, buffer);
+            buffer.flip();
+
+            // Then
+            assertThat(buffer.remaining()).isEqualTo(tamano);
+            assertThat(new CodecUsuario().decodificarUsuario(buffer).getNombre())
+                    .isEqualTo(new String(nombre.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8))
+                    .isEqualTo("Ana ? Soto");
+        }
+
+        @Test
+        @DisplayName("El momento debería truncarse a microsegundos")
+        void momentoDeberiaTruncarseAMicrosegundos() {
+            // Given
+            LocalDateTime conNanos = MOMENTO.withNano(123_456_789);
+            ByteBuffer buffer = ByteBuffer.allocate(128);
+
+            // When
+            new CodecUsuario().codificar(new Usuario("Ana", 70.0, conNanos), buffer);
+            buffer.flip();
+            LocalDateTime decodificado = new CodecUsuario().decodificarUsuario(buffer).getUltimaActualizacion();
+
+            // Then
+            assertThat(decodificado).isEqualTo(conNanos.truncatedTo(ChronoUnit.MICROS)).isNotEqualTo(conNanos);
+        }
+
+        @Test
+        @DisplayName("Debería calcular el tamaño exacto de la codificación")
+        void deberiaCalcularTamanoExacto() {
+            // Given
+            CodecUsuario codec = new CodecUsuario();
+            Usuario usuario = new Usuario("Carlos García", 80.0, MOMENTO);
+            ByteBuffer buffer = ByteBuffer.allocate(128);
+
+            // When
+            int tamanoEsperado = codec.tamanoCodificado(usuario);
+            codec.codificar(usuario, buffer);
+
+            // Then
+            assertThat(buffer.position()).isEqualTo(tamanoEsperado);
+            assertThat(tamanoEsperado).isLessThan(30);
+        }
+
+        @Test
+        @DisplayName("Debería conservar la altura y el peso objetivo")
+        void deberiaConservarMedidas() {
+            // Given
+            CodecUsuario codec = new CodecUsuario();
+            Usuario conMedidas = new Usuario("Carlos García", 80.0, MOMENTO);
+            conMedidas.establecerAltura(178);
+            conMedidas.establecerPesoObjetivo(74.5);
+            Usuario soloObjetivo = new Usuario("Ana", 60.0);
+            soloObjetivo.establecerPesoObjetivo(58.0);
+            ByteBuffer buffer = ByteBuffer.allocate(128);
+
+            // When
+            codec.codificar(conMedidas, buffer);
+            int tamanoSegundo = codec.tamanoCodificado(soloObjetivo);
+            int inicioSegundo = buffer.position();
+            codec.codificar(soloObjetivo, buffer);
+            buffer.flip();
+            CodecUsuario lector = new CodecUsuario();
+            Usuario carlos = lector.decodificarUsuario(buffer);
+            Usuario ana = lector.decodificarUsuario(buffer);
+
+            // Then
+            assertThat(buffer.position() - inicioSegundo).isEqualTo(tamanoSegundo);
+            assertThat(carlos.getAlturaCm()).isEqualTo(178);
+            assertThat(carlos.getPesoObjetivo()).isEqualTo(74.5);
+            assertThat(carlos.getUltimaActualizacion()).isEqualTo(MOMENTO);
+            assertThat(carlos.getVersion()).isZero();
+            assertThat(ana.getAlturaCm()).isEqualTo(InstantaneaUsuario.SIN_ALTURA);
+            assertThat(ana.getPesoObjetivo()).isEqualTo(58.0);
+            assertThat(buffer.hasRemaining()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Debería rechazar un tipo de registro desconocido")
+        void deberiaRechazarTipoDesconocido() {
+            ByteBuffer buffer = ByteBuffer.wrap(new byte[]{99});
+
+            assertThatThrownBy(() -> new CodecUsuario().decodificarUsuario(buffer))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Debería rechazar un nombre con longitud negativa o mayor que los bytes restantes")
+        void deberiaRechazarLongitudDeTextoInvalida() {
+            // Given - Longitud -1 como varint de 10 bytes, y 200 bytes anunciados con solo 3 disponibles
+            ByteBuffer negativa = ByteBuffer.wrap(new byte[]{CodecUsuario.TIPO_USUARIO,
+                    -1, -1, -1, -1, -1, -1, -1, -1, -1, 1, 'A', 'n', 'a'});
+            ByteBuffer excedida = ByteBuffer.wrap(new byte[]{CodecUsuario.TIPO_USUARIO,
+                    (byte) 0xC8, 0x01, 'A', 'n', 'a'});
+
+            // When & Then
+            assertThatThrownBy(() -> new CodecUsuario().decodificarUsuario(negativa))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Longitud de texto inválida: -1");
+            assertThatThrownBy(() -> new CodecUsuario().decodificarUsuario(excedida))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Longitud de texto inválida: 200");
+        }
+    }
+
+    @Nested
+    @DisplayName("Eventos Tests")
+    class EventosTests {
+
+        @Test
+        @DisplayName("Debería codificar un flujo de eventos con deltas pequeños")
+        void deberiaCodificarFlujoDeEventos() {
+            // Given
+            List<EventoUsuario> eventos = List.of(
+                    new UsuarioRegistrado(1, "Ana López", 60.0, MOMENTO),
+                    new PesoActualizado(2, "Ana López", 59.4, MOMENTO.plusDays(2)),
+                    new PesoActualizado(3, "Ana López", 58.9, MOMENTO.plusDays(4)));
+            ByteBuffer buffer = ByteBuffer.allocate(256);
+            CodecUsuario codificador = new CodecUsuario();
+
+            // When
+            for (EventoUsuario evento : eventos) {
+                codificador.codificar(evento, buffer);
+            }
+            int bytesTotales = buffer.position();
+            buffer.flip();
+            CodecUsuario decodificador = new CodecUsuario();
+
+            // Then
+            for (EventoUsuario evento : eventos) {
+                assertThat(decodificador.decodificarEvento(buffer)).isEqualTo(evento);
+            }
+            assertThat(bytesTotales).isLessThan(3 * 30);
+        }
+
+        @Test
+        @DisplayName("Debería reiniciar el estado delta entre flujos")
+        void deberiaReiniciarEstadoDelta() {
+            // Given
+            CodecUsuario codec = new CodecUsuario();
+            ByteBuffer primero = ByteBuffer.allocate(64);
+            ByteBuffer segundo = ByteBuffer.allocate(64);
+            EventoUsuario evento = new PesoActualizado(7, "Ana López", 59.4, MOMENTO);
+
+            // When
+            codec.codificar(evento, primero);
+            codec.reiniciar();
+            codec.codificar(evento, segundo);
+
+            // Then
+            assertThat(primero.flip()).isEqualTo(segundo.flip());
+        }
+    }
+
+    @Nested
+    @DisplayName("Formato Binario Tests")
+    class FormatoBinarioTests {
+
+        @ParameterizedTest
+        @ValueSource(longs = {0, 1, -1, 63, -64, 64, Long.MAX_VALUE, Long.MIN_VALUE})
+        @DisplayName("Zigzag debería ser reversible")
+        void zigzagDeberiaSerReversible(long valor) {
+            assertThat(FormatoBinario.deszigzag(FormatoBinario.zigzag(valor))).isEqualTo(valor);
+        }
+
+        @ParameterizedTest
+        @ValueSource(longs = {0, 127, 128, 16_383, 16_384, Long.MAX_VALUE, -1})
+        @DisplayName("Varint debería ocupar el tamaño esperado")
+        void varintDeberiaOcuparTamanoEsperado(long valor) {
+            // Given
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+
+            // When
+            FormatoBinario.escribirVarLong(buffer, valor);
+            int escritos = buffer.position();
+            buffer.flip();
+
+            // Then
+            assertThat(escritos).isEqualTo(FormatoBinario.tamanoVarLong(valor));
+            assertThat(FormatoBinario.leerVarLong(buffer)).isEqualTo(valor);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.healthtrack.healthtrack_platform.difusion;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del difusor de eventos con conexiones simuladas
+ */
+@DisplayName("Difusor Eventos Tests")
+class DifusorEventosTest {
+
+    private static final long ESPERA_SEGUNDOS = 5;
+
+    private final DifusorEventos difusor = new DifusorEventos(
+            new ConfiguracionDifusion(2, 1, Duration.ofMillis(20), Duration.ofMillis(300)));
+
+    @AfterEach
+    void tearDown() {
+        difusor.close();
+    }
+
+    @Nested
+    @DisplayName("Difusión")
+    class DifusionTests {
+
+        @Test
+        @DisplayName("Debería entregar el estado inicial y luego cada evento a todos los dispositivos del usuario")
+        void deberiaEntregarATodosLosDispositivos() throws InterruptedException {
+            // Given
+            ConexionFalsa telefono = new ConexionFalsa();
+            ConexionFalsa tablet = new ConexionFalsa();
+            ConexionFalsa otroUsuario = new ConexionFalsa();
+            difusor.suscribir("Ana", telefono, () -> bytes("inicial"));
+            difusor.suscribir("Ana", tablet, () -> null);
+            difusor.suscribir("Luis", otroUsuario, () -> null);
+            String inicial = telefono.siguiente();
+
+            // When
+            difusor.publicar("Ana", bytes("79.00"));
+
+            // Then
+            assertThat(inicial).isEqualTo("inicial");
+            assertThat(telefono.siguiente()).isEqualTo("79.00");
+            assertThat(tablet.siguiente()).isEqualTo("79.00");
+            assertThat(otroUsuario.recibidos.poll(100, TimeUnit.MILLISECONDS)).isNull();
+            assertThat(difusor.suscripciones()).isEqualTo(3);
+            assertThat(difusor.publicados()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Cerrar la suscripción debería quitarla del registro y cerrar la conexión")
+        void cerrarDeberiaQuitarLaSuscripcion() {
+            // Given
+            ConexionFalsa conexion = new ConexionFalsa();
+            Suscripcion suscripcion = difusor.suscribir("Ana", conexion, () -> null);
+
+            // When
+            suscripcion.close();
+            difusor.publicar("Ana", bytes("79.00"));
+
+            // Then
+            assertThat(difusor.tieneSuscriptores("Ana")).isFalse();
+            assertThat(conexion.cerrada.getCount()).isZero();
+            assertThat(difusor.publicados()).isZero();
+        }
+
+        @Test
+        @DisplayName("Una conexión que falla al escribir debería quitarse del registro")
+        void conexionQueFallaDeberiaQuitarse() throws InterruptedException {
+            // Given
+            ConexionFalsa rota = new ConexionFalsa() {
+                @Override
+                public void enviar(byte[] evento) throws IOException {
+                    throw new IOException("Conexión cerrada por el cliente");
+                }
+            };
+            difusor.suscribir("Ana", rota, () -> null);
+
+            // When
+            difusor.publicar("Ana", bytes("79.00"));
+
+            // Then
+            assertThat(rota.cerrada.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS)).isTrue();
+            assertThat(difusor.tieneSuscriptores("Ana")).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Consumidores lentos")
+    class ConsumidoresLentosTests {
+
+        @Test
+        @DisplayName("Los eventos que llegan durante una escritura deberían fusionarse en el último")
+        void eventosDuranteUnaEscrituraDeberianFusionarse() throws InterruptedException {
+            // Given - La primera escritura queda bloqueada hasta liberar
+            CountDownLatch liberar = new CountDownLatch(1);
+            ConexionFalsa lenta = new ConexionFalsa(liberar);
+            difusor.suscribir("Ana", lenta, () -> null);
+            difusor.publicar("Ana", bytes("v1"));
+            lenta.escribiendo.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+
+            // When
+            difusor.publicar("Ana", bytes("v2"));
+            difusor.publicar("Ana", bytes("v3"));
+            difusor.publicar("Ana", bytes("v4"));
+            liberar.countDown();
+
+            // Then
+            assertThat(lenta.siguiente()).isEqualTo("v1");
+            assertThat(lenta.siguiente()).isEqualTo("v4");
+            assertThat(lenta.recibidos.poll(100, TimeUnit.MILLISECONDS)).isNull();
+            assertThat(difusor.fusionados()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("El estado inicial no debería entregarse después de un evento más nuevo")
+        void estadoInicialNoDeberiaPisarUnEventoNuevo() throws InterruptedException {
+            // Given - Se publica mientras se lee el estado inicial
+            ConexionFalsa conexion = new ConexionFalsa();
+
+            // When
+            difusor.suscribir("Ana", conexion, () -> {
+                difusor.publicar("Ana", bytes("nuevo"));
+                return bytes("inicial leído antes");
+            });
+
+            // Then
+            assertThat(conexion.siguiente()).isEqualTo("nuevo");
+            assertThat(conexion.recibidos.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        }
+
+        @Test
+        @DisplayName("Una conexión trabada debería desconectarse sin bloquear a quien publica ni a otras conexiones")
+        void conexionTrabadaDeberiaDesconectarse() throws InterruptedException {
+            // Given - Una conexión que no acepta nada hasta que se cierra
+            ConexionFalsa trabada = new ConexionFalsa(new CountDownLatch(1));
+            ConexionFalsa normal = new ConexionFalsa();
+            Suscripcion suscripcionTrabada = difusor.suscribir("Ana", trabada, () -> null);
+            difusor.suscribir("Ana", normal, () -> null);
+
+            // When
+            long inicio = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                difusor.publicar("Ana", bytes("v" + i));
+            }
+            long publicarNanos = System.nanoTime() - inicio;
+
+            // Then
+            assertThat(publicarNanos).isLessThan(TimeUnit.MILLISECONDS.toNanos(100));
+            assertThat(trabada.cerrada.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS)).isTrue();
+            assertThat(suscripcionTrabada.estaCerrada()).isTrue();
+            assertThat(difusor.desconectadasLentas()).isEqualTo(1);
+            assertThat(difusor.suscripciones()).isEqualTo(1);
+            String ultimo = null;
+            for (String evento = normal.siguiente(); evento != null; evento = normal.recibidos.poll(200, TimeUnit.MILLISECONDS)) {
+                ultimo = evento;
+            }
+            assertThat(ultimo).isEqualTo("v99");
+        }
+
+        @Test
+        @DisplayName("Las escrituras trabadas en los hilos principales deberían compensarse con hilos extra")
+        void escriturasTrabadasDeberianCompensarse() throws InterruptedException {
+            // Given - Dos conexiones trabadas ocupan los dos hilos de despacho principales
+            ConexionFalsa trabadaAna = new ConexionFalsa(new CountDownLatch(1));
+            ConexionFalsa trabadaLuis = new ConexionFalsa(new CountDownLatch(1));
+            ConexionFalsa normal = new ConexionFalsa();
+            difusor.suscribir("Ana", trabadaAna, () -> null);
+            difusor.suscribir("Luis", trabadaLuis, () -> null);
+            difusor.suscribir("Eva", normal, () -> null);
+            difusor.publicar("Ana", bytes("v1"));
+            difusor.publicar("Luis", bytes("v1"));
+            trabadaAna.escribiendo.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+            trabadaLuis.escribiendo.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+
+            // When
+            long inicio = System.nanoTime();
+            difusor.publicar("Eva", bytes("v1"));
+            String recibido = normal.siguiente();
+            long entregaNanos = System.nanoTime() - inicio;
+
+            // Then - Se entrega antes de que venza el máximo de escritura de las trabadas
+            assertThat(recibido).isEqualTo("v1");
+            assertThat(entregaNanos).isLessThan(TimeUnit.MILLISECONDS.toNanos(200));
+            assertThat(difusor.hilosDespachoActuales()).isGreaterThan(2);
+            assertThat(trabadaAna.cerrada.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS)).isTrue();
+            assertThat(trabadaLuis.cerrada.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Una conexión que tarda en escribir debería pasar a los hilos de conexiones lentas")
+        void conexionQueTardaDeberiaPasarAHilosLentos() throws InterruptedException {
+            // Given - Cada escritura tarda 50 ms, más que el umbral de 20 ms
+            ConexionFalsa lenta = new ConexionFalsa() {
+                @Override
+                public void enviar(byte[] evento) throws IOException {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    super.enviar(evento);
+                }
+            };
+            Suscripcion suscripcion = difusor.suscribir("Ana", lenta, () -> null);
+
+            // When
+            difusor.publicar("Ana", bytes("v1"));
+            String primero = lenta.siguiente();
+            difusor.publicar("Ana", bytes("v2"));
+            String segundo = lenta.siguiente();
+
+            // Then
+            assertThat(primero).isEqualTo("v1");
+            assertThat(segundo).isEqualTo("v2");
+            assertThat(suscripcion.esLenta()).isTrue();
+            assertThat(lenta.hilos.poll()).startsWith("difusion-").doesNotStartWith("difusion-lenta-");
+            assertThat(lenta.hilos.poll()).startsWith("difusion-lenta-");
+            assertThat(suscripcion.estaCerrada()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Latido")
+    class LatidoTests {
+
+        private final DifusorEventos conLatido = new DifusorEventos(new ConfiguracionDifusion(
+                2, 1, Duration.ofMillis(20), Duration.ofMillis(300), Duration.ofMillis(20)));
+
+        @AfterEach
+        void tearDown() {
+            conLatido.close();
+        }
+
+        @Test
+        @DisplayName("Una conexión cortada sin eventos debería quitarse al fallar el latido")
+        void conexionCortadaDeberiaQuitarseConElLatido() throws InterruptedException {
+            // Given
+            ConexionConLatido conexion = new ConexionConLatido();
+            Suscripcion suscripcion = conLatido.suscribir("Ana", conexion, () -> null);
+            assertThat(conexion.siguiente()).isEqualTo(": ping\n\n");
+
+            // When - El cliente desaparece y nadie publica nada
+            conexion.cortada = true;
+
+            // Then
+            assertThat(conexion.cerrada.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS)).isTrue();
+            assertThat(suscripcion.estaCerrada()).isTrue();
+            assertThat(conLatido.tieneSuscriptores("Ana")).isFalse();
+        }
+
+        @Test
+        @DisplayName("El latido no debería reemplazar eventos ni contarse como entrega")
+        void latidoNoDeberiaReemplazarEventos() throws InterruptedException {
+            // Given
+            ConexionConLatido conexion = new ConexionConLatido();
+            conLatido.suscribir("Ana", conexion, () -> null);
+            assertThat(conexion.siguiente()).isEqualTo(": ping\n\n");
+
+            // When
+            conLatido.publicar("Ana", bytes("79.00"));
+
+            // Then
+            String recibido;
+            do {
+                recibido = conexion.siguiente();
+            } while (": ping\n\n".equals(recibido));
+            assertThat(recibido).isEqualTo("79.00");
+            // El siguiente latido sale después de registrar la entrega del evento
+            assertThat(conexion.siguiente()).isEqualTo(": ping\n\n");
+            assertThat(conLatido.entregados()).isEqualTo(1);
+            assertThat(conLatido.fusionados()).isZero();
+        }
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Conexión en memoria; con un candado, la primera escritura espera a que se libere o a
+     * que la conexión se cierre
+     */
+    private static class ConexionFalsa implements ConexionEventos {
+        final BlockingQueue<String> recibidos = new LinkedBlockingQueue<>();
+        final BlockingQueue<String> hilos = new LinkedBlockingQueue<>();
+        final CountDownLatch escribiendo = new CountDownLatch(1);
+        final CountDownLatch cerrada = new CountDownLatch(1);
+        private final CountDownLatch liberar;
+
+        ConexionFalsa() {
+            this(new CountDownLatch(0));
+        }
+
+        ConexionFalsa(CountDownLatch liberar) {
+            this.liberar = liberar;
+        }
+
+        @Override
+        public void enviar(byte[] evento) throws IOException {
+            escribiendo.countDown();
+            try {
+                while (!liberar.await(10, TimeUnit.MILLISECONDS)) {
+                    if (cerrada.getCount() == 0) {
+                        throw new IOException("Conexión cerrada");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrumpida", e);
+            }
+            hilos.add(Thread.currentThread().getName());
+            recibidos.add(new String(evento, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void cerrar() {
+            cerrada.countDown();
+        }
+
+        String siguiente() throws InterruptedException {
+            return recibidos.poll(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Conexión SSE simulada: envía latidos y, una vez cortada, falla al escribir como un
+     * socket cuyo cliente desapareció
+     */
+    private static class ConexionConLatido extends ConexionFalsa {
+        volatile boolean cortada;
+
+        @Override
+        public void enviar(byte[] evento) throws IOException {
+            if (cortada) {
+                throw new IOException("Conexión reiniciada por el cliente");
+            }
+            super.enviar(evento);
+        }
+
+        @Override
+        public byte[] latido() {
+            return bytes(": ping\n\n");
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.healthtrack.healthtrack_platform.evento;
+
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del modo event-sourced de Usuario
+ */
+@DisplayName("Event Sourcing Tests")
+class ProyectorUsuariosTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private AlmacenEventos almacen;
+
+    @BeforeEach
+    void setUp() {
+        almacen = new AlmacenEventos(4);
+    }
+
+    @Nested
+    @DisplayName("Almacén de Eventos Tests")
+    class AlmacenTests {
+
+        @Test
+        @DisplayName("Debería asignar secuencias crecientes a los eventos")
+        void deberiaAsignarSecuenciasCrecientes() {
+            // When
+            UsuarioRegistrado registro = almacen.agregarRegistro("Ana López", 60.0, INICIO);
+            PesoActualizado actualizacion = almacen.agregarActualizacion("Ana López", 58.5, INICIO.plusDays(3));
+
+            // Then
+            assertThat(actualizacion.secuencia()).isGreaterThan(registro.secuencia());
+            assertThat(almacen.totalEventos()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Debería devolver el historial de auditoría de un usuario")
+        void deberiaDevolverHistorialDeUnUsuario() {
+            // Given
+            almacen.agregarRegistro("Ana López", 60.0, INICIO);
+            almacen.agregarRegistro("Carlos García", 80.0, INICIO);
+            almacen.agregarActualizacion("Ana López", 58.5, INICIO.plusDays(3));
+
+            // When
+            List<EventoUsuario> historial = almacen.eventosDe("Ana López");
+
+            // Then
+            assertThat(historial).hasSize(2);
+            assertThat(historial.get(0)).isInstanceOf(UsuarioRegistrado.class);
+            assertThat(historial.get(1)).isInstanceOf(PesoActualizado.class);
+        }
+
+        @Test
+        @DisplayName("Debería notificar a los suscriptores")
+        void deberiaNotificarASuscriptores() {
+            // Given
+            List<EventoUsuario> recibidos = new ArrayList<>();
+            almacen.suscribir(recibidos::add);
+
+            // When
+            almacen.agregarRegistro("Ana López", 60.0, INICIO);
+
+            // Then
+            assertThat(recibidos).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Debería rechazar un número de particiones inválido")
+        void deberiaRechazarParticionesInvalidas() {
+            assertThatThrownBy(() -> new AlmacenEventos(0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Proyector Tests")
+    class ProyectorTests {
+
+        @Test
+        @DisplayName("Debería reconstruir el último peso de cada usuario")
+        void deberiaReconstruirUltimoPeso() {
+            // Given
+            almacen.agregarRegistro("Ana López", 60.0, INICIO);
+            almacen.agregarRegistro("Carlos García", 80.0, INICIO);
+            almacen.agregarActualizacion("Ana López", 58.5, INICIO.plusDays(3));
+            almacen.agregarActualizacion("Ana López", 57.0, INICIO.plusDays(6));
+
+            // When
+            Map<String, Usuario> usuarios = new ProyectorUsuarios(almacen).reconstruir();
+
+            // Then
+            assertThat(usuarios).hasSize(2);
+            assertThat(usuarios.get("Ana López").getPeso()).isEqualTo(57.0);
+            assertThat(usuarios.get("Ana López").getUltimaActualizacion()).isEqualTo(INICIO.plusDays(6));
+            assertThat(usuarios.get("Carlos García").getPeso()).isEqualTo(80.0);
+            assertThat(usuarios.get("Carlos García").getUltimaActualizacion()).isNull();
+        }
+
+        @Test
+        @DisplayName("Debería guardar snapshots periódicos y partir de ellos")
+        void deberiaGuardarSnapshotsPeriodicos() {
+            // Given
+            ProyectorUsuarios proyector = new ProyectorUsuarios(almacen, ForkJoinPool.commonPool(), 5);
+            for (int i = 0; i < 200; i++) {
+                almacen.agregarRegistro("Usuario" + i, 70.0, INICIO);
+            }
+
+            // When
+            Map<String, EstadoUsuario> primera = proyector.proyectar();
+            for (int i = 0; i < 200; i++) {
+                almacen.agregarActualizacion("Usuario" + i, 71.0, INICIO.plusDays(2));
+            }
+            Map<String, EstadoUsuario> segunda = proyector.proyectar();
+
+            // Then
+            assertThat(primera).hasSize(200);
+            assertThat(segunda.values()).allSatisfy(estado -> assertThat(estado.peso()).isEqualTo(71.0));
+            for (int p = 0; p < almacen.numeroParticiones(); p++) {
+                assertThat(almacen.ultimoSnapshot(p)).isNotNull();
+                assertThat(almacen.ultimoSnapshot(p).posicion()).isGreaterThan(0);
+            }
+        }
+
+        @Test
+        @DisplayName("Los snapshots deberían guardar solo los cambios hasta que la cadena supere a la partición")
+        void snapshotsDeberianSerIncrementales() {
+            // Given - Una sola partición con 1000 usuarios, y luego 10 actualizaciones por snapshot
+            AlmacenEventos unaParticion = new AlmacenEventos(1);
+            ProyectorUsuarios proyector = new ProyectorUsuarios(unaParticion, ForkJoinPool.commonPool(), 10);
+            for (int i = 0; i < 1000; i++) {
+                unaParticion.agregarRegistro("Usuario" + i, 70.0, INICIO);
+            }
+            proyector.proyectar();
+            for (int i = 0; i < 50; i++) {
+                unaParticion.agregarActualizacion("Usuario" + i, 71.0, INICIO.plusDays(2));
+            }
+
+            // When
+            Map<String, EstadoUsuario> estados = proyector.proyectar();
+            SnapshotParticion snapshot = unaParticion.ultimoSnapshot(0);
+
+            // Then
+            assertThat(snapshot.posicion()).isEqualTo(1050);
+            assertThat(snapshot.anterior()).isNotNull();
+            assertThat(snapshot.cambios()).hasSize(10);
+            assertThat(snapshot.estadosEnCadena()).isLessThanOrEqualTo(2 * estados.size());
+            assertThat(snapshot.estados()).isEqualTo(estados);
+            assertThat(new ProyectorUsuarios(unaParticion).proyectar()).isEqualTo(estados);
+        }
+
+        @Test
+        @DisplayName("Debería fallar ante una actualización de un usuario no registrado")
+        void deberiaFallarConActualizacionHuerfana() {
+            // Given
+            almacen.agregarActualizacion("Fantasma", 70.0, INICIO);
+
+            // When & Then
+            assertThatThrownBy(() -> new ProyectorUsuarios(almacen).proyectar())
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Modo Event-Sourced Tests")
+    class ModoEventSourcedTests {
+
+        @Test
+        @DisplayName("Debería registrar eventos y reconstruir la misma vista")
+        void deberiaRegistrarEventosYReconstruir() {
+            // Given
+            UsuariosEventSourcing servicio = new UsuariosEventSourcing(almacen);
+            servicio.registrar("María García", 65.0);
+            servicio.actualizarPeso("María García", 63.5);
+
+            // When
+            servicio.reconstruir();
+
+            // Then
+            assertThat(almacen.totalEventos()).isEqualTo(2);
+            assertThat(servicio.buscar("María García"))
+                    .get()
+                    .extracting(Usuario::getPeso)
+                    .isEqualTo(63.5);
+        }
+
+        @Test
+        @DisplayName("Debería aplicar la restricción de 48 horas sin registrar eventos")
+        void deberiaAplicarRestriccion48Horas() {
+            // Given
+            UsuariosEventSourcing servicio = new UsuariosEventSourcing(almacen);
+            servicio.registrar("María García", 65.0);
+            servicio.actualizarPeso("María García", 63.5);
+
+            // When & Then
+            assertThatThrownBy(() -> servicio.actualizarPeso("María García", 62.0))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(almacen.totalEventos()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Debería rechazar usuarios duplicados")
+        void deberiaRechazarUsuariosDuplicados() {
+            // Given
+            UsuariosEventSourcing servicio = new UsuariosEventSourcing(almacen);
+            servicio.registrar("María García", 65.0);
+
+            // When & Then
+            assertThatThrownBy(() -> servicio.registrar("  María García ", 70.0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> servicio.actualizarPeso("Desconocido", 70.0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Las escrituras concurrentes con una reconstrucción no deberían perderse")
+        void escriturasDuranteReconstruccionNoDeberianPerderse() throws Exception {
+            // Given
+            UsuariosEventSourcing servicio = new UsuariosEventSourcing(almacen);
+            int usuarios = 2_000;
+            AtomicBoolean terminado = new AtomicBoolean();
+            AtomicReference<RuntimeException> error = new AtomicReference<>();
+            Thread escritor = new Thread(() -> {
+                try {
+                    for (int i = 0; i < usuarios; i++) {
+                        servicio.registrar("Usuario " + i, 70.0);
+                        servicio.actualizarPeso("Usuario " + i, 69.0);
+                    }
+                } catch (RuntimeException e) {
+                    error.set(e);
+                } finally {
+                    terminado.set(true);
+                }
+            });
+
+            // When
+            escritor.start();
+            int reconstrucciones = 0;
+            while (!terminado.get() || reconstrucciones == 0) {
+                servicio.reconstruir();
+                reconstrucciones++;
+            }
+            escritor.join();
+
+            // Then - La vista viva coincide con los eventos y no acepta otra actualización
+            assertThat(error.get()).isNull();
+            assertThat(servicio.totalUsuarios()).isEqualTo(usuarios);
+            assertThat(almacen.totalEventos()).isEqualTo(2L * usuarios);
+            for (int i = 0; i < usuarios; i++) {
+                String nombre = "Usuario " + i;
+                assertThat(servicio.buscar(nombre)).map(Usuario::getPeso).contains(69.0);
+                assertThatThrownBy(() -> servicio.registrar(nombre, 70.0))
+                        .isInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> servicio.actualizarPeso(nombre, 68.0))
+                        .isInstanceOf(IllegalStateException.class);
+            }
+            assertThat(almacen.totalEventos()).isEqualTo(2L * usuarios);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.healthtrack.healthtrack_platform.functional;
+
+import com.healthtrack.healthtrack_platform.functional.config.TestConfig;
+import com.healthtrack.healthtrack_platform.functional.metricas.ReporteLatenciaUI;
+import com.healthtrack.healthtrack_platform.functional.pages.HealthTrackPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Gate de rendimiento de la interfaz
+ * Repite los flujos principales midiendo en el navegador y falla si el p95 de
+ * alguna métrica supera su presupuesto (ver ReporteLatenciaUI)
+ */
+@DisplayName("HealthTrack UI Latency Gate")
+class LatenciaUIFunctionalTest {
+
+    private static final int ITERACIONES = 20;
+
+    private WebDriver driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = TestConfig.obtenerWebDriver();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestConfig.liberarWebDriver(driver);
+    }
+
+    @Test
+    @DisplayName("El p95 de registro, actualización y carga debería estar dentro del presupuesto")
+    void latenciasDeberianEstarDentroDelPresupuesto() {
+        // Given
+        // Reporte propio: los demás tests funcionales corren en paralelo y alimentan el compartido
+        ReporteLatenciaUI reporte = ReporteLatenciaUI.propio();
+        HealthTrackPage page = new HealthTrackPage(driver, reporte);
+
+        // When
+        for (int i = 0; i < ITERACIONES; i++) {
+            page.navigateTo(TestConfig.getBaseUrl())
+                .registrarUsuario("Usuario Latencia " + i, "80.0")
+                .waitForDashboard()
+                .actualizarPeso(String.valueOf(79.0 + i % 5))
+                .waitForSuccessMessage()
+                .clickNuevoUsuario();
+        }
+        reporte.escribir(ReporteLatenciaUI.directorioPorDefecto().resolve("gate"));
+
+        // Then
+        assertThat(reporte.resumenes())
+                .describedAs("La página debería exponer medidas para cada acción")
+                .containsKeys("accion.registrarUsuario", "accion.actualizarPeso", "accion.nuevoUsuario");
+        List<String> violaciones = reporte.verificarPresupuestos();
+        assertThat(violaciones)
+                .describedAs("Regresiones de latencia de UI:%n%s", String.join(System.lineSeparator(), violaciones))
+                .isEmpty();
+    }
+}
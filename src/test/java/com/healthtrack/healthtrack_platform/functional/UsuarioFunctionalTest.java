@@ -1,12 +1,12 @@
 package com.healthtrack.healthtrack_platform.functional;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.healthtrack.healthtrack_platform.functional.config.TestConfig;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
@@ -18,13 +18,14 @@ import static org.assertj.core.api.Assertions.*;
 /**
  * Tests funcionales para la plataforma HealthTrack usando Selenium
  * Simula el comportamiento real del usuario en la interfaz web
+ * Cada test toma su propio navegador del pool, por lo que pueden ejecutarse en paralelo
  */
 @DisplayName("HealthTrack Functional Tests")
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Execution(ExecutionMode.CONCURRENT)
 class UsuarioFunctionalTest {
 
-    private static WebDriver driver;
-    private static WebDriverWait wait;
+    private WebDriver driver;
+    private WebDriverWait wait;
     private static String baseUrl;
 
     // Selectores CSS para elementos de la página
@@ -45,22 +46,8 @@ class UsuarioFunctionalTest {
 
     @BeforeAll
     static void setupClass() {
-        // Configurar WebDriverManager para gestión automática de drivers
-        WebDriverManager.chromedriver().setup();
-        
-        // Configurar opciones de Chrome para tests
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless"); // Ejecutar sin interfaz gráfica en CI
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--window-size=1920,1080");
-        
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        
         // Configurar URL base (archivo local)
-        File htmlFile = new File("src/test/resources/index.html");
+        File htmlFile = new File("src/main/resources/estaticos/index.html");
         if (htmlFile.exists()) {
             baseUrl = "file://" + htmlFile.getAbsolutePath();
         } else {
@@ -69,15 +56,11 @@ class UsuarioFunctionalTest {
         }
     }
 
-    @AfterAll
-    static void tearDownClass() {
-        if (driver != null) {
-            driver.quit();
-        }
-    }
-
     @BeforeEach
     void setUp() {
+        // Navegador del pool compartido (ver TestConfig para opciones y tamaño)
+        driver = TestConfig.obtenerWebDriver();
+        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         driver.get(baseUrl);
         waitForPageLoad();
     }
@@ -92,13 +75,14 @@ class UsuarioFunctionalTest {
             }
         } catch (Exception e) {
             // Ignorar errores de limpieza
+        } finally {
+            TestConfig.liberarWebDriver(driver);
         }
     }
 
     // =================== TESTS DE REGISTRO ===================
 
     @Test
-    @Order(1)
     @DisplayName("Debería cargar la página principal correctamente")
     void deberiaCargarPaginaPrincipalCorrectamente() {
         // Then
@@ -109,7 +93,6 @@ class UsuarioFunctionalTest {
     }
 
     @Test
-    @Order(2)
     @DisplayName("Debería registrar usuario con datos válidos")
     void deberiaRegistrarUsuarioConDatosValidos() {
         // Given
@@ -160,7 +143,6 @@ class UsuarioFunctionalTest {
     // =================== TESTS DE ACTUALIZACIÓN DE PESO ===================
 
     @Test
-    @Order(3)
     @DisplayName("Debería actualizar peso correctamente (FIX del bug)")
     void deberiaActualizarPesoCorrectamente() {
         // Given - Registrar usuario primero
@@ -180,7 +162,6 @@ class UsuarioFunctionalTest {
     }
 
     @Test
-    @Order(4)
     @DisplayName("Debería detectar el bug original de restar 1kg")
     void deberiaDetectarBugOriginalDeRestar1kg() {
         // Given
@@ -233,7 +214,6 @@ class UsuarioFunctionalTest {
     // =================== TESTS DE INTERFAZ DE USUARIO ===================
 
     @Test
-    @Order(5)
     @DisplayName("Debería permitir registro usando tecla Enter")
     void deberiaPermitirRegistroUsandoTeclaEnter() {
         // Given
@@ -250,7 +230,6 @@ class UsuarioFunctionalTest {
     }
 
     @Test
-    @Order(6)
     @DisplayName("Debería permitir actualización usando tecla Enter")
     void deberiaPermitirActualizacionUsandoTeclaEnter() {
         // Given
@@ -268,7 +247,6 @@ class UsuarioFunctionalTest {
     }
 
     @Test
-    @Order(7)
     @DisplayName("Debería limpiar formulario al crear nuevo usuario")
     void deberiaLimpiarFormularioAlCrearNuevoUsuario() {
         // Given
@@ -289,7 +267,6 @@ class UsuarioFunctionalTest {
     // =================== TESTS DE VALIDACIÓN DE MENSAJES ===================
 
     @Test
-    @Order(8)
     @DisplayName("Debería mostrar mensaje de bienvenida al registrar")
     void deberiaMostrarMensajeBienvenidaAlRegistrar() {
         // Given & When
@@ -304,7 +281,6 @@ class UsuarioFunctionalTest {
     }
 
     @Test
-    @Order(9)
     @DisplayName("Debería mostrar diferencia de peso al actualizar")
     void deberiaMostrarDiferenciaPesoAlActualizar() {
         // Given
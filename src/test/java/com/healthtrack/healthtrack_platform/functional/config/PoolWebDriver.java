@@ -0,0 +1,125 @@
+package com.healthtrack.healthtrack_platform.functional.config;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Pool thread-safe de instancias de WebDriver para tests funcionales en paralelo
+ * Los navegadores se crean bajo demanda hasta el tamaño máximo y se reutilizan
+ * entre tests (y entre clases de test), limpiando su estado al devolverlos
+ */
+public class PoolWebDriver {
+
+    private static final String PAGINA_EN_BLANCO = "about:blank";
+
+    private final Supplier<WebDriver> fabrica;
+    private final Semaphore permisos;
+    private final LinkedBlockingDeque<WebDriver> disponibles = new LinkedBlockingDeque<>();
+    private final Set<WebDriver> creados = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final int tamanoMaximo;
+
+    /**
+     * @param tamanoMaximo Número máximo de navegadores abiertos a la vez
+     * @param fabrica Función que crea un nuevo navegador
+     */
+    public PoolWebDriver(int tamanoMaximo, Supplier<WebDriver> fabrica) {
+        if (tamanoMaximo <= 0) {
+            throw new IllegalArgumentException("El tamaño del pool debe ser mayor a 0");
+        }
+        this.tamanoMaximo = tamanoMaximo;
+        this.fabrica = fabrica;
+        this.permisos = new Semaphore(tamanoMaximo, true);
+    }
+
+    /**
+     * Obtiene un navegador del pool, esperando si todos están en uso
+     */
+    public WebDriver obtener() {
+        permisos.acquireUninterruptibly();
+        try {
+            // LIFO: el navegador usado más recientemente tiene las cachés más calientes
+            WebDriver driver = disponibles.pollFirst();
+            if (driver == null) {
+                driver = fabrica.get();
+                creados.add(driver);
+            }
+            return driver;
+        } catch (RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Devuelve un navegador al pool tras limpiar su estado
+     * Si la limpieza falla el navegador se descarta y se creará otro cuando haga falta
+     */
+    public void liberar(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            if (reiniciarEstado(driver)) {
+                disponibles.offerFirst(driver);
+            } else {
+                descartar(driver);
+            }
+        } finally {
+            permisos.release();
+        }
+    }
+
+    /**
+     * Cierra todos los navegadores creados por el pool
+     */
+    public void cerrarTodos() {
+        for (WebDriver driver : creados) {
+            descartar(driver);
+        }
+        disponibles.clear();
+    }
+
+    public int getTamanoMaximo() {
+        return tamanoMaximo;
+    }
+
+    /**
+     * Número de navegadores abiertos actualmente
+     */
+    public int getNavegadoresAbiertos() {
+        return creados.size();
+    }
+
+    private boolean reiniciarEstado(WebDriver driver) {
+        try {
+            driver.manage().deleteAllCookies();
+            if (driver instanceof JavascriptExecutor js) {
+                try {
+                    js.executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+                } catch (RuntimeException e) {
+                    // Las páginas file:// pueden no exponer almacenamiento; no hay nada que limpiar
+                }
+            }
+            driver.get(PAGINA_EN_BLANCO);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void descartar(WebDriver driver) {
+        creados.remove(driver);
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            // El navegador ya no responde; no hay nada más que cerrar
+        }
+    }
+}
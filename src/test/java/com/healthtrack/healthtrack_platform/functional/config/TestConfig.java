@@ -19,6 +19,54 @@ public class TestConfig {
     public static final Duration LONG_TIMEOUT = Duration.ofSeconds(30);
     public static final String BROWSER_PROPERTY = "test.browser";
     public static final String HEADLESS_PROPERTY = "test.headless";
+    public static final String POOL_SIZE_PROPERTY = "test.browser.pool.size";
+    
+    private static volatile PoolWebDriver pool;
+    
+    /**
+     * Obtiene un WebDriver del pool compartido, reutilizando navegadores ya abiertos
+     * Debe devolverse con {@link #liberarWebDriver(WebDriver)} al terminar cada test
+     */
+    public static WebDriver obtenerWebDriver() {
+        return getPool().obtener();
+    }
+    
+    /**
+     * Devuelve un WebDriver al pool compartido limpiando su estado
+     */
+    public static void liberarWebDriver(WebDriver driver) {
+        getPool().liberar(driver);
+    }
+    
+    /**
+     * Pool compartido por todas las clases de test de la JVM
+     * Los navegadores se cierran al terminar la JVM
+     */
+    public static PoolWebDriver getPool() {
+        PoolWebDriver actual = pool;
+        if (actual == null) {
+            synchronized (TestConfig.class) {
+                actual = pool;
+                if (actual == null) {
+                    actual = new PoolWebDriver(getPoolSize(), TestConfig::createWebDriver);
+                    Runtime.getRuntime().addShutdownHook(new Thread(actual::cerrarTodos, "cierre-pool-webdriver"));
+                    pool = actual;
+                }
+            }
+        }
+        return actual;
+    }
+    
+    /**
+     * Número máximo de navegadores simultáneos (por defecto, uno por núcleo hasta 4)
+     */
+    public static int getPoolSize() {
+        String valor = System.getProperty(POOL_SIZE_PROPERTY, "");
+        if (valor.isBlank()) {
+            return Math.min(4, Runtime.getRuntime().availableProcessors());
+        }
+        return Integer.parseInt(valor.trim());
+    }
     
     /**
      * Crea una instancia de WebDriver basada en las propiedades del sistema
@@ -102,7 +150,7 @@ public class TestConfig {
         
         // URL por defecto para archivo local
         String userDir = System.getProperty("user.dir");
-        return "file://" + userDir + "/src/test/resources/index.html";
+        return "file://" + userDir + "/src/main/resources/estaticos/index.html";
     }
     
     /**
@@ -0,0 +1,109 @@
+package com.healthtrack.healthtrack_platform.functional.metricas;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Captura métricas de rendimiento del lado del navegador
+ * Lee Navigation Timing, Paint Timing y las medidas performance.measure que
+ * index.html registra para cada acción del usuario
+ */
+public class MetricasNavegador {
+
+    public static final String METRICAS_PROPERTY = "test.ui.metricas";
+
+    private static final long ESPERA_MAXIMA_MS = 1000;
+
+    private static final String SCRIPT_NAVEGACION =
+            "const listo = arguments[arguments.length - 1];"
+            + "const limite = Date.now() + arguments[0];"
+            + "(function esperar() {"
+            + "  const nav = performance.getEntriesByType('navigation')[0];"
+            + "  const fcp = performance.getEntriesByName('first-contentful-paint')[0];"
+            + "  if ((nav && nav.loadEventEnd > 0 && fcp) || Date.now() > limite) {"
+            + "    const r = {};"
+            + "    if (nav) {"
+            + "      r['navegacion.responseEnd'] = nav.responseEnd;"
+            + "      r['navegacion.domContentLoaded'] = nav.domContentLoadedEventEnd;"
+            + "      r['navegacion.load'] = nav.loadEventEnd;"
+            + "    }"
+            + "    performance.getEntriesByType('paint').forEach(p => r['pintura.' + p.name] = p.startTime);"
+            + "    listo(r);"
+            + "  } else {"
+            + "    setTimeout(esperar, 10);"
+            + "  }"
+            + "})();";
+
+    private static final String SCRIPT_MEDIDAS =
+            "const accion = arguments[0];"
+            + "const listo = arguments[arguments.length - 1];"
+            + "const limite = Date.now() + arguments[1];"
+            + "(function esperar() {"
+            + "  const medidas = performance.getEntriesByName(accion, 'measure');"
+            + "  if (medidas.length > 0 || Date.now() > limite) {"
+            + "    performance.clearMeasures(accion);"
+            + "    performance.clearMarks(accion + ':inicio');"
+            + "    performance.clearMarks(accion + ':fin');"
+            + "    listo(medidas.map(m => m.duration));"
+            + "  } else {"
+            + "    setTimeout(esperar, 10);"
+            + "  }"
+            + "})();";
+
+    private final WebDriver driver;
+    private final ReporteLatenciaUI reporte;
+    private final boolean habilitado;
+
+    public MetricasNavegador(WebDriver driver, ReporteLatenciaUI reporte) {
+        this.driver = driver;
+        this.reporte = reporte;
+        this.habilitado = driver instanceof JavascriptExecutor
+                && Boolean.parseBoolean(System.getProperty(METRICAS_PROPERTY, "true"));
+    }
+
+    /**
+     * Registra las métricas de navegación y pintura de la página recién cargada
+     */
+    public void capturarCargaPagina() {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            Object resultado = ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT_NAVEGACION, ESPERA_MAXIMA_MS);
+            if (resultado instanceof Map<?, ?> metricas) {
+                metricas.forEach((nombre, valor) -> {
+                    if (valor instanceof Number numero && numero.doubleValue() > 0) {
+                        reporte.registrar(nombre.toString(), numero.doubleValue());
+                    }
+                });
+            }
+        } catch (WebDriverException e) {
+            // La instrumentación nunca debe hacer fallar un test funcional
+        }
+    }
+
+    /**
+     * Registra la duración de una acción medida en la página con performance.measure
+     * @param accion Nombre de la medida (registrarUsuario, actualizarPeso, nuevoUsuario)
+     */
+    public void capturarAccion(String accion) {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            Object resultado = ((JavascriptExecutor) driver)
+                    .executeAsyncScript(SCRIPT_MEDIDAS, accion, ESPERA_MAXIMA_MS);
+            if (resultado instanceof List<?> duraciones) {
+                for (Object duracion : duraciones) {
+                    reporte.registrar("accion." + accion, ((Number) duracion).doubleValue());
+                }
+            }
+        } catch (WebDriverException e) {
+            // La instrumentación nunca debe hacer fallar un test funcional
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.healthtrack.healthtrack_platform.functional.metricas;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reporte de latencias de la interfaz acumulado durante una ejecución de tests
+ * Agrupa las muestras por métrica, calcula percentiles y compara el p95 con
+ * presupuestos configurables para que una regresión de UI haga fallar el build
+ *
+ * Los presupuestos se pueden sobrescribir con -Dtest.ui.presupuesto.&lt;metrica&gt;=ms,
+ * por ejemplo -Dtest.ui.presupuesto.accion.registrarUsuario=150
+ */
+public class ReporteLatenciaUI {
+
+    public static final String DIRECTORIO_PROPERTY = "test.ui.reporte.dir";
+    public static final String PRESUPUESTO_PREFIX = "test.ui.presupuesto.";
+
+    private static final Map<String, Double> PRESUPUESTOS_P95_MS = Map.of(
+            "accion.registrarUsuario", 250.0,
+            "accion.actualizarPeso", 250.0,
+            "accion.nuevoUsuario", 250.0,
+            "navegacion.domContentLoaded", 2000.0,
+            "navegacion.load", 3000.0,
+            "pintura.first-contentful-paint", 2000.0);
+
+    private static final ReporteLatenciaUI INSTANCIA = crearInstanciaGlobal();
+
+    private final Map<String, List<Double>> muestras = new ConcurrentHashMap<>();
+    private final ReporteLatenciaUI resumenGlobal;
+
+    public ReporteLatenciaUI() {
+        this(null);
+    }
+
+    /**
+     * @param resumenGlobal Reporte que además recibe cada muestra, o null
+     */
+    public ReporteLatenciaUI(ReporteLatenciaUI resumenGlobal) {
+        this.resumenGlobal = resumenGlobal;
+    }
+
+    /**
+     * Reporte propio de un test: sus percentiles solo incluyen las muestras de ese test, y
+     * cada muestra se copia al reporte compartido para el resumen de la ejecución
+     * Un gate debe verificar presupuestos sobre un reporte propio, porque los demás tests
+     * funcionales alimentan el compartido en paralelo
+     */
+    public static ReporteLatenciaUI propio() {
+        return new ReporteLatenciaUI(INSTANCIA);
+    }
+
+    /**
+     * Reporte compartido por todos los tests de la ejecución
+     * Se escribe en disco automáticamente al terminar la JVM
+     */
+    public static ReporteLatenciaUI getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Agrega una muestra en milisegundos a la métrica indicada
+     */
+    public void registrar(String metrica, double milisegundos) {
+        List<Double> lista = muestras.computeIfAbsent(metrica, m -> new ArrayList<>());
+        synchronized (lista) {
+            lista.add(milisegundos);
+        }
+        if (resumenGlobal != null) {
+            resumenGlobal.registrar(metrica, milisegundos);
+        }
+    }
+
+    /**
+     * Calcula el resumen estadístico de cada métrica registrada
+     */
+    public Map<String, Resumen> resumenes() {
+        Map<String, Resumen> resultado = new TreeMap<>();
+        muestras.forEach((metrica, lista) -> {
+            double[] valores;
+            synchronized (lista) {
+                valores = lista.stream().mapToDouble(Double::doubleValue).toArray();
+            }
+            if (valores.length > 0) {
+                resultado.put(metrica, Resumen.de(valores));
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Compara el p95 de cada métrica con su presupuesto
+     * @return Descripción de cada presupuesto superado; vacía si no hay regresiones
+     */
+    public List<String> verificarPresupuestos() {
+        List<String> violaciones = new ArrayList<>();
+        resumenes().forEach((metrica, resumen) -> {
+            Double presupuesto = presupuesto(metrica);
+            if (presupuesto != null && resumen.p95() > presupuesto) {
+                violaciones.add(String.format(Locale.ROOT, "%s: p95=%.1f ms supera el presupuesto de %.1f ms (n=%d)",
+                        metrica, resumen.p95(), presupuesto, resumen.muestras()));
+            }
+        });
+        return violaciones;
+    }
+
+    /**
+     * Presupuesto de p95 en milisegundos para una métrica, o null si no tiene
+     */
+    public static Double presupuesto(String metrica) {
+        String configurado = System.getProperty(PRESUPUESTO_PREFIX + metrica);
+        if (configurado != null && !configurado.isBlank()) {
+            return Double.parseDouble(configurado.trim());
+        }
+        return PRESUPUESTOS_P95_MS.get(metrica);
+    }
+
+    /**
+     * Escribe el reporte en formato JSON y texto en el directorio indicado
+     */
+    public void escribir(Path directorio) {
+        Map<String, Resumen> resumenes = resumenes();
+        if (resumenes.isEmpty()) {
+            return;
+        }
+        StringBuilder json = new StringBuilder("{\n");
+        StringBuilder texto = new StringBuilder(String.format(Locale.ROOT,
+                "%-34s %6s %9s %9s %9s %9s %9s %11s%n", "Métrica", "n", "p50", "p90", "p95", "p99", "máx", "presupuesto"));
+        int i = 0;
+        for (Map.Entry<String, Resumen> entrada : resumenes.entrySet()) {
+            Resumen r = entrada.getValue();
+            Double presupuesto = presupuesto(entrada.getKey());
+            json.append(String.format(Locale.ROOT,
+                    "  \"%s\": {\"n\": %d, \"p50\": %.2f, \"p90\": %.2f, \"p95\": %.2f, \"p99\": %.2f, \"max\": %.2f, \"presupuestoP95\": %s}%s%n",
+                    entrada.getKey(), r.muestras(), r.p50(), r.p90(), r.p95(), r.p99(), r.maximo(),
+                    presupuesto == null ? "null" : String.format(Locale.ROOT, "%.1f", presupuesto),
+                    ++i < resumenes.size() ? "," : ""));
+            texto.append(String.format(Locale.ROOT, "%-34s %6d %9.1f %9.1f %9.1f %9.1f %9.1f %11s%n",
+                    entrada.getKey(), r.muestras(), r.p50(), r.p90(), r.p95(), r.p99(), r.maximo(),
+                    presupuesto == null ? "-" : String.format(Locale.ROOT, "%.1f", presupuesto)));
+        }
+        json.append("}\n");
+        try {
+            Files.createDirectories(directorio);
+            Files.writeString(directorio.resolve("ui-latency-report.json"), json, StandardCharsets.UTF_8);
+            Files.writeString(directorio.resolve("ui-latency-report.txt"), texto, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el reporte de latencia de UI", e);
+        }
+    }
+
+    public static Path directorioPorDefecto() {
+        return Path.of(System.getProperty(DIRECTORIO_PROPERTY, "target/ui-latency"));
+    }
+
+    private static ReporteLatenciaUI crearInstanciaGlobal() {
+        ReporteLatenciaUI reporte = new ReporteLatenciaUI();
+        Runtime.getRuntime().addShutdownHook(new Thread(
+                () -> reporte.escribir(directorioPorDefecto()), "reporte-latencia-ui"));
+        return reporte;
+    }
+
+    /**
+     * Resumen de percentiles de una métrica (método nearest-rank)
+     */
+    public record Resumen(int muestras, double p50, double p90, double p95, double p99, double maximo) {
+
+        static Resumen de(double[] valores) {
+            double[] ordenados = valores.clone();
+            Arrays.sort(ordenados);
+            return new Resumen(ordenados.length, percentil(ordenados, 50), percentil(ordenados, 90),
+                    percentil(ordenados, 95), percentil(ordenados, 99), ordenados[ordenados.length - 1]);
+        }
+
+        static double percentil(double[] ordenados, double percentil) {
+            int rango = (int) Math.ceil(percentil / 100.0 * ordenados.length);
+            return ordenados[Math.max(0, rango - 1)];
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.healthtrack.healthtrack_platform.functional.metricas;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del reporte de latencias de UI
+ */
+@DisplayName("Reporte Latencia UI Tests")
+class ReporteLatenciaUITest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(ReporteLatenciaUI.PRESUPUESTO_PREFIX + "accion.registrarUsuario");
+    }
+
+    @Test
+    @DisplayName("Debería calcular percentiles por métrica")
+    void deberiaCalcularPercentiles() {
+        // Given
+        ReporteLatenciaUI reporte = new ReporteLatenciaUI();
+        for (int i = 1; i <= 100; i++) {
+            reporte.registrar("accion.actualizarPeso", i);
+        }
+
+        // When
+        ReporteLatenciaUI.Resumen resumen = reporte.resumenes().get("accion.actualizarPeso");
+
+        // Then
+        assertThat(resumen.muestras()).isEqualTo(100);
+        assertThat(resumen.p50()).isEqualTo(50.0);
+        assertThat(resumen.p95()).isEqualTo(95.0);
+        assertThat(resumen.p99()).isEqualTo(99.0);
+        assertThat(resumen.maximo()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("Un reporte propio debería copiar sus muestras al global sin recibir las de otros")
+    void reportePropioDeberiaCopiarAlGlobal() {
+        // Given
+        ReporteLatenciaUI global = new ReporteLatenciaUI();
+        ReporteLatenciaUI propio = new ReporteLatenciaUI(global);
+
+        // When
+        propio.registrar("accion.actualizarPeso", 10);
+        global.registrar("accion.actualizarPeso", 900);
+
+        // Then
+        assertThat(propio.resumenes().get("accion.actualizarPeso").muestras()).isEqualTo(1);
+        assertThat(propio.resumenes().get("accion.actualizarPeso").maximo()).isEqualTo(10.0);
+        assertThat(global.resumenes().get("accion.actualizarPeso").muestras()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debería reportar las métricas que superan su presupuesto")
+    void deberiaReportarPresupuestosSuperados() {
+        // Given
+        System.setProperty(ReporteLatenciaUI.PRESUPUESTO_PREFIX + "accion.registrarUsuario", "10");
+        ReporteLatenciaUI reporte = new ReporteLatenciaUI();
+        reporte.registrar("accion.registrarUsuario", 25.0);
+        reporte.registrar("accion.actualizarPeso", 5.0);
+        reporte.registrar("metrica.sin.presupuesto", 99_999.0);
+
+        // When & Then
+        assertThat(reporte.verificarPresupuestos())
+                .singleElement()
+                .asString()
+                .startsWith("accion.registrarUsuario");
+    }
+
+    @Test
+    @DisplayName("Debería escribir el reporte en JSON y texto")
+    void deberiaEscribirReporte(@TempDir Path directorio) throws IOException {
+        // Given
+        ReporteLatenciaUI reporte = new ReporteLatenciaUI();
+        reporte.registrar("pintura.first-contentful-paint", 120.5);
+
+        // When
+        reporte.escribir(directorio);
+
+        // Then
+        assertThat(Files.readString(directorio.resolve("ui-latency-report.json")))
+                .contains("\"pintura.first-contentful-paint\"")
+                .contains("\"p95\": 120.50");
+        assertThat(directorio.resolve("ui-latency-report.txt")).exists();
+    }
+}
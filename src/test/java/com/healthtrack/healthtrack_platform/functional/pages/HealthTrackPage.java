@@ -1,5 +1,7 @@
 package com.healthtrack.healthtrack_platform.functional.pages;
 
+import com.healthtrack.healthtrack_platform.functional.metricas.MetricasNavegador;
+import com.healthtrack.healthtrack_platform.functional.metricas.ReporteLatenciaUI;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.PageFactory;
@@ -11,11 +13,13 @@ import java.time.Duration;
 /**
  * Page Object Model para la página principal de HealthTrack
  * Encapsula la interacción con los elementos de la interfaz
+ * Tras cada acción registra su latencia medida en el navegador en el reporte de UI
  */
 public class HealthTrackPage {
     
     private final WebDriver driver;
     private final WebDriverWait wait;
+    private final MetricasNavegador metricas;
     
     // ===== ELEMENTOS DE REGISTRO =====
     @FindBy(css = "#nombre")
@@ -67,8 +71,13 @@ public class HealthTrackPage {
     private WebElement pageTitle;
     
     public HealthTrackPage(WebDriver driver) {
+        this(driver, ReporteLatenciaUI.getInstancia());
+    }
+    
+    public HealthTrackPage(WebDriver driver, ReporteLatenciaUI reporte) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.metricas = new MetricasNavegador(driver, reporte);
         PageFactory.initElements(driver, this);
     }
     
@@ -80,6 +89,7 @@ public class HealthTrackPage {
     public HealthTrackPage navigateTo(String url) {
         driver.get(url);
         waitForPageLoad();
+        metricas.capturarCargaPagina();
         return this;
     }
     
@@ -105,6 +115,7 @@ public class HealthTrackPage {
         pesoInicialInput.sendKeys(peso);
         
         btnRegistrar.click();
+        metricas.capturarAccion("registrarUsuario");
         return this;
     }
     
@@ -119,6 +130,7 @@ public class HealthTrackPage {
         pesoInicialInput.clear();
         pesoInicialInput.sendKeys(peso);
         pesoInicialInput.sendKeys(Keys.ENTER);
+        metricas.capturarAccion("registrarUsuario");
         
         return this;
     }
@@ -133,6 +145,7 @@ public class HealthTrackPage {
         nuevoPesoInput.clear();
         nuevoPesoInput.sendKeys(peso);
         btnActualizar.click();
+        metricas.capturarAccion("actualizarPeso");
         return this;
     }
     
@@ -144,6 +157,7 @@ public class HealthTrackPage {
         nuevoPesoInput.clear();
         nuevoPesoInput.sendKeys(peso);
         nuevoPesoInput.sendKeys(Keys.ENTER);
+        metricas.capturarAccion("actualizarPeso");
         return this;
     }
     
@@ -155,6 +169,7 @@ public class HealthTrackPage {
     public HealthTrackPage clickNuevoUsuario() {
         btnNuevoUsuario.click();
         waitForElement(registrationForm);
+        metricas.capturarAccion("nuevoUsuario");
         return this;
     }
     
@@ -0,0 +1,185 @@
+package com.healthtrack.healthtrack_platform.historial;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del historial de peso comprimido
+ */
+@DisplayName("Historial de Peso Comprimido Tests")
+class HistorialPesoTest {
+
+    private static final long INICIO = LocalDateTime.of(2015, 1, 1, 7, 0).toEpochSecond(ZoneOffset.UTC);
+
+    @Nested
+    @DisplayName("Bloque Tests")
+    class BloqueTests {
+
+        @Test
+        @DisplayName("Debería decodificar exactamente los puntos agregados")
+        void deberiaDecodificarPuntosAgregados() {
+            // Given
+            BloqueHistorialPeso bloque = new BloqueHistorialPeso(16);
+            long[] momentos = {INICIO, INICIO + 86_400, INICIO + 172_800, INICIO + 172_800, INICIO + 400_000};
+            double[] pesos = {80.0, 79.8, 79.8, 81.25, 0.0};
+
+            // When
+            for (int i = 0; i < momentos.length; i++) {
+                assertThat(bloque.agregar(momentos[i], pesos[i])).isTrue();
+            }
+
+            // Then
+            CursorHistorial cursor = bloque.cursor();
+            for (int i = 0; i < momentos.length; i++) {
+                assertThat(cursor.siguiente()).isTrue();
+                assertThat(cursor.momento()).isEqualTo(momentos[i]);
+                assertThat(cursor.peso()).isEqualTo(pesos[i]);
+            }
+            assertThat(cursor.siguiente()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Debería soportar saltos de tiempo muy grandes")
+        void deberiaSoportarSaltosGrandes() {
+            // Given
+            BloqueHistorialPeso bloque = new BloqueHistorialPeso(8);
+            bloque.agregar(0, 70.0);
+            bloque.agregar(10, 70.1);
+            bloque.agregar(Long.MAX_VALUE / 2, 70.2);
+
+            // When
+            CursorHistorial cursor = bloque.cursor();
+            cursor.siguiente();
+            cursor.siguiente();
+            cursor.siguiente();
+
+            // Then
+            assertThat(cursor.momento()).isEqualTo(Long.MAX_VALUE / 2);
+            assertThat(cursor.pesoDecagramos()).isEqualTo(7020);
+        }
+
+        @Test
+        @DisplayName("Debería rechazar puntos cuando está lleno")
+        void deberiaRechazarCuandoEstaLleno() {
+            // Given
+            BloqueHistorialPeso bloque = new BloqueHistorialPeso(2);
+            bloque.agregar(INICIO, 70.0);
+            bloque.agregar(INICIO + 1, 70.0);
+
+            // When & Then
+            assertThat(bloque.estaLleno()).isTrue();
+            assertThat(bloque.agregar(INICIO + 2, 70.0)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Debería rechazar pesos negativos y lecturas fuera de orden")
+        void deberiaRechazarDatosInvalidos() {
+            // Given
+            BloqueHistorialPeso bloque = new BloqueHistorialPeso(4);
+            bloque.agregar(INICIO, 70.0);
+
+            // When & Then
+            assertThatThrownBy(() -> bloque.agregar(INICIO + 1, -1.0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> bloque.agregar(INICIO - 1, 70.0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Historial Tests")
+    class HistorialTests {
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 7, 128, 1024})
+        @DisplayName("Debería reproducir una serie larga a través de varios bloques")
+        void deberiaReproducirSerieLarga(int capacidadBloque) {
+            // Given
+            HistorialPeso historial = new HistorialPeso(capacidadBloque);
+            Random random = new Random(42);
+            int lecturas = 3_000;
+            long[] momentos = new long[lecturas];
+            double[] pesos = new double[lecturas];
+            long momento = INICIO;
+            double peso = 85.0;
+            for (int i = 0; i < lecturas; i++) {
+                momento += 86_400 + random.nextInt(7_200) - 3_600;
+                peso = Math.round((peso + (random.nextInt(7) - 3) * 0.1) * 10) / 10.0;
+                momentos[i] = momento;
+                pesos[i] = peso;
+                historial.agregar(momento, peso);
+            }
+
+            // When
+            CursorHistorial cursor = historial.cursor();
+
+            // Then
+            for (int i = 0; i < lecturas; i++) {
+                assertThat(cursor.siguiente()).isTrue();
+                assertThat(cursor.momento()).isEqualTo(momentos[i]);
+                assertThat(cursor.peso()).isEqualTo(pesos[i]);
+            }
+            assertThat(cursor.siguiente()).isFalse();
+            assertThat(historial.totalLecturas()).isEqualTo(lecturas);
+            assertThat(historial.totalBloques()).isEqualTo((lecturas + capacidadBloque - 1) / capacidadBloque);
+        }
+
+        @Test
+        @DisplayName("El cursor solo debería ver las lecturas previas a su creación")
+        void cursorDeberiaVerLecturasPrevias() {
+            // Given
+            HistorialPeso historial = new HistorialPeso(4);
+            historial.agregar(LocalDateTime.of(2024, 1, 1, 8, 0), 70.0);
+            historial.agregar(LocalDateTime.of(2024, 1, 3, 8, 0), 69.5);
+            CursorHistorial cursor = historial.cursor();
+
+            // When
+            historial.agregar(LocalDateTime.of(2024, 1, 5, 8, 0), 69.0);
+
+            // Then
+            int vistas = 0;
+            while (cursor.siguiente()) {
+                vistas++;
+            }
+            assertThat(vistas).isEqualTo(2);
+            assertThat(historial.cursor(cursor)).isSameAs(cursor);
+            while (cursor.siguiente()) {
+                vistas++;
+            }
+            assertThat(vistas).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Debería rechazar lecturas anteriores a la última entre bloques")
+        void deberiaRechazarLecturasFueraDeOrden() {
+            // Given
+            HistorialPeso historial = new HistorialPeso(1);
+            historial.agregar(INICIO, 70.0);
+
+            // When & Then
+            assertThatThrownBy(() -> historial.agregar(INICIO - 60, 70.0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(historial.ultimoMomento()).isEqualTo(INICIO);
+            assertThat(historial.totalBloques()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Un historial vacío no debería tener lecturas")
+        void historialVacioNoDeberiaTenerLecturas() {
+            HistorialPeso historial = new HistorialPeso();
+
+            assertThat(historial.cursor().siguiente()).isFalse();
+            assertThat(historial.ultimoMomento()).isEqualTo(Long.MIN_VALUE);
+            assertThat(historial.bytesComprimidos()).isZero();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.healthtrack.healthtrack_platform.historial;
+
+import com.healthtrack.healthtrack_platform.evento.AlmacenEventos;
+import com.healthtrack.healthtrack_platform.evento.UsuariosEventSourcing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del muestreo LTTB del historial de peso
+ */
+@DisplayName("Servicio de Muestreo de Peso Tests")
+class ServicioMuestreoPesoTest {
+
+    private static final long INICIO = LocalDateTime.of(2015, 1, 1, 7, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long DIA = 86_400;
+
+    @Nested
+    @DisplayName("LTTB Tests")
+    class LttbTests {
+
+        @Test
+        @DisplayName("Debería devolver la serie completa si tiene menos puntos que los pedidos")
+        void deberiaDevolverSerieCompleta() {
+            // Given
+            long[] momentos = {INICIO, INICIO + DIA, INICIO + 2 * DIA};
+            double[] pesos = {80.0, 79.5, 79.0};
+
+            // When
+            List<PuntoPeso> puntos = Lttb.reducir(momentos, pesos, 3, 10);
+
+            // Then
+            assertThat(puntos).containsExactly(
+                    new PuntoPeso(INICIO, 80.0), new PuntoPeso(INICIO + DIA, 79.5), new PuntoPeso(INICIO + 2 * DIA, 79.0));
+        }
+
+        @Test
+        @DisplayName("Debería conservar extremos y picos de la serie")
+        void deberiaConservarExtremosYPicos() {
+            // Given - Serie plana de 1000 días con un pico aislado
+            int total = 1_000;
+            long[] momentos = new long[total];
+            double[] pesos = new double[total];
+            for (int i = 0; i < total; i++) {
+                momentos[i] = INICIO + i * DIA;
+                pesos[i] = 80.0;
+            }
+            pesos[437] = 95.0;
+
+            // When
+            List<PuntoPeso> puntos = Lttb.reducir(momentos, pesos, total, 20);
+
+            // Then
+            assertThat(puntos).hasSize(20);
+            assertThat(puntos.get(0)).isEqualTo(new PuntoPeso(INICIO, 80.0));
+            assertThat(puntos.get(19)).isEqualTo(new PuntoPeso(INICIO + 999 * DIA, 80.0));
+            assertThat(puntos).contains(new PuntoPeso(INICIO + 437 * DIA, 95.0));
+            assertThat(puntos).isSortedAccordingTo((a, b) -> Long.compare(a.momento(), b.momento()));
+        }
+
+        @Test
+        @DisplayName("Debería rechazar una cantidad de puntos no positiva")
+        void deberiaRechazarPuntosInvalidos() {
+            assertThatThrownBy(() -> Lttb.reducir(new long[0], new double[0], 0, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache Tests")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Debería servir desde la caché una consulta repetida")
+        void deberiaServirDesdeCache() {
+            // Given
+            ServicioMuestreoPeso servicio = servicioConLecturas("Ana", 365);
+
+            // When
+            List<PuntoPeso> primera = servicio.muestrear("Ana", INICIO, INICIO + 365 * DIA, 50);
+            List<PuntoPeso> segunda = servicio.muestrear("Ana", INICIO, INICIO + 365 * DIA, 50);
+
+            // Then
+            assertThat(segunda).isSameAs(primera).hasSize(50);
+            assertThat(servicio.fallosCache()).isEqualTo(1);
+            assertThat(servicio.aciertosCache()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Una nueva lectura solo debería invalidar los rangos que la contienen")
+        void nuevaLecturaDeberiaInvalidarSoloRangosAfectados() {
+            // Given
+            ServicioMuestreoPeso servicio = servicioConLecturas("Ana", 365);
+            long finHistorial = INICIO + 400 * DIA;
+            List<PuntoPeso> primerSemestre = servicio.muestrear("Ana", INICIO, INICIO + 180 * DIA, 30);
+            List<PuntoPeso> completo = servicio.muestrear("Ana", INICIO, finHistorial, 30);
+
+            // When
+            servicio.registrarLectura("Ana", INICIO + 390 * DIA, 60.0);
+
+            // Then
+            assertThat(servicio.muestrear("Ana", INICIO, INICIO + 180 * DIA, 30)).isSameAs(primerSemestre);
+            List<PuntoPeso> actualizado = servicio.muestrear("Ana", INICIO, finHistorial, 30);
+            assertThat(actualizado).isNotSameAs(completo);
+            assertThat(actualizado.get(actualizado.size() - 1)).isEqualTo(new PuntoPeso(INICIO + 390 * DIA, 60.0));
+        }
+
+        @Test
+        @DisplayName("Debería devolver una lista vacía para usuarios o rangos sin lecturas")
+        void deberiaDevolverVacioSinLecturas() {
+            // Given
+            ServicioMuestreoPeso servicio = servicioConLecturas("Ana", 10);
+
+            // When & Then
+            assertThat(servicio.muestrear("Luis", INICIO, INICIO + DIA, 10)).isEmpty();
+            assertThat(servicio.muestrear("Ana", INICIO + 100 * DIA, INICIO + 200 * DIA, 10)).isEmpty();
+            assertThatThrownBy(() -> servicio.muestrear("Ana", INICIO + DIA, INICIO, 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Debería recibir las lecturas de actualizarPeso desde el almacén de eventos")
+        void deberiaRecibirLecturasDelAlmacen() {
+            // Given
+            AlmacenEventos almacen = new AlmacenEventos(2);
+            ServicioMuestreoPeso servicio = new ServicioMuestreoPeso();
+            servicio.conectar(almacen);
+            UsuariosEventSourcing usuarios = new UsuariosEventSourcing(almacen);
+            long desde = LocalDateTime.now().minusDays(1).toEpochSecond(ZoneOffset.UTC);
+            long hasta = LocalDateTime.now().plusDays(1).toEpochSecond(ZoneOffset.UTC);
+
+            // When
+            usuarios.registrar("Ana", 80.0);
+            List<PuntoPeso> antes = servicio.muestrear("Ana", desde, hasta, 10);
+            usuarios.actualizarPeso("Ana", 78.5);
+            List<PuntoPeso> despues = servicio.muestrear("Ana", desde, hasta, 10);
+
+            // Then
+            assertThat(antes).extracting(PuntoPeso::peso).containsExactly(80.0);
+            assertThat(despues).extracting(PuntoPeso::peso).containsExactly(80.0, 78.5);
+        }
+    }
+
+    private static ServicioMuestreoPeso servicioConLecturas(String nombre, int dias) {
+        ServicioMuestreoPeso servicio = new ServicioMuestreoPeso();
+        for (int i = 0; i < dias; i++) {
+            servicio.registrarLectura(nombre, INICIO + i * DIA, 80.0 - i * 0.01);
+        }
+        return servicio;
+    }
+}
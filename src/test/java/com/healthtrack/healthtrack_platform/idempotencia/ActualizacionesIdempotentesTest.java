@@ -0,0 +1,93 @@
+package com.healthtrack.healthtrack_platform.idempotencia;
+
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuariosEnMemoria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de las actualizaciones de peso con clave de idempotencia
+ */
+@DisplayName("Actualizaciones Idempotentes Tests")
+class ActualizacionesIdempotentesTest {
+
+    private RepositorioUsuariosEnMemoria repositorio;
+    private ActualizacionesIdempotentes actualizaciones;
+
+    @BeforeEach
+    void setUp() {
+        repositorio = new RepositorioUsuariosEnMemoria();
+        repositorio.guardar(new Usuario("Ana", 70.0));
+        actualizaciones = new ActualizacionesIdempotentes(repositorio, 1_000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Un reintento debería recibir el resultado original sin chocar con las 48 horas")
+    void reintentoDeberiaRecibirResultadoOriginal() {
+        // When
+        ResultadoActualizacion primero = actualizaciones.actualizarPeso("peticion-1", "Ana", 68.5);
+        ResultadoActualizacion reintento = actualizaciones.actualizarPeso("peticion-1", " Ana ", 68.5);
+        ResultadoActualizacion otraPeticion = actualizaciones.actualizarPeso("peticion-2", "Ana", 67.0);
+
+        // Then
+        assertThat(primero).isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+        assertThat(reintento).isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+        assertThat(otraPeticion).isEqualTo(ResultadoActualizacion.BLOQUEADO);
+        assertThat(repositorio.buscar("Ana").get().getPeso()).isEqualTo(68.5);
+        assertThat(actualizaciones.getReenviosDeduplicados()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Reenvíos concurrentes deberían aplicarse una sola vez")
+    void reenviosConcurrentesDeberianAplicarseUnaVez() throws Exception {
+        // Given
+        int hilos = 8;
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Future<ResultadoActualizacion>> resultados = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < hilos; i++) {
+                resultados.add(ejecutor.submit(() -> {
+                    inicio.await();
+                    return actualizaciones.actualizarPeso("peticion-1", "Ana", 68.5);
+                }));
+            }
+            inicio.countDown();
+            for (Future<ResultadoActualizacion> resultado : resultados) {
+                // Then
+                assertThat(resultado.get()).isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        assertThat(actualizaciones.getReenviosDeduplicados()).isEqualTo(hilos - 1);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar peticiones sin identificador o de usuarios inexistentes")
+    void deberiaRechazarPeticionesInvalidas() {
+        // When & Then
+        assertThatThrownBy(() -> actualizaciones.actualizarPeso(" ", "Ana", 68.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("La petición debe tener un identificador");
+        assertThatThrownBy(() -> actualizaciones.actualizarPeso("peticion-1", "Nadie", 68.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Usuario no registrado: Nadie");
+        assertThat(actualizaciones.actualizarPeso("peticion-1", "Ana", 68.5))
+                .isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+    }
+}
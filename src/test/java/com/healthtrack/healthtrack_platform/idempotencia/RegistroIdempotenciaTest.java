@@ -0,0 +1,156 @@
+package com.healthtrack.healthtrack_platform.idempotencia;
+
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del registro de idempotencia por generaciones
+ */
+@DisplayName("Registro Idempotencia Tests")
+class RegistroIdempotenciaTest {
+
+    private static final Duration VENTANA = Duration.ofMinutes(10);
+
+    private long ahora;
+    private AtomicInteger ejecuciones;
+
+    @BeforeEach
+    void setUp() {
+        ahora = 0;
+        ejecuciones = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Debería ejecutar una vez y devolver el resultado original a los reenvíos")
+    void deberiaDevolverResultadoOriginal() {
+        // Given
+        RegistroIdempotencia registro = new RegistroIdempotencia(100, VENTANA, () -> ahora);
+        long clave = RegistroIdempotencia.clave("Ana", "peticion-1");
+
+        // When
+        ResultadoActualizacion primero = registro.obtenerOEjecutar(clave, () -> ejecutar(ResultadoActualizacion.ACTUALIZADO));
+        ResultadoActualizacion reenvio = registro.obtenerOEjecutar(clave, () -> ejecutar(ResultadoActualizacion.BLOQUEADO));
+
+        // Then
+        assertThat(primero).isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+        assertThat(reenvio).isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+        assertThat(ejecuciones).hasValue(1);
+        assertThat(RegistroIdempotencia.clave("Beto", "peticion-1")).isNotEqualTo(clave);
+    }
+
+    @Test
+    @DisplayName("Debería recordar una petición al menos una ventana y olvidarla tras dos")
+    void deberiaRecordarDuranteLaVentana() {
+        // Given
+        RegistroIdempotencia registro = new RegistroIdempotencia(100, VENTANA, () -> ahora);
+        long clave = RegistroIdempotencia.clave("Ana", "peticion-1");
+        registro.obtenerOEjecutar(clave, () -> ejecutar(ResultadoActualizacion.ACTUALIZADO));
+
+        // When & Then - Tras una rotación sigue en la generación anterior
+        ahora += VENTANA.toNanos() + 1;
+        assertThat(registro.obtener(clave)).isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+
+        ahora += VENTANA.toNanos() + 1;
+        assertThat(registro.obtener(clave)).isNull();
+    }
+
+    @Test
+    @DisplayName("Debería rotar al llenarse sin superar la memoria reservada")
+    void deberiaRotarAlLlenarse() {
+        // Given
+        RegistroIdempotencia registro = new RegistroIdempotencia(64, VENTANA, () -> ahora);
+
+        // When - Muchas más peticiones que la capacidad dentro de la misma ventana
+        for (int i = 0; i < 100_000; i++) {
+            registro.obtenerOEjecutar(RegistroIdempotencia.clave("Ana", "peticion-" + i),
+                    () -> ResultadoActualizacion.ACTUALIZADO);
+        }
+
+        // Then - Las más recientes se recuerdan y las primeras se descartaron
+        assertThat(registro.obtener(RegistroIdempotencia.clave("Ana", "peticion-99999")))
+                .isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+        assertThat(registro.obtener(RegistroIdempotencia.clave("Ana", "peticion-0"))).isNull();
+    }
+
+    @Test
+    @DisplayName("No debería registrar nada si la operación falla")
+    void noDeberiaRegistrarFallos() {
+        // Given
+        RegistroIdempotencia registro = new RegistroIdempotencia(100, VENTANA, () -> ahora);
+        long clave = RegistroIdempotencia.clave("Nadie", "peticion-1");
+
+        // When
+        assertThatThrownBy(() -> registro.obtenerOEjecutar(clave, () -> {
+            throw new IllegalArgumentException("Usuario no registrado: Nadie");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        // Then
+        assertThat(registro.obtener(clave)).isNull();
+        assertThat(registro.obtenerOEjecutar(clave, () -> ejecutar(ResultadoActualizacion.PESO_INVALIDO)))
+                .isEqualTo(ResultadoActualizacion.PESO_INVALIDO);
+    }
+
+    @Test
+    @DisplayName("Una operación en curso no debería bloquear su segmento y los reenvíos deberían esperarla")
+    void operacionEnCursoNoDeberiaBloquearSegmento() throws Exception {
+        // Given - Dos claves del mismo segmento
+        RegistroIdempotencia registro = new RegistroIdempotencia(100, VENTANA, () -> ahora);
+        long lenta = RegistroIdempotencia.clave("Ana", "peticion-1");
+        long otra = lenta;
+        for (int i = 2; ((int) otra & 63) != ((int) lenta & 63) || otra == lenta; i++) {
+            otra = RegistroIdempotencia.clave("Ana", "peticion-" + i);
+        }
+        long mismoSegmento = otra;
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(3);
+
+        // When
+        Future<ResultadoActualizacion> primera = hilos.submit(() -> registro.obtenerOEjecutar(lenta, () -> {
+            enCurso.countDown();
+            esperar(continuar);
+            return ejecutar(ResultadoActualizacion.ACTUALIZADO);
+        }));
+        assertThat(enCurso.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<ResultadoActualizacion> reenvio = hilos.submit(() ->
+                registro.obtenerOEjecutar(lenta, () -> ejecutar(ResultadoActualizacion.BLOQUEADO)));
+        ResultadoActualizacion vecina = hilos.submit(() ->
+                registro.obtenerOEjecutar(mismoSegmento, () -> ejecutar(ResultadoActualizacion.PESO_INVALIDO)))
+                .get(5, TimeUnit.SECONDS);
+        boolean reenvioEsperaba = !reenvio.isDone();
+        continuar.countDown();
+
+        // Then
+        assertThat(vecina).isEqualTo(ResultadoActualizacion.PESO_INVALIDO);
+        assertThat(reenvioEsperaba).isTrue();
+        assertThat(primera.get(5, TimeUnit.SECONDS)).isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+        assertThat(reenvio.get(5, TimeUnit.SECONDS)).isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+        assertThat(ejecuciones).hasValue(2);
+        hilos.shutdown();
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ResultadoActualizacion ejecutar(ResultadoActualizacion resultado) {
+        ejecuciones.incrementAndGet();
+        return resultado;
+    }
+}
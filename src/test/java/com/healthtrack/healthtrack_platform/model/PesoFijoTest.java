@@ -0,0 +1,109 @@
+package com.healthtrack.healthtrack_platform.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del peso en punto fijo
+ */
+@DisplayName("Peso Fijo Tests")
+class PesoFijoTest {
+
+    @Nested
+    @DisplayName("Conversión Tests")
+    class ConversionTests {
+
+        @Test
+        @DisplayName("Debería convertir kg a decagramos redondeando al más cercano")
+        void deberiaConvertirKg() {
+            // When & Then
+            assertThat(PesoFijo.desdeKg(75.5)).isEqualTo(7550);
+            assertThat(PesoFijo.desdeKg(0.1 + 0.2)).isEqualTo(30);
+            assertThat(PesoFijo.desdeKg(70.004)).isEqualTo(7000);
+            assertThat(PesoFijo.desdeKg(70.006)).isEqualTo(7001);
+            assertThat(PesoFijo.aKg(7550)).isEqualTo(75.5);
+        }
+
+        @Test
+        @DisplayName("Debería convertir libras ida y vuelta")
+        void deberiaConvertirLibras() {
+            // When
+            int decagramos = PesoFijo.desdeLibras(165.0);
+
+            // Then
+            assertThat(decagramos).isEqualTo(7484);
+            assertThat(PesoFijo.aLibras(decagramos)).isCloseTo(165.0, within(0.02));
+        }
+
+        @ParameterizedTest
+        @ValueSource(doubles = {-0.01, Double.NaN, Double.POSITIVE_INFINITY, 3.0e7})
+        @DisplayName("Debería rechazar pesos negativos o no representables")
+        void deberiaRechazarPesosInvalidos(double kg) {
+            // When & Then
+            assertThatThrownBy(() -> PesoFijo.desdeKg(kg))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("La diferencia debería ser exacta y detectar desbordamiento")
+        void diferenciaDeberiaSerExacta() {
+            // When & Then
+            assertThat(PesoFijo.diferencia(PesoFijo.desdeKg(70.3), PesoFijo.desdeKg(70.1))).isEqualTo(20);
+            assertThat(PesoFijo.diferencia(7000, 7550)).isEqualTo(-550);
+            assertThatThrownBy(() -> PesoFijo.diferencia(Integer.MIN_VALUE, 1))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Formato Tests")
+    class FormatoTests {
+
+        @ParameterizedTest
+        @CsvSource({"7550, 75.50", "7005, 70.05", "0, 0.00", "-550, -5.50", "2147483647, 21474836.47"})
+        @DisplayName("Debería formatear kg con dos decimales")
+        void deberiaFormatearKg(int decagramos, String esperado) {
+            // When & Then
+            assertThat(PesoFijo.aTextoKg(decagramos)).isEqualTo(esperado);
+        }
+
+        @Test
+        @DisplayName("Debería formatear libras con dos decimales")
+        void deberiaFormatearLibras() {
+            // When
+            StringBuilder texto = PesoFijo.formatearLibras(PesoFijo.desdeKg(100.0), new StringBuilder("lb="));
+
+            // Then
+            assertThat(texto).hasToString("lb=220.46");
+        }
+
+        @Test
+        @DisplayName("toString de Usuario no debería depender del locale")
+        void toStringNoDeberiaDependerDelLocale() {
+            // Given
+            Locale original = Locale.getDefault();
+            Usuario usuario = new Usuario("Ana", 75.5, LocalDateTime.of(2024, 3, 1, 8, 30));
+
+            try {
+                // When
+                Locale.setDefault(Locale.GERMANY);
+                String texto = usuario.toString();
+
+                // Then
+                assertThat(texto).isEqualTo(
+                        "Usuario{nombre='Ana', peso=75.50 kg, ultimaActualizacion=2024-03-01T08:30}");
+            } finally {
+                Locale.setDefault(original);
+            }
+        }
+    }
+}
@@ -9,6 +9,14 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -85,6 +93,20 @@ class UsuarioTest {
             // Then
             assertThat(usuarioConPesoCero.getPeso()).isEqualTo(0.0);
         }
+
+        @Test
+        @DisplayName("Debería reconstruir usuario con fecha de última actualización")
+        void deberiaReconstruirUsuarioConFechaUltimaActualizacion() {
+            // Given
+            LocalDateTime fecha = LocalDateTime.now().minusHours(1);
+
+            // When
+            Usuario reconstruido = new Usuario("María García", 65.0, fecha);
+
+            // Then
+            assertThat(reconstruido.getUltimaActualizacion()).isEqualTo(fecha);
+            assertThat(reconstruido.puedeActualizarPeso()).isFalse();
+        }
     }
 
     @Nested
@@ -234,6 +256,69 @@ class UsuarioTest {
         }
     }
 
+    @Nested
+    @DisplayName("tryActualizarPeso Tests")
+    class TryActualizarPesoTests {
+
+        @Test
+        @DisplayName("Debería actualizar el peso y devolver ACTUALIZADO")
+        void deberiaActualizarYDevolverActualizado() {
+            // When
+            ResultadoActualizacion resultado = usuario.tryActualizarPeso(80.0);
+
+            // Then
+            assertThat(resultado).isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+            assertThat(resultado.esExitoso()).isTrue();
+            assertThat(usuario.getPeso()).isEqualTo(80.0);
+            assertThat(usuario.getProximaActualizacionPermitida())
+                    .isEqualTo(usuario.getUltimaActualizacion().plusHours(48));
+        }
+
+        @Test
+        @DisplayName("Debería devolver BLOQUEADO sin lanzar excepción dentro de las 48 horas")
+        void deberiaDevolverBloqueadoDentroDe48Horas() {
+            // Given
+            usuario.actualizarPeso(80.0);
+            InstantaneaUsuario antes = usuario.getInstantanea();
+
+            // When
+            ResultadoActualizacion resultado = usuario.tryActualizarPeso(85.0);
+
+            // Then
+            assertThat(resultado).isEqualTo(ResultadoActualizacion.BLOQUEADO);
+            assertThat(usuario.getInstantanea()).isSameAs(antes);
+            assertThat(usuario.getProximaActualizacionPermitida()).isAfter(LocalDateTime.now());
+        }
+
+        @ParameterizedTest
+        @ValueSource(doubles = {-0.01, Double.NaN, Double.POSITIVE_INFINITY, 1e12})
+        @DisplayName("Debería devolver PESO_INVALIDO sin modificar el estado")
+        void deberiaDevolverPesoInvalido(double pesoInvalido) {
+            // When
+            ResultadoActualizacion resultado = usuario.tryActualizarPeso(pesoInvalido);
+
+            // Then
+            assertThat(resultado).isEqualTo(ResultadoActualizacion.PESO_INVALIDO);
+            assertThat(usuario.getPeso()).isEqualTo(PESO_VALIDO);
+            assertThat(usuario.getUltimaActualizacion()).isNull();
+            assertThat(usuario.getProximaActualizacionPermitida()).isNull();
+        }
+
+        @Test
+        @DisplayName("actualizarPeso debería seguir lanzando excepciones sobre la misma lógica")
+        void actualizarPesoDeberiaSeguirLanzando() {
+            // Given
+            usuario.actualizarPeso(80.0);
+
+            // When & Then
+            assertThatThrownBy(() -> usuario.actualizarPeso(-1.0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> usuario.actualizarPeso(85.0))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("48 horas");
+        }
+    }
+
     @Nested
     @DisplayName("Getters Tests")
     class GettersTests {
@@ -325,6 +410,209 @@ class UsuarioTest {
         }
     }
 
+    @Nested
+    @DisplayName("Instantánea Tests")
+    class InstantaneaTests {
+
+        @Test
+        @DisplayName("La instantánea debería reflejar el estado actual")
+        void instantaneaDeberiaReflejarEstado() {
+            // When
+            InstantaneaUsuario instantanea = usuario.getInstantanea();
+
+            // Then
+            assertThat(instantanea).isEqualTo(new InstantaneaUsuario(NOMBRE_VALIDO, PesoFijo.desdeKg(PESO_VALIDO), null));
+        }
+
+        @Test
+        @DisplayName("La instantánea inicial debería crearse una sola vez aunque varios hilos la lean a la vez")
+        void instantaneaInicialDeberiaSerUnica() throws Exception {
+            // Given
+            Usuario recienCreado = new Usuario(NOMBRE_VALIDO, PESO_VALIDO);
+            ExecutorService hilos = Executors.newFixedThreadPool(4);
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<InstantaneaUsuario>> lecturas = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                lecturas.add(hilos.submit(() -> {
+                    largada.await();
+                    return recienCreado.getInstantanea();
+                }));
+            }
+
+            // When
+            largada.countDown();
+
+            // Then
+            InstantaneaUsuario publicada = recienCreado.getInstantanea();
+            for (Future<InstantaneaUsuario> lectura : lecturas) {
+                assertThat(lectura.get(5, TimeUnit.SECONDS)).isSameAs(publicada);
+            }
+            assertThat(publicada.version()).isZero();
+            hilos.shutdown();
+        }
+
+        @Test
+        @DisplayName("Actualizar el peso debería publicar una instantánea nueva sin modificar la anterior")
+        void actualizarDeberiaPublicarInstantaneaNueva() {
+            // Given
+            InstantaneaUsuario anterior = usuario.getInstantanea();
+
+            // When
+            usuario.actualizarPeso(70.0);
+
+            // Then
+            InstantaneaUsuario actual = usuario.getInstantanea();
+            assertThat(anterior.peso()).isEqualTo(PESO_VALIDO);
+            assertThat(anterior.ultimaActualizacion()).isNull();
+            assertThat(actual.peso()).isEqualTo(70.0);
+            assertThat(actual.ultimaActualizacion()).isEqualTo(usuario.getUltimaActualizacion()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("La versión debería subir con cada cambio y no con las actualizaciones rechazadas")
+        void versionDeberiaSubirConCadaCambio() {
+            // Given
+            long inicial = usuario.getVersion();
+
+            // When
+            usuario.actualizarPeso(70.0);
+            long trasPeso = usuario.getVersion();
+            ResultadoActualizacion bloqueada = usuario.tryActualizarPeso(69.0);
+            usuario.establecerAltura(170);
+
+            // Then
+            assertThat(inicial).isZero();
+            assertThat(trasPeso).isEqualTo(1);
+            assertThat(bloqueada).isEqualTo(ResultadoActualizacion.BLOQUEADO);
+            assertThat(usuario.getVersion()).isEqualTo(2);
+            assertThat(usuario.getInstantanea().version()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Actualizaciones concurrentes deberían aceptar solo una")
+        void actualizacionesConcurrentesDeberianAceptarUna() throws InterruptedException {
+            // Given
+            int hilos = 8;
+            AtomicInteger aceptadas = new AtomicInteger();
+            CountDownLatch salida = new CountDownLatch(1);
+            List<Thread> actualizadores = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                double peso = 60.0 + i;
+                actualizadores.add(new Thread(() -> {
+                    try {
+                        salida.await();
+                        usuario.actualizarPeso(peso);
+                        aceptadas.incrementAndGet();
+                    } catch (IllegalStateException | InterruptedException e) {
+                        // Rechazada por la restricción de 48 horas
+                    }
+                }));
+            }
+
+            // When
+            actualizadores.forEach(Thread::start);
+            salida.countDown();
+            for (Thread actualizador : actualizadores) {
+                actualizador.join();
+            }
+
+            // Then
+            assertThat(aceptadas).hasValue(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Métricas Corporales Tests")
+    class MetricasTests {
+
+        @Test
+        @DisplayName("Debería calcular IMC, categoría y distancia al objetivo")
+        void deberiaCalcularMetricas() {
+            // Given
+            usuario.establecerAltura(175);
+            usuario.establecerPesoObjetivo(70.0);
+
+            // When
+            MetricasCorporales metricas = usuario.getMetricas();
+
+            // Then
+            assertThat(usuario.getAlturaCm()).isEqualTo(175);
+            assertThat(usuario.getPesoObjetivo()).isEqualTo(70.0);
+            assertThat(metricas.imc()).isCloseTo(24.65, within(0.01));
+            assertThat(metricas.categoria()).isEqualTo(CategoriaPeso.NORMAL);
+            assertThat(metricas.distanciaObjetivoKg()).isEqualTo(5.5);
+        }
+
+        @Test
+        @DisplayName("Sin altura ni objetivo las métricas deberían quedar sin datos")
+        void sinAlturaDeberiaQuedarSinDatos() {
+            // When
+            MetricasCorporales metricas = usuario.getMetricas();
+
+            // Then
+            assertThat(metricas.imc()).isNaN();
+            assertThat(metricas.categoria()).isEqualTo(CategoriaPeso.SIN_DATOS);
+            assertThat(metricas.tieneObjetivo()).isFalse();
+            assertThat(metricas.distanciaObjetivoKg()).isNaN();
+            assertThat(usuario.getPesoObjetivo()).isNaN();
+        }
+
+        @Test
+        @DisplayName("Debería reutilizar las métricas hasta la siguiente actualización de peso")
+        void deberiaReutilizarHastaActualizar() {
+            // Given
+            usuario.establecerAltura(160);
+            MetricasCorporales antes = usuario.getMetricas();
+
+            // When
+            MetricasCorporales repetida = usuario.getMetricas();
+            usuario.actualizarPeso(80.0);
+            MetricasCorporales despues = usuario.getMetricas();
+
+            // Then
+            assertThat(repetida).isSameAs(antes);
+            assertThat(antes.categoria()).isEqualTo(CategoriaPeso.SOBREPESO);
+            assertThat(despues).isNotSameAs(antes);
+            assertThat(despues.categoria()).isEqualTo(CategoriaPeso.OBESIDAD);
+        }
+
+        @Test
+        @DisplayName("Cambiar la altura no debería contar como actualización de peso")
+        void cambiarAlturaNoDeberiaBloquearPeso() {
+            // Given
+            usuario.actualizarPeso(70.0);
+            LocalDateTime actualizacion = usuario.getUltimaActualizacion();
+
+            // When
+            usuario.establecerAltura(150);
+
+            // Then
+            assertThat(usuario.getUltimaActualizacion()).isEqualTo(actualizacion);
+            assertThat(usuario.getPeso()).isEqualTo(70.0);
+            assertThat(usuario.getMetricas().categoria()).isEqualTo(CategoriaPeso.OBESIDAD);
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, -170, 301})
+        @DisplayName("Debería rechazar alturas fuera de rango")
+        void deberiaRechazarAlturasInvalidas(int alturaCm) {
+            // When & Then
+            assertThatThrownBy(() -> usuario.establecerAltura(alturaCm))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> usuario.establecerPesoObjetivo(0.0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Los límites de categoría deberían seguir los umbrales de la OMS")
+        void categoriasDeberianSeguirUmbrales() {
+            assertThat(CategoriaPeso.deImc(18.49)).isEqualTo(CategoriaPeso.BAJO_PESO);
+            assertThat(CategoriaPeso.deImc(18.5)).isEqualTo(CategoriaPeso.NORMAL);
+            assertThat(CategoriaPeso.deImc(25.0)).isEqualTo(CategoriaPeso.SOBREPESO);
+            assertThat(CategoriaPeso.deImc(30.0)).isEqualTo(CategoriaPeso.OBESIDAD);
+        }
+    }
+
     @Nested
     @DisplayName("Mostrar Información Tests")
     class MostrarInformacionTests {
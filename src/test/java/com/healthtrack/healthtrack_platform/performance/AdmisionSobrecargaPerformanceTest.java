@@ -0,0 +1,159 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.admision.Admision;
+import com.healthtrack.healthtrack_platform.admision.ConfiguracionAdmision;
+import com.healthtrack.healthtrack_platform.admision.ControlAdmision;
+import com.healthtrack.healthtrack_platform.admision.EjecutorAcotado;
+import com.healthtrack.healthtrack_platform.admision.MotivoRechazo;
+import com.healthtrack.healthtrack_platform.performance.carga.HistogramaLatencia;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Prueba de sobrecarga del camino de escritura
+ * Un servicio con 4 hilos y 2 ms por escritura (unas 2000 escrituras por segundo) recibe el
+ * doble de esa tasa a ritmo fijo (modelo abierto). Sin admisión la cola crece durante toda la
+ * prueba y cada escritura espera a todas las anteriores; con el control de admisión y la cola
+ * acotada el exceso se rechaza de inmediato y las admitidas mantienen una latencia plana.
+ */
+@DisplayName("Admisión Sobrecarga Performance Tests")
+@Exploratorio
+class AdmisionSobrecargaPerformanceTest {
+
+    private static final int HILOS_SERVICIO = 4;
+    private static final long COSTO_ESCRITURA_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long INTERVALO_LLEGADAS_NANOS = COSTO_ESCRITURA_NANOS / HILOS_SERVICIO / 2;
+    private static final long DURACION_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final int CLIENTES = 50;
+    private static final long P99_MAXIMO_ADMITIDAS_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long P99_MAXIMO_RECHAZOS_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double FRACCION_MINIMA_CAPACIDAD = 0.6;
+
+    @Test
+    @DisplayName("Bajo sobrecarga las escrituras admitidas deberían mantener su latencia")
+    void escriturasAdmitidasDeberianMantenerSuLatencia() throws InterruptedException {
+        // When
+        HistogramaLatencia sinAdmision = medirSinAdmision();
+        Resultado conAdmision = medirConAdmision();
+
+        // Then
+        reportar("Cola sin límite", sinAdmision);
+        reportar("Admisión (admitidas)", conAdmision.admitidas);
+        reportar("Admisión (rechazadas)", conAdmision.rechazadas);
+        System.out.printf("Límite de concurrencia final: %d, rechazos por concurrencia: %d, por cola: %d%n",
+                conAdmision.control.limiteConcurrencia(),
+                conAdmision.control.rechazos(MotivoRechazo.CONCURRENCIA),
+                conAdmision.control.rechazos(MotivoRechazo.COLA_LLENA));
+
+        long capacidad = DURACION_NANOS / COSTO_ESCRITURA_NANOS * HILOS_SERVICIO;
+        assertThat(conAdmision.admitidas.total()).isGreaterThanOrEqualTo((long) (capacidad * FRACCION_MINIMA_CAPACIDAD));
+        assertThat(conAdmision.rechazadas.total()).isPositive();
+        assertThat(conAdmision.admitidas.percentil(99))
+                .isLessThan(P99_MAXIMO_ADMITIDAS_NANOS)
+                .isLessThan(sinAdmision.percentil(99) / 10);
+        assertThat(conAdmision.rechazadas.percentil(99)).isLessThan(P99_MAXIMO_RECHAZOS_NANOS);
+    }
+
+    /**
+     * Pool fijo con cola sin límite: toda escritura se acepta y espera su turno
+     */
+    private static HistogramaLatencia medirSinAdmision() throws InterruptedException {
+        HistogramaLatencia latencias = new HistogramaLatencia();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS_SERVICIO);
+        try {
+            enviarARitmoFijo((envio, cliente) -> ejecutor.execute(() -> {
+                escribir();
+                registrar(latencias, envio);
+            }));
+        } finally {
+            ejecutor.shutdown();
+            ejecutor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return latencias;
+    }
+
+    /**
+     * La admisión se decide al llegar, antes de encolar, así que el límite adaptativo mide la
+     * latencia con el tiempo en cola incluido y limita cuántas escrituras esperan
+     */
+    private static Resultado medirConAdmision() throws InterruptedException {
+        ConfiguracionAdmision configuracion = new ConfiguracionAdmision(
+                1_000, 1_000, 100_000, 100_000, CLIENTES, 256, 8, HILOS_SERVICIO, 64);
+        Resultado resultado = new Resultado(new ControlAdmision(configuracion));
+        Phaser pendientes = new Phaser(1);
+        try (EjecutorAcotado ejecutor = new EjecutorAcotado("escritura-", HILOS_SERVICIO, configuracion.maximoEnCola())) {
+            enviarARitmoFijo((envio, cliente) -> {
+                long llegada = System.nanoTime();
+                Admision admision = resultado.control.admitir("cliente-" + cliente, "general");
+                if (!admision.admitida()) {
+                    // El rechazo se mide desde la llegada: es lo que cuesta decidirlo
+                    registrar(resultado.rechazadas, llegada);
+                    return;
+                }
+                pendientes.register();
+                ejecutor.execute(() -> {
+                    try (admision) {
+                        if (!EjecutorAcotado.enDesborde()) {
+                            escribir();
+                            registrar(resultado.admitidas, envio);
+                        }
+                    } finally {
+                        pendientes.arriveAndDeregister();
+                    }
+                });
+            });
+            pendientes.arriveAndAwaitAdvance();
+        }
+        return resultado;
+    }
+
+    private static void enviarARitmoFijo(Envio envio) {
+        long inicio = System.nanoTime();
+        long previsto = inicio;
+        for (int i = 0; previsto - inicio < DURACION_NANOS; i++) {
+            previsto += INTERVALO_LLEGADAS_NANOS;
+            long restante;
+            while ((restante = previsto - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(restante);
+            }
+            envio.enviar(previsto, i % CLIENTES);
+        }
+    }
+
+    private static void escribir() {
+        LockSupport.parkNanos(COSTO_ESCRITURA_NANOS);
+    }
+
+    private static void registrar(HistogramaLatencia latencias, long envio) {
+        latencias.registrar(System.nanoTime() - envio);
+    }
+
+    private static void reportar(String escenario, HistogramaLatencia latencias) {
+        System.out.printf("%s: %d escrituras, p50 %.2f ms, p99 %.2f ms, máximo %.2f ms%n", escenario,
+                latencias.total(), latencias.percentil(50) / 1e6, latencias.percentil(99) / 1e6,
+                latencias.maximo() / 1e6);
+    }
+
+    @FunctionalInterface
+    private interface Envio {
+        void enviar(long envioPrevisto, int cliente);
+    }
+
+    private static final class Resultado {
+        private final ControlAdmision control;
+        private final HistogramaLatencia admitidas = new HistogramaLatencia();
+        private final HistogramaLatencia rechazadas = new HistogramaLatencia();
+
+        Resultado(ControlAdmision control) {
+            this.control = control;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.analitica.AnaliticaCohortes;
+import com.healthtrack.healthtrack_platform.analitica.PoblacionUsuarios;
+import com.healthtrack.healthtrack_platform.analitica.ResultadoCohortes;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import com.healthtrack.healthtrack_platform.performance.lineabase.EjecutorBenchmark;
+import com.healthtrack.healthtrack_platform.performance.lineabase.ResultadoBenchmark;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark del análisis por cohortes sobre 10 millones de usuarios
+ * Compara el análisis por columnas con un hilo y con todos los núcleos, y como referencia
+ * el recorrido de objetos Usuario agrupando en un HashMap (sobre 1 millón, porque 10 millones
+ * de Usuario no caben en el heap por defecto)
+ */
+@DisplayName("Analítica Cohortes Performance Tests")
+@Exploratorio
+class AnaliticaCohortesPerformanceTest {
+
+    private static final int USUARIOS = 10_000_000;
+    private static final int USUARIOS_OBJETOS = 1_000_000;
+    private static final int COHORTES = 50;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 8, 0);
+    private static final int DIAS = 365;
+    private static final double MEJORA_MINIMA_COLUMNAS = 5.0;
+    // Con un solo núcleo se exige que dividir en tareas no cueste más de un 50%
+    private static final double EFICIENCIA_MINIMA_POR_NUCLEO = 0.5;
+
+    @Test
+    @DisplayName("El análisis por columnas debería escalar con los núcleos y superar al recorrido de objetos")
+    void analisisDeberiaEscalarConLosNucleos() {
+        // Given
+        LocalDateTime[] fechas = new LocalDateTime[DIAS];
+        for (int dia = 0; dia < DIAS; dia++) {
+            fechas[dia] = INICIO.plusDays(dia);
+        }
+        SplittableRandom random = new SplittableRandom(11);
+        PoblacionUsuarios poblacion = new PoblacionUsuarios(USUARIOS);
+        for (int i = 0; i < USUARIOS; i++) {
+            poblacion.agregar(random.nextInt(COHORTES), 8_000, 8_000 + random.nextInt(-1_000, 500),
+                    fechas[random.nextInt(DIAS)]);
+        }
+        List<Usuario> usuarios = new ArrayList<>(USUARIOS_OBJETOS);
+        int[] cohortes = new int[USUARIOS_OBJETOS];
+        for (int i = 0; i < USUARIOS_OBJETOS; i++) {
+            cohortes[i] = random.nextInt(COHORTES);
+            usuarios.add(new Usuario("Paciente" + i, 70.0 + random.nextInt(-10, 5), fechas[random.nextInt(DIAS)]));
+        }
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        ForkJoinPool unHilo = new ForkJoinPool(1);
+        ForkJoinPool todos = new ForkJoinPool(nucleos);
+
+        // When
+        Map<String, ResultadoBenchmark> resultados;
+        ResultadoCohortes resultado;
+        try {
+            resultados = new EjecutorBenchmark(5)
+                    .agregar("columnas-1-hilo", 1, i -> new AnaliticaCohortes(unHilo).cambioPorCohorteYMes(poblacion))
+                    .agregar("columnas-" + nucleos + "-hilos", 1,
+                            i -> new AnaliticaCohortes(todos).cambioPorCohorteYMes(poblacion))
+                    .agregar("objetos-1-hilo", 1, i -> agruparObjetos(usuarios, cohortes))
+                    .ejecutar();
+            resultado = new AnaliticaCohortes(todos).cambioPorCohorteYMes(poblacion);
+        } finally {
+            unHilo.shutdown();
+            todos.shutdown();
+        }
+
+        // Then
+        double nsPorUsuarioUnHilo = resultados.get("columnas-1-hilo").mediaNs() / USUARIOS;
+        double nsPorUsuarioTodos = resultados.get("columnas-" + nucleos + "-hilos").mediaNs() / USUARIOS;
+        double nsPorUsuarioObjetos = resultados.get("objetos-1-hilo").mediaNs() / USUARIOS_OBJETOS;
+        double aceleracion = nsPorUsuarioUnHilo / nsPorUsuarioTodos;
+        System.out.printf("%,d usuarios: columnas 1 hilo %.0f ms, %d hilos %.0f ms (%.1fx); objetos %.1f ns/usuario vs columnas %.1f ns/usuario%n",
+                USUARIOS, nsPorUsuarioUnHilo * USUARIOS / 1e6, nucleos, nsPorUsuarioTodos * USUARIOS / 1e6,
+                aceleracion, nsPorUsuarioObjetos, nsPorUsuarioUnHilo);
+        assertThat(resultado.filas()).hasSize(COHORTES * 12);
+        assertThat(resultado.filas().stream().mapToLong(fila -> fila.usuarios()).sum()).isEqualTo(USUARIOS);
+        assertThat(resultado.cambioPromedioKg(0, YearMonth.of(2024, 6))).isBetween(-3.0, -2.0);
+        assertThat(nsPorUsuarioObjetos / nsPorUsuarioUnHilo).isGreaterThan(MEJORA_MINIMA_COLUMNAS);
+        assertThat(aceleracion).isGreaterThan(nucleos * EFICIENCIA_MINIMA_POR_NUCLEO);
+    }
+
+    /**
+     * Alternativa sobre objetos: peso y fecha de cada Usuario agrupados en un mapa con claves y sumas en caja
+     */
+    private static Map<String, double[]> agruparObjetos(List<Usuario> usuarios, int[] cohortes) {
+        Map<String, double[]> grupos = new HashMap<>();
+        for (int i = 0; i < usuarios.size(); i++) {
+            Usuario usuario = usuarios.get(i);
+            String clave = cohortes[i] + "/" + YearMonth.from(usuario.getUltimaActualizacion());
+            double[] acumulado = grupos.computeIfAbsent(clave, k -> new double[2]);
+            acumulado[0] += usuario.getPeso() - 70.0;
+            acumulado[1]++;
+        }
+        return grupos;
+    }
+}
@@ -0,0 +1,169 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.servidor.ServidorHealthTrack;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark de arranque en frío del servidor: lanza una JVM nueva por medición y toma el tiempo
+ * hasta que acepta conexiones y hasta que responde la primera petición que usa el almacenamiento
+ *
+ * Arma su propio JAR desde las clases compiladas y genera el archivo AppCDS con la misma
+ * ejecución de entrenamiento que el perfil inicio-rapido, así que no depende de haber empaquetado
+ */
+@DisplayName("Arranque Performance Tests")
+@Exploratorio
+class ArranquePerformanceTest {
+
+    private static final int RONDAS = 7;
+    private static final long ESPERA_SEGUNDOS = 60;
+
+    @Test
+    @DisplayName("El archivo AppCDS debería reducir el tiempo hasta la primera petición")
+    void archivoCdsDeberiaAcelerarElArranque(@TempDir Path directorio) throws Exception {
+        // Given
+        Path jar = empaquetar(directorio.resolve("healthtrack.jar"));
+        Path archivo = directorio.resolve("healthtrack.jsa");
+        Process entrenamiento = lanzar("-XX:ArchiveClassesAtExit=" + archivo, "-jar", jar.toString(),
+                ServidorHealthTrack.ARGUMENTO_ENTRENAMIENTO);
+        descartarSalida(entrenamiento);
+        assertThat(entrenamiento.waitFor(ESPERA_SEGUNDOS, TimeUnit.SECONDS)).isTrue();
+        assertThat(archivo).exists();
+
+        // When - Rondas alternadas para repartir el ruido de la máquina entre las dos variantes
+        long[] listoSinCds = new long[RONDAS];
+        long[] primeraSinCds = new long[RONDAS];
+        long[] listoConCds = new long[RONDAS];
+        long[] primeraConCds = new long[RONDAS];
+        for (int ronda = 0; ronda < RONDAS; ronda++) {
+            long[] sin = medirArranque("-jar", jar.toString());
+            long[] con = medirArranque("-XX:SharedArchiveFile=" + archivo, "-Xlog:cds=off", "-jar", jar.toString());
+            listoSinCds[ronda] = sin[0];
+            primeraSinCds[ronda] = sin[1];
+            listoConCds[ronda] = con[0];
+            primeraConCds[ronda] = con[1];
+        }
+
+        // Then
+        double medianaSin = mediana(primeraSinCds);
+        double medianaCon = mediana(primeraConCds);
+        System.out.printf("Arranque (mediana de %d): sin CDS listo %.0f ms, primera petición %.0f ms; "
+                        + "con AppCDS listo %.0f ms, primera petición %.0f ms (%.0f%% menos)%n",
+                RONDAS, mediana(listoSinCds), medianaSin, mediana(listoConCds), medianaCon,
+                (1 - medianaCon / medianaSin) * 100);
+        assertThat(medianaCon).isLessThan(medianaSin);
+    }
+
+    /**
+     * @return Milisegundos desde el lanzamiento hasta el mensaje de inicio y hasta la respuesta
+     *         de la primera petición que registra un usuario
+     */
+    private static long[] medirArranque(String... opciones) throws IOException, InterruptedException {
+        List<String> argumentos = new ArrayList<>(Arrays.asList(opciones));
+        argumentos.add(0, "-Dhealthtrack.puerto=0");
+        long inicio = System.nanoTime();
+        Process proceso = lanzar(argumentos.toArray(new String[0]));
+        try {
+            BufferedReader salida = new BufferedReader(new InputStreamReader(proceso.getInputStream(), StandardCharsets.UTF_8));
+            String linea;
+            while ((linea = salida.readLine()) != null && !linea.startsWith(ServidorHealthTrack.MENSAJE_INICIO)) {
+                // Se ignora cualquier otra salida de la JVM
+            }
+            assertThat(linea).describedAs("El servidor no informó su puerto").isNotNull();
+            long listo = System.nanoTime();
+            int puerto = Integer.parseInt(linea.substring(ServidorHealthTrack.MENSAJE_INICIO.length()).trim());
+            int estado = registrar(puerto);
+            long primeraPeticion = System.nanoTime();
+            assertThat(estado).isEqualTo(201);
+            return new long[] {
+                    TimeUnit.NANOSECONDS.toMillis(listo - inicio),
+                    TimeUnit.NANOSECONDS.toMillis(primeraPeticion - inicio)
+            };
+        } finally {
+            proceso.destroy();
+            proceso.waitFor(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int registrar(int puerto) throws IOException {
+        HttpURLConnection conexion = (HttpURLConnection) URI.create("http://127.0.0.1:" + puerto + "/usuarios")
+                .toURL().openConnection();
+        try {
+            conexion.setRequestMethod("POST");
+            conexion.setDoOutput(true);
+            try (OutputStream cuerpo = conexion.getOutputStream()) {
+                cuerpo.write("nombre=Primera&peso=80.0".getBytes(StandardCharsets.UTF_8));
+            }
+            int estado = conexion.getResponseCode();
+            try (InputStream respuesta = conexion.getInputStream()) {
+                respuesta.readAllBytes();
+            }
+            return estado;
+        } finally {
+            conexion.disconnect();
+        }
+    }
+
+    private static Process lanzar(String... argumentos) throws IOException {
+        List<String> comando = new ArrayList<>();
+        comando.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(Arrays.asList(argumentos));
+        return new ProcessBuilder(comando).redirectErrorStream(true).start();
+    }
+
+    private static void descartarSalida(Process proceso) throws IOException {
+        try (InputStream salida = proceso.getInputStream()) {
+            salida.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    /**
+     * JAR ejecutable con las clases de producción (el CDS no archiva clases cargadas desde directorios)
+     */
+    private static Path empaquetar(Path destino) throws IOException, URISyntaxException {
+        Path clases = Paths.get(ServidorHealthTrack.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Manifest manifiesto = new Manifest();
+        manifiesto.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifiesto.getMainAttributes().put(Attributes.Name.MAIN_CLASS, ServidorHealthTrack.class.getName());
+        try (JarOutputStream salida = new JarOutputStream(Files.newOutputStream(destino), manifiesto);
+             Stream<Path> archivos = Files.walk(clases)) {
+            for (Path archivo : (Iterable<Path>) archivos.filter(Files::isRegularFile)::iterator) {
+                salida.putNextEntry(new JarEntry(clases.relativize(archivo).toString().replace('\\', '/')));
+                Files.copy(archivo, salida);
+                salida.closeEntry();
+            }
+        }
+        return destino;
+    }
+
+    private static double mediana(long[] valores) {
+        long[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        return ordenados[ordenados.length / 2];
+    }
+}
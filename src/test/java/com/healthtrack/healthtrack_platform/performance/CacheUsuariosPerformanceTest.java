@@ -0,0 +1,155 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.cache.CacheWTinyLfu;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuariosCacheado;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuariosEnMemoria;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas de rendimiento de la caché de usuarios
+ * Compara W-TinyLFU con LRU sobre un patrón de acceso Zipf, donde pocos usuarios activos
+ * concentran la mayor parte del tráfico, mezclado con recorridos de usuarios inactivos
+ */
+@DisplayName("Cache Usuarios Performance Tests")
+class CacheUsuariosPerformanceTest {
+
+    private static final int USUARIOS = 100_000;
+    private static final int CAPACIDAD = 1_000;
+    private static final int ACCESOS = 1_000_000;
+    private static final double EXPONENTE_ZIPF = 0.9;
+
+    @Test
+    @DisplayName("W-TinyLFU debería superar la tasa de aciertos de LRU con tráfico sesgado")
+    void wTinyLfuDeberiaSuperarLru() {
+        // Given
+        int[] accesos = generarAccesos(new SplittableRandom(17));
+        CacheWTinyLfu<Integer, Integer> wTinyLfu = new CacheWTinyLfu<>(CAPACIDAD);
+        Lru<Integer, Integer> lru = new Lru<>(CAPACIDAD);
+
+        // When
+        for (int usuario : accesos) {
+            wTinyLfu.obtener(usuario, u -> u);
+            lru.obtener(usuario);
+        }
+
+        // Then
+        double tasaWTinyLfu = wTinyLfu.estadisticas().tasaAciertos();
+        double tasaLru = lru.tasaAciertos();
+        System.out.printf("Zipf(%.1f) %d usuarios, caché %d: W-TinyLFU %.1f%% vs LRU %.1f%% de aciertos%n",
+                EXPONENTE_ZIPF, USUARIOS, CAPACIDAD, tasaWTinyLfu * 100, tasaLru * 100);
+        assertThat(tasaWTinyLfu).isGreaterThan(tasaLru + 0.03);
+    }
+
+    @Test
+    @DisplayName("El repositorio cacheado solo debería leer del almacenamiento en los fallos de caché")
+    void repositorioCacheadoDeberiaEvitarLecturas() {
+        // Given
+        ContadorLecturas almacenamiento = new ContadorLecturas();
+        for (int i = 0; i < USUARIOS; i++) {
+            almacenamiento.guardar(new Usuario("Paciente" + i, 70.0));
+        }
+        RepositorioUsuariosCacheado repositorio = new RepositorioUsuariosCacheado(almacenamiento, CAPACIDAD);
+        String[] nombres = new String[USUARIOS];
+        Arrays.setAll(nombres, i -> "Paciente" + i);
+        int[] accesos = generarAccesos(new SplittableRandom(23));
+
+        // When
+        long inicio = System.nanoTime();
+        for (int usuario : accesos) {
+            repositorio.buscar(nombres[usuario]);
+        }
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        // Then
+        double fraccionLecturas = almacenamiento.lecturas.sum() / (double) ACCESOS;
+        System.out.printf("Repositorio cacheado: %d accesos en %d ms, %.1f%% llegaron al almacenamiento%n",
+                ACCESOS, duracionMs, fraccionLecturas * 100);
+        assertThat(almacenamiento.lecturas.sum()).isEqualTo(repositorio.estadisticas().fallos());
+        assertThat(fraccionLecturas).isLessThan(0.6);
+    }
+
+    /**
+     * Accesos Zipf con un recorrido de 10.000 usuarios inactivos intercalado a mitad de la traza
+     */
+    private static int[] generarAccesos(SplittableRandom random) {
+        double[] acumulada = new double[USUARIOS];
+        double suma = 0;
+        for (int i = 0; i < USUARIOS; i++) {
+            suma += 1.0 / Math.pow(i + 1, EXPONENTE_ZIPF);
+            acumulada[i] = suma;
+        }
+        // Los usuarios populares no son los de índice bajo: se reparten con una permutación
+        int[] permutacion = new int[USUARIOS];
+        Arrays.setAll(permutacion, i -> i);
+        for (int i = USUARIOS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temporal = permutacion[i];
+            permutacion[i] = permutacion[j];
+            permutacion[j] = temporal;
+        }
+        int[] accesos = new int[ACCESOS];
+        int inicioRecorrido = ACCESOS / 2;
+        for (int i = 0; i < ACCESOS; i++) {
+            int recorrido = i - inicioRecorrido;
+            if (recorrido >= 0 && recorrido < 20_000 && recorrido % 2 == 0) {
+                accesos[i] = permutacion[USUARIOS - 1 - recorrido / 2];
+                continue;
+            }
+            int rango = Arrays.binarySearch(acumulada, random.nextDouble() * suma);
+            accesos[i] = permutacion[Math.min(USUARIOS - 1, rango < 0 ? -rango - 1 : rango)];
+        }
+        return accesos;
+    }
+
+    /**
+     * LRU de referencia sobre LinkedHashMap en orden de acceso
+     */
+    private static final class Lru<K, V> {
+        private final Map<K, K> entradas;
+        private long aciertos;
+        private long total;
+
+        Lru(int capacidad) {
+            this.entradas = new LinkedHashMap<>(capacidad * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, K> mayor) {
+                    return size() > capacidad;
+                }
+            };
+        }
+
+        void obtener(K clave) {
+            total++;
+            if (entradas.get(clave) != null) {
+                aciertos++;
+            } else {
+                entradas.put(clave, clave);
+            }
+        }
+
+        double tasaAciertos() {
+            return aciertos / (double) total;
+        }
+    }
+
+    private static final class ContadorLecturas extends RepositorioUsuariosEnMemoria {
+        final LongAdder lecturas = new LongAdder();
+
+        @Override
+        public Optional<Usuario> buscar(String nombre) {
+            lecturas.increment();
+            return super.buscar(nombre);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.clinica.ConfiguracionClinica;
+import com.healthtrack.healthtrack_platform.clinica.PlataformaClinicas;
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import com.healthtrack.healthtrack_platform.performance.carga.HistogramaLatencia;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuarios;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuariosEnMemoria;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Prueba de aislamiento entre clínicas
+ * Mientras una clínica importa pacientes de forma masiva, otra envía actualizaciones de peso
+ * a ritmo constante. Se compara la latencia de la clínica tranquila con un ejecutor compartido
+ * por ambas (la importación llena su cola) y con la PlataformaClinicas (ejecutor, tasa y
+ * cuota por clínica).
+ */
+@DisplayName("Clínicas Aislamiento Performance Tests")
+@Exploratorio
+class ClinicasAislamientoPerformanceTest {
+
+    private static final int PACIENTES_IMPORTADOS = 200_000;
+    private static final int DISTINTOS_IMPORTADOS = 5_000;
+    private static final int TAMANO_LOTE = 500;
+    // Costo simulado de persistir un paciente, como la escritura en una base de datos
+    private static final long COSTO_ESCRITURA_NANOS = 5_000;
+    private static final int PACIENTES_TRANQUILA = 500;
+    private static final long INTERVALO_ACTUALIZACIONES_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final int ACTUALIZACIONES = 500;
+    private static final long P99_MAXIMO_AISLADO_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    @DisplayName("Una importación masiva no debería degradar la latencia de cola de otra clínica")
+    void importacionMasivaNoDeberiaAfectarOtraClinica() throws Exception {
+        // Given
+        List<Usuario> importacion = new ArrayList<>(PACIENTES_IMPORTADOS);
+        for (int i = 0; i < PACIENTES_IMPORTADOS; i++) {
+            importacion.add(new Usuario("Importado" + (i % DISTINTOS_IMPORTADOS), 70.0));
+        }
+
+        // When
+        HistogramaLatencia compartido = medirCompartido(importacion);
+        HistogramaLatencia aislado = medirAislado(importacion);
+
+        // Then
+        reportar("Ejecutor compartido", compartido);
+        reportar("Ejecutor por clínica", aislado);
+        assertThat(aislado.total()).isEqualTo(ACTUALIZACIONES);
+        assertThat(aislado.percentil(99)).isLessThan(P99_MAXIMO_AISLADO_NANOS);
+        assertThat(aislado.percentil(99)).isLessThan(compartido.percentil(99) / 10);
+    }
+
+    /**
+     * Ambas clínicas en un único ejecutor, como antes de la partición: la importación encola
+     * un lote por tarea y las actualizaciones esperan detrás
+     */
+    private static HistogramaLatencia medirCompartido(List<Usuario> importacion) throws InterruptedException {
+        RepositorioUsuarios ruidosa = new RepositorioLento();
+        RepositorioUsuarios tranquila = poblarTranquila();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(2);
+        try {
+            for (int desde = 0; desde < importacion.size(); desde += TAMANO_LOTE) {
+                List<Usuario> lote = importacion.subList(desde, Math.min(desde + TAMANO_LOTE, importacion.size()));
+                ejecutor.execute(() -> ruidosa.guardarTodos(lote));
+            }
+            return medirTranquila(i -> CompletableFuture.supplyAsync(
+                    () -> tranquila.tryActualizarPeso("Paciente" + i, 71.0), ejecutor));
+        } finally {
+            ejecutor.shutdownNow();
+            ejecutor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static HistogramaLatencia medirAislado(List<Usuario> importacion) throws InterruptedException {
+        try (PlataformaClinicas plataforma = new PlataformaClinicas()) {
+            plataforma.registrarClinica(new ConfiguracionClinica("ruidosa", 2, 1_000, 100_000, 1_000,
+                    PACIENTES_IMPORTADOS), new RepositorioLento());
+            plataforma.registrarClinica(ConfiguracionClinica.porDefecto("tranquila"), poblarTranquila());
+            CompletableFuture<Integer> importada = plataforma.importar("ruidosa", importacion);
+            HistogramaLatencia latencias = medirTranquila(
+                    i -> plataforma.actualizarPeso("tranquila", "Paciente" + i, 71.0));
+            assertThat(importada).isNotCompletedExceptionally();
+            return latencias;
+        }
+    }
+
+    /**
+     * Envía las actualizaciones a ritmo fijo (modelo abierto) y mide desde el envío previsto
+     */
+    private static HistogramaLatencia medirTranquila(IntFunction<CompletableFuture<ResultadoActualizacion>> enviar) {
+        HistogramaLatencia latencias = new HistogramaLatencia();
+        List<CompletableFuture<?>> pendientes = new ArrayList<>(ACTUALIZACIONES);
+        long previsto = System.nanoTime();
+        for (int i = 0; i < ACTUALIZACIONES; i++) {
+            previsto += INTERVALO_ACTUALIZACIONES_NANOS;
+            long restante;
+            while ((restante = previsto - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(restante);
+            }
+            long envio = previsto;
+            pendientes.add(enviar.apply(i % PACIENTES_TRANQUILA)
+                    .whenComplete((resultado, error) -> latencias.registrar(System.nanoTime() - envio)));
+        }
+        CompletableFuture.allOf(pendientes.toArray(new CompletableFuture<?>[0])).join();
+        return latencias;
+    }
+
+    private static RepositorioUsuarios poblarTranquila() {
+        RepositorioUsuarios repositorio = new RepositorioUsuariosEnMemoria();
+        LocalDateTime haceTresDias = LocalDateTime.now().minusDays(3);
+        for (int i = 0; i < PACIENTES_TRANQUILA; i++) {
+            repositorio.guardar(new Usuario("Paciente" + i, 70.0, haceTresDias));
+        }
+        return repositorio;
+    }
+
+    private static void reportar(String escenario, HistogramaLatencia latencias) {
+        System.out.printf("%s: p50 %.2f ms, p99 %.2f ms, máximo %.2f ms%n", escenario,
+                latencias.percentil(50) / 1e6, latencias.percentil(99) / 1e6, latencias.maximo() / 1e6);
+    }
+
+    /**
+     * Almacenamiento en memoria con un costo de CPU fijo por escritura
+     */
+    private static final class RepositorioLento extends RepositorioUsuariosEnMemoria {
+
+        @Override
+        public void guardar(Usuario usuario) {
+            long fin = System.nanoTime() + COSTO_ESCRITURA_NANOS;
+            while (System.nanoTime() < fin) {
+                Thread.onSpinWait();
+            }
+            super.guardar(usuario);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.google.gson.Gson;
+import com.healthtrack.healthtrack_platform.codec.CodecUsuario;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark del codec binario de Usuario frente a la serialización Java y JSON
+ * Compara el tamaño codificado y el tiempo de ida y vuelta para el mismo conjunto de datos
+ */
+@DisplayName("Codec Binario Performance Tests")
+class CodecUsuarioPerformanceTest {
+
+    private static final int NUMERO_USUARIOS = 20_000;
+    private static final int ITERACIONES_CALENTAMIENTO = 3;
+
+    private static List<Usuario> usuarios;
+
+    /**
+     * Representación equivalente usada por la serialización Java y JSON
+     */
+    private record UsuarioDto(String nombre, double peso, String ultimaActualizacion) implements Serializable {
+    }
+
+    @BeforeAll
+    static void setUpClass() {
+        usuarios = new ArrayList<>(NUMERO_USUARIOS);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < NUMERO_USUARIOS; i++) {
+            LocalDateTime ultima = i % 3 == 0 ? null : base.plusMinutes(i * 7L);
+            usuarios.add(new Usuario("Usuario Rendimiento " + i, 55.0 + (i % 600) / 10.0, ultima));
+        }
+    }
+
+    @Test
+    @DisplayName("El codec binario debería ser más compacto que la serialización Java y JSON")
+    void codecBinarioDeberiaSerMasCompacto() throws IOException {
+        // When
+        int bytesBinario = codificarBinario().limit();
+        int bytesSerializacion = serializarJava().length;
+        int bytesJson = codificarJson().length;
+
+        // Then
+        System.out.printf("Tamaño para %d usuarios: binario=%d B, serialización=%d B, JSON=%d B%n",
+                NUMERO_USUARIOS, bytesBinario, bytesSerializacion, bytesJson);
+        assertThat(bytesBinario)
+                .describedAs("El codec binario debería ocupar menos de la mitad que JSON")
+                .isLessThan(bytesJson / 2);
+        assertThat(bytesBinario)
+                .describedAs("El codec binario debería ocupar menos que la serialización Java")
+                .isLessThan(bytesSerializacion);
+    }
+
+    @Test
+    @DisplayName("El codec binario debería ser más rápido que la serialización Java y JSON")
+    @Exploratorio
+    void codecBinarioDeberiaSerMasRapido() throws Exception {
+        // Given
+        for (int i = 0; i < ITERACIONES_CALENTAMIENTO; i++) {
+            idaYVueltaBinario();
+            idaYVueltaSerializacion();
+            idaYVueltaJson();
+        }
+
+        // When
+        long nanosBinario = medir(this::idaYVueltaBinario);
+        long nanosSerializacion = medir(this::idaYVueltaSerializacion);
+        long nanosJson = medir(this::idaYVueltaJson);
+
+        // Then
+        System.out.printf("Ida y vuelta de %d usuarios: binario=%d ms, serialización=%d ms, JSON=%d ms%n",
+                NUMERO_USUARIOS, nanosBinario / 1_000_000, nanosSerializacion / 1_000_000, nanosJson / 1_000_000);
+        assertThat(nanosBinario)
+                .describedAs("El codec binario debería superar a la serialización Java")
+                .isLessThan(nanosSerializacion);
+        assertThat(nanosBinario)
+                .describedAs("El codec binario debería superar a JSON")
+                .isLessThan(nanosJson);
+    }
+
+    // =================== MÉTODOS AUXILIARES ===================
+
+    private interface Operacion {
+        void ejecutar() throws Exception;
+    }
+
+    private static long medir(Operacion operacion) throws Exception {
+        long mejor = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long inicio = System.nanoTime();
+            operacion.ejecutar();
+            mejor = Math.min(mejor, System.nanoTime() - inicio);
+        }
+        return mejor;
+    }
+
+    private ByteBuffer codificarBinario() {
+        ByteBuffer buffer = ByteBuffer.allocate(NUMERO_USUARIOS * 64);
+        CodecUsuario codec = new CodecUsuario();
+        for (Usuario usuario : usuarios) {
+            codec.codificar(usuario, buffer);
+        }
+        return buffer.flip();
+    }
+
+    private void idaYVueltaBinario() {
+        ByteBuffer buffer = codificarBinario();
+        CodecUsuario codec = new CodecUsuario();
+        for (int i = 0; i < NUMERO_USUARIOS; i++) {
+            codec.decodificarUsuario(buffer);
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    private byte[] serializarJava() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream salida = new ObjectOutputStream(bytes)) {
+            for (Usuario usuario : usuarios) {
+                salida.writeObject(aDto(usuario));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private void idaYVueltaSerializacion() throws IOException, ClassNotFoundException {
+        byte[] bytes = serializarJava();
+        try (ObjectInputStream entrada = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            for (int i = 0; i < NUMERO_USUARIOS; i++) {
+                desdeDto((UsuarioDto) entrada.readObject());
+            }
+        }
+    }
+
+    private byte[] codificarJson() {
+        Gson gson = new Gson();
+        StringBuilder json = new StringBuilder();
+        for (Usuario usuario : usuarios) {
+            json.append(gson.toJson(aDto(usuario))).append('\n');
+        }
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void idaYVueltaJson() {
+        Gson gson = new Gson();
+        String json = new String(codificarJson(), StandardCharsets.UTF_8);
+        for (String linea : json.split("\n")) {
+            desdeDto(gson.fromJson(linea, UsuarioDto.class));
+        }
+    }
+
+    private static UsuarioDto aDto(Usuario usuario) {
+        LocalDateTime ultima = usuario.getUltimaActualizacion();
+        return new UsuarioDto(usuario.getNombre(), usuario.getPeso(), ultima == null ? null : ultima.toString());
+    }
+
+    private static Usuario desdeDto(UsuarioDto dto) {
+        return new Usuario(dto.nombre(), dto.peso(),
+                dto.ultimaActualizacion() == null ? null : LocalDateTime.parse(dto.ultimaActualizacion()));
+    }
+}
@@ -0,0 +1,173 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.difusion.ConexionEventos;
+import com.healthtrack.healthtrack_platform.difusion.ConfiguracionDifusion;
+import com.healthtrack.healthtrack_platform.difusion.DifusorEventos;
+import com.healthtrack.healthtrack_platform.performance.carga.HistogramaLatencia;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Difusión de una tormenta de actualizaciones a 100.000 conexiones abiertas
+ * 50.000 usuarios con dos dispositivos cada uno actualizan su peso tres veces seguidas. Entre
+ * las conexiones hay 100 lentas (20 ms por escritura) y 10 trabadas que no aceptan nada; la
+ * entrega a las demás no debería esperar a que se detecten ni a que se desconecten.
+ *
+ * Las conexiones son simuladas en memoria: abrir 100.000 sockets reales supera los puertos
+ * efímeros de una sola dirección, y lo que se mide es el registro, la fusión y el despacho.
+ */
+@DisplayName("Difusión Eventos Performance Tests")
+@Exploratorio
+class DifusionEventosPerformanceTest {
+
+    private static final int USUARIOS = 50_000;
+    private static final int DISPOSITIVOS_POR_USUARIO = 2;
+    private static final int RONDAS = 3;
+    private static final int ESPACIADO = 1_000;
+    private static final int LENTAS = USUARIOS * DISPOSITIVOS_POR_USUARIO / ESPACIADO;
+    private static final int TRABADAS = 10;
+    private static final long ESCRITURA_LENTA_MS = 20;
+    private static final long P99_MAXIMO_PUBLICAR_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long P99_MAXIMO_ENTREGA_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    @Test
+    @DisplayName("La difusión a 100.000 conexiones no debería bloquear a quien publica ni esperar a las conexiones lentas")
+    void difusionNoDeberiaEsperarConexionesLentas() throws InterruptedException {
+        HistogramaLatencia entrega = new HistogramaLatencia();
+        HistogramaLatencia publicar = new HistogramaLatencia();
+        int rapidas = USUARIOS * DISPOSITIVOS_POR_USUARIO - LENTAS - TRABADAS;
+        CountDownLatch ultimaRondaRecibida = new CountDownLatch(rapidas);
+        try (DifusorEventos difusor = new DifusorEventos(
+                new ConfiguracionDifusion(2, 2, Duration.ofMillis(5), Duration.ofMillis(500)))) {
+            // Given
+            int conexion = 0;
+            for (int usuario = 0; usuario < USUARIOS; usuario++) {
+                for (int dispositivo = 0; dispositivo < DISPOSITIVOS_POR_USUARIO; dispositivo++, conexion++) {
+                    // Una lenta cada 1.000 conexiones y una trabada en las primeras 10.000
+                    ConexionEventos destino;
+                    if (conexion % ESPACIADO == 0 && conexion / ESPACIADO < TRABADAS) {
+                        destino = new ConexionTrabada();
+                    } else if (conexion % ESPACIADO == ESPACIADO / 2) {
+                        destino = new ConexionLenta();
+                    } else {
+                        destino = new ConexionMedida(entrega, ultimaRondaRecibida);
+                    }
+                    difusor.suscribir(nombre(usuario), destino, () -> null);
+                }
+            }
+            int lentasYTrabadas = USUARIOS * DISPOSITIVOS_POR_USUARIO - rapidas;
+            assertThat(difusor.suscripciones()).isEqualTo(USUARIOS * DISPOSITIVOS_POR_USUARIO);
+            System.gc();
+
+            // When - Tres rondas seguidas: cada usuario actualiza antes de que lleguen las anteriores
+            long inicio = System.nanoTime();
+            for (int ronda = 1; ronda <= RONDAS; ronda++) {
+                for (int usuario = 0; usuario < USUARIOS; usuario++) {
+                    long antes = System.nanoTime();
+                    difusor.publicar(nombre(usuario), evento(antes, ronda));
+                    publicar.registrar(System.nanoTime() - antes);
+                }
+            }
+            long publicacionMs = (System.nanoTime() - inicio) / 1_000_000;
+            boolean completa = ultimaRondaRecibida.await(60, TimeUnit.SECONDS);
+            long difusionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+            // Then
+            System.out.printf("%d conexiones (%d lentas o trabadas): %d publicaciones en %d ms, última ronda "
+                            + "en todas las rápidas a los %d ms%n", USUARIOS * DISPOSITIVOS_POR_USUARIO,
+                    lentasYTrabadas, USUARIOS * RONDAS, publicacionMs, difusionMs);
+            System.out.printf("publicar: p50 %.1f µs, p99 %.1f µs, máximo %.1f ms%n", publicar.percentil(50) / 1e3,
+                    publicar.percentil(99) / 1e3, publicar.maximo() / 1e6);
+            System.out.printf("entrega: p50 %.1f ms, p99 %.1f ms, máximo %.1f ms; %d entregados, %d fusionados, "
+                            + "%d desconectadas%n", entrega.percentil(50) / 1e6, entrega.percentil(99) / 1e6,
+                    entrega.maximo() / 1e6, difusor.entregados(), difusor.fusionados(), difusor.desconectadasLentas());
+            assertThat(completa).as("Todas las conexiones rápidas recibieron la última ronda").isTrue();
+            assertThat(publicar.percentil(99)).isLessThan(P99_MAXIMO_PUBLICAR_NANOS);
+            assertThat(entrega.percentil(99)).isLessThan(P99_MAXIMO_ENTREGA_NANOS);
+            assertThat(difusor.entregados()).isLessThan((long) USUARIOS * DISPOSITIVOS_POR_USUARIO * RONDAS);
+            assertThat(difusor.desconectadasLentas()).isEqualTo(TRABADAS);
+        }
+    }
+
+    private static String nombre(int usuario) {
+        return "Paciente-" + usuario;
+    }
+
+    /**
+     * Evento con el instante de publicación y la ronda, en lugar del JSON del peso
+     */
+    private static byte[] evento(long publicadoEn, int ronda) {
+        return ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(publicadoEn).putInt(ronda).array();
+    }
+
+    private static final class ConexionMedida implements ConexionEventos {
+        private final HistogramaLatencia entrega;
+        private final CountDownLatch ultimaRondaRecibida;
+        private boolean recibioUltima;
+
+        ConexionMedida(HistogramaLatencia entrega, CountDownLatch ultimaRondaRecibida) {
+            this.entrega = entrega;
+            this.ultimaRondaRecibida = ultimaRondaRecibida;
+        }
+
+        @Override
+        public void enviar(byte[] evento) {
+            ByteBuffer datos = ByteBuffer.wrap(evento);
+            entrega.registrar(System.nanoTime() - datos.getLong());
+            if (datos.getInt() == RONDAS && !recibioUltima) {
+                recibioUltima = true;
+                ultimaRondaRecibida.countDown();
+            }
+        }
+
+        @Override
+        public void cerrar() {
+        }
+    }
+
+    private static final class ConexionLenta implements ConexionEventos {
+        @Override
+        public void enviar(byte[] evento) throws IOException {
+            try {
+                Thread.sleep(ESCRITURA_LENTA_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrumpida", e);
+            }
+        }
+
+        @Override
+        public void cerrar() {
+        }
+    }
+
+    /**
+     * Cliente que dejó de leer: la escritura bloquea hasta que se cierra la conexión
+     */
+    private static final class ConexionTrabada implements ConexionEventos {
+        private final CountDownLatch cerrada = new CountDownLatch(1);
+
+        @Override
+        public void enviar(byte[] evento) throws IOException {
+            try {
+                cerrada.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Conexión cerrada");
+        }
+
+        @Override
+        public void cerrar() {
+            cerrada.countDown();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.analitica.EscaneoColumnas;
+import com.healthtrack.healthtrack_platform.analitica.MapaBits;
+import com.healthtrack.healthtrack_platform.analitica.PoblacionUsuarios;
+import com.healthtrack.healthtrack_platform.performance.lineabase.EjecutorBenchmark;
+import com.healthtrack.healthtrack_platform.performance.lineabase.ResultadoBenchmark;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Benchmark de los filtros por columnas sobre 10 millones de usuarios
+ * Compara el escaneo con la Vector API contra el recorrido escalar, los dos armando el
+ * mismo mapa de bits; con datos al azar la mitad de los usuarios queda seleccionada
+ */
+@DisplayName("Escaneo Columnas Performance Tests")
+@Exploratorio
+class EscaneoColumnasPerformanceTest {
+
+    private static final int USUARIOS = 10_000_000;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 8, 0);
+    private static final double MEJORA_MINIMA_VECTORIAL = 2.0;
+
+    @Test
+    @DisplayName("El escaneo vectorial debería superar al escalar y seleccionar los mismos usuarios")
+    void vectorialDeberiaSuperarAlEscalar() {
+        // Given
+        assumeTrue(EscaneoColumnas.vectorialDisponible(), "El módulo de la Vector API no está cargado");
+        SplittableRandom random = new SplittableRandom(5);
+        PoblacionUsuarios poblacion = new PoblacionUsuarios(USUARIOS);
+        for (int i = 0; i < USUARIOS; i++) {
+            poblacion.agregar(0, 8_000, random.nextInt(5_000, 11_000), INICIO.plusMinutes(random.nextInt(525_600)));
+        }
+        LocalDateTime corte = INICIO.plusMonths(6);
+        EscaneoColumnas escalar = EscaneoColumnas.escalar();
+        EscaneoColumnas vectorial = EscaneoColumnas.vectorial();
+
+        // When
+        Map<String, ResultadoBenchmark> resultados = new EjecutorBenchmark(5)
+                .agregar("peso-escalar", 1, i -> escalar.pesoEntre(poblacion, 6_500, 9_500))
+                .agregar("peso-vectorial", 1, i -> vectorial.pesoEntre(poblacion, 6_500, 9_500))
+                .agregar("fecha-escalar", 1, i -> escalar.actualizadosAntesDe(poblacion, corte))
+                .agregar("fecha-vectorial", 1, i -> vectorial.actualizadosAntesDe(poblacion, corte))
+                .ejecutar();
+        MapaBits seleccion = vectorial.pesoEntre(poblacion, 6_500, 9_500);
+
+        // Then
+        double mejoraPeso = resultados.get("peso-escalar").mediaNs() / resultados.get("peso-vectorial").mediaNs();
+        double mejoraFecha = resultados.get("fecha-escalar").mediaNs() / resultados.get("fecha-vectorial").mediaNs();
+        System.out.printf("%,d usuarios: peso escalar %.1f ms vs vectorial %.1f ms (%.1fx); fecha escalar %.1f ms vs vectorial %.1f ms (%.1fx)%n",
+                USUARIOS, resultados.get("peso-escalar").mediaNs() / 1e6, resultados.get("peso-vectorial").mediaNs() / 1e6,
+                mejoraPeso, resultados.get("fecha-escalar").mediaNs() / 1e6, resultados.get("fecha-vectorial").mediaNs() / 1e6,
+                mejoraFecha);
+        assertThat(seleccion.cardinalidad()).isEqualTo(escalar.pesoEntre(poblacion, 6_500, 9_500).cardinalidad());
+        assertThat(seleccion.cardinalidad()).isBetween(USUARIOS * 45 / 100, USUARIOS * 55 / 100);
+        assertThat(mejoraPeso).isGreaterThan(MEJORA_MINIMA_VECTORIAL);
+        assertThat(mejoraFecha).isGreaterThan(1.0);
+    }
+}
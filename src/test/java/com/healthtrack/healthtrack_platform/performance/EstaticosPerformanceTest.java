@@ -0,0 +1,129 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.performance.carga.HistogramaLatencia;
+import com.healthtrack.healthtrack_platform.servidor.ConfiguracionServidor;
+import com.healthtrack.healthtrack_platform.servidor.ServidorHealthTrack;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Carga de la página de inicio: los bytes codificados una sola vez contra un servidor que en
+ * cada petición lee el archivo, lo pasa por un String y lo comprime
+ */
+@DisplayName("Estáticos Performance Tests")
+@Exploratorio
+class EstaticosPerformanceTest {
+
+    private static final int PETICIONES = 2_000;
+    private static final int CALENTAMIENTO = 500;
+
+    @Test
+    @DisplayName("La página precomprimida debería transferir menos y responder antes que codificarla en cada petición")
+    void paginaPrecomprimidaDeberiaSerMasBarata() throws Exception {
+        // ServidorHealthTrack primero: activa TCP_NODELAY, que el JDK lee al crear el primer HttpServer
+        try (ServidorHealthTrack servidor = ServidorHealthTrack.iniciar(ConfiguracionServidor.porDefecto(0))) {
+            HttpServer porPeticion = servidorPorPeticion();
+            try {
+                comparar(servidor.getPuerto(), porPeticion.getAddress().getPort());
+            } finally {
+                porPeticion.stop(0);
+            }
+        }
+    }
+
+    private static void comparar(int puerto, int puertoPorPeticion) throws Exception {
+        // Given
+        HttpClient cliente = HttpClient.newHttpClient();
+        HttpRequest precomprimida = peticion(puerto, "gzip");
+        HttpRequest sinComprimir = peticion(puerto, "identity");
+        HttpRequest codificadaPorPeticion = peticion(puertoPorPeticion, "gzip");
+
+        // When
+        Medicion sinCompresion = medir(cliente, sinComprimir);
+        Medicion enCadaPeticion = medir(cliente, codificadaPorPeticion);
+        Medicion precomprimidas = medir(cliente, precomprimida);
+
+        // Then
+        reportar("Sin comprimir", sinCompresion);
+        reportar("Comprimida en cada petición", enCadaPeticion);
+        reportar("Precomprimida", precomprimidas);
+        assertThat(precomprimidas.bytesCuerpo).isLessThan(sinCompresion.bytesCuerpo / 2);
+        assertThat(precomprimidas.bytesCuerpo).isLessThanOrEqualTo(enCadaPeticion.bytesCuerpo);
+        assertThat(precomprimidas.latencias.media()).isLessThan(enCadaPeticion.latencias.media());
+    }
+
+    /**
+     * Servidor de referencia con lo que se haría sin precompresión: leer, decodificar,
+     * codificar y comprimir la página en cada petición
+     */
+    private static HttpServer servidorPorPeticion() throws IOException {
+        HttpServer http = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        http.createContext("/", intercambio -> {
+            String pagina;
+            try (InputStream entrada = EstaticosPerformanceTest.class.getClassLoader()
+                    .getResourceAsStream("estaticos/index.html")) {
+                pagina = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            ByteArrayOutputStream comprimida = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(comprimida)) {
+                gzip.write(pagina.getBytes(StandardCharsets.UTF_8));
+            }
+            intercambio.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            intercambio.getResponseHeaders().set("Content-Encoding", "gzip");
+            intercambio.sendResponseHeaders(200, comprimida.size());
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                comprimida.writeTo(salida);
+            }
+        });
+        http.start();
+        return http;
+    }
+
+    private static HttpRequest peticion(int puerto, String acceptEncoding) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + puerto + "/"))
+                .header("Accept-Encoding", acceptEncoding)
+                .GET()
+                .build();
+    }
+
+    private static Medicion medir(HttpClient cliente, HttpRequest peticion) throws Exception {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            cliente.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+        }
+        Medicion medicion = new Medicion();
+        for (int i = 0; i < PETICIONES; i++) {
+            long inicio = System.nanoTime();
+            HttpResponse<byte[]> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+            medicion.latencias.registrar(System.nanoTime() - inicio);
+            assertThat(respuesta.statusCode()).isEqualTo(200);
+            medicion.bytesCuerpo += respuesta.body().length;
+        }
+        return medicion;
+    }
+
+    private static void reportar(String escenario, Medicion medicion) {
+        System.out.printf("%s: %d peticiones, %d B por respuesta, media %.1f µs, p99 %.1f µs%n", escenario,
+                PETICIONES, medicion.bytesCuerpo / PETICIONES, medicion.latencias.media() / 1e3,
+                medicion.latencias.percentil(99) / 1e3);
+    }
+
+    private static final class Medicion {
+        private final HistogramaLatencia latencias = new HistogramaLatencia();
+        private long bytesCuerpo;
+    }
+}
@@ -0,0 +1,22 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import org.junit.jupiter.api.Tag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Benchmark que compara tiempos absolutos o razones fijas entre variantes; el resultado
+ * depende de la máquina, así que se informa pero no forma parte del gate de rendimiento
+ *
+ * El perfil performance-tests los excluye (solo quedan la línea base por intervalos de
+ * confianza y las pruebas deterministas: bytes asignados, tasas de compresión, aciertos de
+ * caché). Se ejecutan con mvn test -Pperformance-benchmarks
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("exploratorio")
+@interface Exploratorio {
+}
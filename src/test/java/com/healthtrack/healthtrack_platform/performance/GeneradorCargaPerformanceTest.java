@@ -0,0 +1,83 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.performance.carga.ConfiguracionCarga;
+import com.healthtrack.healthtrack_platform.performance.carga.EstadisticasOperacion;
+import com.healthtrack.healthtrack_platform.performance.carga.GeneradorCarga;
+import com.healthtrack.healthtrack_platform.performance.carga.ModeloLlegada;
+import com.healthtrack.healthtrack_platform.performance.carga.ObjetivoUsuariosEnMemoria;
+import com.healthtrack.healthtrack_platform.performance.carga.Operacion;
+import com.healthtrack.healthtrack_platform.performance.carga.ReporteCarga;
+import com.healthtrack.healthtrack_platform.performance.carga.ResultadoCarga;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas de carga concurrente sobre la API de Usuario
+ * Simulan cientos o miles de pacientes a la vez (ver ConfiguracionCarga para ajustar
+ * usuarios, duración y mezcla) y dejan un reporte HTML/JSON en target/load-test
+ */
+@DisplayName("Generador de Carga Performance Tests")
+@Exploratorio
+class GeneradorCargaPerformanceTest {
+
+    private static final long P99_MAXIMO_MS = 250;
+
+    @Test
+    @DisplayName("Modelo cerrado: usuarios virtuales concurrentes sin errores y con p99 acotado")
+    void modeloCerradoDeberiaSostenerUsuariosConcurrentes() throws InterruptedException {
+        // Given
+        ConfiguracionCarga configuracion = ConfiguracionCarga.desdePropiedades(ModeloLlegada.CERRADO);
+        ObjetivoUsuariosEnMemoria objetivo = new ObjetivoUsuariosEnMemoria();
+
+        // When
+        ResultadoCarga resultado = new GeneradorCarga(configuracion, objetivo).ejecutar();
+        Path reporte = ReporteCarga.escribir(resultado, ReporteCarga.directorioPorDefecto(), "carga-cerrada");
+
+        // Then
+        System.out.printf("Modelo cerrado: %d usuarios, %.0f op/s, reporte en %s%n",
+                configuracion.usuariosVirtuales(), resultado.throughput(), reporte);
+        verificarResultado(resultado);
+        // Cada usuario completa a lo sumo una petición por ciclo de pensar
+        double maximoTeorico = configuracion.usuariosVirtuales() * 1000.0 / configuracion.tiempoPensar().toMillis();
+        assertThat(resultado.throughput()).isLessThanOrEqualTo(maximoTeorico * 1.2);
+    }
+
+    @Test
+    @DisplayName("Modelo abierto: debería sostener la tasa objetivo sin errores y con p99 acotado")
+    void modeloAbiertoDeberiaSostenerTasaObjetivo() throws InterruptedException {
+        // Given
+        ConfiguracionCarga configuracion = ConfiguracionCarga.desdePropiedades(ModeloLlegada.ABIERTO);
+
+        // When
+        ResultadoCarga resultado = new GeneradorCarga(configuracion, new ObjetivoUsuariosEnMemoria()).ejecutar();
+        Path reporte = ReporteCarga.escribir(resultado, ReporteCarga.directorioPorDefecto(), "carga-abierta");
+
+        // Then
+        System.out.printf("Modelo abierto: objetivo %.0f op/s, logrado %.0f op/s, reporte en %s%n",
+                configuracion.tasaPorSegundo(), resultado.throughput(), reporte);
+        verificarResultado(resultado);
+        assertThat(resultado.throughput())
+                .describedAs("El throughput debería acercarse a la tasa objetivo")
+                .isGreaterThan(configuracion.tasaPorSegundo() * 0.8);
+    }
+
+    private static void verificarResultado(ResultadoCarga resultado) {
+        for (Operacion operacion : Operacion.values()) {
+            EstadisticasOperacion estadisticas = resultado.getEstadisticas(operacion);
+            assertThat(estadisticas.getErrores())
+                    .describedAs("Errores en %s: %s", operacion, estadisticas.getPrimerError())
+                    .isZero();
+            assertThat(estadisticas.getTotal())
+                    .describedAs("La mezcla debería ejecutar %s", operacion)
+                    .isPositive();
+            assertThat(TimeUnit.NANOSECONDS.toMillis(estadisticas.getLatenciaCorregida().percentil(99)))
+                    .describedAs("p99 corregido de %s", operacion)
+                    .isLessThan(P99_MAXIMO_MS);
+        }
+    }
+}
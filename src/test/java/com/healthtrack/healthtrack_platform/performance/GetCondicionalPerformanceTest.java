@@ -0,0 +1,85 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.performance.carga.HistogramaLatencia;
+import com.healthtrack.healthtrack_platform.servidor.ConfiguracionServidor;
+import com.healthtrack.healthtrack_platform.servidor.ServidorHealthTrack;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Refresco del panel de un usuario cuyo peso no cambió: consultas completas contra consultas
+ * condicionales con el ETag de la respuesta anterior
+ */
+@DisplayName("GET Condicional Performance Tests")
+@Exploratorio
+class GetCondicionalPerformanceTest {
+
+    private static final int CONSULTAS = 2_000;
+    private static final int CALENTAMIENTO = 500;
+
+    @Test
+    @DisplayName("Un refresco sin cambios debería responderse con 304 sin cuerpo")
+    void refrescoSinCambiosDeberiaResponder304() throws Exception {
+        try (ServidorHealthTrack servidor = ServidorHealthTrack.iniciar(ConfiguracionServidor.porDefecto(0))) {
+            // Given
+            HttpClient cliente = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + servidor.getPuerto() + "/usuarios";
+            cliente.send(HttpRequest.newBuilder(URI.create(base))
+                    .POST(HttpRequest.BodyPublishers.ofString("nombre=Paciente%20Panel&peso=82.4"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            HttpRequest completa = HttpRequest.newBuilder(URI.create(base + "/Paciente%20Panel")).GET().build();
+            String etag = cliente.send(completa, HttpResponse.BodyHandlers.ofString())
+                    .headers().firstValue("ETag").orElseThrow();
+            HttpRequest condicional = HttpRequest.newBuilder(URI.create(base + "/Paciente%20Panel"))
+                    .header("If-None-Match", etag).GET().build();
+
+            // When
+            Medicion completas = medir(cliente, completa);
+            Medicion condicionales = medir(cliente, condicional);
+
+            // Then
+            reportar("GET completo", completas);
+            reportar("GET condicional", condicionales);
+            assertThat(completas.estados).isEqualTo(200);
+            assertThat(condicionales.estados).isEqualTo(304);
+            assertThat(condicionales.bytesCuerpo).isZero();
+            assertThat(completas.bytesCuerpo).isPositive();
+            assertThat(condicionales.latencias.media()).isLessThanOrEqualTo(completas.latencias.media() * 1.5);
+        }
+    }
+
+    private static Medicion medir(HttpClient cliente, HttpRequest peticion) throws Exception {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            cliente.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+        }
+        Medicion medicion = new Medicion();
+        for (int i = 0; i < CONSULTAS; i++) {
+            long inicio = System.nanoTime();
+            HttpResponse<byte[]> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+            medicion.latencias.registrar(System.nanoTime() - inicio);
+            medicion.bytesCuerpo += respuesta.body().length;
+            // Todas las respuestas deberían tener el mismo estado; uno distinto queda como -1
+            medicion.estados = i == 0 || medicion.estados == respuesta.statusCode() ? respuesta.statusCode() : -1;
+        }
+        return medicion;
+    }
+
+    private static void reportar(String escenario, Medicion medicion) {
+        System.out.printf("%s: %d consultas, %d B de cuerpo, media %.1f µs, p99 %.1f µs%n", escenario, CONSULTAS,
+                medicion.bytesCuerpo, medicion.latencias.media() / 1e3, medicion.latencias.percentil(99) / 1e3);
+    }
+
+    private static final class Medicion {
+        private final HistogramaLatencia latencias = new HistogramaLatencia();
+        private long bytesCuerpo;
+        private int estados;
+    }
+}
@@ -0,0 +1,124 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.historial.CursorHistorial;
+import com.healthtrack.healthtrack_platform.historial.HistorialPeso;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas de rendimiento del historial de peso comprimido
+ * Mide la tasa de compresión y el throughput de decodificación sobre series realistas
+ */
+@DisplayName("Historial de Peso Performance Tests")
+class HistorialPesoPerformanceTest {
+
+    private static final long INICIO = LocalDateTime.of(2015, 1, 1, 7, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final int BYTES_SIN_COMPRIMIR = Long.BYTES + Double.BYTES;
+    private static final int LECTURAS_DIEZ_ANIOS = 3_650;
+
+    @Test
+    @DisplayName("Lecturas diarias con horario variable deberían comprimirse al menos 3 veces")
+    void lecturasDiariasDeberianComprimirse() {
+        // Given - Báscula usada cada mañana con ±1 hora de variación y días sin lectura
+        Random random = new Random(7);
+        HistorialPeso historial = new HistorialPeso();
+        long momento = INICIO;
+        double peso = 92.0;
+        for (int i = 0; i < LECTURAS_DIEZ_ANIOS; i++) {
+            momento += 86_400L * (random.nextInt(10) == 0 ? 2 : 1) + random.nextInt(7_200) - 3_600;
+            peso = redondear(peso + (random.nextGaussian() * 0.2) - 0.002);
+            historial.agregar(momento, peso);
+        }
+
+        // When
+        double tasa = tasaCompresion(historial);
+
+        // Then
+        System.out.printf("Lecturas diarias: %d lecturas, %d B comprimidos, tasa %.1fx%n",
+                historial.totalLecturas(), historial.bytesComprimidos(), tasa);
+        assertThat(tasa).isGreaterThanOrEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Lecturas de dispositivos con cadencia fija deberían comprimirse al menos 6 veces")
+    void lecturasCadenciaFijaDeberianComprimirse() {
+        // Given - Báscula conectada que reporta cada hora, con peso estable entre lecturas
+        Random random = new Random(11);
+        HistorialPeso historial = new HistorialPeso();
+        double peso = 75.0;
+        for (int i = 0; i < 24 * LECTURAS_DIEZ_ANIOS / 10; i++) {
+            if (random.nextInt(24) == 0) {
+                peso = redondear(peso + (random.nextInt(5) - 2) * 0.1);
+            }
+            historial.agregar(INICIO + i * 3_600L, peso);
+        }
+
+        // When
+        double tasa = tasaCompresion(historial);
+
+        // Then
+        System.out.printf("Cadencia fija: %d lecturas, %d B comprimidos, tasa %.1fx%n",
+                historial.totalLecturas(), historial.bytesComprimidos(), tasa);
+        assertThat(tasa).isGreaterThanOrEqualTo(6.0);
+    }
+
+    @Test
+    @DisplayName("La decodificación debería superar el millón de lecturas por segundo")
+    @Exploratorio
+    void decodificacionDeberiaSerRapida() {
+        // Given
+        Random random = new Random(3);
+        HistorialPeso historial = new HistorialPeso();
+        long momento = INICIO;
+        double peso = 80.0;
+        for (int i = 0; i < 200_000; i++) {
+            momento += 86_400 + random.nextInt(3_600);
+            peso = redondear(peso + (random.nextInt(3) - 1) * 0.1);
+            historial.agregar(momento, peso);
+        }
+        CursorHistorial cursor = new CursorHistorial();
+        for (int i = 0; i < 5; i++) {
+            recorrer(historial, cursor);
+        }
+
+        // When
+        long inicio = System.nanoTime();
+        int repeticiones = 10;
+        double suma = 0;
+        for (int i = 0; i < repeticiones; i++) {
+            suma += recorrer(historial, cursor);
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        // Then
+        double lecturasPorSegundo = historial.totalLecturas() * (double) repeticiones / nanos * 1e9;
+        System.out.printf("Decodificación: %.1f millones de lecturas por segundo%n", lecturasPorSegundo / 1e6);
+        assertThat(suma).isPositive();
+        assertThat(lecturasPorSegundo).isGreaterThan(1_000_000);
+    }
+
+    // =================== MÉTODOS AUXILIARES ===================
+
+    private static double recorrer(HistorialPeso historial, CursorHistorial cursor) {
+        historial.cursor(cursor);
+        double suma = 0;
+        while (cursor.siguiente()) {
+            suma += cursor.peso();
+        }
+        return suma;
+    }
+
+    private static double tasaCompresion(HistorialPeso historial) {
+        return historial.totalLecturas() * (double) BYTES_SIN_COMPRIMIR / historial.bytesComprimidos();
+    }
+
+    private static double redondear(double peso) {
+        return Math.round(peso * 10) / 10.0;
+    }
+}
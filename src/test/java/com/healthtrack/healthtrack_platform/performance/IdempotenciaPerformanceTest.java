@@ -0,0 +1,77 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.idempotencia.RegistroIdempotencia;
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.performance.lineabase.EjecutorBenchmark;
+import com.healthtrack.healthtrack_platform.performance.lineabase.ResultadoBenchmark;
+import com.healthtrack.healthtrack_platform.performance.memoria.MedidorAsignaciones;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas de rendimiento del registro de idempotencia
+ * Responder un reenvío debe costar lo mismo con un registro pequeño que con uno de un millón
+ * de peticiones y no asignar memoria
+ */
+@DisplayName("Idempotencia Performance Tests")
+@Exploratorio
+class IdempotenciaPerformanceTest {
+
+    private static final int CAPACIDAD_PEQUENA = 1_000;
+    private static final int CAPACIDAD_GRANDE = 1_000_000;
+    private static final int OPERACIONES_POR_LOTE = 100_000;
+    // Con un millón de entradas las tablas no caben en caché y cada búsqueda es un fallo de memoria
+    private static final double DEGRADACION_MAXIMA = 10.0;
+
+    @Test
+    @DisplayName("Un reenvío debería resolverse en tiempo constante y sin asignar memoria")
+    void reenvioDeberiaSerConstanteYSinAsignaciones() {
+        // Given
+        long[] clavesPequeno = claves(CAPACIDAD_PEQUENA);
+        long[] clavesGrande = claves(CAPACIDAD_GRANDE);
+        RegistroIdempotencia pequeno = registrar(clavesPequeno);
+        RegistroIdempotencia grande = registrar(clavesGrande);
+
+        // When
+        Map<String, ResultadoBenchmark> resultados = new EjecutorBenchmark(10)
+                .agregar("reenvio-pequeno", OPERACIONES_POR_LOTE,
+                        i -> pequeno.obtener(clavesPequeno[i % clavesPequeno.length]))
+                .agregar("reenvio-grande", OPERACIONES_POR_LOTE,
+                        i -> grande.obtener(clavesGrande[(int) ((i * 0x9E3779B1L) % clavesGrande.length)]))
+                .ejecutar();
+        double bytes = MedidorAsignaciones.soportado()
+                ? MedidorAsignaciones.bytesPorOperacion(OPERACIONES_POR_LOTE,
+                        i -> grande.obtener(clavesGrande[i % clavesGrande.length]))
+                : 0;
+
+        // Then
+        double nsPequeno = resultados.get("reenvio-pequeno").mediaNs();
+        double nsGrande = resultados.get("reenvio-grande").mediaNs();
+        System.out.printf("Reenvío: %,d peticiones %.0f ns, %,d peticiones %.0f ns, %.1f B/op%n",
+                CAPACIDAD_PEQUENA, nsPequeno, CAPACIDAD_GRANDE, nsGrande, bytes);
+        assertThat(grande.obtener(clavesGrande[0])).isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+        assertThat(nsGrande).isLessThan(nsPequeno * DEGRADACION_MAXIMA);
+        assertThat(bytes).isLessThan(1.0);
+    }
+
+    private static long[] claves(int cantidad) {
+        long[] claves = new long[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            claves[i] = RegistroIdempotencia.clave("Paciente" + (i % 5_000), "peticion-" + i);
+        }
+        return claves;
+    }
+
+    private static RegistroIdempotencia registrar(long[] claves) {
+        RegistroIdempotencia registro = new RegistroIdempotencia(claves.length, Duration.ofMinutes(10));
+        for (long clave : claves) {
+            registro.obtenerOEjecutar(clave, () -> ResultadoActualizacion.ACTUALIZADO);
+        }
+        return registro;
+    }
+}
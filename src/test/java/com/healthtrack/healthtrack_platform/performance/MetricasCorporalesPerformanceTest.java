@@ -0,0 +1,99 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.analitica.PoblacionUsuarios;
+import com.healthtrack.healthtrack_platform.model.InstantaneaUsuario;
+import com.healthtrack.healthtrack_platform.model.MetricasCorporales;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import com.healthtrack.healthtrack_platform.performance.lineabase.EjecutorBenchmark;
+import com.healthtrack.healthtrack_platform.performance.lineabase.ResultadoBenchmark;
+import com.healthtrack.healthtrack_platform.performance.memoria.MedidorAsignaciones;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Pruebas de rendimiento de las métricas corporales
+ * Leer las métricas ya calculadas de un usuario no debería asignar memoria, y el IMC de un
+ * listado grande debería salir de las columnas en una pasada en lugar de calcularse fila a fila
+ * recorriendo objetos dispersos en el heap
+ */
+@DisplayName("Métricas Corporales Performance Tests")
+class MetricasCorporalesPerformanceTest {
+
+    private static final int ITERACIONES = 100_000;
+    private static final int USUARIOS = 1_000_000;
+    // Medido entre 8.7x y 17x en una máquina de 1 CPU; 3x deja margen para el ruido
+    private static final double MEJORA_MINIMA_COLUMNAS = 3.0;
+
+    @Test
+    @DisplayName("Repetir getMetricas sin actualizar el peso no debería asignar memoria")
+    void metricasMemorizadasNoDeberianAsignar() {
+        // Given
+        assumeTrue(MedidorAsignaciones.soportado(), "La JVM no permite medir asignaciones por hilo");
+        Usuario usuario = new Usuario("Paciente", 82.0);
+        usuario.establecerAltura(176);
+        usuario.establecerPesoObjetivo(75.0);
+
+        // When
+        double bytes = MedidorAsignaciones.bytesPorOperacion(ITERACIONES, i -> usuario.getMetricas());
+
+        // Then
+        System.out.printf("getMetricas memorizado: %.1f B/operación%n", bytes);
+        assertThat(bytes).isLessThan(1.0);
+    }
+
+    @Test
+    @DisplayName("El IMC por columnas debería superar al cálculo fila a fila sobre objetos")
+    void imcPorColumnasDeberiaSuperarAObjetos() {
+        // Given
+        SplittableRandom random = new SplittableRandom(13);
+        PoblacionUsuarios poblacion = new PoblacionUsuarios(USUARIOS);
+        Usuario[] usuarios = new Usuario[USUARIOS];
+        for (int i = 0; i < USUARIOS; i++) {
+            int altura = random.nextInt(150, 200);
+            Usuario usuario = Usuario.desdeDecagramos("Paciente" + i, random.nextInt(5_000, 12_000), null);
+            usuario.establecerAltura(altura);
+            usuarios[i] = usuario;
+            poblacion.agregar(0, usuario.getPesoDecagramos(), usuario);
+        }
+
+        // Los listados no llegan en el orden en que se crearon los usuarios
+        for (int i = USUARIOS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Usuario temporal = usuarios[i];
+            usuarios[i] = usuarios[j];
+            usuarios[j] = temporal;
+        }
+        double[] destino = new double[USUARIOS];
+
+        // When
+        Map<String, ResultadoBenchmark> resultados = new EjecutorBenchmark(5)
+                .agregar("columnas", 1, i -> poblacion.imc(destino))
+                .agregar("objetos", 1, i -> imcPorFila(usuarios, destino))
+                .ejecutar();
+
+        // Then
+        double nsColumnas = resultados.get("columnas").mediaNs() / USUARIOS;
+        double nsObjetos = resultados.get("objetos").mediaNs() / USUARIOS;
+        System.out.printf("IMC de %,d usuarios: columnas %.1f ns/usuario vs objetos %.1f ns/usuario (%.1fx)%n",
+                USUARIOS, nsColumnas, nsObjetos, nsObjetos / nsColumnas);
+        assertThat(poblacion.imc()[42]).isEqualTo(MetricasCorporales.imc(poblacion.pesoActual(42), poblacion.alturaCm(42)));
+        assertThat(nsObjetos / nsColumnas).isGreaterThan(MEJORA_MINIMA_COLUMNAS);
+    }
+
+    /**
+     * Alternativa fila a fila: lee peso y altura de la instantánea de cada usuario y calcula su IMC
+     */
+    private static double[] imcPorFila(Usuario[] usuarios, double[] resultado) {
+        for (int i = 0; i < usuarios.length; i++) {
+            InstantaneaUsuario instantanea = usuarios[i].getInstantanea();
+            resultado[i] = MetricasCorporales.imc(instantanea.pesoDecagramos(), instantanea.alturaCm());
+        }
+        return resultado;
+    }
+}
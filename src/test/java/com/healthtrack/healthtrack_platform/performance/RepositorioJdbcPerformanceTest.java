@@ -0,0 +1,126 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import com.healthtrack.healthtrack_platform.performance.carga.HistogramaLatencia;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuarios;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuariosEnMemoria;
+import com.healthtrack.healthtrack_platform.repositorio.RepositorioUsuariosJdbc;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas de rendimiento del repositorio JDBC sobre H2 en archivo
+ * Compara la inserción masiva en lote y la latencia de búsqueda por nombre contra el
+ * repositorio en memoria
+ */
+@DisplayName("Repositorio JDBC Performance Tests")
+@Exploratorio
+class RepositorioJdbcPerformanceTest {
+
+    private static final int USUARIOS = 20_000;
+    private static final int BUSQUEDAS = 20_000;
+
+    // Umbrales holgados para que no fallen en CI; el reporte muestra los valores reales
+    private static final double INSERCIONES_MINIMAS_POR_SEGUNDO = 5_000;
+    private static final long P99_BUSQUEDA_MAXIMO_NANOS = 5_000_000;
+
+    @Test
+    @DisplayName("La inserción masiva en lote debería superar el throughput mínimo")
+    void insercionMasivaDeberiaSerRapida(@TempDir Path directorio) {
+        // Given
+        List<Usuario> usuarios = crearUsuarios();
+
+        try (RepositorioUsuariosJdbc calentamiento = new RepositorioUsuariosJdbc(url(directorio.resolve("calentamiento")));
+             RepositorioUsuariosJdbc individual = new RepositorioUsuariosJdbc(url(directorio.resolve("individual")));
+             RepositorioUsuariosJdbc jdbc = new RepositorioUsuariosJdbc(url(directorio))) {
+            insertar(calentamiento, usuarios);
+            calentamiento.guardar(usuarios.get(0));
+
+            // When
+            double porSegundoMemoria = insertar(new RepositorioUsuariosEnMemoria(), usuarios);
+            double porSegundoIndividual = insertarUnoAUno(individual, usuarios.subList(0, USUARIOS / 10));
+            double porSegundoJdbc = insertar(jdbc, usuarios);
+
+            // Then
+            System.out.printf("Inserción masiva de %d usuarios: memoria %.0f/s, JDBC en lote %.0f/s, "
+                            + "JDBC uno a uno %.0f/s%n",
+                    USUARIOS, porSegundoMemoria, porSegundoJdbc, porSegundoIndividual);
+            assertThat(jdbc.contar()).isEqualTo(USUARIOS);
+            assertThat(porSegundoJdbc).isGreaterThan(INSERCIONES_MINIMAS_POR_SEGUNDO);
+            assertThat(porSegundoJdbc).isGreaterThan(porSegundoIndividual);
+        }
+    }
+
+    @Test
+    @DisplayName("La búsqueda por nombre debería mantener un p99 bajo")
+    void busquedaPorNombreDeberiaTenerLatenciaBaja(@TempDir Path directorio) {
+        // Given
+        List<Usuario> usuarios = crearUsuarios();
+        RepositorioUsuariosEnMemoria memoria = new RepositorioUsuariosEnMemoria();
+        memoria.guardarTodos(usuarios);
+
+        try (RepositorioUsuariosJdbc jdbc = new RepositorioUsuariosJdbc(url(directorio))) {
+            jdbc.guardarTodos(usuarios);
+            buscar(jdbc, BUSQUEDAS, 1);
+
+            // When
+            HistogramaLatencia latenciaMemoria = buscar(memoria, BUSQUEDAS, 2);
+            HistogramaLatencia latenciaJdbc = buscar(jdbc, BUSQUEDAS, 2);
+
+            // Then
+            System.out.printf("Búsqueda por nombre: memoria p50=%d ns p99=%d ns, JDBC p50=%d ns p99=%d ns%n",
+                    latenciaMemoria.percentil(50), latenciaMemoria.percentil(99),
+                    latenciaJdbc.percentil(50), latenciaJdbc.percentil(99));
+            assertThat(latenciaJdbc.total()).isEqualTo(BUSQUEDAS);
+            assertThat(latenciaJdbc.percentil(99)).isLessThan(P99_BUSQUEDA_MAXIMO_NANOS);
+        }
+    }
+
+    private static String url(Path directorio) {
+        return "jdbc:h2:file:" + directorio.resolve("usuarios").toAbsolutePath();
+    }
+
+    private static List<Usuario> crearUsuarios() {
+        List<Usuario> usuarios = new ArrayList<>(USUARIOS);
+        for (int i = 0; i < USUARIOS; i++) {
+            usuarios.add(new Usuario("Paciente" + i, 50.0 + i % 80));
+        }
+        return usuarios;
+    }
+
+    private static double insertar(RepositorioUsuarios repositorio, List<Usuario> usuarios) {
+        long inicio = System.nanoTime();
+        repositorio.guardarTodos(usuarios);
+        return usuarios.size() / ((System.nanoTime() - inicio) / 1e9);
+    }
+
+    private static double insertarUnoAUno(RepositorioUsuarios repositorio, List<Usuario> usuarios) {
+        long inicio = System.nanoTime();
+        for (Usuario usuario : usuarios) {
+            repositorio.guardar(usuario);
+        }
+        return usuarios.size() / ((System.nanoTime() - inicio) / 1e9);
+    }
+
+    private static HistogramaLatencia buscar(RepositorioUsuarios repositorio, int busquedas, long semilla) {
+        SplittableRandom random = new SplittableRandom(semilla);
+        HistogramaLatencia latencia = new HistogramaLatencia();
+        for (int i = 0; i < busquedas; i++) {
+            String nombre = "Paciente" + random.nextInt(USUARIOS);
+            long inicio = System.nanoTime();
+            if (repositorio.buscar(nombre).isEmpty()) {
+                throw new AssertionError("No se encontró " + nombre);
+            }
+            latencia.registrar(System.nanoTime() - inicio);
+        }
+        return latencia;
+    }
+}
@@ -0,0 +1,148 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import com.healthtrack.healthtrack_platform.performance.memoria.InstantaneaGC;
+import com.healthtrack.healthtrack_platform.performance.memoria.MedidorAsignaciones;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Pruebas de asignación de memoria por operación de Usuario
+ * Los bytes asignados por hilo no dependen del momento en que corre el GC, así que un
+ * aumento de asignaciones hace fallar estos tests de forma determinista
+ *
+ * Los presupuestos tienen un margen pequeño sobre lo medido con compressed oops (JVM por defecto)
+ * y cubren el peor caso en que el JIT no elimina asignaciones por escape analysis, que
+ * depende de qué se haya compilado antes en la misma JVM
+ *
+ * La carga sostenida cuenta solo colecciones completas, que no dependen de la velocidad de la
+ * máquina sino del heap y del colector: los perfiles de rendimiento los fijan en el argLine
+ * de surefire (G1 con 1 GB) para que el resultado sea el mismo en cualquier runner
+ */
+@DisplayName("Usuario Asignaciones Performance Tests")
+class UsuarioAsignacionesPerformanceTest {
+
+    private static final int ITERACIONES = 100_000;
+    private static final int ITERACIONES_SOSTENIDAS = 2_000_000;
+
+    // Presupuestos en bytes por operación; crear un usuario asigna solo el Usuario (32 B), su
+    // instantánea se crea recién al leerlo o cambiarlo
+    private static final double PRESUPUESTO_CREAR_USUARIO = 32;
+    private static final double PRESUPUESTO_ACTUALIZAR_PESO = 440;
+    private static final double PRESUPUESTO_PUEDE_ACTUALIZAR = 224;
+    private static final double PRESUPUESTO_TO_STRING = 1_152;
+
+    private static volatile Object sumidero;
+
+    @BeforeAll
+    static void verificarSoporte() {
+        assumeTrue(MedidorAsignaciones.soportado(), "La JVM no permite medir asignaciones por hilo");
+    }
+
+    @Test
+    @DisplayName("Crear un usuario debería asignar solo el objeto Usuario")
+    void crearUsuarioDeberiaAsignarPoco() {
+        // When
+        double bytes = MedidorAsignaciones.bytesPorOperacion(ITERACIONES, i -> new Usuario("Paciente", 70.0));
+
+        // Then
+        reportar("new Usuario", bytes);
+        assertThat(bytes).isLessThanOrEqualTo(PRESUPUESTO_CREAR_USUARIO);
+    }
+
+    @Test
+    @DisplayName("actualizarPeso debería mantenerse dentro de su presupuesto de asignaciones")
+    void actualizarPesoDeberiaAsignarPoco() {
+        // Given - Un usuario por llamada, todos con la última actualización hace más de 48 horas
+        LocalDateTime haceTresDias = LocalDateTime.now().minusDays(3);
+        Usuario[] usuarios = new Usuario[MedidorAsignaciones.ITERACIONES_CALENTAMIENTO + ITERACIONES];
+        for (int i = 0; i < usuarios.length; i++) {
+            usuarios[i] = new Usuario("Paciente" + i, 70.0, haceTresDias);
+        }
+        int[] siguiente = {0};
+
+        // When
+        double bytes = MedidorAsignaciones.bytesPorOperacion(ITERACIONES, i -> {
+            Usuario usuario = usuarios[siguiente[0]++];
+            usuario.actualizarPeso(71.0);
+            return usuario;
+        });
+
+        // Then
+        reportar("actualizarPeso", bytes);
+        assertThat(bytes).isLessThanOrEqualTo(PRESUPUESTO_ACTUALIZAR_PESO);
+    }
+
+    @Test
+    @DisplayName("puedeActualizarPeso no debería asignar memoria si el usuario nunca actualizó")
+    void puedeActualizarPesoDeberiaAsignarPoco() {
+        // Given
+        Usuario nuevo = new Usuario("Paciente Nuevo", 70.0);
+        Usuario actualizado = new Usuario("Paciente Actualizado", 70.0, LocalDateTime.now().minusDays(3));
+
+        // When
+        double bytesNuevo = MedidorAsignaciones.bytesPorOperacion(ITERACIONES, i -> nuevo.puedeActualizarPeso());
+        double bytesActualizado = MedidorAsignaciones.bytesPorOperacion(ITERACIONES, i -> actualizado.puedeActualizarPeso());
+
+        // Then
+        reportar("puedeActualizarPeso (nunca actualizó)", bytesNuevo);
+        reportar("puedeActualizarPeso (ya actualizó)", bytesActualizado);
+        assertThat(bytesNuevo).isLessThan(1.0);
+        assertThat(bytesActualizado).isLessThanOrEqualTo(PRESUPUESTO_PUEDE_ACTUALIZAR);
+    }
+
+    @Test
+    @DisplayName("toString debería mantenerse dentro de su presupuesto de asignaciones")
+    void toStringDeberiaAsignarPoco() {
+        // Given
+        Usuario usuario = new Usuario("UsuarioTestRendimiento", 75.5, LocalDateTime.now().minusDays(3));
+
+        // When
+        double bytes = MedidorAsignaciones.bytesPorOperacion(ITERACIONES, i -> usuario.toString());
+
+        // Then
+        reportar("toString", bytes);
+        assertThat(bytes).isLessThanOrEqualTo(PRESUPUESTO_TO_STRING);
+    }
+
+    @Test
+    @DisplayName("Una carga sostenida sin datos retenidos no debería provocar colecciones completas")
+    void cargaSostenidaNoDeberiaProvocarColeccionesCompletas() {
+        // Given
+        System.gc();
+        InstantaneaGC antes = InstantaneaGC.tomar();
+        long bytesAntes = MedidorAsignaciones.bytesAsignados();
+        long inicio = System.nanoTime();
+
+        // When
+        for (int i = 0; i < ITERACIONES_SOSTENIDAS; i++) {
+            Usuario usuario = new Usuario("Paciente" + (i & 1023), 70.0 + (i & 63));
+            usuario.actualizarPeso(71.0);
+            sumidero = usuario.puedeActualizarPeso() ? usuario : usuario.toString();
+        }
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        InstantaneaGC gc = InstantaneaGC.tomar().desde(antes);
+        double bytesPorIteracion = (MedidorAsignaciones.bytesAsignados() - bytesAntes) / (double) ITERACIONES_SOSTENIDAS;
+
+        // Then
+        System.out.printf("Carga sostenida: %d iteraciones en %d ms, %.0f B/iteración, GC: %s%n",
+                ITERACIONES_SOSTENIDAS, duracionMs, bytesPorIteracion, gc);
+        assertThat(bytesPorIteracion)
+                .isLessThanOrEqualTo(PRESUPUESTO_CREAR_USUARIO + PRESUPUESTO_ACTUALIZAR_PESO
+                        + PRESUPUESTO_PUEDE_ACTUALIZAR + PRESUPUESTO_TO_STRING);
+        assertThat(gc.coleccionesCompletas())
+                .describedAs("Colecciones completas durante la carga sostenida (%s)", gc)
+                .isZero();
+    }
+
+    private static void reportar(String operacion, double bytes) {
+        System.out.printf("%s: %.1f B/operación%n", operacion, bytes);
+    }
+}
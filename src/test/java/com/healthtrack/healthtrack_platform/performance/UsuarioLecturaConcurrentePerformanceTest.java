@@ -0,0 +1,145 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.model.InstantaneaUsuario;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas de escalabilidad de lectura de Usuario con lectores concurrentes
+ * Mientras un hilo actualiza pesos, hasta 64 lectores leen peso y fecha de usuarios al azar:
+ * con la instantánea (una lectura volatile) y con la alternativa de leer ambos campos
+ * bajo el monitor del usuario
+ */
+@DisplayName("Usuario Lectura Concurrente Performance Tests")
+@Exploratorio
+class UsuarioLecturaConcurrentePerformanceTest {
+
+    private static final int USUARIOS = 20_000;
+    // El escritor publica una actualización cada 20 µs, como un flujo constante de pesajes
+    private static final long PAUSA_ESCRITOR_NANOS = 20_000;
+    private static final int[] LECTORES = {1, 8, 64};
+    private static final long DURACION_MS = 300;
+    // Se toma la mejor de varias rondas para descartar interrupciones del sistema
+    private static final int RONDAS = 3;
+    private static final double PESO_INICIAL = 70.0;
+    private static final double PESO_NUEVO = 71.0;
+    private static final LocalDateTime FECHA_INICIAL = LocalDateTime.now().minusDays(3);
+
+    @Test
+    @DisplayName("Las lecturas por instantánea deberían ser consistentes y no degradarse con 64 lectores")
+    void lecturasPorInstantaneaDeberianEscalar() throws InterruptedException {
+        // Given
+        Map<Integer, Double> instantanea = new LinkedHashMap<>();
+        Map<Integer, Double> monitor = new LinkedHashMap<>();
+        LongAdder inconsistentes = new LongAdder();
+        medir(1, true, inconsistentes);
+        medir(1, false, inconsistentes);
+
+        // When
+        for (int ronda = 0; ronda < RONDAS; ronda++) {
+            for (int lectores : LECTORES) {
+                instantanea.merge(lectores, medir(lectores, true, inconsistentes), Math::max);
+                monitor.merge(lectores, medir(lectores, false, inconsistentes), Math::max);
+            }
+        }
+
+        // Then
+        for (int lectores : LECTORES) {
+            System.out.printf("%2d lectores: instantánea %,.0f lecturas/s, monitor %,.0f lecturas/s%n",
+                    lectores, instantanea.get(lectores), monitor.get(lectores));
+        }
+        int maximo = LECTORES[LECTORES.length - 1];
+        assertThat(inconsistentes.sum())
+                .describedAs("Lecturas con peso y fecha de versiones distintas")
+                .isZero();
+        assertThat(instantanea.get(maximo)).isGreaterThan(monitor.get(maximo));
+        assertThat(instantanea.get(maximo)).isGreaterThan(instantanea.get(1) * 0.5);
+    }
+
+    /**
+     * @return Lecturas por segundo sumando todos los lectores
+     */
+    private static double medir(int lectores, boolean porInstantanea, LongAdder inconsistentes)
+            throws InterruptedException {
+        Usuario[] usuarios = new Usuario[USUARIOS];
+        for (int i = 0; i < USUARIOS; i++) {
+            usuarios[i] = new Usuario("Paciente" + i, PESO_INICIAL, FECHA_INICIAL);
+        }
+        LongAdder lecturas = new LongAdder();
+        CountDownLatch salida = new CountDownLatch(1);
+        long fin = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURACION_MS);
+        List<Thread> hilos = new ArrayList<>();
+
+        hilos.add(new Thread(() -> {
+            esperar(salida);
+            for (int i = 0; i < USUARIOS && System.nanoTime() < fin; i++) {
+                if (porInstantanea) {
+                    usuarios[i].actualizarPeso(PESO_NUEVO);
+                } else {
+                    synchronized (usuarios[i]) {
+                        usuarios[i].actualizarPeso(PESO_NUEVO);
+                    }
+                }
+                LockSupport.parkNanos(PAUSA_ESCRITOR_NANOS);
+            }
+        }, "escritor"));
+        for (int l = 0; l < lectores; l++) {
+            long semilla = l;
+            hilos.add(new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(semilla);
+                esperar(salida);
+                long propias = 0;
+                while ((propias & 1023) != 0 || System.nanoTime() < fin) {
+                    Usuario usuario = usuarios[random.nextInt(USUARIOS)];
+                    double peso;
+                    LocalDateTime fecha;
+                    if (porInstantanea) {
+                        InstantaneaUsuario actual = usuario.getInstantanea();
+                        peso = actual.peso();
+                        fecha = actual.ultimaActualizacion();
+                    } else {
+                        synchronized (usuario) {
+                            peso = usuario.getPeso();
+                            fecha = usuario.getUltimaActualizacion();
+                        }
+                    }
+                    if ((peso == PESO_INICIAL) != (fecha == FECHA_INICIAL)) {
+                        inconsistentes.increment();
+                    }
+                    propias++;
+                }
+                lecturas.add(propias);
+            }, "lector-" + l));
+        }
+
+        long inicio = System.nanoTime();
+        hilos.forEach(Thread::start);
+        salida.countDown();
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        return lecturas.sum() / ((System.nanoTime() - inicio) / 1e9);
+    }
+
+    private static void esperar(CountDownLatch salida) {
+        try {
+            salida.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
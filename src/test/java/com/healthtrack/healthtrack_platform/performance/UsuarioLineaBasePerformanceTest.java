@@ -0,0 +1,73 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import com.healthtrack.healthtrack_platform.performance.lineabase.ComparacionLineaBase;
+import com.healthtrack.healthtrack_platform.performance.lineabase.EjecutorBenchmark;
+import com.healthtrack.healthtrack_platform.performance.lineabase.LineaBaseRendimiento;
+import com.healthtrack.healthtrack_platform.performance.lineabase.ResultadoBenchmark;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Gate de regresión de rendimiento de los caminos críticos de Usuario
+ * Compara cada ejecución con la línea base versionada en
+ * src/test/resources/performance/linea-base.json usando intervalos de confianza, y falla
+ * si alguna operación es significativamente más lenta (ver LineaBaseRendimiento)
+ *
+ * Para registrar una nueva línea base tras un cambio intencional:
+ * mvn test -Pperformance-tests -Dtest.rendimiento.actualizarBase=true
+ *
+ * CI fija el entorno con -Dtest.rendimiento.entorno; ahí una operación sin línea base también
+ * hace fallar el gate en lugar de informarse como nueva
+ */
+@DisplayName("Usuario Línea Base Performance Tests")
+class UsuarioLineaBasePerformanceTest {
+
+    private static final int OPERACIONES_POR_LOTE = 20_000;
+
+    @Test
+    @DisplayName("Los caminos críticos de Usuario no deberían ser más lentos que la línea base")
+    void caminosCriticosNoDeberianRegresar() {
+        // Given
+        LocalDateTime haceTresDias = LocalDateTime.now().minusDays(3);
+        Usuario existente = new Usuario("Paciente Existente", 82.5, haceTresDias);
+        Usuario igual = new Usuario("Paciente Existente", 70.0);
+        Usuario nuevo = new Usuario("Paciente Nuevo", 70.0);
+
+        // When
+        Map<String, ResultadoBenchmark> resultados = new EjecutorBenchmark()
+                .agregar("Usuario.constructor", OPERACIONES_POR_LOTE, i -> new Usuario("Paciente", 70.0 + (i & 63)))
+                .agregar("Usuario.crearYActualizarPeso", OPERACIONES_POR_LOTE, i -> {
+                    Usuario usuario = new Usuario("Paciente", 70.0, haceTresDias);
+                    usuario.actualizarPeso(71.0 + (i & 63));
+                    return usuario;
+                })
+                .agregar("Usuario.puedeActualizarPeso", OPERACIONES_POR_LOTE, i -> existente.puedeActualizarPeso())
+                .agregar("Usuario.puedeActualizarPeso.nuncaActualizo", OPERACIONES_POR_LOTE,
+                        i -> nuevo.puedeActualizarPeso())
+                .agregar("Usuario.toString", OPERACIONES_POR_LOTE, i -> existente.toString())
+                .agregar("Usuario.equalsHashCode", OPERACIONES_POR_LOTE,
+                        i -> existente.equals(igual) && existente.hashCode() == igual.hashCode())
+                .ejecutar();
+        ComparacionLineaBase comparacion = LineaBaseRendimiento.cargar().comparar(resultados);
+
+        // Then
+        System.out.println("Entorno: " + LineaBaseRendimiento.entornoActual());
+        System.out.print(comparacion.aTexto());
+        assertThat(comparacion.regresiones())
+                .describedAs("Regresiones de rendimiento respecto a la línea base:%n%s", comparacion.aTexto())
+                .isEmpty();
+        if (LineaBaseRendimiento.exigeLineaBase()) {
+            assertThat(comparacion.sinLineaBase())
+                    .describedAs("El entorno %s no tiene línea base; se registra con "
+                            + "-Dtest.rendimiento.actualizarBase=true o copiando target/performance-baseline/candidato.json",
+                            LineaBaseRendimiento.entornoActual())
+                    .isEmpty();
+        }
+    }
+}
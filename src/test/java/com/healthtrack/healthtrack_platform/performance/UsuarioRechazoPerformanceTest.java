@@ -0,0 +1,77 @@
+package com.healthtrack.healthtrack_platform.performance;
+
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import com.healthtrack.healthtrack_platform.performance.lineabase.EjecutorBenchmark;
+import com.healthtrack.healthtrack_platform.performance.lineabase.ResultadoBenchmark;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Benchmark de actualizaciones de peso con alta tasa de rechazo por la restricción de 48 horas
+ * Compara actualizarPeso, que informa el rechazo con una IllegalStateException, con
+ * tryActualizarPeso, que devuelve un código, durante una tormenta de reintentos
+ */
+@DisplayName("Usuario Rechazo Performance Tests")
+@Exploratorio
+class UsuarioRechazoPerformanceTest {
+
+    private static final int USUARIOS_BLOQUEADOS = 1_024;
+    private static final int OPERACIONES_POR_LOTE = 20_000;
+    // Porcentaje de peticiones que llegan dentro de las 48 horas
+    private static final int[] PORCENTAJES_RECHAZO = {90, 99};
+    private static final double MEJORA_MINIMA = 10.0;
+
+    @Test
+    @DisplayName("tryActualizarPeso debería ser varias veces más rápido que la excepción con rechazos frecuentes")
+    void tryActualizarPesoDeberiaEvitarCostoDeExcepciones() {
+        // Given
+        Usuario[] bloqueados = new Usuario[USUARIOS_BLOQUEADOS];
+        for (int i = 0; i < bloqueados.length; i++) {
+            bloqueados[i] = new Usuario("Bloqueado" + i, 70.0);
+            bloqueados[i].actualizarPeso(71.0);
+        }
+        EjecutorBenchmark ejecutor = new EjecutorBenchmark(10);
+        for (int porcentaje : PORCENTAJES_RECHAZO) {
+            ejecutor.agregar("excepcion-" + porcentaje, OPERACIONES_POR_LOTE, i -> {
+                Usuario usuario = elegir(bloqueados, porcentaje, i);
+                try {
+                    usuario.actualizarPeso(72.0);
+                    return ResultadoActualizacion.ACTUALIZADO;
+                } catch (IllegalStateException e) {
+                    return e;
+                }
+            });
+            ejecutor.agregar("codigo-" + porcentaje, OPERACIONES_POR_LOTE,
+                    i -> elegir(bloqueados, porcentaje, i).tryActualizarPeso(72.0));
+        }
+
+        // When
+        Map<String, ResultadoBenchmark> resultados = ejecutor.ejecutar();
+
+        // Then
+        for (int porcentaje : PORCENTAJES_RECHAZO) {
+            double excepcion = resultados.get("excepcion-" + porcentaje).mediaNs();
+            double codigo = resultados.get("codigo-" + porcentaje).mediaNs();
+            System.out.printf("%d%% rechazos: excepción %.0f ns/op, código %.0f ns/op (%.1fx)%n",
+                    porcentaje, excepcion, codigo, excepcion / codigo);
+            assertThat(excepcion / codigo)
+                    .describedAs("Mejora de tryActualizarPeso con %d%% de rechazos", porcentaje)
+                    .isGreaterThan(MEJORA_MINIMA);
+        }
+    }
+
+    /**
+     * Devuelve un usuario bloqueado o, en el resto de los casos, uno nuevo que sí puede actualizar
+     */
+    private static Usuario elegir(Usuario[] bloqueados, int porcentajeRechazo, int iteracion) {
+        if (iteracion % 100 < porcentajeRechazo) {
+            return bloqueados[iteracion & (bloqueados.length - 1)];
+        }
+        return new Usuario("Nuevo", 70.0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+import java.time.Duration;
+
+/**
+ * Parámetros de una prueba de carga
+ * Los valores por defecto se pueden sobrescribir con propiedades del sistema, por ejemplo
+ * -Dtest.carga.usuarios=5000 -Dtest.carga.duracion=60 -Dtest.carga.mezcla=registrar=10,actualizar=40,consultar=50
+ *
+ * @param modelo Modelo de llegada de las peticiones
+ * @param usuariosVirtuales Usuarios concurrentes (modelo cerrado) o máximo de peticiones en vuelo (modelo abierto)
+ * @param tasaPorSegundo Peticiones por segundo del modelo abierto (ignorada en el cerrado)
+ * @param duracion Duración de la fase medida
+ * @param calentamiento Duración previa cuyas muestras se descartan
+ * @param tiempoPensar Pausa media entre peticiones de un usuario del modelo cerrado
+ * @param mezcla Proporción de cada operación
+ * @param semilla Semilla para que las ejecuciones sean reproducibles
+ */
+public record ConfiguracionCarga(ModeloLlegada modelo, int usuariosVirtuales, double tasaPorSegundo,
+                                 Duration duracion, Duration calentamiento, Duration tiempoPensar,
+                                 MezclaOperaciones mezcla, long semilla) {
+
+    public static final String USUARIOS_PROPERTY = "test.carga.usuarios";
+    public static final String TASA_PROPERTY = "test.carga.tasa";
+    public static final String DURACION_PROPERTY = "test.carga.duracion";
+    public static final String CALENTAMIENTO_PROPERTY = "test.carga.calentamiento";
+    public static final String PENSAR_PROPERTY = "test.carga.pensar.ms";
+    public static final String MEZCLA_PROPERTY = "test.carga.mezcla";
+
+    public ConfiguracionCarga {
+        if (modelo == null || duracion == null || calentamiento == null || tiempoPensar == null || mezcla == null) {
+            throw new IllegalArgumentException("La configuración de carga no admite valores nulos");
+        }
+        if (usuariosVirtuales <= 0) {
+            throw new IllegalArgumentException("El número de usuarios virtuales debe ser mayor a 0");
+        }
+        if (modelo == ModeloLlegada.ABIERTO && tasaPorSegundo <= 0) {
+            throw new IllegalArgumentException("El modelo abierto requiere una tasa mayor a 0");
+        }
+        if (duracion.isZero() || duracion.isNegative() || calentamiento.isNegative() || tiempoPensar.isNegative()) {
+            throw new IllegalArgumentException("Las duraciones deben ser positivas");
+        }
+    }
+
+    /**
+     * Configuración por defecto del modelo indicado, ajustada con las propiedades del sistema
+     */
+    public static ConfiguracionCarga desdePropiedades(ModeloLlegada modelo) {
+        return new ConfiguracionCarga(
+                modelo,
+                Integer.getInteger(USUARIOS_PROPERTY, 1000),
+                Double.parseDouble(System.getProperty(TASA_PROPERTY, "2000")),
+                Duration.ofSeconds(Long.getLong(DURACION_PROPERTY, 5L)),
+                Duration.ofSeconds(Long.getLong(CALENTAMIENTO_PROPERTY, 1L)),
+                Duration.ofMillis(Long.getLong(PENSAR_PROPERTY, 100L)),
+                System.getProperty(MEZCLA_PROPERTY) == null
+                        ? MezclaOperaciones.POR_DEFECTO
+                        : MezclaOperaciones.de(System.getProperty(MEZCLA_PROPERTY)),
+                42L);
+    }
+}
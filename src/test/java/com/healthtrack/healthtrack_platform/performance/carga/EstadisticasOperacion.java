@@ -0,0 +1,66 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores y latencias de una operación durante una prueba de carga
+ * La latencia corregida incluye el tiempo de espera hasta el momento en que la petición
+ * debía enviarse; la latencia sin corregir solo mide el tiempo de servicio
+ */
+public class EstadisticasOperacion {
+
+    private final HistogramaLatencia corregida = new HistogramaLatencia();
+    private final HistogramaLatencia sinCorregir = new HistogramaLatencia();
+    private final LongAdder exitosas = new LongAdder();
+    private final LongAdder rechazadas = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+    private final AtomicReference<String> primerError = new AtomicReference<>();
+
+    void registrarResultado(boolean aceptada) {
+        if (aceptada) {
+            exitosas.increment();
+        } else {
+            rechazadas.increment();
+        }
+    }
+
+    void registrarError(Exception error) {
+        errores.increment();
+        primerError.compareAndSet(null, error.getClass().getSimpleName() + ": " + error.getMessage());
+    }
+
+    public HistogramaLatencia getLatenciaCorregida() {
+        return corregida;
+    }
+
+    public HistogramaLatencia getLatenciaSinCorregir() {
+        return sinCorregir;
+    }
+
+    public long getExitosas() {
+        return exitosas.sum();
+    }
+
+    /**
+     * Operaciones rechazadas por una regla de negocio (por ejemplo la restricción de 48 horas)
+     */
+    public long getRechazadas() {
+        return rechazadas.sum();
+    }
+
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    public long getTotal() {
+        return getExitosas() + getRechazadas() + getErrores();
+    }
+
+    /**
+     * Descripción del primer error observado, o null si no hubo errores
+     */
+    public String getPrimerError() {
+        return primerError.get();
+    }
+}
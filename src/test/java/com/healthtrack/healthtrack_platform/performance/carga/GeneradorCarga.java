@@ -0,0 +1,192 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga que simula usuarios concurrentes contra un ObjetivoCarga
+ * Cada usuario virtual (modelo cerrado) o cada petición (modelo abierto) corre en su
+ * propio hilo virtual cuando la JVM los soporta
+ *
+ * Las latencias se corrigen por omisión coordinada: en el modelo abierto se miden desde
+ * el instante en que la petición debía enviarse según el calendario, y en el cerrado se
+ * rellenan las muestras de las peticiones que el usuario no pudo enviar mientras esperaba
+ */
+public class GeneradorCarga {
+
+    private static final String PREFIJO_PACIENTE = "Paciente-";
+    private static final double PESO_MINIMO = 40.0;
+    private static final double RANGO_PESO = 110.0;
+
+    private final ConfiguracionCarga configuracion;
+    private final ObjetivoCarga objetivo;
+    private final AtomicLong registros = new AtomicLong();
+
+    public GeneradorCarga(ConfiguracionCarga configuracion, ObjetivoCarga objetivo) {
+        this.configuracion = configuracion;
+        this.objetivo = objetivo;
+    }
+
+    /**
+     * Registra la población inicial, ejecuta el calentamiento y la fase medida
+     * @return Resultados de la fase medida
+     */
+    public ResultadoCarga ejecutar() throws InterruptedException {
+        poblar();
+        Map<Operacion, EstadisticasOperacion> estadisticas = new EnumMap<>(Operacion.class);
+        for (Operacion operacion : Operacion.values()) {
+            estadisticas.put(operacion, new EstadisticasOperacion());
+        }
+
+        long inicioMedicion = System.nanoTime() + configuracion.calentamiento().toNanos();
+        long fin = inicioMedicion + configuracion.duracion().toNanos();
+        if (configuracion.modelo() == ModeloLlegada.CERRADO) {
+            ejecutarCerrado(estadisticas, inicioMedicion, fin);
+        } else {
+            ejecutarAbierto(estadisticas, inicioMedicion, fin);
+        }
+        // Solo se miden las peticiones iniciadas dentro de la ventana, así que el throughput
+        // se calcula sobre la ventana y no sobre el tiempo que tardan en terminar las últimas
+        return new ResultadoCarga(configuracion, estadisticas, configuracion.duracion().toNanos(),
+                HilosVirtuales.disponibles());
+    }
+
+    private void poblar() throws InterruptedException {
+        for (int i = 0; i < configuracion.usuariosVirtuales(); i++) {
+            try {
+                objetivo.ejecutar(Operacion.REGISTRAR, PREFIJO_PACIENTE + i, 80.0);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("No se pudo registrar la población inicial", e);
+            }
+        }
+    }
+
+    private void ejecutarCerrado(Map<Operacion, EstadisticasOperacion> estadisticas, long inicioMedicion, long fin)
+            throws InterruptedException {
+        int usuarios = configuracion.usuariosVirtuales();
+        long pensarNanos = configuracion.tiempoPensar().toNanos();
+        ExecutorService ejecutor = HilosVirtuales.nuevoEjecutor(usuarios, "usuario-virtual-");
+        try {
+            for (int i = 0; i < usuarios; i++) {
+                int usuario = i;
+                ejecutor.execute(() -> {
+                    SplittableRandom random = new SplittableRandom(configuracion.semilla() + usuario);
+                    String paciente = PREFIJO_PACIENTE + usuario;
+                    // Arranque escalonado para que los usuarios no pidan todos a la vez
+                    dormir((long) (random.nextDouble() * pensarNanos));
+                    while (System.nanoTime() < fin) {
+                        Operacion operacion = configuracion.mezcla().elegir(random);
+                        long inicio = System.nanoTime();
+                        Boolean aceptada = invocar(operacion, paciente, random, estadisticas, inicio >= inicioMedicion);
+                        long latencia = System.nanoTime() - inicio;
+                        if (inicio >= inicioMedicion && aceptada != null) {
+                            EstadisticasOperacion estadistica = estadisticas.get(operacion);
+                            estadistica.registrarResultado(aceptada);
+                            estadistica.getLatenciaSinCorregir().registrar(latencia);
+                            estadistica.getLatenciaCorregida().registrarCorregido(latencia, pensarNanos);
+                        }
+                        dormir(pausaExponencial(random, pensarNanos));
+                    }
+                });
+            }
+        } finally {
+            esperarTerminacion(ejecutor, fin);
+        }
+    }
+
+    private void ejecutarAbierto(Map<Operacion, EstadisticasOperacion> estadisticas, long inicioMedicion, long fin)
+            throws InterruptedException {
+        int maximoEnVuelo = configuracion.usuariosVirtuales();
+        double intervaloMedioNanos = TimeUnit.SECONDS.toNanos(1) / configuracion.tasaPorSegundo();
+        Semaphore enVuelo = new Semaphore(maximoEnVuelo);
+        SplittableRandom random = new SplittableRandom(configuracion.semilla());
+        ExecutorService ejecutor = HilosVirtuales.nuevoEjecutor(maximoEnVuelo, "peticion-");
+        try {
+            long previsto = inicioMedicion - configuracion.calentamiento().toNanos();
+            while ((previsto += pausaExponencial(random, (long) intervaloMedioNanos)) < fin) {
+                esperarHasta(previsto);
+                Operacion operacion = configuracion.mezcla().elegir(random);
+                String paciente = PREFIJO_PACIENTE + random.nextInt(configuracion.usuariosVirtuales());
+                SplittableRandom aleatorioPeticion = random.split();
+                boolean medir = previsto >= inicioMedicion;
+                long envioPrevisto = previsto;
+                // Si hay demasiadas peticiones en vuelo el calendario se retrasa, pero la latencia
+                // se sigue midiendo desde el instante previsto
+                enVuelo.acquire();
+                ejecutor.execute(() -> {
+                    try {
+                        long inicio = System.nanoTime();
+                        Boolean aceptada = invocar(operacion, paciente, aleatorioPeticion, estadisticas, medir);
+                        long terminado = System.nanoTime();
+                        if (medir && aceptada != null) {
+                            EstadisticasOperacion estadistica = estadisticas.get(operacion);
+                            estadistica.registrarResultado(aceptada);
+                            estadistica.getLatenciaSinCorregir().registrar(terminado - inicio);
+                            estadistica.getLatenciaCorregida().registrar(terminado - envioPrevisto);
+                        }
+                    } finally {
+                        enVuelo.release();
+                    }
+                });
+            }
+        } finally {
+            esperarTerminacion(ejecutor, fin);
+        }
+    }
+
+    /**
+     * @return Resultado de la operación, o null si lanzó una excepción
+     */
+    private Boolean invocar(Operacion operacion, String paciente, SplittableRandom random,
+                            Map<Operacion, EstadisticasOperacion> estadisticas, boolean medir) {
+        String nombre = operacion == Operacion.REGISTRAR
+                ? paciente + "-" + registros.incrementAndGet()
+                : paciente;
+        double peso = Math.round((PESO_MINIMO + random.nextDouble() * RANGO_PESO) * 10) / 10.0;
+        try {
+            return objetivo.ejecutar(operacion, nombre, peso);
+        } catch (Exception e) {
+            if (medir) {
+                estadisticas.get(operacion).registrarError(e);
+            }
+            return null;
+        }
+    }
+
+    private static long pausaExponencial(SplittableRandom random, long mediaNanos) {
+        if (mediaNanos <= 0) {
+            return 0;
+        }
+        return (long) (-Math.log(1.0 - random.nextDouble()) * mediaNanos);
+    }
+
+    private static void dormir(long nanos) {
+        if (nanos > 0) {
+            LockSupport.parkNanos(nanos);
+        }
+    }
+
+    private static void esperarHasta(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    private static void esperarTerminacion(ExecutorService ejecutor, long fin) throws InterruptedException {
+        ejecutor.shutdown();
+        long margen = Math.max(0, fin - System.nanoTime()) + TimeUnit.SECONDS.toNanos(30);
+        if (!ejecutor.awaitTermination(margen, TimeUnit.NANOSECONDS)) {
+            ejecutor.shutdownNow();
+            throw new IllegalStateException("Los usuarios virtuales no terminaron a tiempo");
+        }
+    }
+}
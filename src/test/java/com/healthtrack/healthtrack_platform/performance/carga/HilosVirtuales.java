@@ -0,0 +1,55 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Crea ejecutores con un hilo virtual por tarea cuando la JVM los soporta (Java 21+)
+ * El proyecto compila con Java 17, así que el acceso es por reflexión y en JVMs sin
+ * hilos virtuales se usa un pool de hilos de plataforma con pila reducida
+ */
+final class HilosVirtuales {
+
+    private static final long TAMANO_PILA_BYTES = 256 * 1024;
+    private static final Method NUEVO_EJECUTOR = buscarFabrica();
+
+    private HilosVirtuales() {
+    }
+
+    static boolean disponibles() {
+        return NUEVO_EJECUTOR != null;
+    }
+
+    /**
+     * @param hilosPlataforma Hilos del pool de respaldo si no hay hilos virtuales
+     * @param prefijo Prefijo del nombre de los hilos de respaldo
+     */
+    static ExecutorService nuevoEjecutor(int hilosPlataforma, String prefijo) {
+        if (NUEVO_EJECUTOR != null) {
+            try {
+                return (ExecutorService) NUEVO_EJECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Ya se verificó al cargar la clase; si falla ahora se usa el pool de respaldo
+            }
+        }
+        AtomicInteger contador = new AtomicInteger();
+        return Executors.newFixedThreadPool(hilosPlataforma, tarea -> {
+            Thread hilo = new Thread(null, tarea, prefijo + contador.incrementAndGet(), TAMANO_PILA_BYTES);
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    private static Method buscarFabrica() {
+        try {
+            Method fabrica = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ((ExecutorService) fabrica.invoke(null)).shutdown();
+            return fabrica;
+        } catch (ReflectiveOperationException e) {
+            // Java 17, o hilos virtuales en preview sin --enable-preview
+            return null;
+        }
+    }
+}
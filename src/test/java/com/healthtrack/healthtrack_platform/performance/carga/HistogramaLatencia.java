@@ -0,0 +1,104 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias thread-safe con buckets log-lineales (estilo HdrHistogram)
+ * Cada potencia de dos se divide en 64 sub-buckets, con un error relativo menor al 1,6%
+ * en todo el rango, y memoria fija sin importar cuántas muestras se registren
+ */
+public class HistogramaLatencia {
+
+    private static final int BITS_SUB_BUCKET = 6;
+    private static final int SUB_BUCKETS = 1 << BITS_SUB_BUCKET;
+    private static final int LINEALES = SUB_BUCKETS * 2;
+    static final long VALOR_MAXIMO = TimeUnit.HOURS.toNanos(1);
+
+    private final AtomicLongArray conteos = new AtomicLongArray(indice(VALOR_MAXIMO) + 1);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong suma = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra una latencia en nanosegundos
+     */
+    public void registrar(long nanos) {
+        long valor = Math.min(Math.max(nanos, 0), VALOR_MAXIMO);
+        conteos.incrementAndGet(indice(valor));
+        total.incrementAndGet();
+        suma.addAndGet(valor);
+        maximo.accumulateAndGet(valor, Math::max);
+    }
+
+    /**
+     * Registra una latencia corrigiendo la omisión coordinada de un generador de carga cerrado
+     * Si la petición tardó más que el intervalo esperado entre peticiones, se agregan las muestras
+     * que habrían tenido las peticiones que el generador dejó de enviar mientras esperaba
+     * @param nanos Latencia observada
+     * @param intervaloEsperadoNanos Tiempo esperado entre peticiones; 0 desactiva la corrección
+     */
+    public void registrarCorregido(long nanos, long intervaloEsperadoNanos) {
+        registrar(nanos);
+        if (intervaloEsperadoNanos <= 0 || nanos <= intervaloEsperadoNanos) {
+            return;
+        }
+        for (long faltante = nanos - intervaloEsperadoNanos; faltante >= intervaloEsperadoNanos;
+             faltante -= intervaloEsperadoNanos) {
+            registrar(faltante);
+        }
+    }
+
+    public long total() {
+        return total.get();
+    }
+
+    public long maximo() {
+        return maximo.get();
+    }
+
+    public double media() {
+        long muestras = total.get();
+        return muestras == 0 ? 0 : suma.get() / (double) muestras;
+    }
+
+    /**
+     * Latencia en nanosegundos bajo la cual queda el percentil indicado de las muestras
+     * Devuelve el límite superior del bucket, nunca mayor que el máximo observado
+     * @param percentil Valor entre 0 y 100
+     */
+    public long percentil(double percentil) {
+        long muestras = total.get();
+        if (muestras == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(percentil / 100.0 * muestras));
+        long acumulado = 0;
+        for (int i = 0; i < conteos.length(); i++) {
+            acumulado += conteos.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    static int indice(long valor) {
+        if (valor < LINEALES) {
+            return (int) valor;
+        }
+        int desplazamiento = (63 - Long.numberOfLeadingZeros(valor)) - BITS_SUB_BUCKET;
+        int subBucket = (int) (valor >>> desplazamiento) - SUB_BUCKETS;
+        return LINEALES + (desplazamiento - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long limiteSuperior(int indice) {
+        if (indice < LINEALES) {
+            return indice;
+        }
+        int desplazamiento = (indice - LINEALES) / SUB_BUCKETS + 1;
+        long subBucket = (indice - LINEALES) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << desplazamiento) - 1;
+    }
+}
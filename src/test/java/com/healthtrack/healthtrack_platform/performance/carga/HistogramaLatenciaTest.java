@@ -0,0 +1,70 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del histograma de latencias del generador de carga
+ */
+@DisplayName("Histograma Latencia Tests")
+class HistogramaLatenciaTest {
+
+    @Test
+    @DisplayName("Debería calcular percentiles con error relativo menor al 2%")
+    void deberiaCalcularPercentilesConPrecision() {
+        // Given
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histograma.registrar(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        // When & Then
+        assertThat(histograma.total()).isEqualTo(10_000);
+        assertThat(histograma.percentil(50)).isCloseTo(5_000_000L, withinPercentage(2));
+        assertThat(histograma.percentil(99)).isCloseTo(9_900_000L, withinPercentage(2));
+        assertThat(histograma.percentil(100)).isEqualTo(10_000_000L);
+        assertThat(histograma.maximo()).isEqualTo(10_000_000L);
+    }
+
+    @Test
+    @DisplayName("Los buckets deberían cubrir todo el rango sin huecos")
+    void bucketsDeberianCubrirElRango() {
+        // Given
+        long[] valores = {0, 1, 127, 128, 129, 1_000, 65_535, 1_000_000, 123_456_789, HistogramaLatencia.VALOR_MAXIMO};
+
+        // When & Then
+        for (long valor : valores) {
+            int indice = HistogramaLatencia.indice(valor);
+            assertThat(HistogramaLatencia.limiteSuperior(indice)).isGreaterThanOrEqualTo(valor);
+            if (indice > 0) {
+                assertThat(HistogramaLatencia.limiteSuperior(indice - 1)).isLessThan(valor);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("La corrección de omisión coordinada debería rellenar las muestras no enviadas")
+    void correccionDeberiaRellenarMuestras() {
+        // Given - 99 peticiones de 1 ms y una pausa de 1 s con un intervalo esperado de 10 ms
+        HistogramaLatencia corregido = new HistogramaLatencia();
+        HistogramaLatencia sinCorregir = new HistogramaLatencia();
+        long unMs = TimeUnit.MILLISECONDS.toNanos(1);
+        for (int i = 0; i < 99; i++) {
+            corregido.registrarCorregido(unMs, 10 * unMs);
+            sinCorregir.registrar(unMs);
+        }
+
+        // When
+        corregido.registrarCorregido(1_000 * unMs, 10 * unMs);
+        sinCorregir.registrar(1_000 * unMs);
+
+        // Then
+        assertThat(corregido.total()).isEqualTo(99 + 100);
+        assertThat(sinCorregir.percentil(90)).isCloseTo(unMs, withinPercentage(2));
+        assertThat(corregido.percentil(90)).isGreaterThan(500 * unMs);
+    }
+}
@@ -0,0 +1,85 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Proporción de cada operación en una prueba de carga
+ * Se configura con pesos relativos, por ejemplo "registrar=5,actualizar=25,consultar=70"
+ */
+public final class MezclaOperaciones {
+
+    public static final MezclaOperaciones POR_DEFECTO = de("registrar=5,actualizar=25,consultar=70");
+
+    private final Map<Operacion, Integer> pesos;
+    private final int[] acumulados;
+    private final int total;
+
+    private MezclaOperaciones(Map<Operacion, Integer> pesos) {
+        this.pesos = pesos;
+        Operacion[] operaciones = Operacion.values();
+        this.acumulados = new int[operaciones.length];
+        int suma = 0;
+        for (Operacion operacion : operaciones) {
+            suma += pesos.getOrDefault(operacion, 0);
+            acumulados[operacion.ordinal()] = suma;
+        }
+        if (suma <= 0) {
+            throw new IllegalArgumentException("La mezcla debe tener al menos una operación con peso positivo");
+        }
+        this.total = suma;
+    }
+
+    /**
+     * Crea una mezcla a partir de pares clave=peso separados por comas
+     */
+    public static MezclaOperaciones de(String especificacion) {
+        Map<Operacion, Integer> pesos = new EnumMap<>(Operacion.class);
+        for (String par : especificacion.split(",")) {
+            String[] partes = par.split("=");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Formato de mezcla inválido: " + par);
+            }
+            int peso = Integer.parseInt(partes[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("El peso de una operación no puede ser negativo");
+            }
+            pesos.put(Operacion.desdeClave(partes[0]), peso);
+        }
+        return new MezclaOperaciones(pesos);
+    }
+
+    /**
+     * Elige una operación respetando las proporciones configuradas
+     */
+    public Operacion elegir(SplittableRandom random) {
+        int valor = random.nextInt(total);
+        Operacion[] operaciones = Operacion.values();
+        for (int i = 0; i < acumulados.length; i++) {
+            if (valor < acumulados[i]) {
+                return operaciones[i];
+            }
+        }
+        throw new IllegalStateException("Valor fuera de rango: " + valor);
+    }
+
+    /**
+     * Fracción del total correspondiente a una operación
+     */
+    public double proporcion(Operacion operacion) {
+        return pesos.getOrDefault(operacion, 0) / (double) total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        pesos.forEach((operacion, peso) -> {
+            if (texto.length() > 0) {
+                texto.append(',');
+            }
+            texto.append(operacion.getClave()).append('=').append(peso);
+        });
+        return texto.toString();
+    }
+}
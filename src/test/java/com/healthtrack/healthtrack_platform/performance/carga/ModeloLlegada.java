@@ -0,0 +1,17 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+/**
+ * Modelo de llegada de peticiones de una prueba de carga
+ */
+public enum ModeloLlegada {
+    /**
+     * Las peticiones llegan según un calendario (proceso de Poisson a la tasa objetivo),
+     * sin importar cuánto tarde el sistema en responder las anteriores
+     */
+    ABIERTO,
+
+    /**
+     * Un número fijo de usuarios virtuales repite ciclo petición → tiempo de pensar
+     */
+    CERRADO
+}
@@ -0,0 +1,19 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+/**
+ * Sistema contra el que se ejecuta una prueba de carga
+ * Las implementaciones deben ser thread-safe
+ */
+@FunctionalInterface
+public interface ObjetivoCarga {
+
+    /**
+     * Ejecuta una operación
+     * @param operacion Operación a ejecutar
+     * @param nombre Nombre del usuario afectado
+     * @param peso Peso a registrar o actualizar (ignorado en consultas)
+     * @return true si el sistema aceptó la operación, false si la rechazó por una regla de negocio
+     * @throws Exception Cualquier excepción se contabiliza como error
+     */
+    boolean ejecutar(Operacion operacion, String nombre, double peso) throws Exception;
+}
@@ -0,0 +1,46 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+import com.healthtrack.healthtrack_platform.model.Usuario;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Objetivo de carga que ejercita directamente la API de Usuario
+ * Los usuarios viven en un mapa concurrente; las consultas leen la instantánea publicada sin
+ * bloquear y las actualizaciones usan tryActualizarPeso, igual que lo haría un servicio que
+ * expone la clase
+ */
+public class ObjetivoUsuariosEnMemoria implements ObjetivoCarga {
+
+    private final ConcurrentHashMap<String, Usuario> usuarios = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean ejecutar(Operacion operacion, String nombre, double peso) {
+        switch (operacion) {
+            case REGISTRAR:
+                return usuarios.putIfAbsent(nombre, new Usuario(nombre, peso)) == null;
+            case ACTUALIZAR_PESO: {
+                Usuario usuario = usuarios.get(nombre);
+                if (usuario == null) {
+                    return false;
+                }
+                // La restricción se evalúa y aplica en un solo paso atómico, sin monitor
+                return usuario.tryActualizarPeso(peso).esExitoso();
+            }
+            case CONSULTAR: {
+                Usuario usuario = usuarios.get(nombre);
+                if (usuario == null) {
+                    return false;
+                }
+                // Lee una instantánea inmutable: no hace falta bloquear al usuario
+                return !usuario.toString().isEmpty();
+            }
+            default:
+                throw new IllegalArgumentException("Operación no soportada: " + operacion);
+        }
+    }
+
+    public int totalUsuarios() {
+        return usuarios.size();
+    }
+}
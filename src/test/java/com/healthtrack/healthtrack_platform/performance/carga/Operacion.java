@@ -0,0 +1,32 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+/**
+ * Operaciones que un usuario virtual puede ejecutar durante una prueba de carga
+ */
+public enum Operacion {
+    REGISTRAR("registrar"),
+    ACTUALIZAR_PESO("actualizar"),
+    CONSULTAR("consultar");
+
+    private final String clave;
+
+    Operacion(String clave) {
+        this.clave = clave;
+    }
+
+    /**
+     * Nombre corto usado en la configuración y en los reportes
+     */
+    public String getClave() {
+        return clave;
+    }
+
+    public static Operacion desdeClave(String clave) {
+        for (Operacion operacion : values()) {
+            if (operacion.clave.equalsIgnoreCase(clave.trim())) {
+                return operacion;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida: " + clave);
+    }
+}
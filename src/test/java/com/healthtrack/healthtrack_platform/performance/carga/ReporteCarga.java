@@ -0,0 +1,138 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Escribe el resultado de una prueba de carga en JSON (para herramientas) y HTML (para personas)
+ */
+public final class ReporteCarga {
+
+    public static final String DIRECTORIO_PROPERTY = "test.carga.reporte.dir";
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final double NANOS_POR_MS = 1_000_000.0;
+
+    private ReporteCarga() {
+    }
+
+    public static Path directorioPorDefecto() {
+        return Path.of(System.getProperty(DIRECTORIO_PROPERTY, "target/load-test"));
+    }
+
+    /**
+     * Escribe nombre.json y nombre.html en el directorio indicado
+     * @return Ruta del reporte HTML
+     */
+    public static Path escribir(ResultadoCarga resultado, Path directorio, String nombre) {
+        try {
+            Files.createDirectories(directorio);
+            Files.writeString(directorio.resolve(nombre + ".json"), json(resultado), StandardCharsets.UTF_8);
+            Path html = directorio.resolve(nombre + ".html");
+            Files.writeString(html, html(resultado, nombre), StandardCharsets.UTF_8);
+            return html;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el reporte de carga", e);
+        }
+    }
+
+    static String json(ResultadoCarga resultado) {
+        ConfiguracionCarga configuracion = resultado.getConfiguracion();
+        StringBuilder json = new StringBuilder("{\n");
+        json.append(String.format(Locale.ROOT,
+                "  \"modelo\": \"%s\",%n  \"usuariosVirtuales\": %d,%n  \"tasaObjetivo\": %.1f,%n"
+                        + "  \"tiempoPensarMs\": %d,%n  \"mezcla\": \"%s\",%n  \"hilosVirtuales\": %b,%n"
+                        + "  \"duracionSegundos\": %.3f,%n  \"throughput\": %.1f,%n  \"operaciones\": {%n",
+                configuracion.modelo(), configuracion.usuariosVirtuales(),
+                configuracion.modelo() == ModeloLlegada.ABIERTO ? configuracion.tasaPorSegundo() : 0.0,
+                configuracion.tiempoPensar().toMillis(), configuracion.mezcla(), resultado.usoHilosVirtuales(),
+                resultado.getDuracionSegundos(), resultado.throughput()));
+        int i = 0;
+        for (Map.Entry<Operacion, EstadisticasOperacion> entrada : resultado.getEstadisticas().entrySet()) {
+            EstadisticasOperacion e = entrada.getValue();
+            json.append(String.format(Locale.ROOT,
+                    "    \"%s\": {\"exitosas\": %d, \"rechazadas\": %d, \"errores\": %d, \"throughput\": %.1f,%n"
+                            + "      \"latenciaMs\": %s,%n      \"latenciaSinCorregirMs\": %s}%s%n",
+                    entrada.getKey().getClave(), e.getExitosas(), e.getRechazadas(), e.getErrores(),
+                    e.getTotal() / resultado.getDuracionSegundos(),
+                    percentilesJson(e.getLatenciaCorregida()), percentilesJson(e.getLatenciaSinCorregir()),
+                    ++i < resultado.getEstadisticas().size() ? "," : ""));
+        }
+        json.append("  }\n}\n");
+        return json.toString();
+    }
+
+    static String html(ResultadoCarga resultado, String nombre) {
+        ConfiguracionCarga configuracion = resultado.getConfiguracion();
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html lang=\"es\">\n<head>\n<meta charset=\"UTF-8\">\n")
+            .append("<title>HealthTrack - ").append(nombre).append("</title>\n")
+            .append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}")
+            .append("th,td{border:1px solid #ccc;padding:4px 10px;text-align:right}th{background:#f0f0f0}")
+            .append("td:first-child{text-align:left}.error{color:#b00020;font-weight:bold}</style>\n")
+            .append("</head>\n<body>\n<h1>Prueba de carga: ").append(nombre).append("</h1>\n");
+        html.append(String.format(Locale.ROOT,
+                "<p>Modelo %s · %d usuarios virtuales%s · pensar %d ms · mezcla %s · %s</p>%n",
+                configuracion.modelo(), configuracion.usuariosVirtuales(),
+                configuracion.modelo() == ModeloLlegada.ABIERTO
+                        ? String.format(Locale.ROOT, " · tasa objetivo %.0f/s", configuracion.tasaPorSegundo()) : "",
+                configuracion.tiempoPensar().toMillis(), configuracion.mezcla(),
+                resultado.usoHilosVirtuales() ? "hilos virtuales" : "hilos de plataforma"));
+        html.append(String.format(Locale.ROOT, "<p>%d operaciones en %.1f s · <b>%.1f op/s</b> · %s</p>%n",
+                resultado.totalOperaciones(), resultado.getDuracionSegundos(), resultado.throughput(),
+                resultado.totalErrores() == 0 ? "sin errores"
+                        : "<span class=\"error\">" + resultado.totalErrores() + " errores</span>"));
+
+        html.append("<h2>Latencia corregida por omisión coordinada (ms)</h2>\n");
+        tabla(html, resultado, true);
+        html.append("<h2>Latencia sin corregir (tiempo de servicio, ms)</h2>\n");
+        tabla(html, resultado, false);
+        html.append("</body>\n</html>\n");
+        return html.toString();
+    }
+
+    private static void tabla(StringBuilder html, ResultadoCarga resultado, boolean corregida) {
+        html.append("<table>\n<tr><th>Operación</th><th>exitosas</th><th>rechazadas</th><th>errores</th>");
+        for (double percentil : PERCENTILES) {
+            html.append(String.format(Locale.ROOT, "<th>p%s</th>", formatoPercentil(percentil)));
+        }
+        html.append("<th>máx</th><th>media</th></tr>\n");
+        resultado.getEstadisticas().forEach((operacion, e) -> {
+            HistogramaLatencia histograma = corregida ? e.getLatenciaCorregida() : e.getLatenciaSinCorregir();
+            html.append(String.format(Locale.ROOT, "<tr><td>%s</td><td>%d</td><td>%d</td><td%s>%d</td>",
+                    operacion.getClave(), e.getExitosas(), e.getRechazadas(),
+                    e.getErrores() > 0 ? " class=\"error\" title=\"" + escapar(e.getPrimerError()) + "\"" : "",
+                    e.getErrores()));
+            for (double percentil : PERCENTILES) {
+                html.append(String.format(Locale.ROOT, "<td>%.3f</td>", histograma.percentil(percentil) / NANOS_POR_MS));
+            }
+            html.append(String.format(Locale.ROOT, "<td>%.3f</td><td>%.3f</td></tr>%n",
+                    histograma.maximo() / NANOS_POR_MS, histograma.media() / NANOS_POR_MS));
+        });
+        html.append("</table>\n");
+    }
+
+    private static String percentilesJson(HistogramaLatencia histograma) {
+        StringBuilder json = new StringBuilder("{");
+        for (double percentil : PERCENTILES) {
+            json.append(String.format(Locale.ROOT, "\"p%s\": %.3f, ",
+                    formatoPercentil(percentil).replace(".", ""), histograma.percentil(percentil) / NANOS_POR_MS));
+        }
+        json.append(String.format(Locale.ROOT, "\"max\": %.3f, \"media\": %.3f}",
+                histograma.maximo() / NANOS_POR_MS, histograma.media() / NANOS_POR_MS));
+        return json.toString();
+    }
+
+    private static String formatoPercentil(double percentil) {
+        return percentil == Math.rint(percentil) ? String.valueOf((long) percentil) : String.valueOf(percentil);
+    }
+
+    private static String escapar(String texto) {
+        return texto == null ? "" : texto.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;");
+    }
+}
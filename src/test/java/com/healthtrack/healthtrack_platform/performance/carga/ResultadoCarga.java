@@ -0,0 +1,62 @@
+package com.healthtrack.healthtrack_platform.performance.carga;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resultados de la fase medida de una prueba de carga
+ */
+public class ResultadoCarga {
+
+    private final ConfiguracionCarga configuracion;
+    private final Map<Operacion, EstadisticasOperacion> estadisticas;
+    private final long duracionNanos;
+    private final boolean hilosVirtuales;
+
+    ResultadoCarga(ConfiguracionCarga configuracion, Map<Operacion, EstadisticasOperacion> estadisticas,
+                   long duracionNanos, boolean hilosVirtuales) {
+        this.configuracion = configuracion;
+        this.estadisticas = Collections.unmodifiableMap(estadisticas);
+        this.duracionNanos = duracionNanos;
+        this.hilosVirtuales = hilosVirtuales;
+    }
+
+    public ConfiguracionCarga getConfiguracion() {
+        return configuracion;
+    }
+
+    public EstadisticasOperacion getEstadisticas(Operacion operacion) {
+        return estadisticas.get(operacion);
+    }
+
+    public Map<Operacion, EstadisticasOperacion> getEstadisticas() {
+        return estadisticas;
+    }
+
+    public double getDuracionSegundos() {
+        return duracionNanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Indica si los usuarios virtuales corrieron en hilos virtuales o en el pool de respaldo
+     */
+    public boolean usoHilosVirtuales() {
+        return hilosVirtuales;
+    }
+
+    public long totalOperaciones() {
+        return estadisticas.values().stream().mapToLong(EstadisticasOperacion::getTotal).sum();
+    }
+
+    public long totalErrores() {
+        return estadisticas.values().stream().mapToLong(EstadisticasOperacion::getErrores).sum();
+    }
+
+    /**
+     * Operaciones completadas por segundo durante la fase medida
+     */
+    public double throughput() {
+        return totalOperaciones() / getDuracionSegundos();
+    }
+}
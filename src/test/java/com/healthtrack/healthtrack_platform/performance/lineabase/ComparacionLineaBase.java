@@ -0,0 +1,126 @@
+package com.healthtrack.healthtrack_platform.performance.lineabase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Comparación de una ejecución de benchmarks contra la línea base registrada
+ * Una operación es una regresión solo si su intervalo de confianza queda por completo
+ * por encima del de la línea base ampliado por el umbral, es decir, si es más lenta
+ * con significancia estadística y por más que el umbral tolerado
+ */
+public class ComparacionLineaBase {
+
+    /**
+     * Veredicto de una operación respecto a la línea base
+     */
+    public enum Veredicto {
+        REGRESION("MÁS LENTA"),
+        MEJORA("más rápida"),
+        SIN_CAMBIO("sin cambio significativo"),
+        NUEVA("sin línea base");
+
+        private final String descripcion;
+
+        Veredicto(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+    }
+
+    /**
+     * Resultado de una operación frente a su línea base (null si la operación es nueva)
+     */
+    public record Diferencia(String operacion, ResultadoBenchmark base, ResultadoBenchmark actual,
+                             Veredicto veredicto) {
+
+        /**
+         * Cambio relativo de la media; positivo significa más lenta
+         */
+        public double cambio() {
+            return base == null ? 0 : actual.mediaNs() / base.mediaNs() - 1;
+        }
+    }
+
+    private final List<Diferencia> diferencias;
+    private final double umbral;
+
+    /**
+     * @param base Resultados de la línea base por operación
+     * @param actuales Resultados de la ejecución actual por operación
+     * @param umbral Cambio relativo mínimo para considerar una diferencia (0.10 = 10%)
+     */
+    public ComparacionLineaBase(Map<String, ResultadoBenchmark> base, Map<String, ResultadoBenchmark> actuales,
+                                double umbral) {
+        this.umbral = umbral;
+        List<Diferencia> lista = new ArrayList<>();
+        actuales.forEach((operacion, actual) -> {
+            ResultadoBenchmark referencia = base.get(operacion);
+            lista.add(new Diferencia(operacion, referencia, actual, veredicto(referencia, actual, umbral)));
+        });
+        this.diferencias = Collections.unmodifiableList(lista);
+    }
+
+    static Veredicto veredicto(ResultadoBenchmark base, ResultadoBenchmark actual, double umbral) {
+        if (base == null) {
+            return Veredicto.NUEVA;
+        }
+        if (actual.icInferiorNs() > base.icSuperiorNs() * (1 + umbral)) {
+            return Veredicto.REGRESION;
+        }
+        if (actual.icSuperiorNs() * (1 + umbral) < base.icInferiorNs()) {
+            return Veredicto.MEJORA;
+        }
+        return Veredicto.SIN_CAMBIO;
+    }
+
+    public List<Diferencia> getDiferencias() {
+        return diferencias;
+    }
+
+    public List<Diferencia> regresiones() {
+        return diferencias.stream().filter(d -> d.veredicto() == Veredicto.REGRESION).toList();
+    }
+
+    /**
+     * Operaciones medidas que el entorno no tiene registradas en la línea base
+     */
+    public List<Diferencia> sinLineaBase() {
+        return diferencias.stream().filter(d -> d.veredicto() == Veredicto.NUEVA).toList();
+    }
+
+    public boolean hayRegresiones() {
+        return !regresiones().isEmpty();
+    }
+
+    /**
+     * Tabla legible con la línea base, la ejecución actual y el veredicto de cada operación
+     */
+    public String aTexto() {
+        StringBuilder texto = new StringBuilder(String.format(Locale.ROOT,
+                "%-36s %24s %24s %9s  %s%n", "Operación", "línea base (ns/op)", "actual (ns/op)", "cambio", "veredicto"));
+        for (Diferencia d : diferencias) {
+            texto.append(String.format(Locale.ROOT, "%-36s %24s %24s %9s  %s%n",
+                    d.operacion(), formatear(d.base()), formatear(d.actual()),
+                    d.base() == null ? "-" : String.format(Locale.ROOT, "%+.1f%%", d.cambio() * 100),
+                    d.veredicto() == Veredicto.REGRESION ? "<<< " + d.veredicto().getDescripcion()
+                            : d.veredicto().getDescripcion()));
+        }
+        texto.append(String.format(Locale.ROOT,
+                "Regresión = intervalo de confianza del 95%% por encima del de la línea base +%.0f%%%n", umbral * 100));
+        return texto.toString();
+    }
+
+    private static String formatear(ResultadoBenchmark resultado) {
+        if (resultado == null) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%.1f ± %.1f", resultado.mediaNs(), resultado.icSuperiorNs() - resultado.mediaNs());
+    }
+}
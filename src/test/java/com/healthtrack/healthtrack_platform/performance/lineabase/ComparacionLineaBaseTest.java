@@ -0,0 +1,129 @@
+package com.healthtrack.healthtrack_platform.performance.lineabase;
+
+import com.healthtrack.healthtrack_platform.performance.lineabase.ComparacionLineaBase.Diferencia;
+import com.healthtrack.healthtrack_platform.performance.lineabase.ComparacionLineaBase.Veredicto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de la línea base de rendimiento y su comparación estadística
+ */
+@DisplayName("Línea Base de Rendimiento Tests")
+class ComparacionLineaBaseTest {
+
+    private static final ResultadoBenchmark BASE = ResultadoBenchmark.de(new double[]{98, 100, 102, 99, 101});
+
+    @Nested
+    @DisplayName("Intervalo de confianza")
+    class IntervaloTests {
+
+        @Test
+        @DisplayName("Debería calcular media e intervalo con la t de Student")
+        void deberiaCalcularIntervalo() {
+            // When
+            ResultadoBenchmark resultado = ResultadoBenchmark.de(new double[]{10, 12, 14});
+
+            // Then - t(0.975, 2) = 4.303, desviación = 2, margen = 4.303 * 2 / √3
+            assertThat(resultado.mediaNs()).isEqualTo(12.0);
+            assertThat(resultado.desviacionNs()).isCloseTo(2.0, within(1e-9));
+            assertThat(resultado.icSuperiorNs() - resultado.mediaNs()).isCloseTo(4.97, within(0.01));
+        }
+
+        @Test
+        @DisplayName("El valor crítico debería acercarse al de la tabla t")
+        void valorCriticoDeberiaCoincidirConTabla() {
+            assertThat(ResultadoBenchmark.tStudent975(19)).isCloseTo(2.093, within(0.002));
+            assertThat(ResultadoBenchmark.tStudent975(1_000)).isCloseTo(1.962, within(0.002));
+        }
+
+        @Test
+        @DisplayName("Debería rechazar menos de dos muestras")
+        void deberiaRechazarMuestraUnica() {
+            assertThatThrownBy(() -> ResultadoBenchmark.de(new double[]{1}))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Veredictos")
+    class VeredictoTests {
+
+        @Test
+        @DisplayName("Una operación el doble de lenta debería ser una regresión")
+        void deberiaDetectarRegresion() {
+            // Given
+            ResultadoBenchmark actual = ResultadoBenchmark.de(new double[]{198, 200, 202, 199, 201});
+
+            // When
+            ComparacionLineaBase comparacion = new ComparacionLineaBase(
+                    Map.of("Usuario.toString", BASE), Map.of("Usuario.toString", actual), 0.10);
+
+            // Then
+            assertThat(comparacion.hayRegresiones()).isTrue();
+            assertThat(comparacion.regresiones().get(0).cambio()).isCloseTo(1.0, within(0.01));
+            assertThat(comparacion.aTexto()).contains("Usuario.toString").contains("MÁS LENTA").contains("+100.0%");
+        }
+
+        @Test
+        @DisplayName("Una diferencia dentro del ruido no debería ser una regresión")
+        void ruidoNoDeberiaSerRegresion() {
+            // Given - Media 8% mayor pero con intervalos que se solapan
+            ResultadoBenchmark actual = ResultadoBenchmark.de(new double[]{90, 130, 105, 110, 105});
+
+            // When & Then
+            assertThat(ComparacionLineaBase.veredicto(BASE, actual, 0.10)).isEqualTo(Veredicto.SIN_CAMBIO);
+        }
+
+        @Test
+        @DisplayName("Debería distinguir mejoras y operaciones sin línea base")
+        void deberiaDetectarMejorasYNuevas() {
+            // Given
+            ResultadoBenchmark rapido = ResultadoBenchmark.de(new double[]{49, 50, 51});
+
+            // When & Then
+            assertThat(ComparacionLineaBase.veredicto(BASE, rapido, 0.10)).isEqualTo(Veredicto.MEJORA);
+            assertThat(ComparacionLineaBase.veredicto(null, rapido, 0.10)).isEqualTo(Veredicto.NUEVA);
+        }
+
+        @Test
+        @DisplayName("Debería listar las operaciones sin línea base, que un entorno fijado no acepta")
+        void deberiaListarOperacionesSinLineaBase() {
+            // Given
+            ResultadoBenchmark actual = ResultadoBenchmark.de(new double[]{98, 100, 102});
+
+            // When
+            ComparacionLineaBase comparacion = new ComparacionLineaBase(
+                    Map.of("Usuario.toString", BASE),
+                    Map.of("Usuario.toString", actual, "Usuario.constructor", actual), 0.10);
+
+            // Then
+            assertThat(comparacion.hayRegresiones()).isFalse();
+            assertThat(comparacion.sinLineaBase()).extracting(Diferencia::operacion)
+                    .containsExactly("Usuario.constructor");
+        }
+    }
+
+    @Test
+    @DisplayName("Debería guardar y recargar la línea base por entorno")
+    void deberiaGuardarYCargarLineaBase(@TempDir Path directorio) {
+        // Given
+        Path archivo = directorio.resolve("linea-base.json");
+        LineaBaseRendimiento lineaBase = LineaBaseRendimiento.cargar(archivo);
+        lineaBase.registrar("ci", Map.of("Usuario.constructor", BASE));
+
+        // When
+        lineaBase.guardar();
+        LineaBaseRendimiento recargada = LineaBaseRendimiento.cargar(archivo);
+
+        // Then
+        assertThat(recargada.resultados("ci")).containsEntry("Usuario.constructor", BASE);
+        assertThat(recargada.resultados("otro-entorno")).isEmpty();
+    }
+}
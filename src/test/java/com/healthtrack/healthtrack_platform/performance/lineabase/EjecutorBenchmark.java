@@ -0,0 +1,79 @@
+package com.healthtrack.healthtrack_platform.performance.lineabase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Ejecuta micro-benchmarks en lotes y calcula el tiempo por operación de cada lote
+ * Cada lote es una muestra independiente para el intervalo de confianza. Los lotes de las
+ * distintas operaciones se intercalan en rondas, así una pausa de GC o una compilación del
+ * JIT se reparte entre todas en lugar de sesgar solo a la que se estaba midiendo
+ */
+public class EjecutorBenchmark {
+
+    private static final int RONDAS_CALENTAMIENTO = 20;
+    // El calentamiento también exige un tiempo mínimo: con pocas CPU el JIT compila en
+    // segundo plano compitiendo con el benchmark, y si las operaciones son rápidas las
+    // rondas de calentamiento terminan antes de que lleguen las compilaciones de C2
+    private static final long CALENTAMIENTO_MINIMO_NANOS = TimeUnit.SECONDS.toNanos(3);
+    private static final int RONDAS_MEDIDAS = 30;
+
+    private static volatile Object sumidero;
+
+    private final Map<String, Benchmark> benchmarks = new LinkedHashMap<>();
+    private final int rondasMedidas;
+
+    public EjecutorBenchmark() {
+        this(RONDAS_MEDIDAS);
+    }
+
+    public EjecutorBenchmark(int rondasMedidas) {
+        this.rondasMedidas = rondasMedidas;
+    }
+
+    /**
+     * Agrega una operación a medir
+     * @param operacion Nombre estable usado como clave en la línea base
+     * @param operacionesPorLote Operaciones por muestra; deben sumar al menos unos milisegundos
+     * @param cuerpo Operación a medir; recibe el número de iteración y devuelve su resultado
+     */
+    public EjecutorBenchmark agregar(String operacion, int operacionesPorLote, IntFunction<Object> cuerpo) {
+        benchmarks.put(operacion, new Benchmark(operacionesPorLote, cuerpo));
+        return this;
+    }
+
+    /**
+     * Ejecuta el calentamiento y las rondas medidas de todas las operaciones agregadas
+     * @return Resultado por operación, en el orden en que se agregaron
+     */
+    public Map<String, ResultadoBenchmark> ejecutar() {
+        long finCalentamiento = System.nanoTime() + CALENTAMIENTO_MINIMO_NANOS;
+        for (int ronda = 0; ronda < RONDAS_CALENTAMIENTO || System.nanoTime() < finCalentamiento; ronda++) {
+            benchmarks.values().forEach(Benchmark::ejecutarLote);
+        }
+        Map<String, double[]> muestras = new LinkedHashMap<>();
+        benchmarks.keySet().forEach(operacion -> muestras.put(operacion, new double[rondasMedidas]));
+        for (int ronda = 0; ronda < rondasMedidas; ronda++) {
+            for (Map.Entry<String, Benchmark> entrada : benchmarks.entrySet()) {
+                Benchmark benchmark = entrada.getValue();
+                muestras.get(entrada.getKey())[ronda] = benchmark.ejecutarLote() / (double) benchmark.operacionesPorLote;
+            }
+        }
+        Map<String, ResultadoBenchmark> resultados = new LinkedHashMap<>();
+        muestras.forEach((operacion, valores) -> resultados.put(operacion, ResultadoBenchmark.de(valores)));
+        return resultados;
+    }
+
+    private record Benchmark(int operacionesPorLote, IntFunction<Object> cuerpo) {
+
+        long ejecutarLote() {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < operacionesPorLote; i++) {
+                sumidero = cuerpo.apply(i);
+            }
+            return System.nanoTime() - inicio;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.healthtrack.healthtrack_platform.performance.lineabase;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Línea base de rendimiento versionada en el repositorio
+ * Guarda los resultados de los benchmarks por entorno, porque los tiempos absolutos solo
+ * son comparables en el mismo tipo de máquina y versión de Java. Un entorno derivado sin
+ * línea base no hace fallar el build: se informa y se deja el candidato en target para
+ * registrarlo. Un entorno fijado con -Dtest.rendimiento.entorno (el de CI) sí la exige, para
+ * que el gate no quede mudo si el nombre cambia o nunca se registró
+ *
+ * Propiedades del sistema:
+ * -Dtest.rendimiento.entorno=nombre     entorno fijo a usar (por defecto se deriva de SO, CPU y Java)
+ * -Dtest.rendimiento.umbral=0.25        cambio mínimo tolerado antes de declarar una regresión
+ * -Dtest.rendimiento.actualizarBase=true reemplaza la línea base del entorno con la ejecución actual
+ */
+public class LineaBaseRendimiento {
+
+    public static final String ENTORNO_PROPERTY = "test.rendimiento.entorno";
+    public static final String UMBRAL_PROPERTY = "test.rendimiento.umbral";
+    public static final String ACTUALIZAR_PROPERTY = "test.rendimiento.actualizarBase";
+
+    static final String ARCHIVO = "src/test/resources/performance/linea-base.json";
+    static final String DIRECTORIO_REPORTE = "target/performance-baseline";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Type TIPO = new TypeToken<TreeMap<String, TreeMap<String, ResultadoBenchmark>>>() { }.getType();
+
+    private final Path archivo;
+    private final Map<String, TreeMap<String, ResultadoBenchmark>> entornos;
+
+    private LineaBaseRendimiento(Path archivo, Map<String, TreeMap<String, ResultadoBenchmark>> entornos) {
+        this.archivo = archivo;
+        this.entornos = entornos;
+    }
+
+    /**
+     * Carga la línea base del repositorio (vacía si el archivo todavía no existe)
+     */
+    public static LineaBaseRendimiento cargar() {
+        return cargar(directorioProyecto().resolve(ARCHIVO));
+    }
+
+    public static LineaBaseRendimiento cargar(Path archivo) {
+        if (!Files.exists(archivo)) {
+            return new LineaBaseRendimiento(archivo, new TreeMap<>());
+        }
+        try {
+            Map<String, TreeMap<String, ResultadoBenchmark>> entornos =
+                    GSON.fromJson(Files.readString(archivo, StandardCharsets.UTF_8), TIPO);
+            return new LineaBaseRendimiento(archivo, entornos == null ? new TreeMap<>() : entornos);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer la línea base " + archivo, e);
+        }
+    }
+
+    /**
+     * Resultados registrados para un entorno (vacío si no tiene línea base)
+     */
+    public Map<String, ResultadoBenchmark> resultados(String entorno) {
+        return entornos.getOrDefault(entorno, new TreeMap<>());
+    }
+
+    /**
+     * Compara la ejecución actual con la línea base del entorno actual, deja el diff y el
+     * candidato en target/performance-baseline y, si se pidió, actualiza la línea base
+     */
+    public ComparacionLineaBase comparar(Map<String, ResultadoBenchmark> actuales) {
+        String entorno = entornoActual();
+        ComparacionLineaBase comparacion = new ComparacionLineaBase(resultados(entorno), actuales, umbral());
+        Path reporte = directorioProyecto().resolve(DIRECTORIO_REPORTE);
+        escribir(reporte.resolve("diff.txt"), "Entorno: " + entorno + System.lineSeparator() + comparacion.aTexto());
+        escribir(reporte.resolve("candidato.json"), GSON.toJson(Map.of(entorno, new TreeMap<>(actuales))));
+        if (Boolean.getBoolean(ACTUALIZAR_PROPERTY)) {
+            registrar(entorno, actuales);
+            guardar();
+        }
+        return comparacion;
+    }
+
+    /**
+     * Reemplaza o agrega los resultados de las operaciones indicadas en un entorno
+     */
+    public void registrar(String entorno, Map<String, ResultadoBenchmark> resultados) {
+        entornos.computeIfAbsent(entorno, e -> new TreeMap<>()).putAll(resultados);
+    }
+
+    public void guardar() {
+        escribir(archivo, GSON.toJson(entornos));
+    }
+
+    /**
+     * Entorno configurado o, por defecto, uno derivado de la máquina y la versión de Java
+     */
+    public static String entornoActual() {
+        String configurado = System.getProperty(ENTORNO_PROPERTY);
+        if (configurado != null && !configurado.isBlank()) {
+            return configurado.trim();
+        }
+        return String.format(Locale.ROOT, "%s-%s-%dcpu-java%d",
+                System.getProperty("os.name").toLowerCase(Locale.ROOT).replace(' ', '_'),
+                System.getProperty("os.arch"),
+                Runtime.getRuntime().availableProcessors(),
+                Runtime.version().feature());
+    }
+
+    /**
+     * @return true si el entorno se fijó por propiedad y no se está registrando una línea base
+     *         nueva; en ese caso toda operación medida debe tener línea base
+     */
+    public static boolean exigeLineaBase() {
+        String configurado = System.getProperty(ENTORNO_PROPERTY);
+        return configurado != null && !configurado.isBlank() && !Boolean.getBoolean(ACTUALIZAR_PROPERTY);
+    }
+
+    public static double umbral() {
+        return Double.parseDouble(System.getProperty(UMBRAL_PROPERTY, "0.25"));
+    }
+
+    private static Path directorioProyecto() {
+        // Surefire define basedir; desde el IDE se usa el directorio de trabajo
+        return Path.of(System.getProperty("basedir", "."));
+    }
+
+    private static void escribir(Path destino, String contenido) {
+        try {
+            Files.createDirectories(destino.getParent());
+            Files.writeString(destino, contenido, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir " + destino, e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.healthtrack.healthtrack_platform.performance.lineabase;
+
+/**
+ * Tiempo por operación de un benchmark, con su intervalo de confianza del 95%
+ *
+ * @param muestras Número de muestras (lotes) medidas
+ * @param mediaNs Media de nanosegundos por operación
+ * @param desviacionNs Desviación estándar muestral entre lotes
+ * @param icInferiorNs Límite inferior del intervalo de confianza de la media
+ * @param icSuperiorNs Límite superior del intervalo de confianza de la media
+ */
+public record ResultadoBenchmark(int muestras, double mediaNs, double desviacionNs,
+                                 double icInferiorNs, double icSuperiorNs) {
+
+    private static final double Z_975 = 1.959964;
+    private static final double[] T_975_POCOS_GRADOS = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228};
+
+    /**
+     * Calcula media, desviación e intervalo de confianza t de Student a partir de las muestras
+     * @param nanosPorOperacion Una muestra por lote medido
+     */
+    public static ResultadoBenchmark de(double[] nanosPorOperacion) {
+        int n = nanosPorOperacion.length;
+        if (n < 2) {
+            throw new IllegalArgumentException("Se necesitan al menos 2 muestras para un intervalo de confianza");
+        }
+        double suma = 0;
+        for (double valor : nanosPorOperacion) {
+            suma += valor;
+        }
+        double media = suma / n;
+        double cuadrados = 0;
+        for (double valor : nanosPorOperacion) {
+            cuadrados += (valor - media) * (valor - media);
+        }
+        double desviacion = Math.sqrt(cuadrados / (n - 1));
+        double margen = tStudent975(n - 1) * desviacion / Math.sqrt(n);
+        return new ResultadoBenchmark(n, media, desviacion, media - margen, media + margen);
+    }
+
+    /**
+     * Valor crítico bilateral al 95% de la t de Student: tabla hasta 10 grados de libertad
+     * y aproximación de Cornish-Fisher (error menor a 0,01%) a partir de ahí
+     */
+    static double tStudent975(int gradosLibertad) {
+        if (gradosLibertad <= T_975_POCOS_GRADOS.length) {
+            return T_975_POCOS_GRADOS[gradosLibertad - 1];
+        }
+        double z = Z_975;
+        double gl = gradosLibertad;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        return z + (z3 + z) / (4 * gl)
+                + (5 * z5 + 16 * z3 + 3 * z) / (96 * gl * gl)
+                + (3 * z5 * z * z + 19 * z5 + 17 * z3 - 15 * z) / (384 * gl * gl * gl);
+    }
+
+    /**
+     * Margen relativo del intervalo respecto a la media
+     */
+    public double margenRelativo() {
+        return mediaNs == 0 ? 0 : (icSuperiorNs - mediaNs) / mediaNs;
+    }
+}
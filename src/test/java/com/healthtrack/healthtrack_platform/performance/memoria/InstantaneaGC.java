@@ -0,0 +1,59 @@
+package com.healthtrack.healthtrack_platform.performance.memoria;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Contadores acumulados de los garbage collectors en un instante
+ * La diferencia entre dos instantáneas da las pausas ocurridas durante una ejecución
+ *
+ * @param coleccionesJovenes Colecciones de la generación joven
+ * @param coleccionesCompletas Colecciones de la generación vieja o completas
+ * @param tiempoMs Tiempo total acumulado en colecciones
+ */
+public record InstantaneaGC(long coleccionesJovenes, long coleccionesCompletas, long tiempoMs) {
+
+    public static InstantaneaGC tomar() {
+        long jovenes = 0;
+        long completas = 0;
+        long tiempo = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            long colecciones = Math.max(0, gc.getCollectionCount());
+            if (esColectorCompleto(gc.getName())) {
+                completas += colecciones;
+            } else {
+                jovenes += colecciones;
+            }
+            tiempo += Math.max(0, gc.getCollectionTime());
+        }
+        return new InstantaneaGC(jovenes, completas, tiempo);
+    }
+
+    /**
+     * Colecciones y tiempo transcurridos desde una instantánea anterior
+     */
+    public InstantaneaGC desde(InstantaneaGC anterior) {
+        return new InstantaneaGC(coleccionesJovenes - anterior.coleccionesJovenes,
+                coleccionesCompletas - anterior.coleccionesCompletas,
+                tiempoMs - anterior.tiempoMs);
+    }
+
+    public long colecciones() {
+        return coleccionesJovenes + coleccionesCompletas;
+    }
+
+    /**
+     * G1 ("G1 Old Generation"), Parallel ("PS MarkSweep") y Serial ("MarkSweepCompact")
+     * nombran así a sus colectores de la generación vieja
+     */
+    static boolean esColectorCompleto(String nombre) {
+        String minusculas = nombre.toLowerCase(Locale.ROOT);
+        return minusculas.contains("old") || minusculas.contains("marksweep") || minusculas.contains("full");
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d jóvenes, %d completas, %d ms", coleccionesJovenes, coleccionesCompletas, tiempoMs);
+    }
+}
@@ -0,0 +1,80 @@
+package com.healthtrack.healthtrack_platform.performance.memoria;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntFunction;
+
+/**
+ * Mide los bytes asignados en el heap por el hilo actual
+ * Usa com.sun.management.ThreadMXBean#getThreadAllocatedBytes, que cuenta asignaciones
+ * exactas del hilo (TLAB incluidos) y no depende de cuándo corra el garbage collector,
+ * a diferencia de Runtime.totalMemory() - freeMemory()
+ */
+public final class MedidorAsignaciones {
+
+    public static final int ITERACIONES_CALENTAMIENTO = 20_000;
+
+    private static final com.sun.management.ThreadMXBean HILOS = buscarBean();
+
+    /**
+     * Resultado de la última operación medida; evita que el JIT elimine la asignación
+     */
+    private static volatile Object sumidero;
+
+    private MedidorAsignaciones() {
+    }
+
+    /**
+     * Indica si la JVM permite medir asignaciones por hilo
+     */
+    public static boolean soportado() {
+        return HILOS != null;
+    }
+
+    /**
+     * Bytes asignados por el hilo actual desde que inició
+     */
+    public static long bytesAsignados() {
+        if (HILOS == null) {
+            throw new UnsupportedOperationException("La JVM no soporta la medición de asignaciones por hilo");
+        }
+        return HILOS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Bytes asignados en promedio por cada ejecución de la operación
+     * Ejecuta primero un calentamiento para medir el código ya compilado por el JIT, y
+     * descuenta el costo de la propia medición
+     * @param iteraciones Número de ejecuciones medidas
+     * @param operacion Operación a medir; recibe el número de iteración y devuelve su resultado
+     */
+    public static double bytesPorOperacion(int iteraciones, IntFunction<Object> operacion) {
+        if (iteraciones <= 0) {
+            throw new IllegalArgumentException("El número de iteraciones debe ser mayor a 0");
+        }
+        ejecutar(ITERACIONES_CALENTAMIENTO, operacion);
+        long base = medir(iteraciones, i -> sumidero);
+        long total = medir(iteraciones, operacion);
+        return Math.max(0, total - base) / (double) iteraciones;
+    }
+
+    private static long medir(int iteraciones, IntFunction<Object> operacion) {
+        long antes = bytesAsignados();
+        ejecutar(iteraciones, operacion);
+        return bytesAsignados() - antes;
+    }
+
+    private static void ejecutar(int iteraciones, IntFunction<Object> operacion) {
+        for (int i = 0; i < iteraciones; i++) {
+            sumidero = operacion.apply(i);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean buscarBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,104 @@
+package com.healthtrack.healthtrack_platform.repositorio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del pool de conexiones JDBC sobre H2 en memoria
+ */
+@DisplayName("Pool Conexiones Tests")
+class PoolConexionesTest {
+
+    private PoolConexiones pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new PoolConexiones("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Debería reutilizar la conexión devuelta")
+    void deberiaReutilizarConexion() {
+        // Given
+        PoolConexiones.Conexion primera = pool.obtener();
+        primera.close();
+
+        // When
+        PoolConexiones.Conexion segunda = pool.obtener();
+
+        // Then
+        assertThat(segunda).isSameAs(primera);
+        assertThat(pool.abiertas()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Una conexión devuelta después de cerrar el pool debería cerrarse")
+    void conexionDevueltaTrasCerrarDeberiaCerrarse() throws Exception {
+        // Given
+        PoolConexiones.Conexion prestada = pool.obtener();
+        PoolConexiones.Conexion libre = pool.obtener();
+        libre.close();
+
+        // When
+        pool.close();
+        boolean prestadaAbiertaAlCerrar = !prestada.jdbc().isClosed();
+        prestada.close();
+
+        // Then
+        assertThat(prestadaAbiertaAlCerrar).isTrue();
+        assertThat(libre.jdbc().isClosed()).isTrue();
+        assertThat(prestada.jdbc().isClosed()).isTrue();
+        assertThat(pool.abiertas()).isZero();
+        assertThatThrownBy(pool::obtener)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("El pool de conexiones está cerrado");
+    }
+
+    @Test
+    @DisplayName("Una conexión que falló y ya no es válida debería reemplazarse al tomarla")
+    void conexionSospechosaInvalidaDeberiaReemplazarse() throws Exception {
+        // Given - La conexión física se corta mientras está prestada
+        PoolConexiones.Conexion rota = pool.obtener();
+        Connection fisica = rota.jdbc();
+        fisica.close();
+        rota.marcarSospechosa();
+        rota.close();
+
+        // When
+        PoolConexiones.Conexion nueva = pool.obtener();
+
+        // Then
+        assertThat(nueva).isNotSameAs(rota);
+        assertThat(nueva.jdbc().isValid(1)).isTrue();
+        assertThat(pool.abiertas()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Una conexión inactiva debería validarse antes de entregarla")
+    void conexionInactivaDeberiaValidarse() throws Exception {
+        // Given
+        PoolConexiones.Conexion inactiva = pool.obtener();
+        inactiva.jdbc().close();
+        inactiva.close();
+        Thread.sleep(600);
+
+        // When
+        PoolConexiones.Conexion nueva = pool.obtener();
+
+        // Then
+        assertThat(nueva).isNotSameAs(inactiva);
+        assertThat(nueva.jdbc().isValid(1)).isTrue();
+    }
+}
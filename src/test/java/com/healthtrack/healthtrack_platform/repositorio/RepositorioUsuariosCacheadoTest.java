@@ -0,0 +1,221 @@
+package com.healthtrack.healthtrack_platform.repositorio;
+
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del repositorio con caché de lectura y escritura directa
+ */
+@DisplayName("Repositorio Usuarios Cacheado Tests")
+class RepositorioUsuariosCacheadoTest {
+
+    private AlmacenamientoInstrumentado almacenamiento;
+    private RepositorioUsuariosCacheado repositorio;
+
+    @BeforeEach
+    void setUp() {
+        almacenamiento = new AlmacenamientoInstrumentado();
+        almacenamiento.guardar(new Usuario("Ana", 70.0));
+        repositorio = new RepositorioUsuariosCacheado(almacenamiento, 100);
+    }
+
+    @Test
+    @DisplayName("Debería leer del almacenamiento solo en el primer acceso")
+    void deberiaLeerDelAlmacenamientoUnaVez() {
+        // When
+        Optional<Usuario> primera = repositorio.buscar("Ana");
+        Optional<Usuario> segunda = repositorio.buscar(" Ana ");
+
+        // Then
+        assertThat(primera).isPresent();
+        assertThat(segunda.get()).isSameAs(primera.get());
+        assertThat(almacenamiento.lecturas).hasValue(1);
+        assertThat(repositorio.estadisticas().aciertos()).isEqualTo(1);
+        assertThat(repositorio.buscar("Nadie")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("guardarSiNoExiste debería dejar en caché solo al usuario insertado")
+    void guardarSiNoExisteDeberiaRespetarAlExistente() {
+        // Given
+        Usuario luis = new Usuario("Luis", 82.0);
+
+        // When
+        boolean duplicado = repositorio.guardarSiNoExiste(new Usuario("Ana", 99.0));
+        boolean nuevo = repositorio.guardarSiNoExiste(luis);
+
+        // Then
+        assertThat(duplicado).isFalse();
+        assertThat(nuevo).isTrue();
+        assertThat(repositorio.buscar("Ana").get().getPeso()).isEqualTo(70.0);
+        assertThat(repositorio.buscar("Luis").get()).isSameAs(luis);
+        assertThat(almacenamiento.lecturas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("actualizarPeso debería escribir en el almacenamiento y en la caché")
+    void actualizarPesoDeberiaEscribirEnAmbos() {
+        // When
+        repositorio.actualizarPeso("Ana", 68.5);
+
+        // Then
+        assertThat(almacenamiento.escrituras).hasValue(2);
+        assertThat(almacenamiento.buscar("Ana").get().getPeso()).isEqualTo(68.5);
+        assertThat(repositorio.buscar("Ana").get().getPeso()).isEqualTo(68.5);
+        assertThatThrownBy(() -> repositorio.actualizarPeso("Ana", 67.0))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> repositorio.actualizarPeso("Nadie", 67.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Usuario no registrado: Nadie");
+    }
+
+    @Test
+    @DisplayName("Si la escritura falla debería invalidar la entrada en caché")
+    void escrituraFallidaDeberiaInvalidarCache() {
+        // Given
+        repositorio.buscar("Ana");
+        almacenamiento.fallar.set(true);
+
+        // When
+        assertThatThrownBy(() -> repositorio.actualizarPeso("Ana", 68.5))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Almacenamiento no disponible");
+        almacenamiento.fallar.set(false);
+
+        // Then
+        assertThat(repositorio.buscar("Ana").get().getPeso()).isEqualTo(70.0);
+        assertThat(almacenamiento.lecturas).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Un desalojo entre dos actualizaciones simultáneas no debería aplicar el peso dos veces")
+    void desalojoNoDeberiaDuplicarActualizacion() throws Exception {
+        // Given - Capacidad 1: leer a Luis desaloja a Ana
+        almacenamiento.guardar(new Usuario("Luis", 80.0));
+        RepositorioUsuariosCacheado pequeno = new RepositorioUsuariosCacheado(almacenamiento, 1);
+        pequeno.buscar("Ana");
+        almacenamiento.pausarProximaEscritura();
+        FutureTask<Usuario> primera = new FutureTask<>(() -> pequeno.actualizarPeso("Ana", 68.5));
+        FutureTask<ResultadoActualizacion> segunda = new FutureTask<>(() -> pequeno.tryActualizarPeso("Ana", 67.0));
+
+        // When - La segunda empieza con la primera detenida a mitad de la escritura
+        new Thread(primera).start();
+        assertThat(almacenamiento.escribiendo.await(5, TimeUnit.SECONDS)).isTrue();
+        pequeno.buscar("Luis");
+        Thread hiloSegunda = new Thread(segunda);
+        hiloSegunda.start();
+        esperarBloqueado(hiloSegunda);
+        almacenamiento.continuar.countDown();
+
+        // Then
+        assertThat(primera.get(5, TimeUnit.SECONDS).getPeso()).isEqualTo(68.5);
+        assertThat(segunda.get(5, TimeUnit.SECONDS)).isEqualTo(ResultadoActualizacion.BLOQUEADO);
+        assertThat(almacenamiento.buscar("Ana").get().getPeso()).isEqualTo(68.5);
+        assertThat(pequeno.buscar("Ana").get().getPeso()).isEqualTo(68.5);
+    }
+
+    @Test
+    @DisplayName("Guardar y eliminar deberían mantener la caché coherente")
+    void guardarYEliminarDeberianSerCoherentes() {
+        // When
+        repositorio.guardar(new Usuario("Luis", 80.0));
+        Optional<Usuario> luis = repositorio.buscar("Luis");
+        boolean eliminado = repositorio.eliminar("Luis");
+
+        // Then
+        assertThat(luis).isPresent();
+        assertThat(almacenamiento.lecturas).hasValue(0);
+        assertThat(eliminado).isTrue();
+        assertThat(repositorio.buscar("Luis")).isEmpty();
+        assertThat(repositorio.contar()).isEqualTo(1);
+    }
+
+    private static void esperarBloqueado(Thread hilo) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (hilo.getState() == Thread.State.RUNNABLE || hilo.getState() == Thread.State.NEW) {
+            assertThat(System.nanoTime()).isLessThan(limite);
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Almacenamiento en memoria que cuenta accesos y puede simular fallos de escritura
+     * Devuelve copias, como lo haría un almacenamiento persistente, y serializa las
+     * actualizaciones de peso como lo hace el bloqueo de fila de RepositorioUsuariosJdbc
+     */
+    private static class AlmacenamientoInstrumentado extends RepositorioUsuariosEnMemoria {
+        final AtomicInteger lecturas = new AtomicInteger();
+        final AtomicInteger escrituras = new AtomicInteger();
+        final AtomicBoolean fallar = new AtomicBoolean();
+        final CountDownLatch escribiendo = new CountDownLatch(1);
+        final CountDownLatch continuar = new CountDownLatch(1);
+        private final AtomicBoolean pausar = new AtomicBoolean();
+
+        /**
+         * La próxima escritura avisa por escribiendo y espera a continuar
+         */
+        void pausarProximaEscritura() {
+            pausar.set(true);
+        }
+
+        @Override
+        public synchronized Usuario actualizarPeso(String nombre, double nuevoPeso) {
+            Usuario usuario = copiaRegistrada(nombre);
+            usuario.actualizarPeso(nuevoPeso);
+            guardar(usuario);
+            return usuario;
+        }
+
+        @Override
+        public synchronized ResultadoActualizacion tryActualizarPeso(String nombre, double nuevoPeso) {
+            Usuario usuario = copiaRegistrada(nombre);
+            ResultadoActualizacion resultado = usuario.tryActualizarPeso(nuevoPeso);
+            if (resultado.esExitoso()) {
+                guardar(usuario);
+            }
+            return resultado;
+        }
+
+        private Usuario copiaRegistrada(String nombre) {
+            Usuario usuario = super.buscar(nombre)
+                    .orElseThrow(() -> new IllegalArgumentException("Usuario no registrado: " + nombre));
+            return new Usuario(usuario.getNombre(), usuario.getPeso(), usuario.getUltimaActualizacion());
+        }
+
+        @Override
+        public Optional<Usuario> buscar(String nombre) {
+            lecturas.incrementAndGet();
+            return super.buscar(nombre)
+                    .map(u -> new Usuario(u.getNombre(), u.getPeso(), u.getUltimaActualizacion()));
+        }
+
+        @Override
+        public void guardar(Usuario usuario) {
+            if (fallar.get()) {
+                throw new IllegalStateException("Almacenamiento no disponible");
+            }
+            if (pausar.compareAndSet(true, false)) {
+                escribiendo.countDown();
+                try {
+                    continuar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            escrituras.incrementAndGet();
+            super.guardar(new Usuario(usuario.getNombre(), usuario.getPeso(), usuario.getUltimaActualizacion()));
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.healthtrack.healthtrack_platform.repositorio;
+
+import com.healthtrack.healthtrack_platform.historial.PuntoPeso;
+import com.healthtrack.healthtrack_platform.model.InstantaneaUsuario;
+import com.healthtrack.healthtrack_platform.model.ResultadoActualizacion;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del repositorio JDBC sobre H2 en memoria
+ */
+@DisplayName("Repositorio Usuarios JDBC Tests")
+class RepositorioUsuariosJdbcTest {
+
+    private RepositorioUsuariosJdbc repositorio;
+
+    @BeforeEach
+    void setUp() {
+        repositorio = new RepositorioUsuariosJdbc("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        repositorio.close();
+    }
+
+    @Test
+    @DisplayName("Debería guardar, buscar y eliminar usuarios")
+    void deberiaGuardarBuscarYEliminar() {
+        // Given
+        LocalDateTime haceTresDias = LocalDateTime.now().minusDays(3).truncatedTo(ChronoUnit.MICROS);
+
+        // When
+        repositorio.guardar(new Usuario("Ana", 70.0));
+        repositorio.guardar(new Usuario("Luis", 82.5, haceTresDias));
+
+        // Then
+        Usuario luis = repositorio.buscar(" Luis ").orElseThrow();
+        assertThat(luis.getPeso()).isEqualTo(82.5);
+        assertThat(luis.getUltimaActualizacion()).isEqualTo(haceTresDias);
+        assertThat(repositorio.buscar("Ana").get().getUltimaActualizacion()).isNull();
+        assertThat(repositorio.contar()).isEqualTo(2);
+        assertThat(repositorio.eliminar("Ana")).isTrue();
+        assertThat(repositorio.eliminar("Ana")).isFalse();
+        assertThat(repositorio.buscar("Ana")).isEmpty();
+        assertThat(repositorio.contar()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("guardarTodos debería insertar en lotes y reemplazar los existentes")
+    void guardarTodosDeberiaInsertarEnLotes() {
+        // Given
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < RepositorioUsuariosJdbc.TAMANO_LOTE * 2 + 7; i++) {
+            usuarios.add(new Usuario("Paciente" + i, 60.0 + i % 40));
+        }
+        repositorio.guardar(new Usuario("Paciente0", 99.0));
+
+        // When
+        repositorio.guardarTodos(usuarios);
+
+        // Then
+        assertThat(repositorio.contar()).isEqualTo(usuarios.size());
+        assertThat(repositorio.buscar("Paciente0").get().getPeso()).isEqualTo(60.0);
+        assertThat(repositorio.buscar("Paciente1006").get().getPeso()).isEqualTo(60.0 + 1006 % 40);
+    }
+
+    @Test
+    @DisplayName("tryActualizarPeso debería devolver un código y escribir solo si actualiza")
+    void tryActualizarPesoDeberiaEscribirSoloSiActualiza() {
+        // Given
+        repositorio.guardar(new Usuario("Ana", 70.0));
+
+        // When
+        ResultadoActualizacion primero = repositorio.tryActualizarPeso("Ana", 68.5);
+        ResultadoActualizacion segundo = repositorio.tryActualizarPeso("Ana", 67.0);
+
+        // Then
+        assertThat(primero).isEqualTo(ResultadoActualizacion.ACTUALIZADO);
+        assertThat(segundo).isEqualTo(ResultadoActualizacion.BLOQUEADO);
+        assertThat(repositorio.buscar("Ana").get().getPeso()).isEqualTo(68.5);
+        assertThat(repositorio.historial("Ana", 0, Long.MAX_VALUE))
+                .extracting(PuntoPeso::peso)
+                .containsExactly(68.5);
+    }
+
+    @Test
+    @DisplayName("actualizarPeso debería aplicar la restricción de 48 horas y registrar el historial")
+    void actualizarPesoDeberiaRegistrarHistorial() {
+        // Given
+        LocalDateTime haceTresDias = LocalDateTime.now().minusDays(3);
+        repositorio.guardar(new Usuario("Ana", 70.0, haceTresDias));
+
+        // When
+        repositorio.actualizarPeso("Ana", 68.5);
+
+        // Then
+        assertThat(repositorio.buscar("Ana").get().getPeso()).isEqualTo(68.5);
+        assertThatThrownBy(() -> repositorio.actualizarPeso("Ana", 67.0))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> repositorio.actualizarPeso("Nadie", 67.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Usuario no registrado: Nadie");
+        long desde = haceTresDias.minusDays(1).toEpochSecond(ZoneOffset.UTC);
+        long hasta = LocalDateTime.now().plusDays(1).toEpochSecond(ZoneOffset.UTC);
+        assertThat(repositorio.historial("Ana", desde, hasta))
+                .extracting(PuntoPeso::peso)
+                .containsExactly(70.0, 68.5);
+        assertThat(repositorio.historial("Ana", desde, haceTresDias.plusDays(1).toEpochSecond(ZoneOffset.UTC)))
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Actualizaciones concurrentes del mismo usuario deberían aceptar solo una")
+    void actualizacionesConcurrentesDeberianAceptarUna() throws Exception {
+        // Given
+        repositorio.guardar(new Usuario("Ana", 70.0));
+        int hilos = 4;
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < hilos; i++) {
+            double peso = 60.0 + i;
+            resultados.add(ejecutor.submit(() -> {
+                salida.await();
+                try {
+                    repositorio.actualizarPeso("Ana", peso);
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            }));
+        }
+        salida.countDown();
+        int aceptadas = 0;
+        for (Future<Boolean> resultado : resultados) {
+            aceptadas += resultado.get() ? 1 : 0;
+        }
+        ejecutor.shutdown();
+
+        // Then
+        assertThat(aceptadas).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Registros concurrentes del mismo nombre deberían insertar solo uno")
+    void registrosConcurrentesDeberianInsertarUno() throws Exception {
+        // Given
+        int hilos = 4;
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < hilos; i++) {
+            double peso = 60.0 + i;
+            resultados.add(ejecutor.submit(() -> {
+                salida.await();
+                return repositorio.guardarSiNoExiste(new Usuario("Ana", peso));
+            }));
+        }
+        salida.countDown();
+        int insertados = 0;
+        for (Future<Boolean> resultado : resultados) {
+            insertados += resultado.get() ? 1 : 0;
+        }
+        ejecutor.shutdown();
+
+        // Then
+        assertThat(insertados).isEqualTo(1);
+        assertThat(repositorio.contar()).isEqualTo(1);
+        assertThat(repositorio.guardarSiNoExiste(new Usuario("Ana", 99.0))).isFalse();
+        assertThat(repositorio.buscar("Ana")).map(Usuario::getPeso).get().isNotEqualTo(99.0);
+    }
+
+    @Test
+    @DisplayName("Debería guardar la altura y el peso objetivo y conservarlos al actualizar el peso")
+    void deberiaPersistirMedidas() {
+        // Given
+        Usuario ana = new Usuario("Ana", 70.0, LocalDateTime.now().minusDays(3));
+        ana.establecerAltura(165);
+        ana.establecerPesoObjetivo(64.5);
+        repositorio.guardar(ana);
+        repositorio.guardar(new Usuario("Luis", 82.5));
+
+        // When
+        repositorio.actualizarPeso("Ana", 69.0);
+
+        // Then
+        Usuario guardada = repositorio.buscar("Ana").orElseThrow();
+        assertThat(guardada.getPeso()).isEqualTo(69.0);
+        assertThat(guardada.getAlturaCm()).isEqualTo(165);
+        assertThat(guardada.getPesoObjetivo()).isEqualTo(64.5);
+        Usuario luis = repositorio.buscar("Luis").orElseThrow();
+        assertThat(luis.getAlturaCm()).isEqualTo(InstantaneaUsuario.SIN_ALTURA);
+        assertThat(luis.getPesoObjetivo()).isNaN();
+    }
+
+    @Test
+    @DisplayName("Una base creada sin las columnas de medidas debería recibirlas al abrirse")
+    void deberiaAgregarColumnasDeMedidas() throws Exception {
+        // Given - Esquema anterior a la altura y el peso objetivo
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        try (Connection conexion = DriverManager.getConnection(url);
+             Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("CREATE TABLE usuarios (nombre VARCHAR(255) PRIMARY KEY, "
+                    + "peso DOUBLE PRECISION NOT NULL, ultima_actualizacion TIMESTAMP)");
+            sentencia.execute("INSERT INTO usuarios (nombre, peso) VALUES ('Ana', 70.0)");
+        }
+
+        // When
+        try (RepositorioUsuariosJdbc anterior = new RepositorioUsuariosJdbc(url)) {
+            Usuario ana = anterior.buscar("Ana").orElseThrow();
+            ana.establecerAltura(165);
+            anterior.guardar(ana);
+
+            // Then
+            assertThat(anterior.buscar("Ana")).map(Usuario::getAlturaCm).contains(165);
+            assertThat(anterior.buscar("Ana")).map(Usuario::getPeso).contains(70.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Una base con pesos DOUBLE PRECISION en kg debería migrarse a decagramos al abrirse")
+    void deberiaMigrarPesosADecagramos() throws Exception {
+        // Given - Esquema con los pesos en kg
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        try (Connection conexion = DriverManager.getConnection(url);
+             Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("CREATE TABLE usuarios (nombre VARCHAR(255) PRIMARY KEY, "
+                    + "peso DOUBLE PRECISION NOT NULL, ultima_actualizacion TIMESTAMP, "
+                    + "altura_cm INTEGER, peso_objetivo DOUBLE PRECISION)");
+            sentencia.execute("CREATE TABLE historial_peso (nombre VARCHAR(255) NOT NULL, "
+                    + "momento BIGINT NOT NULL, peso DOUBLE PRECISION NOT NULL, PRIMARY KEY (nombre, momento))");
+            sentencia.execute("INSERT INTO usuarios VALUES ('Ana', 70.25, NULL, 165, 64.5)");
+            sentencia.execute("INSERT INTO usuarios VALUES ('Luis', 82.0, NULL, NULL, NULL)");
+            sentencia.execute("INSERT INTO historial_peso VALUES ('Ana', 1000, 71.1)");
+        }
+
+        // When
+        try (RepositorioUsuariosJdbc migrado = new RepositorioUsuariosJdbc(url)) {
+            // Then
+            Usuario ana = migrado.buscar("Ana").orElseThrow();
+            assertThat(ana.getPesoDecagramos()).isEqualTo(7025);
+            assertThat(ana.getAlturaCm()).isEqualTo(165);
+            assertThat(ana.getPesoObjetivo()).isEqualTo(64.5);
+            assertThat(migrado.buscar("Luis").orElseThrow().getPesoObjetivo()).isNaN();
+            assertThat(migrado.historial("Ana", 0, 2000)).extracting(PuntoPeso::peso).containsExactly(71.1);
+        }
+        try (Connection conexion = DriverManager.getConnection(url);
+             Statement sentencia = conexion.createStatement();
+             ResultSet tipos = sentencia.executeQuery("SELECT TABLE_NAME, COLUMN_NAME, DATA_TYPE "
+                     + "FROM INFORMATION_SCHEMA.COLUMNS WHERE COLUMN_NAME LIKE 'PESO%' ORDER BY 1, 2")) {
+            List<String> columnas = new ArrayList<>();
+            while (tipos.next()) {
+                columnas.add(tipos.getString(1) + "." + tipos.getString(2) + " " + tipos.getString(3));
+            }
+            assertThat(columnas).containsExactly("HISTORIAL_PESO.PESO_DECAGRAMOS INTEGER",
+                    "USUARIOS.PESO_DECAGRAMOS INTEGER", "USUARIOS.PESO_OBJETIVO_DECAGRAMOS INTEGER");
+        }
+        try (RepositorioUsuariosJdbc reabierto = new RepositorioUsuariosJdbc(url)) {
+            assertThat(reabierto.buscar("Ana")).map(Usuario::getPeso).contains(70.25);
+        }
+    }
+
+    @Test
+    @DisplayName("Los datos deberían sobrevivir a reabrir la base de datos en archivo")
+    void deberiaPersistirEnArchivo(@TempDir Path directorio) {
+        // Given
+        String url = "jdbc:h2:file:" + directorio.resolve("usuarios").toAbsolutePath();
+        try (RepositorioUsuariosJdbc archivo = new RepositorioUsuariosJdbc(url)) {
+            archivo.guardar(new Usuario("Ana", 70.0));
+        }
+
+        // When
+        try (RepositorioUsuariosJdbc reabierto = new RepositorioUsuariosJdbc(url)) {
+            // Then
+            assertThat(reabierto.buscar("Ana")).map(Usuario::getPeso).contains(70.0);
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package com.healthtrack.healthtrack_platform.servidor;
+
+import com.healthtrack.healthtrack_platform.admision.ConfiguracionAdmision;
+import com.healthtrack.healthtrack_platform.admision.MotivoRechazo;
+import com.healthtrack.healthtrack_platform.model.Usuario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pruebas del servidor HTTP y de la inicialización perezosa de sus subsistemas
+ */
+@DisplayName("Servidor HealthTrack Tests")
+class ServidorHealthTrackTest {
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+    private ServidorHealthTrack servidor;
+
+    @AfterEach
+    void tearDown() {
+        if (servidor != null) {
+            servidor.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("Rutas")
+    class RutasTests {
+
+        @Test
+        @DisplayName("Debería registrar, consultar y actualizar el peso de un usuario")
+        void deberiaRegistrarConsultarYActualizar() throws Exception {
+            // Given
+            servidor = ServidorHealthTrack.iniciar(ConfiguracionServidor.porDefecto(0));
+
+            // When
+            HttpResponse<String> registro = enviar("POST", "/usuarios", "nombre=Ana%20Soto&peso=80.5");
+            HttpResponse<String> duplicado = enviar("POST", "/usuarios", "nombre=Ana%20Soto&peso=80.5");
+            HttpResponse<String> consulta = enviar("GET", "/usuarios/Ana%20Soto", null);
+            HttpResponse<String> actualizacion = enviar("POST", "/usuarios/Ana%20Soto/peso", "peso=79.25");
+            HttpResponse<String> bloqueada = enviar("POST", "/usuarios/Ana%20Soto/peso", "peso=79.0");
+
+            // Then
+            assertThat(registro.statusCode()).isEqualTo(201);
+            assertThat(registro.body()).isEqualTo("{\"nombre\":\"Ana Soto\",\"peso\":80.50,\"ultimaActualizacion\":null}");
+            assertThat(registro.headers().firstValue("Content-Type")).hasValueSatisfying(tipo -> assertThat(tipo).startsWith("application/json"));
+            assertThat(duplicado.statusCode()).isEqualTo(409);
+            assertThat(consulta.statusCode()).isEqualTo(200);
+            assertThat(consulta.body()).contains("\"peso\":80.50");
+            assertThat(actualizacion.statusCode()).isEqualTo(200);
+            assertThat(actualizacion.body()).contains("\"peso\":79.25").doesNotContain("null");
+            assertThat(bloqueada.statusCode()).isEqualTo(409);
+            assertThat(bloqueada.body()).contains("48 horas");
+        }
+
+        @Test
+        @DisplayName("Debería responder 404 y 400 ante usuarios inexistentes y datos inválidos")
+        void deberiaRechazarPeticionesInvalidas() throws Exception {
+            // Given
+            servidor = ServidorHealthTrack.iniciar(ConfiguracionServidor.porDefecto(0));
+            enviar("POST", "/usuarios", "nombre=Luis&peso=70");
+
+            // When & Then
+            assertThat(enviar("GET", "/usuarios/Nadie", null).statusCode()).isEqualTo(404);
+            assertThat(enviar("POST", "/usuarios/Nadie/peso", "peso=70").statusCode()).isEqualTo(404);
+            assertThat(enviar("POST", "/usuarios", "nombre=&peso=70").statusCode()).isEqualTo(400);
+            assertThat(enviar("POST", "/usuarios", "nombre=Eva").statusCode()).isEqualTo(400);
+            assertThat(enviar("POST", "/usuarios/Luis/peso", "peso=-3").statusCode()).isEqualTo(400);
+            assertThat(enviar("POST", "/usuarios/Luis/peso", "peso=abc").statusCode()).isEqualTo(400);
+            assertThat(enviar("GET", "/usuarios", null).statusCode()).isEqualTo(405);
+        }
+
+        @Test
+        @DisplayName("Debería responder 429 con Retry-After al cliente que supera su cuota")
+        void deberiaRechazarClienteQueSuperaSuCuota() throws Exception {
+            // Given - 1 escritura por segundo con ráfaga de 2 por cliente
+            servidor = ServidorHealthTrack.iniciar(new ConfiguracionServidor(0, 2, null, 16, Duration.ofDays(30),
+                    new ConfiguracionAdmision(1, 2, 1_000, 1_000, 10, 10, 10, 1, 10)));
+            enviar("POST", "/usuarios", "nombre=Ana&peso=80", "tablet-1");
+            enviar("POST", "/usuarios/Ana/peso", "peso=79", "tablet-1");
+
+            // When
+            HttpResponse<String> rechazo = enviar("POST", "/usuarios/Ana/peso", "peso=78", "tablet-1");
+            HttpResponse<String> otroCliente = enviar("POST", "/usuarios", "nombre=Luis&peso=90", "tablet-2");
+
+            // Then
+            assertThat(rechazo.statusCode()).isEqualTo(429);
+            assertThat(rechazo.headers().firstValue("Retry-After")).hasValue("1");
+            assertThat(rechazo.body()).contains("\"motivo\":\"CLIENTE\"");
+            assertThat(otroCliente.statusCode()).isEqualTo(201);
+            assertThat(enviar("GET", "/usuarios/Ana", null).body()).contains("\"peso\":79.00");
+            assertThat(servidor.getAdmision().rechazos(MotivoRechazo.CLIENTE)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("La clasificación debería listar a quienes perdieron peso")
+        void clasificacionDeberiaListarPerdidas() throws Exception {
+            // Given
+            servidor = ServidorHealthTrack.iniciar(ConfiguracionServidor.porDefecto(0));
+            enviar("POST", "/usuarios", "nombre=Ana&peso=80");
+            enviar("POST", "/usuarios", "nombre=Luis&peso=90");
+            enviar("POST", "/usuarios/Ana/peso", "peso=78.5");
+            enviar("POST", "/usuarios/Luis/peso", "peso=91");
+
+            // When
+            HttpResponse<String> respuesta = enviar("GET", "/clasificacion?k=5", null);
+
+            // Then
+            assertThat(respuesta.statusCode()).isEqualTo(200);
+            assertThat(respuesta.body()).isEqualTo("[{\"posicion\":1,\"nombre\":\"Ana\",\"perdidaKg\":1.50}]");
+        }
+    }
+
+    @Nested
+    @DisplayName("GET condicional")
+    class GetCondicionalTests {
+
+        @Test
+        @DisplayName("Una consulta con el ETag vigente debería recibir 304 sin cuerpo")
+        void consultaConEtagVigenteDeberiaRecibir304() throws Exception {
+            // Given
+            servidor = ServidorHealthTrack.iniciar(ConfiguracionServidor.porDefecto(0));
+            HttpResponse<String> registro = enviar("POST", "/usuarios", "nombre=Ana&peso=80");
+            String etag = registro.headers().firstValue("ETag").orElseThrow();
+
+            // When
+            HttpResponse<String> condicional = enviarCondicional("/usuarios/Ana", etag);
+            HttpResponse<String> enLista = enviarCondicional("/usuarios/Ana", "\"0-123\", W/" + etag);
+            HttpResponse<String> comodin = enviarCondicional("/usuarios/Ana", "*");
+
+            // Then
+            assertThat(etag).startsWith("\"0-").endsWith("\"");
+            assertThat(condicional.statusCode()).isEqualTo(304);
+            assertThat(condicional.body()).isEmpty();
+            assertThat(condicional.headers().firstValue("ETag")).hasValue(etag);
+            assertThat(enLista.statusCode()).isEqualTo(304);
+            assertThat(comodin.statusCode()).isEqualTo(304);
+        }
+
+        @Test
+        @DisplayName("Tras actualizar el peso el ETag anterior debería dejar de coincidir")
+        void actualizarDeberiaCambiarElEtag() throws Exception {
+            // Given
+            servidor = ServidorHealthTrack.iniciar(ConfiguracionServidor.porDefecto(0));
+            enviar("POST", "/usuarios", "nombre=Ana&peso=80");
+            String anterior = enviar("GET", "/usuarios/Ana", null).headers().firstValue("ETag").orElseThrow();
+
+            // When
+            HttpResponse<String> actualizacion = enviar("POST", "/usuarios/Ana/peso", "peso=79");
+            HttpResponse<String> conAnterior = enviarCondicional("/usuarios/Ana", anterior);
+
+            // Then
+            String nuevo = actualizacion.headers().firstValue("ETag").orElseThrow();
+            assertThat(nuevo).startsWith("\"1-").isNotEqualTo(anterior);
+            assertThat(conAnterior.statusCode()).isEqualTo(200);
+            assertThat(conAnterior.body()).contains("\"peso\":79.00");
+            assertThat(conAnterior.headers().firstValue("ETag")).hasValue(nuevo);
+        }
+
+        @Test
+        @DisplayName("La respuesta serializada debería reutilizarse hasta que cambie la instantánea")
+        void respuestaDeberiaReutilizarseHastaElCambio() {
+            // Given
+            CacheRepresentaciones cache = new CacheRepresentaciones(16);
+            Usuario usuario = new Usuario("Ana", 80.0);
+
+            // When
+            RepresentacionUsuario primera = cache.obtener(usuario.getInstantanea());
+            RepresentacionUsuario repetida = cache.obtener(usuario.getInstantanea());
+            usuario.actualizarPeso(79.0);
+            RepresentacionUsuario trasCambio = cache.obtener(usuario.getInstantanea());
+            // Mismo estado reconstruido desde el almacenamiento: vuelve a la versión 0
+            Usuario recargado = new Usuario("Ana", 79.0, usuario.getUltimaActualizacion());
+            RepresentacionUsuario recargada = cache.obtener(recargado.getInstantanea());
+
+            // Then
+            assertThat(repetida).isSameAs(primera);
+            assertThat(trasCambio.etag()).isNotEqualTo(primera.etag());
+            assertThat(recargada).isNotSameAs(trasCambio);
+            assertThat(recargada.etag()).isNotEqualTo(primera.etag()).isNotEqualTo(trasCambio.etag());
+            assertThat(new String(recargada.cuerpo(), StandardCharsets.UTF_8))
+                    .isEqualTo(new String(trasCambio.cuerpo(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Nested
+    @DisplayName("Eventos")
+    class EventosTests {
+
+        @Test
+        @Timeout(10)
+        @DisplayName("Un panel suscrito debería recibir el estado actual y cada peso nuevo")
+        void panelSuscritoDeberiaRecibirPesosNuevos() throws Exception {
+            // Given
+            servidor = ServidorHealthTrack.iniciar(ConfiguracionServidor.porDefecto(0));
+            enviar("POST", "/usuarios", "nombre=Ana&peso=80");
+            HttpRequest suscripcion = HttpRequest.newBuilder(
+                    URI.create("http://127.0.0.1:" + servidor.getPuerto() + "/eventos/Ana")).GET().build();
+            HttpResponse<Stream<String>> flujo = cliente.send(suscripcion, HttpResponse.BodyHandlers.ofLines());
+            Iterator<String> lineas = flujo.body().iterator();
+            List<String> inicial = leerEvento(lineas);
+
+            // When
+            enviar("POST", "/usuarios/Ana/peso", "peso=79.5");
+            List<String> actualizacion = leerEvento(lineas);
+
+            // Then
+            assertThat(flujo.statusCode()).isEqualTo(200);
+            assertThat(flujo.headers().firstValue("Content-Type")).hasValueSatisfying(
+                    tipo -> assertThat(tipo).startsWith("text/event-stream"));
+            assertThat(inicial).containsExactly("id: 0", "event: peso",
+                    "data: {\"nombre\":\"Ana\",\"peso\":80.00,\"ultimaActualizacion\":null}");
+            assertThat(actualizacion).startsWith("id: 1", "event: peso");
+            assertThat(actualizacion.get(2)).startsWith("data: {\"nombre\":\"Ana\",\"peso\":79.50,");
+            assertThat(servidor.subsistemasInicializados()).contains("difusión");
+        }
+
+        @Test
+        @DisplayName("Suscribirse a un usuario inexistente debería responder 404")
+        void suscribirseAUsuarioInexistenteDeberiaResponder404() throws Exception {
+            // Given
+            servidor = ServidorHealthTrack.iniciar(ConfiguracionServidor.porDefecto(0));
+
+            // When
+            HttpResponse<String> respuesta = enviar("GET", "/eventos/Nadie", null);
+
+            // Then
+            assertThat(respuesta.statusCode()).isEqualTo(404);
+            assertThat(servidor.subsistemasInicializados()).doesNotContain("difusión");
+        }
+
+        private List<String> leerEvento(Iterator<String> lineas) {
+            List<String> evento = new ArrayList<>();
+            while (lineas.hasNext()) {
+                String linea = lineas.next();
+                if (linea.isEmpty()) {
+                    return evento;
+                }
+                evento.add(linea);
+            }
+            return evento;
+        }
+    }
+
+    @Nested
+    @DisplayName("Recursos estáticos")
+    class EstaticosTests {
+
+        @Test
+        @DisplayName("La página de inicio debería servirse comprimida a quien acepta gzip")
+        void inicioDeberiaServirseComprimido() throws Exception {
+            // Given
+            servidor = ServidorHealthTrack.iniciar(ConfiguracionServidor.porDefecto(0));
+            byte[] original = leerIndex();
+
+            // When
+            HttpResponse<byte[]> comprimida = pedirEstatico("/", "br;q=1.0, gzip;q=0.8", null);
+            HttpResponse<byte[]> sinGzip = pedirEstatico("/estaticos/index.html", "gzip;q=0, identity", null);
+
+            // Then
+            assertThat(comprimida.statusCode()).isEqualTo(200);
+            assertThat(comprimida.headers().firstValue("Content-Encoding")).hasValue("gzip");
+            assertThat(comprimida.headers().firstValue("Content-Type")).hasValue("text/html; charset=utf-8");
+            assertThat(comprimida.headers().firstValue("Vary")).hasValue("Accept-Encoding");
+            assertThat(comprimida.headers().firstValue("Cache-Control")).hasValue("no-cache");
+            assertThat(comprimida.body().length).isLessThan(original.length / 2);
+            try (InputStream descomprimida = new GZIPInputStream(new ByteArrayInputStream(comprimida.body()))) {
+                assertThat(descomprimida.readAllBytes()).isEqualTo(original);
+            }
+            assertThat(sinGzip.statusCode()).isEqualTo(200);
+            assertThat(sinGzip.headers().firstValue("Content-Encoding")).isEmpty();
+            assertThat(sinGzip.body()).isEqualTo(original);
+            assertThat(sinGzip.headers().firstValue("ETag")).isNotEqualTo(comprimida.headers().firstValue("ETag"));
+            assertThat(servidor.subsistemasInicializados()).containsExactly("estáticos");
+        }
+
+        @Test
+        @DisplayName("El nombre con la huella del contenido debería poder guardarse en caché un año")
+        void nombreVersionadoDeberiaSerInmutable() throws Exception {
+            // Given
+            servidor = ServidorHealthTrack.iniciar(ConfiguracionServidor.porDefecto(0));
+            RecursoEstatico recurso = RecursoEstatico.de("index.html", leerIndex());
+
+            // When - La URL versionada se descubre en la respuesta de la página de inicio
+            HttpResponse<byte[]> inicio = pedirEstatico("/", "gzip", null);
+            String versionada = inicio.headers().firstValue("Content-Location").orElseThrow();
+            HttpResponse<byte[]> respuesta = pedirEstatico(versionada, "gzip", null);
+            HttpResponse<byte[]> revalidacion = pedirEstatico("/", "gzip",
+                    respuesta.headers().firstValue("ETag").orElseThrow());
+            HttpResponse<byte[]> huellaVieja = pedirEstatico("/estaticos/index.0000000000000000.html", "gzip", null);
+            HttpResponse<byte[]> inexistente = pedirEstatico("/estaticos/otro.js", "gzip", null);
+
+            // Then
+            assertThat(recurso.nombreVersionado()).matches("index\\.[0-9a-f]{16}\\.html");
+            assertThat(versionada).isEqualTo("/estaticos/" + recurso.nombreVersionado());
+            assertThat(respuesta.headers().firstValue("Content-Location")).isEmpty();
+            assertThat(respuesta.statusCode()).isEqualTo(200);
+            assertThat(respuesta.headers().firstValue("Cache-Control")).hasValue("public, max-age=31536000, immutable");
+            assertThat(respuesta.headers().firstValue("ETag")).hasValue(recurso.etag(true));
+            assertThat(revalidacion.statusCode()).isEqualTo(304);
+            assertThat(revalidacion.body()).isEmpty();
+            assertThat(huellaVieja.statusCode()).isEqualTo(404);
+            assertThat(inexistente.statusCode()).isEqualTo(404);
+        }
+
+        @Test
+        @DisplayName("Accept-Encoding debería respetar gzip, el comodín y q=0")
+        void acceptEncodingDeberiaNegociarse() {
+            assertThat(CabecerasHttp.aceptaGzip("gzip, deflate, br")).isTrue();
+            assertThat(CabecerasHttp.aceptaGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+            assertThat(CabecerasHttp.aceptaGzip("*")).isTrue();
+            assertThat(CabecerasHttp.aceptaGzip("gzip;q=0, *")).isFalse();
+            assertThat(CabecerasHttp.aceptaGzip("identity")).isFalse();
+            assertThat(CabecerasHttp.aceptaGzip(null)).isFalse();
+        }
+
+        private byte[] leerIndex() throws IOException {
+            try (InputStream entrada = getClass().getClassLoader().getResourceAsStream("estaticos/index.html")) {
+                return entrada.readAllBytes();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Inicialización perezosa")
+    class InicializacionTests {
+
+        @Test
+        @DisplayName("Salud debería responder sin crear ningún subsistema")
+        void saludNoDeberiaCrearSubsistemas() throws Exception {
+            // Given
+            servidor = ServidorHealthTrack.iniciar(new ConfiguracionServidor(0, 2, "jdbc:h2:mem:servidor-salud", 16,
+                    Duration.ofDays(30)));
+
+            // When
+            HttpResponse<String> salud = enviar("GET", "/salud", null);
+
+            // Then
+            assertThat(salud.statusCode()).isEqualTo(200);
+            assertThat(servidor.subsistemasInicializados()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Cada subsistema debería crearse con la primera petición que lo usa")
+        void subsistemasDeberianCrearseAlUsarse() throws Exception {
+            // Given
+            servidor = ServidorHealthTrack.iniciar(new ConfiguracionServidor(0, 2, "jdbc:h2:mem:servidor-perezoso", 16,
+                    Duration.ofDays(30)));
+
+            // When
+            enviar("GET", "/usuarios/Ana", null);
+            var trasConsulta = servidor.subsistemasInicializados();
+            enviar("POST", "/usuarios", "nombre=Ana&peso=70");
+
+            // Then
+            assertThat(trasConsulta).containsExactly("base de datos", "repositorio");
+            assertThat(servidor.subsistemasInicializados())
+                    .containsExactly("base de datos", "repositorio", "clasificación", "respuestas");
+            assertThat(enviar("GET", "/usuarios/Ana", null).statusCode()).isEqualTo(200);
+        }
+
+        @Test
+        @DisplayName("El entrenamiento debería recorrer las rutas contra la base de datos")
+        void entrenamientoDeberiaUsarLaBaseDeDatos() throws Exception {
+            // Given
+            servidor = ServidorHealthTrack.iniciar(ConfiguracionServidor.paraEntrenamiento());
+
+            // When
+            ServidorHealthTrack.entrenar(servidor.getPuerto());
+
+            // Then
+            assertThat(servidor.subsistemasInicializados())
+                    .contains("base de datos", "repositorio", "clasificación", "respuestas", "estáticos");
+            assertThat(enviar("GET", "/usuarios/Entrenamiento", null).body()).contains("79.9");
+        }
+
+        @Test
+        @DisplayName("Un subsistema pedido por varios hilos debería crearse una sola vez")
+        void perezosoDeberiaCrearUnaVez() throws InterruptedException {
+            // Given
+            AtomicInteger creaciones = new AtomicInteger();
+            AtomicInteger cierres = new AtomicInteger();
+            Perezoso<Object> perezoso = new Perezoso<>("prueba", () -> {
+                creaciones.incrementAndGet();
+                return new Object();
+            }, valor -> cierres.incrementAndGet());
+            Thread[] hilos = new Thread[8];
+            for (int i = 0; i < hilos.length; i++) {
+                hilos[i] = new Thread(perezoso::obtener);
+                hilos[i].start();
+            }
+
+            // When
+            for (Thread hilo : hilos) {
+                hilo.join();
+            }
+            perezoso.close();
+
+            // Then
+            assertThat(creaciones).hasValue(1);
+            assertThat(cierres).hasValue(1);
+            assertThatThrownBy(perezoso::obtener).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    private HttpResponse<String> enviarCondicional(String ruta, String etag) throws IOException, InterruptedException {
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + servidor.getPuerto() + ruta))
+                .header("If-None-Match", etag)
+                .GET()
+                .build();
+        return cliente.send(peticion, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<byte[]> pedirEstatico(String ruta, String acceptEncoding, String etag)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder peticion = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + servidor.getPuerto() + ruta))
+                .header("Accept-Encoding", acceptEncoding);
+        if (etag != null) {
+            peticion.header("If-None-Match", etag);
+        }
+        return cliente.send(peticion.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpResponse<String> enviar(String metodo, String ruta, String formulario)
+            throws IOException, InterruptedException {
+        return enviar(metodo, ruta, formulario, "pruebas");
+    }
+
+    private HttpResponse<String> enviar(String metodo, String ruta, String formulario, String idCliente)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder peticion = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + servidor.getPuerto() + ruta))
+                .header("X-Cliente", idCliente);
+        if (formulario == null) {
+            peticion.method(metodo, HttpRequest.BodyPublishers.noBody());
+        } else {
+            peticion.header("Content-Type", "application/x-www-form-urlencoded")
+                    .method(metodo, HttpRequest.BodyPublishers.ofString(formulario));
+        }
+        return cliente.send(peticion.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}